@@ -1028,7 +1028,7 @@ public abstract class PdfAnnot implements Cloneable, Usable
         }
 
         HashMap annotMap = (HashMap) dict.getMap();
-        annotMap.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ANNOT));
 
         double pageHeight = p.pageHeight;
@@ -1047,7 +1047,7 @@ public abstract class PdfAnnot implements Cloneable, Usable
         arrRect.add(new PdfFloat((float) bottom));
         arrRect.add(new PdfFloat((float) right));
         arrRect.add(new PdfFloat((float) top));
-        annotMap.put(new PdfName(Usable.PDF_RECT), new PdfArray(
+        annotMap.put(PdfName.intern(Usable.PDF_RECT), new PdfArray(
             arrRect));
 
         if (color != null)
@@ -1057,33 +1057,33 @@ public abstract class PdfAnnot implements Cloneable, Usable
             arrColor
                 .add(new PdfFloat((float) color.getGreen() / 255));
             arrColor.add(new PdfFloat((float) color.getBlue() / 255));
-            annotMap.put(new PdfName(Usable.PDF_COLOR), new PdfArray(
+            annotMap.put(PdfName.intern(Usable.PDF_COLOR), new PdfArray(
                 arrColor));
         }
 
-        annotMap.put(new PdfName(Usable.PDF_M), new PdfString(PdfDate
+        annotMap.put(PdfName.intern(Usable.PDF_M), new PdfString(PdfDate
             .CurrentDate(), true));
-        annotMap.put(new PdfName(Usable.PDF_F), new PdfInteger(this
+        annotMap.put(PdfName.intern(Usable.PDF_F), new PdfInteger(this
             .getFlags()));
 
         if (this.contents != null)
         {
-            annotMap.put(new PdfName(Usable.PDF_CONTENTS),
+            annotMap.put(PdfName.intern(Usable.PDF_CONTENTS),
                 new PdfTextString(this.getContents()));
         }
         if (this.annotName != null)
         {
-            annotMap.put(new PdfName(Usable.PDF_ANNOT_NAME),
+            annotMap.put(PdfName.intern(Usable.PDF_ANNOT_NAME),
                 new PdfTextString(this.getAnnotName()));
         }
         if (this.title != null)
         {
-            annotMap.put(new PdfName(Usable.PDF_T),
+            annotMap.put(PdfName.intern(Usable.PDF_T),
                 new PdfTextString(this.getTitle()));
         }
         if (this.subject != null)
         {
-            annotMap.put(new PdfName(Usable.PDF_ANNOT_SUBJECT),
+            annotMap.put(PdfName.intern(Usable.PDF_ANNOT_SUBJECT),
                 new PdfTextString(this.getSubject()));
         }
         
@@ -1092,71 +1092,71 @@ public abstract class PdfAnnot implements Cloneable, Usable
         {
             case BORDERSTYLE_BEVELED:
                 m = new HashMap();
-                m.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+                m.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
                     Usable.PDF_BORDER));
-                m.put(new PdfName(Usable.PDF_W), new PdfFloat((float)
+                m.put(PdfName.intern(Usable.PDF_W), new PdfFloat((float)
                     borderWidth));
-                m.put(new PdfName(Usable.PDF_S), new PdfName(
+                m.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     "B"));
-                annotMap.put(new PdfName(Usable.PDF_BS),
+                annotMap.put(PdfName.intern(Usable.PDF_BS),
                     new PdfDict(m));
                 break;
             case BORDERSTYLE_DASHED:
                 m = new HashMap();
-                m.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+                m.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
                     Usable.PDF_BORDER));
-                m.put(new PdfName(Usable.PDF_W), new PdfFloat((float)
+                m.put(PdfName.intern(Usable.PDF_W), new PdfFloat((float)
                     borderWidth));
-                m.put(new PdfName(Usable.PDF_S), new PdfName(
+                m.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     "D"));
                 if (dashPattern != null)
                 {
-                    m.put(new PdfName(Usable.PDF_D),
+                    m.put(PdfName.intern(Usable.PDF_D),
                         new PdfArray(dashPattern));
                 }
-                annotMap.put(new PdfName(Usable.PDF_BS),
+                annotMap.put(PdfName.intern(Usable.PDF_BS),
                     new PdfDict(m));
                 break;
             case BORDERSTYLE_INSET:
                 m = new HashMap();
-                m.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+                m.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
                     Usable.PDF_BORDER));
-                m.put(new PdfName(Usable.PDF_W), new PdfFloat((float)
+                m.put(PdfName.intern(Usable.PDF_W), new PdfFloat((float)
                     borderWidth));
-                m.put(new PdfName(Usable.PDF_S), new PdfName(
+                m.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                    "I"));
-                annotMap.put(new PdfName(Usable.PDF_BS),
+                annotMap.put(PdfName.intern(Usable.PDF_BS),
                     new PdfDict(m));
                 break;
             case BORDERSTYLE_SOLID:
                 m = new HashMap();
-                m.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+                m.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
                     Usable.PDF_BORDER));
-                m.put(new PdfName(Usable.PDF_W), new PdfFloat((float)
+                m.put(PdfName.intern(Usable.PDF_W), new PdfFloat((float)
                     (borderWidth <= 0 ? 1 : borderWidth)));
-                m.put(new PdfName(Usable.PDF_S), new PdfName(
+                m.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     "S"));
-                annotMap.put(new PdfName(Usable.PDF_BS),
+                annotMap.put(PdfName.intern(Usable.PDF_BS),
                     new PdfDict(m));
                 break;
             case BORDERSTYLE_UNDERLINE:
                 m = new HashMap();
-                m.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+                m.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
                     Usable.PDF_BORDER));
-                m.put(new PdfName(Usable.PDF_W), new PdfFloat((float)
+                m.put(PdfName.intern(Usable.PDF_W), new PdfFloat((float)
                     borderWidth));
-                m.put(new PdfName(Usable.PDF_S), new PdfName(
+                m.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     "U"));
-                annotMap.put(new PdfName(Usable.PDF_BS),
+                annotMap.put(PdfName.intern(Usable.PDF_BS),
                     new PdfDict(m));
                 break;
             default:
                 m = new HashMap();
-                m.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+                m.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
                     Usable.PDF_BORDER));
-                m.put(new PdfName(Usable.PDF_W), new PdfInteger(0));
-                m.put(new PdfName(Usable.PDF_S), new PdfName("S"));
-                annotMap.put(new PdfName(Usable.PDF_BS), new PdfDict(
+                m.put(PdfName.intern(Usable.PDF_W), new PdfInteger(0));
+                m.put(PdfName.intern(Usable.PDF_S), PdfName.intern("S"));
+                annotMap.put(PdfName.intern(Usable.PDF_BS), new PdfDict(
                     m));
                 break;
         }
@@ -104,16 +104,16 @@ public class PdfAppearanceStream extends PdfStream implements Usable
         setBuffer(bb);
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_XOBJECT));
-        hm.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
             Usable.PDF_FORM));
-        hm.put(new PdfName(Usable.PDF_BBOX), new PdfArray(
+        hm.put(PdfName.intern(Usable.PDF_BBOX), new PdfArray(
             new double[] { 0, 0, width, height }));
 
         HashMap resources = new HashMap();
         page.prepareResources(d, resources);
-        hm.put(new PdfName(PDF_RESOURCES), new PdfDict(resources));
+        hm.put(PdfName.intern(PDF_RESOURCES), new PdfDict(resources));
         
         setDict(new PdfDict(hm));
     }
@@ -31,6 +31,7 @@ import java.awt.color.ColorSpace;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -38,6 +39,12 @@ public class PdfArray extends PdfObject
 {
     private ArrayList arrayList;
 
+    /* Arrays of numbers are kept in one of these until getList()
+       is called, at which point they are boxed into arrayList */
+    private int[] intValues;
+
+    private float[] floatValues;
+
     static Color getColor(PdfArray colArray)
     {
         List l = colArray.getList();
@@ -88,6 +95,10 @@ public class PdfArray extends PdfObject
         }
     }
     
+    private PdfArray()
+    {
+    }
+
     public PdfArray(int[] ia)
     {
         if (ia == null)
@@ -95,11 +106,7 @@ public class PdfArray extends PdfObject
             return;
         }
         
-        this.arrayList = new ArrayList();
-        for (int i = 0; i < ia.length; ++i)
-        {
-            arrayList.add(new PdfInteger(ia[i]));
-        }
+        this.intValues = (int[]) ia.clone();
     }
 
     public PdfArray(double[] da)
@@ -109,10 +116,10 @@ public class PdfArray extends PdfObject
             return;
         }
         
-        this.arrayList = new ArrayList();
+        this.floatValues = new float[da.length];
         for (int i = 0; i < da.length; ++i)
         {
-            arrayList.add(new PdfFloat((float) da[i]));
+            floatValues[i] = (float) da[i];
         }
     }
 
@@ -123,16 +130,95 @@ public class PdfArray extends PdfObject
             return;
         }
         
-        this.arrayList = new ArrayList();
-        for (int i = 0; i < fa.length; ++i)
+        this.floatValues = (float[]) fa.clone();
+    }
+
+    /*
+     * Returns an array for a list of objects read by PdfReader.
+     * Lists made up only of integers or only of reals, such as
+     * /Widths, /MediaBox and matrices, are stored unboxed.
+     */
+    static PdfArray fromParsedList(ArrayList l)
+    {
+        int size = l.size();
+        if (size == 0)
         {
-            arrayList.add(new PdfFloat(fa[i]));
+            return new PdfArray(l);
+        }
+
+        Class c = l.get(0).getClass();
+        for (int i = 1; i < size; ++i)
+        {
+            if (l.get(i).getClass() != c)
+            {
+                return new PdfArray(l);
+            }
+        }
+
+        PdfArray arr;
+        if (c == PdfInteger.class)
+        {
+            arr = new PdfArray();
+            arr.intValues = new int[size];
+            for (int i = 0; i < size; ++i)
+            {
+                arr.intValues[i] = ((PdfInteger) l.get(i)).getInt();
+            }
+        }
+        else if (c == PdfFloat.class)
+        {
+            arr = new PdfArray();
+            arr.floatValues = new float[size];
+            for (int i = 0; i < size; ++i)
+            {
+                arr.floatValues[i] = ((PdfFloat) l.get(i)).getFloat();
+            }
+        }
+        else
+        {
+            arr = new PdfArray(l);
+        }
+        return arr;
+    }
+
+    private void box()
+    {
+        if (intValues != null)
+        {
+            arrayList = new ArrayList(intValues.length);
+            for (int i = 0; i < intValues.length; ++i)
+            {
+                arrayList.add(new PdfInteger(intValues[i]));
+            }
+            intValues = null;
+        }
+        else if (floatValues != null)
+        {
+            arrayList = new ArrayList(floatValues.length);
+            for (int i = 0; i < floatValues.length; ++i)
+            {
+                arrayList.add(new PdfFloat(floatValues[i]));
+            }
+            floatValues = null;
         }
     }
 
     public Object clone()
     {
         PdfArray clone = (PdfArray) super.clone();
+        synchronized (this)
+        {
+            if (intValues != null)
+            {
+                clone.intValues = (int[]) intValues.clone();
+                return clone;
+            }
+            if (floatValues != null)
+            {
+                clone.floatValues = (float[]) floatValues.clone();
+                return clone;
+            }
+        }
         ArrayList nal = new ArrayList();
         for (Iterator iter = arrayList.iterator(); iter.hasNext();)
         {
@@ -150,29 +236,63 @@ public class PdfArray extends PdfObject
         {
             return false;
         }
-        return arrayList.equals(((PdfArray) obj).arrayList);
+        PdfArray a = (PdfArray) obj;
+        synchronized (this)
+        {
+            if (intValues != null && a.intValues != null)
+            {
+                return Arrays.equals(intValues, a.intValues);
+            }
+            if (floatValues != null && a.floatValues != null)
+            {
+                return Arrays.equals(floatValues, a.floatValues);
+            }
+        }
+        List l = getList();
+        return l == null ? a.getList() == null : l.equals(a.getList());
     }
 
-    public List getList()
+    public synchronized List getList()
     {
+        box();
         return arrayList;
     }
 
-    protected int write(PdfWriter writer) throws IOException
+    protected synchronized int write(PdfWriter writer)
+        throws IOException
     {
         DataOutputStream dataOpStream = writer.getDataOutputStream();
         int byteCount = 2; // for [ and ]
 
         dataOpStream.write(Usable.PDF_ARRAYSTART);
-        for (Iterator iter = arrayList.iterator(); iter.hasNext();)
+        if (intValues != null)
         {
-            PdfObject obj = (PdfObject) iter.next();
-                byteCount += obj.write(writer);
-//            if (iter.hasNext())
-//            {
-//                dataOpStream.writeByte(PDF_SP);
-//                byteCount++;
-//            }
+            for (int i = 0; i < intValues.length; ++i)
+            {
+                byteCount += PdfInteger.write(dataOpStream,
+                    intValues[i]);
+            }
+        }
+        else if (floatValues != null)
+        {
+            for (int i = 0; i < floatValues.length; ++i)
+            {
+                byteCount += PdfFloat.write(dataOpStream,
+                    floatValues[i]);
+            }
+        }
+        else
+        {
+            for (Iterator iter = arrayList.iterator(); iter.hasNext();)
+            {
+                PdfObject obj = (PdfObject) iter.next();
+                    byteCount += obj.write(writer);
+//                if (iter.hasNext())
+//                {
+//                    dataOpStream.writeByte(PDF_SP);
+//                    byteCount++;
+//                }
+            }
         }
         dataOpStream.write(Usable.PDF_ARRAYEND);
 
@@ -75,15 +75,15 @@ public final class PdfBookmark extends PdfNode
         double zoom;
     }
     
-    static final PdfName TITLE = new PdfName(Usable.PDF_TITLE);
+    static final PdfName TITLE = PdfName.intern(Usable.PDF_TITLE);
 
-    static final PdfName PARENT = new PdfName(Usable.PDF_PARENT);
+    static final PdfName PARENT = PdfName.intern(Usable.PDF_PARENT);
 
-    static final PdfName NEXT = new PdfName(Usable.PDF_NEXT);
+    static final PdfName NEXT = PdfName.intern(Usable.PDF_NEXT);
 
-    static final PdfName ACTION = new PdfName(Usable.PDF_A);
+    static final PdfName ACTION = PdfName.intern(Usable.PDF_A);
     
-    static final PdfName DEST = new PdfName(Usable.PDF_DESTINATION);
+    static final PdfName DEST = PdfName.intern(Usable.PDF_DESTINATION);
 
     protected int pageNo;
 
@@ -248,12 +248,12 @@ public final class PdfBookmark extends PdfNode
             c.add(new PdfFloat(color.getGreen() / 255));
             c.add(new PdfFloat(color.getBlue() / 255));
             
-            this.dict.getMap().put(new PdfName(Usable.PDF_C),
+            this.dict.getMap().put(PdfName.intern(Usable.PDF_C),
                 new PdfArray(c));
         }
         if (this.style != 0)
         {
-            this.dict.getMap().put(new PdfName(Usable.PDF_F),
+            this.dict.getMap().put(PdfName.intern(Usable.PDF_F),
                 new PdfInteger(this.style));
         }
         setActions(d);
@@ -269,9 +269,9 @@ public final class PdfBookmark extends PdfNode
             {
                 actionDict = (PdfDict) actionList.get(i);
                 PdfArray arr = (PdfArray) actionDict
-                    .getValue(new PdfName(Usable.PDF_D));
+                    .getValue(PdfName.intern(Usable.PDF_D));
                 PdfName actionType = (PdfName) actionDict
-                    .getValue(new PdfName(Usable.PDF_S));
+                    .getValue(PdfName.intern(Usable.PDF_S));
                 if (arr != null && 
                     !(actionType != null && 
                         actionType.getString().equals("GoToR")))
@@ -303,12 +303,12 @@ public final class PdfBookmark extends PdfNode
                 if (i != 0)
                 {
                     ((PdfDict) actionList.get(i - 1)).getMap().put(
-                        new PdfName(Usable.PDF_NEXT),
+                        PdfName.intern(Usable.PDF_NEXT),
                         new PdfIndirectReference(d.objectRun - 1, 0));
                 }
                 else
                 {
-                    dict.getMap().put(new PdfName(Usable.PDF_A),
+                    dict.getMap().put(PdfName.intern(Usable.PDF_A),
                         new PdfIndirectReference(actionDict
                             .getObjectNumber(), 0));
                 }
@@ -473,13 +473,13 @@ public final class PdfBookmark extends PdfNode
     {
         PdfDict actionDict;
         int index;
-        final PdfName D = new PdfName(Usable.PDF_D);
+        final PdfName D = PdfName.intern(Usable.PDF_D);
         for (int i = 0, limit = actionList.size(); i < limit; i++)
         {
             actionDict = (PdfDict) actionList.get(i);
             PdfArray arr = (PdfArray) actionDict.getValue(D);
             PdfName actionType = (PdfName) actionDict
-                .getValue(new PdfName(Usable.PDF_S));
+                .getValue(PdfName.intern(Usable.PDF_S));
 
             if (arr != null && 
                 !(actionType != null && 
@@ -489,14 +489,14 @@ public final class PdfBookmark extends PdfNode
                 if (this.pageNo > 0)
                 {
                     List l2 = processDestList(l);
-                    actionDict.dictMap.put(D, new PdfArray(l2));
+                    actionDict.getMap().put(D, new PdfArray(l2));
                 }
             }
             index = actionDict.getObjectNumber();
             d.offset[index] = d.bytesWritten;
             d.bytesWritten += d.writer
                 .writeIndirectObject(actionDict);
-            actionDict.dictMap.put(D, arr);
+            actionDict.getMap().put(D, arr);
         }
     }
 
@@ -505,7 +505,7 @@ public final class PdfBookmark extends PdfNode
     {
         PdfDict actionDict;
         int retVal = 0;
-        final PdfName D = new PdfName(Usable.PDF_D);
+        final PdfName D = PdfName.intern(Usable.PDF_D);
         for (int i = 0, limit = actionList.size(); i < limit; i++)
         {
             actionDict = (PdfDict) actionList.get(i);
@@ -516,11 +516,11 @@ public final class PdfBookmark extends PdfNode
                 if (this.pageNo > 0)
                 {
                     List l2 = processDestList(l);
-                    actionDict.dictMap.put(D, new PdfArray(l2));
+                    actionDict.getMap().put(D, new PdfArray(l2));
                 }
             }
             retVal += w.writePDFObject(actionDict);
-            actionDict.dictMap.put(D, arr);
+            actionDict.getMap().put(D, arr);
         }
 
         return retVal;
@@ -535,7 +535,7 @@ public final class PdfBookmark extends PdfNode
             {
                 actionDict = (PdfDict) actionList.get(i);
                 PdfArray arr = (PdfArray) actionDict
-                    .getValue(new PdfName(Usable.PDF_D));
+                    .getValue(PdfName.intern(Usable.PDF_D));
                 if (arr != null && this.pageNo != 0)
                 {
                     arr.getList().remove(0);
@@ -589,7 +589,7 @@ public final class PdfBookmark extends PdfNode
     {
         PdfBookmark b = new PdfBookmark(title, pageNo);
         ArrayList list = new ArrayList();
-        list.add(new PdfName(Usable.PDF_XYZ));
+        list.add(PdfName.intern(Usable.PDF_XYZ));
         list.add(new PdfFloat((float) left));
         list.add(new PdfFloat((float) top));
         if (zoom <= 0)
@@ -602,11 +602,11 @@ public final class PdfBookmark extends PdfNode
         }
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_GOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
 
         b.addToActionList(new PdfDict(hm));
         addPrevious(b);
@@ -633,13 +633,13 @@ public final class PdfBookmark extends PdfNode
     {
         PdfBookmark b = new PdfBookmark(title, pageNo);
         ArrayList list = new ArrayList();
-        list.add(new PdfName(Usable.PDF_FIT));
+        list.add(PdfName.intern(Usable.PDF_FIT));
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_GOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
 
         b.addToActionList(new PdfDict(hm));
         addPrevious(b);
@@ -655,19 +655,19 @@ public final class PdfBookmark extends PdfNode
         switch (fit)
         {
             case PdfBookmark.FITH:
-                list.add(new PdfName(Usable.PDF_FITH));
+                list.add(PdfName.intern(Usable.PDF_FITH));
                 break;
 
             case PdfBookmark.FITBH:
-                list.add(new PdfName(Usable.PDF_FITBH));
+                list.add(PdfName.intern(Usable.PDF_FITBH));
                 break;
 
             case PdfBookmark.FITBV:
-                list.add(new PdfName(Usable.PDF_FITBV));
+                list.add(PdfName.intern(Usable.PDF_FITBV));
                 break;
 
             case PdfBookmark.FITV:
-                list.add(new PdfName(Usable.PDF_FITV));
+                list.add(PdfName.intern(Usable.PDF_FITV));
                 break;
 
             default:
@@ -676,11 +676,11 @@ public final class PdfBookmark extends PdfNode
         list.add(new PdfFloat((float) pos));
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_GOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
 
         b.addToActionList(new PdfDict(hm));
         addPrevious(b);
@@ -696,7 +696,7 @@ public final class PdfBookmark extends PdfNode
         switch (fit)
         {
             case PdfBookmark.FITB:
-                list.add(new PdfName(Usable.PDF_FITB));
+                list.add(PdfName.intern(Usable.PDF_FITB));
                 break;
 
             default:
@@ -704,11 +704,11 @@ public final class PdfBookmark extends PdfNode
         }
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_GOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
 
         b.addToActionList(new PdfDict(hm));
         addPrevious(b);
@@ -774,18 +774,18 @@ public final class PdfBookmark extends PdfNode
     {
         PdfBookmark b = new PdfBookmark(title, pageNo);
         ArrayList list = new ArrayList();
-        list.add(new PdfName(Usable.PDF_FITR));
+        list.add(PdfName.intern(Usable.PDF_FITR));
         list.add(new PdfFloat((float) x));
         list.add(new PdfFloat((float) height));
         list.add(new PdfFloat((float) width));
         list.add(new PdfFloat((float) y));
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_GOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
 
         b.addToActionList(new PdfDict(hm));
         addPrevious(b);
@@ -811,24 +811,24 @@ public final class PdfBookmark extends PdfNode
     {
         PdfBookmark b = new PdfBookmark(title);
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_NAMED));
         switch (namedAction)
         {
             case PdfAction.NAMED_FIRSTPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_FIRST_PAGE));
                 break;
             case PdfAction.NAMED_LASTPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_LAST_PAGE));
                 break;
             case PdfAction.NAMED_NEXTPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_NEXT_PAGE));
                 break;
             case PdfAction.NAMED_PREVPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_PREV_PAGE));
                 break;
             default:
@@ -865,20 +865,20 @@ public final class PdfBookmark extends PdfNode
         switch (actionType)
         {
             case PdfAction.URI:
-                hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
                     Usable.PDF_ACTION));
-                hm.put(new PdfName(Usable.PDF_S), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     Usable.PDF_URI_ACTION));
-                hm.put(new PdfName(Usable.PDF_URI_ACTION),
+                hm.put(PdfName.intern(Usable.PDF_URI_ACTION),
                     new PdfString(javascriptOrURI, true));
                 break;
 
             case PdfAction.JAVASCRIPT:
-                hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
                     Usable.PDF_ACTION));
-                hm.put(new PdfName(Usable.PDF_S), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     Usable.PDF_JAVASCRIPT_ACTION));
-                hm.put(new PdfName(Usable.PDF_JAVASCRIPT_ACTION),
+                hm.put(PdfName.intern(Usable.PDF_JAVASCRIPT_ACTION),
                     new PdfString(javascriptOrURI, true));
                 break;
 
@@ -922,13 +922,13 @@ public final class PdfBookmark extends PdfNode
         PdfBookmark b = new PdfBookmark(title);
         HashMap hm = new HashMap();
 
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_LAUNCH_ACTION));
-        hm.put(new PdfName(Usable.PDF_F), new PdfString(
+        hm.put(PdfName.intern(Usable.PDF_F), new PdfString(
             applicationOrFileToLaunch, true));
-        hm.put(new PdfName(Usable.PDF_O), print ? new PdfString(
+        hm.put(PdfName.intern(Usable.PDF_O), print ? new PdfString(
             "print", false) : new PdfString("open", false));
 
         b.addToActionList(new PdfDict(hm));
@@ -971,14 +971,14 @@ public final class PdfBookmark extends PdfNode
         list.add(new PdfInteger(pageNo));
         // Has to pass the Explicit destination properties
 
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_REMOTEGOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_F), new PdfString(pdfFilePath,
+        hm.put(PdfName.intern(Usable.PDF_F), new PdfString(pdfFilePath,
             true));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
-        hm.put(new PdfName(Usable.PDF_NEWWINDOW), new PdfBoolean(
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_NEWWINDOW), new PdfBoolean(
             newWindow));
 
         b.addToActionList(new PdfDict(hm));
@@ -1014,7 +1014,7 @@ public final class PdfBookmark extends PdfNode
     {
         PdfBookmark b = new PdfBookmark(title, pageNo);
         ArrayList list = new ArrayList();
-        list.add(new PdfName(Usable.PDF_XYZ));
+        list.add(PdfName.intern(Usable.PDF_XYZ));
         list.add(new PdfFloat((float) left));
         list.add(new PdfFloat((float) top));
         if (zoom <= 0)
@@ -1027,11 +1027,11 @@ public final class PdfBookmark extends PdfNode
         }
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_GOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
 
         b.addToActionList(new PdfDict(hm));
         addNext(b);
@@ -1059,13 +1059,13 @@ public final class PdfBookmark extends PdfNode
     {
         PdfBookmark b = new PdfBookmark(title, pageNo);
         ArrayList list = new ArrayList();
-        list.add(new PdfName(Usable.PDF_FIT));
+        list.add(PdfName.intern(Usable.PDF_FIT));
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_GOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
 
         b.addToActionList(new PdfDict(hm));
         addNext(b);
@@ -1158,19 +1158,19 @@ public final class PdfBookmark extends PdfNode
         switch (fit)
         {
             case PdfBookmark.FITH:
-                list.add(new PdfName(Usable.PDF_FITH));
+                list.add(PdfName.intern(Usable.PDF_FITH));
                 break;
 
             case PdfBookmark.FITBH:
-                list.add(new PdfName(Usable.PDF_FITBH));
+                list.add(PdfName.intern(Usable.PDF_FITBH));
                 break;
 
             case PdfBookmark.FITBV:
-                list.add(new PdfName(Usable.PDF_FITBV));
+                list.add(PdfName.intern(Usable.PDF_FITBV));
                 break;
 
             case PdfBookmark.FITV:
-                list.add(new PdfName(Usable.PDF_FITV));
+                list.add(PdfName.intern(Usable.PDF_FITV));
                 break;
 
             default:
@@ -1179,11 +1179,11 @@ public final class PdfBookmark extends PdfNode
         list.add(new PdfFloat((float) pos));
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_GOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
 
         b.addToActionList(new PdfDict(hm));
         addNext(b);
@@ -1217,7 +1217,7 @@ public final class PdfBookmark extends PdfNode
         switch (fit)
         {
             case PdfBookmark.FITB:
-                list.add(new PdfName(Usable.PDF_FITB));
+                list.add(PdfName.intern(Usable.PDF_FITB));
                 break;
 
             default:
@@ -1225,11 +1225,11 @@ public final class PdfBookmark extends PdfNode
         }
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_GOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
 
         b.addToActionList(new PdfDict(hm));
         addNext(b);
@@ -1296,18 +1296,18 @@ public final class PdfBookmark extends PdfNode
     {
         PdfBookmark b = new PdfBookmark(title, pageNo);
         ArrayList list = new ArrayList();
-        list.add(new PdfName(Usable.PDF_FITR));
+        list.add(PdfName.intern(Usable.PDF_FITR));
         list.add(new PdfFloat((float) x));
         list.add(new PdfFloat((float) height));
         list.add(new PdfFloat((float) width));
         list.add(new PdfFloat((float) y));
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_GOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
 
         b.addToActionList(new PdfDict(hm));
         addNext(b);
@@ -1343,24 +1343,24 @@ public final class PdfBookmark extends PdfNode
     {
         PdfBookmark b = new PdfBookmark(title);
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_NAMED));
         switch (namedAction)
         {
             case PdfAction.NAMED_FIRSTPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_FIRST_PAGE));
                 break;
             case PdfAction.NAMED_LASTPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_LAST_PAGE));
                 break;
             case PdfAction.NAMED_NEXTPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_NEXT_PAGE));
                 break;
             case PdfAction.NAMED_PREVPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_PREV_PAGE));
                 break;
             default:
@@ -1399,20 +1399,20 @@ public final class PdfBookmark extends PdfNode
         switch (actionType)
         {
             case PdfAction.URI:
-                hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
                     Usable.PDF_ACTION));
-                hm.put(new PdfName(Usable.PDF_S), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     Usable.PDF_URI_ACTION));
-                hm.put(new PdfName(Usable.PDF_URI_ACTION),
+                hm.put(PdfName.intern(Usable.PDF_URI_ACTION),
                     new PdfString(javascriptOrURI, true));
                 break;
 
             case PdfAction.JAVASCRIPT:
-                hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
                     Usable.PDF_ACTION));
-                hm.put(new PdfName(Usable.PDF_S), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     Usable.PDF_JAVASCRIPT_ACTION));
-                hm.put(new PdfName(Usable.PDF_JAVASCRIPT_ACTION),
+                hm.put(PdfName.intern(Usable.PDF_JAVASCRIPT_ACTION),
                     new PdfString(javascriptOrURI, true));
                 break;
 
@@ -1456,13 +1456,13 @@ public final class PdfBookmark extends PdfNode
         PdfBookmark b = new PdfBookmark(title);
         HashMap hm = new HashMap();
 
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_LAUNCH_ACTION));
-        hm.put(new PdfName(Usable.PDF_F), new PdfString(
+        hm.put(PdfName.intern(Usable.PDF_F), new PdfString(
             applicationOrFileToLaunch, true));
-        hm.put(new PdfName(Usable.PDF_O), print ? new PdfString(
+        hm.put(PdfName.intern(Usable.PDF_O), print ? new PdfString(
             "print", false) : new PdfString("open", false));
 
         b.addToActionList(new PdfDict(hm));
@@ -1505,14 +1505,14 @@ public final class PdfBookmark extends PdfNode
         list.add(new PdfInteger(pageNo));
         // Has to pass the Explicit destination properties
 
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_REMOTEGOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_F), new PdfString(pdfFilePath,
+        hm.put(PdfName.intern(Usable.PDF_F), new PdfString(pdfFilePath,
             true));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
-        hm.put(new PdfName(Usable.PDF_NEWWINDOW), new PdfBoolean(
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_NEWWINDOW), new PdfBoolean(
             newWindow));
 
         b.addToActionList(new PdfDict(hm));
@@ -1678,7 +1678,7 @@ public final class PdfBookmark extends PdfNode
         removeAllActions(PdfAction.GOTO);
         this.pageNo = pageNo;
         ArrayList list = new ArrayList();
-        list.add(new PdfName(Usable.PDF_XYZ));
+        list.add(PdfName.intern(Usable.PDF_XYZ));
         list.add(new PdfFloat((float) left));
         list.add(new PdfFloat((float) top));
         if (zoom <= 0)
@@ -1691,11 +1691,11 @@ public final class PdfBookmark extends PdfNode
         }
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_GOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
 
         addToActionList(new PdfDict(hm));
     }
@@ -1721,15 +1721,15 @@ public final class PdfBookmark extends PdfNode
         this.pageNo = pageNo;
         removeAllActions(PdfAction.GOTO);
         ArrayList list = new ArrayList();
-        list.add(new PdfName(Usable.PDF_FITH));
+        list.add(PdfName.intern(Usable.PDF_FITH));
         list.add(new PdfInteger(0));
         
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_GOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
 
         addToActionList(new PdfDict(hm));
     }
@@ -1856,19 +1856,19 @@ public final class PdfBookmark extends PdfNode
         switch (fit)
         {
             case PdfBookmark.FITH:
-                list.add(new PdfName(Usable.PDF_FITH));
+                list.add(PdfName.intern(Usable.PDF_FITH));
                 break;
 
             case PdfBookmark.FITBH:
-                list.add(new PdfName(Usable.PDF_FITBH));
+                list.add(PdfName.intern(Usable.PDF_FITBH));
                 break;
 
             case PdfBookmark.FITBV:
-                list.add(new PdfName(Usable.PDF_FITBV));
+                list.add(PdfName.intern(Usable.PDF_FITBV));
                 break;
 
             case PdfBookmark.FITV:
-                list.add(new PdfName(Usable.PDF_FITV));
+                list.add(PdfName.intern(Usable.PDF_FITV));
                 break;
 
             default:
@@ -1877,11 +1877,11 @@ public final class PdfBookmark extends PdfNode
         list.add(new PdfFloat((float) pos));
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_GOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
 
         addToActionList(new PdfDict(hm));
     }
@@ -1911,7 +1911,7 @@ public final class PdfBookmark extends PdfNode
         switch (fit)
         {
             case PdfBookmark.FITB:
-                list.add(new PdfName(Usable.PDF_FITB));
+                list.add(PdfName.intern(Usable.PDF_FITB));
                 break;
 
             default:
@@ -1919,11 +1919,11 @@ public final class PdfBookmark extends PdfNode
         }
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_GOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
 
         addToActionList(new PdfDict(hm));
     }
@@ -1953,18 +1953,18 @@ public final class PdfBookmark extends PdfNode
         this.pageNo = pageNo;
         removeAllActions(PdfAction.GOTO);
         ArrayList list = new ArrayList();
-        list.add(new PdfName(Usable.PDF_FITR));
+        list.add(PdfName.intern(Usable.PDF_FITR));
         list.add(new PdfFloat((float) x));
         list.add(new PdfFloat((float) height));
         list.add(new PdfFloat((float) width));
         list.add(new PdfFloat((float) y));
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_GOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
 
         addToActionList(new PdfDict(hm));
     }
@@ -1974,15 +1974,15 @@ public final class PdfBookmark extends PdfNode
     {
         HashMap hm = new HashMap();
 
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_LAUNCH_ACTION));
-        hm.put(new PdfName(Usable.PDF_F), new PdfString(
+        hm.put(PdfName.intern(Usable.PDF_F), new PdfString(
             applicationOrFileToLaunch, true));
-        hm.put(new PdfName(Usable.PDF_O), print ? new PdfString(
+        hm.put(PdfName.intern(Usable.PDF_O), print ? new PdfString(
             "print", false) : new PdfString("open", false));
-        hm.put(new PdfName(Usable.PDF_NEWWINDOW), PdfBoolean.TRUE);
+        hm.put(PdfName.intern(Usable.PDF_NEWWINDOW), PdfBoolean.TRUE);
 
         addToActionList(new PdfDict(hm));
     }
@@ -2001,11 +2001,11 @@ public final class PdfBookmark extends PdfNode
     public synchronized void addActionURI(String uri)
     {
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_URI_ACTION));
-        hm.put(new PdfName(Usable.PDF_URI_ACTION), new PdfString(uri,
+        hm.put(PdfName.intern(Usable.PDF_URI_ACTION), new PdfString(uri,
             true));
         
         addToActionList(new PdfDict(hm));
@@ -2029,24 +2029,24 @@ public final class PdfBookmark extends PdfNode
     public synchronized void addActionNamed(int namedAction)
     {
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_NAMED));
         switch (namedAction)
         {
             case PdfAction.NAMED_FIRSTPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_FIRST_PAGE));
                 break;
             case PdfAction.NAMED_LASTPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_LAST_PAGE));
                 break;
             case PdfAction.NAMED_NEXTPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_NEXT_PAGE));
                 break;
             case PdfAction.NAMED_PREVPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_PREV_PAGE));
                 break;
             default:
@@ -2058,11 +2058,11 @@ public final class PdfBookmark extends PdfNode
     public synchronized void addActionJavaScript(String javascript)
     {
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_JAVASCRIPT_ACTION));
-        hm.put(new PdfName(Usable.PDF_JS),
+        hm.put(PdfName.intern(Usable.PDF_JS),
             new PdfString(javascript, false));
         
         addToActionList(new PdfDict(hm));
@@ -2081,27 +2081,27 @@ public final class PdfBookmark extends PdfNode
             switch (rGoTo.fit)
             {
                 case PdfBookmark.FITH:
-                    list.add(new PdfName(Usable.PDF_FITH));
+                    list.add(PdfName.intern(Usable.PDF_FITH));
                     list.add(new PdfFloat((float) rGoTo.pos));
                     break;
 
                 case PdfBookmark.FITBH:
-                    list.add(new PdfName(Usable.PDF_FITBH));
+                    list.add(PdfName.intern(Usable.PDF_FITBH));
                     list.add(new PdfFloat((float) rGoTo.pos));
                     break;
 
                 case PdfBookmark.FITBV:
-                    list.add(new PdfName(Usable.PDF_FITBV));
+                    list.add(PdfName.intern(Usable.PDF_FITBV));
                     list.add(new PdfFloat((float) rGoTo.pos));
                     break;
 
                 case PdfBookmark.FITV:
-                    list.add(new PdfName(Usable.PDF_FITV));
+                    list.add(PdfName.intern(Usable.PDF_FITV));
                     list.add(new PdfFloat((float) rGoTo.pos));
                     break;
                     
                 case PdfBookmark.FITB:
-                    list.add(new PdfName(Usable.PDF_FITB));
+                    list.add(PdfName.intern(Usable.PDF_FITB));
                     break;  
                     
                 default:
@@ -2113,11 +2113,11 @@ public final class PdfBookmark extends PdfNode
             if (rGoTo.left == 0 && rGoTo.top == 0 && rGoTo.right == 0
                 && rGoTo.bottom == 0)
             {
-                list.add(new PdfName(Usable.PDF_FITH));
+                list.add(PdfName.intern(Usable.PDF_FITH));
             }
             else
             {
-                list.add(new PdfName(Usable.PDF_FITR));
+                list.add(PdfName.intern(Usable.PDF_FITR));
                 list.add(new PdfFloat((float) rGoTo.left));
                 list.add(new PdfFloat((float) rGoTo.top));
                 list.add(new PdfFloat((float) rGoTo.right));
@@ -2125,14 +2125,14 @@ public final class PdfBookmark extends PdfNode
             }
         }
         
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_ACTION));
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_REMOTEGOTO_ACTION));
-        hm.put(new PdfName(Usable.PDF_F), new PdfString(pdfFilePath,
+        hm.put(PdfName.intern(Usable.PDF_F), new PdfString(pdfFilePath,
             true));
-        hm.put(new PdfName(Usable.PDF_D), new PdfArray(list));
-        hm.put(new PdfName(Usable.PDF_NEWWINDOW), new PdfBoolean(
+        hm.put(PdfName.intern(Usable.PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(Usable.PDF_NEWWINDOW), new PdfBoolean(
             newWindow));
 
         addToActionList(new PdfDict(hm));
@@ -2143,7 +2143,7 @@ public final class PdfBookmark extends PdfNode
         int count = -1;
         boolean found = false;
         Iterator iter = actionList.iterator();
-        PdfName actionType = new PdfName(Usable.PDF_S);
+        PdfName actionType = PdfName.intern(Usable.PDF_S);
         PdfName actionName;
 
         while (iter.hasNext())
@@ -2171,7 +2171,7 @@ public final class PdfBookmark extends PdfNode
         int count = -1;
         boolean found = false;
         Iterator iter = actionList.iterator();
-        PdfName actionType = new PdfName(Usable.PDF_S);
+        PdfName actionType = PdfName.intern(Usable.PDF_S);
         PdfName actionName;
 
         while (iter.hasNext())
@@ -2199,7 +2199,7 @@ public final class PdfBookmark extends PdfNode
         int count = -1;
         boolean found = false;
         Iterator iter = actionList.iterator();
-        PdfName actionType = new PdfName(Usable.PDF_S);
+        PdfName actionType = PdfName.intern(Usable.PDF_S);
         PdfName actionName;
 
         while (iter.hasNext())
@@ -2227,7 +2227,7 @@ public final class PdfBookmark extends PdfNode
         int count = -1;
         boolean found = false;
         Iterator iter = actionList.iterator();
-        PdfName actionType = new PdfName(Usable.PDF_S);
+        PdfName actionType = PdfName.intern(Usable.PDF_S);
         PdfName actionName;
 
         while (iter.hasNext())
@@ -2255,7 +2255,7 @@ public final class PdfBookmark extends PdfNode
         int count = -1;
         boolean found = false;
         Iterator iter = actionList.iterator();
-        PdfName actionType = new PdfName(Usable.PDF_S);
+        PdfName actionType = PdfName.intern(Usable.PDF_S);
         PdfName actionName;
 
         while (iter.hasNext())
@@ -2283,7 +2283,7 @@ public final class PdfBookmark extends PdfNode
         int count = -1;
         boolean found = false;
         Iterator iter = actionList.iterator();
-        PdfName actionType = new PdfName(Usable.PDF_S);
+        PdfName actionType = PdfName.intern(Usable.PDF_S);
         PdfName actionName;
 
         while (iter.hasNext())
@@ -2311,7 +2311,7 @@ public final class PdfBookmark extends PdfNode
         int count = -1;
         boolean found = false;
         Iterator iter = actionList.iterator();
-        PdfName actionType = new PdfName(Usable.PDF_S);
+        PdfName actionType = PdfName.intern(Usable.PDF_S);
         PdfName actionName;
 
         while (iter.hasNext())
@@ -2339,7 +2339,7 @@ public final class PdfBookmark extends PdfNode
         int count = -1;
         boolean found = false;
         Iterator iter = actionList.iterator();
-        PdfName actionType = new PdfName(Usable.PDF_S);
+        PdfName actionType = PdfName.intern(Usable.PDF_S);
         PdfName actionName;
 
         while (iter.hasNext())
@@ -2367,7 +2367,7 @@ public final class PdfBookmark extends PdfNode
         int count = -1;
         boolean found = false;
         Iterator iter = actionList.iterator();
-        PdfName actionType = new PdfName(Usable.PDF_S);
+        PdfName actionType = PdfName.intern(Usable.PDF_S);
         PdfName actionName;
 
         while (iter.hasNext())
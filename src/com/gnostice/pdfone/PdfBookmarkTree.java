@@ -41,15 +41,15 @@ import java.util.Map;
  */
 class PdfBookmarkTree extends PdfTree
 {
-    static final PdfName COUNT = new PdfName(Usable.PDF_COUNT);
+    static final PdfName COUNT = PdfName.intern(Usable.PDF_COUNT);
 
-    static final PdfName FIRST = new PdfName(Usable.PDF_FIRST);
+    static final PdfName FIRST = PdfName.intern(Usable.PDF_FIRST);
 
-    static final PdfName LAST = new PdfName(Usable.PDF_LAST);
+    static final PdfName LAST = PdfName.intern(Usable.PDF_LAST);
     
-    static final PdfName STYLE = new PdfName(Usable.PDF_F);
+    static final PdfName STYLE = PdfName.intern(Usable.PDF_F);
     
-    static final PdfName COLOR = new PdfName(Usable.PDF_C);
+    static final PdfName COLOR = PdfName.intern(Usable.PDF_C);
     
     int bytesWritten; //for object stream
     
@@ -219,7 +219,7 @@ class PdfBookmarkTree extends PdfTree
             return;
         }
         Map m = root.getDict().getMap();
-        m.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        m.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_OUTLINES));
 
         int first = root.getChild(0).dict.getObjectNumber();
@@ -281,7 +281,7 @@ class PdfBookmarkTree extends PdfTree
             return;
         }
         Map m = root.getDict().getMap();
-        m.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+        m.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
             Usable.PDF_OUTLINES));
 
         int first = root.getChild(0).dict.getObjectNumber();
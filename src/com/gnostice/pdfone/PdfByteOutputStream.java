@@ -28,6 +28,7 @@ package com.gnostice.pdfone;
 
 import java.io.ByteArrayOutputStream;
 
+import com.gnostice.pdfone.encodings.CodePage;
 import com.gnostice.pdfone.encodings.PdfEncodings;
 
 /**
@@ -66,12 +67,16 @@ public final class PdfByteOutputStream extends ByteArrayOutputStream
         write((byte)(n));
     }
 
-    public void writeString(String s, int encoding)
+    public synchronized void writeString(String s, int encoding)
     {
-        byte[] bytes = PdfEncodings.getBytes(s, encoding);
-        byte[] ba = new byte[bytes.length];
-        for (int i = 0; i < bytes.length; ++i)
-            ba[i] = (byte) bytes[i];
-        write(ba, 0, bytes.length);
+        CodePage cp = PdfEncodings.getCodePage(encoding);
+        int n = count + s.length() * cp.maxBytesPerChar();
+        if (n > buf.length)
+        {
+            byte[] ba = new byte[Math.max(buf.length << 1, n)];
+            System.arraycopy(buf, 0, ba, 0, count);
+            buf = ba;
+        }
+        count += cp.encode(s, buf, count);
     }
 }
@@ -228,7 +228,7 @@ public class PdfCaretAnnot extends PdfProAnnot
         }
 
         HashMap annotMap = (HashMap)dict.getMap();
-        annotMap.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
             Usable.PDF_CARETANNOT));
 
         double pageHeight = p.pageHeight;
@@ -241,22 +241,22 @@ public class PdfCaretAnnot extends PdfProAnnot
                 top + rectHeight - (pageHeight - diffRect.top()) ,
                 right - diffRect.right(), 
                 bottom + rectHeight - (pageHeight - diffRect.bottom()) };
-            annotMap.put(new PdfName("RD"), new PdfArray(da));
+            annotMap.put(PdfName.intern("RD"), new PdfArray(da));
         }
         
-        PdfName sy = new PdfName("Sy");
+        PdfName sy = PdfName.intern("Sy");
         switch (this.getSymbol())
         {
             case SYMBOL_NONE:
-                annotMap.put(sy, new PdfName("None"));
+                annotMap.put(sy, PdfName.intern("None"));
                 break;
 
             case SYMBOL_PARAGRAPH:
-                annotMap.put(sy, new PdfName("P"));
+                annotMap.put(sy, PdfName.intern("P"));
                 break;
 
             default:
-                annotMap.put(sy, new PdfName("None"));
+                annotMap.put(sy, PdfName.intern("None"));
                 break;
         }
         
@@ -86,7 +86,7 @@ class PdfCatalog extends PdfObject
         {
             if (fields == null)
             {
-                PdfName name_fields = new PdfName(Usable.PDF_FIELDS);
+                PdfName name_fields = PdfName.intern(Usable.PDF_FIELDS);
                 PdfObject obj = d.reader.getObject(acroDict
                     .getValue(name_fields));
                 fields = ((PdfArray) obj).getList();
@@ -105,7 +105,7 @@ class PdfCatalog extends PdfObject
         }
         if (this.acroDict != null)
         {
-            PdfName name_da = new PdfName(Usable.PDF_DA);
+            PdfName name_da = PdfName.intern(Usable.PDF_DA);
             PdfObject obj = d.reader.getObject(acroDict
                 .getValue(name_da));
             if (obj != null)
@@ -130,7 +130,7 @@ class PdfCatalog extends PdfObject
             if (acroDict != null) // fields present initially
             {
                 d.updateIndirectRefs(d, acroDict, true);
-                catalogDict.dictMap.put(new PdfName(
+                catalogDict.getMap().put(PdfName.intern(
                     Usable.PDF_ACROFORM), acroDict);
             }
         }
@@ -138,14 +138,14 @@ class PdfCatalog extends PdfObject
         {
             if (acroDict == null) //fields not present initially
             {
-                catalogDict.dictMap.put(new PdfName(
+                catalogDict.getMap().put(PdfName.intern(
                     Usable.PDF_ACROFORM), new PdfDict(acroHm));
             }
             else // fields present initially
             {
                 HashMap newAcroMap = new HashMap();
                 
-                PdfName name_fields = new PdfName(Usable.PDF_FIELDS);
+                PdfName name_fields = PdfName.intern(Usable.PDF_FIELDS);
                 PdfArray rFields = (PdfArray) d.reader
                     .getObject(acroDict.getValue(name_fields));
                 d.updateIndirectRefs(d, rFields, true);
@@ -156,20 +156,20 @@ class PdfCatalog extends PdfObject
                 rFieldsList.addAll(fieldsList);
                 newAcroMap.put(name_fields, new PdfArray(rFieldsList));
                 
-                PdfName name_dr = new PdfName(Usable.PDF_DR);
-                PdfName name_font = new PdfName(Usable.PDF_FONT);
+                PdfName name_dr = PdfName.intern(Usable.PDF_DR);
+                PdfName name_font = PdfName.intern(Usable.PDF_FONT);
                 PdfDict rDR = (PdfDict) d.reader.getObject(acroDict
                     .getValue(name_dr));
                 d.updateIndirectRefs(d, rDR, true);
                 Map rDRMap = rDR == null ? new HashMap() : rDR.getMap();
                 Map DRMap  = ((PdfDict) acroHm.get(name_dr))
                     .getMap();
-                Map rDRFontMap = ((PdfDict) rDRMap.get(name_font)).dictMap;
-                Map  DRFontMap = ((PdfDict)  DRMap.get(name_font)).dictMap;
+                Map rDRFontMap = ((PdfDict) rDRMap.get(name_font)).getMap();
+                Map  DRFontMap = ((PdfDict)  DRMap.get(name_font)).getMap();
                 rDRFontMap.putAll(DRFontMap);
                 newAcroMap.put(name_dr, new PdfDict(rDRMap));
                 
-                PdfName name_needApp = new PdfName(
+                PdfName name_needApp = PdfName.intern(
                     Usable.PDF_NEEDAPPEARANCES);
                 PdfObject obj = (PdfObject) acroHm.get(name_needApp);
                 if (obj == null)
@@ -182,10 +182,10 @@ class PdfCatalog extends PdfObject
                         .get(name_needApp));
                 }
 
-                PdfName name_q = new PdfName(Usable.PDF_Q);
+                PdfName name_q = PdfName.intern(Usable.PDF_Q);
                 newAcroMap.put(name_q, acroHm.get(name_q));
 
-                PdfName name_da = new PdfName(Usable.PDF_DA);
+                PdfName name_da = PdfName.intern(Usable.PDF_DA);
                 obj = d.reader.getObject(acroDict
                     .getValue(name_da));
                 d.updateIndirectRefs(d, obj, true);
@@ -194,7 +194,7 @@ class PdfCatalog extends PdfObject
                     newAcroMap.put(name_da, obj);
                 }
 
-                PdfName name_sigFlags = new PdfName("SigFlags");
+                PdfName name_sigFlags = PdfName.intern("SigFlags");
                 obj = d.reader.getObject(acroDict
                     .getValue(name_sigFlags));
                 d.updateIndirectRefs(d, obj, true);
@@ -203,7 +203,7 @@ class PdfCatalog extends PdfObject
                     newAcroMap.put(name_sigFlags, obj);
                 }
                 
-                PdfName name_co = new PdfName("CO");
+                PdfName name_co = PdfName.intern("CO");
                 obj = d.reader.getObject(acroDict
                     .getValue(name_co));
                 d.updateIndirectRefs(d, obj, true);
@@ -212,7 +212,7 @@ class PdfCatalog extends PdfObject
                     newAcroMap.put(name_co, obj);
                 }
                 
-                PdfName name_xfa = new PdfName("XFA");
+                PdfName name_xfa = PdfName.intern("XFA");
                 obj = d.reader.getObject(acroDict
                     .getValue(name_xfa));
                 d.updateIndirectRefs(d, obj, true);
@@ -221,7 +221,7 @@ class PdfCatalog extends PdfObject
                     newAcroMap.put(name_xfa, obj);
                 }
                 
-                catalogDict.dictMap.put(new PdfName(
+                catalogDict.getMap().put(PdfName.intern(
                     Usable.PDF_ACROFORM), new PdfDict(newAcroMap));
             }
         }
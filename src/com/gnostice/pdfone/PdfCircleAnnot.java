@@ -93,7 +93,7 @@ public class PdfCircleAnnot extends PdfSquareAnnot
         super.encode(p);
 
         HashMap annotMap = (HashMap)dict.getMap();
-        annotMap.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
             Usable.PDF_CIRCLEANNOT));
 
         return this;
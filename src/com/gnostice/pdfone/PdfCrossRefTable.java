@@ -164,20 +164,20 @@ class PdfCrossRefTable
     {
         HashMap hm = new HashMap();
 
-        hm.put(new PdfName(Usable.PDF_SIZE), new PdfInteger(objectRun));
-        hm.put(new PdfName(Usable.PDF_INFO), new PdfIndirectReference(Info,
+        hm.put(PdfName.intern(Usable.PDF_SIZE), new PdfInteger(objectRun));
+        hm.put(PdfName.intern(Usable.PDF_INFO), new PdfIndirectReference(Info,
             0));
         if (root != -1)
         {
-            hm.put(new PdfName(Usable.PDF_ROOT), new PdfIndirectReference(
+            hm.put(PdfName.intern(Usable.PDF_ROOT), new PdfIndirectReference(
                 root, 0));
         }
         if (Encrypt != -1)
         {
-            hm.put(new PdfName(Usable.PDF_ENCRYPT),
+            hm.put(PdfName.intern(Usable.PDF_ENCRYPT),
                 new PdfIndirectReference(Encrypt, 0));
         }
-        hm.put(new PdfName(Usable.PDF_ID), fileID);
+        hm.put(PdfName.intern(Usable.PDF_ID), fileID);
 
         trailerDict = new PdfDict(hm);
     }
@@ -33,11 +33,11 @@ import com.gnostice.pdfone.filters.PdfFlateFilter;
 
 final class PdfCrossReferenceStream extends PdfStream
 {
-    static final PdfName TYPE = new PdfName(Usable.PDF_TYPE);
+    static final PdfName TYPE = PdfName.intern(Usable.PDF_TYPE);
     
-    static final PdfName XREF = new PdfName(Usable.PDF_XREFSTREAM);
+    static final PdfName XREF = PdfName.intern(Usable.PDF_XREFSTREAM);
     
-    static final PdfName WIDTHS = new PdfName(Usable.PDF_W);
+    static final PdfName WIDTHS = PdfName.intern(Usable.PDF_W);
     
     int[] widths;
     
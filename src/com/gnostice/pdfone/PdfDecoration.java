@@ -0,0 +1,168 @@
+/**
+****************************************************
+*  Java based PDF creation and manipulation Library      
+****************************************************
+*
+*  Project Title: Gnostice PDFOne Java
+*  Copyright  2002-2008 Gnostice Information Technologies Private Limited, Bangalore, India
+*  http://www.gnostice.com
+*
+*  This file is part of PDFOne Java Library.
+*
+*  This program is free software: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, either version 3 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+
+*  You should have received a copy of the GNU General Public License
+*  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*
+*/
+
+package com.gnostice.pdfone;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Iterator;
+
+/*
+ * A watermark, header or footer, drawn once into a form XObject that
+ * is painted with a single Do operator on each page it is added to.
+ * The decoration is drawn on a page of its own with the size of the
+ * page it is added to, so its content and resources do not depend on
+ * that page. Decorations with the same content and resources are
+ * written to a document only once.
+ */
+final class PdfDecoration extends PdfStream implements Usable
+{
+    PdfStdPage page;
+
+    private PdfString key; //digest of the form, computed on first use
+
+    PdfDecoration(PdfStdPage host)
+    {
+        super();
+        page = new PdfPage(host.pageWidth, host.pageHeight,
+            PdfMeasurement.MU_POINTS);
+        page.measurementUnit = host.measurementUnit;
+    }
+
+    public Object clone()
+    {
+        PdfDecoration clone = (PdfDecoration) super.clone();
+        clone.page = (PdfStdPage) this.page.clone();
+
+        return clone;
+    }
+
+    /* Returns a digest of the content and resources of the form.
+       Fonts are named after the font, so the content is enough to
+       tell them apart. Each drawing of an image gets a new name, so
+       image names are replaced by the digests of the images. */
+    synchronized PdfString getKey()
+    {
+        if (key != null)
+        {
+            return key;
+        }
+        byte[] content = page.contentStream == null ? new byte[0]
+            : page.contentStream.getBuffer();
+        int length = page.contentStream == null ? 0 : page.contentStream
+            .size();
+        if (page.xObjIndRefDict != null)
+        {
+            String s;
+            try
+            {
+                s = new String(content, 0, length, "ISO-8859-1");
+            }
+            catch (UnsupportedEncodingException uee)
+            {
+                s = new String(content, 0, length);
+            }
+            StringBuffer sb = new StringBuffer(s);
+            for (Iterator i = page.xObjDict.getMap().keySet().iterator(); i
+                .hasNext();)
+            {
+                PdfString hash = (PdfString) i.next();
+                String name = PDF_NAMESTART
+                    + ((PdfName) page.xObjIndRefDict.getValue(hash))
+                        .getString() + PDF_SP;
+                for (int j = sb.indexOf(name); j != -1; j = sb.indexOf(
+                    name, j))
+                {
+                    sb.replace(j, j + name.length() - 1, "<"
+                        + hash.getString() + ">");
+                }
+            }
+            content = sb.toString().getBytes();
+            length = content.length;
+        }
+        StringBuffer sb = new StringBuffer();
+        sb.append(page.pageWidth).append(' ').append(page.pageHeight);
+
+        MessageDigest md5;
+        try
+        {
+            md5 = MessageDigest.getInstance("MD5");
+        }
+        catch (NoSuchAlgorithmException nsae)
+        {
+            key = new PdfString(Integer.toHexString(ByteBuffer.wrap(
+                content, 0, length).hashCode())
+                + ' ' + sb);
+            return key;
+        }
+        md5.update(content, 0, length);
+        md5.update(sb.toString().getBytes());
+        sb.setLength(0);
+        key = new PdfString(PdfString.appendHex(sb, md5.digest())
+            .toString());
+
+        return key;
+    }
+
+    /* Same as PdfAppearanceStream.set(), with the whole page as the
+       bounding box */
+    protected void set(PdfStdDocument d) throws IOException,
+        PdfException
+    {
+        if (page.fontDict != null)
+        {
+            page.setFontDict(d);
+        }
+        if (page.xObjDict != null)
+        {
+            page.setXObjDict(d);
+        }
+
+        this.objNumber = d.objectRun++;
+
+        ByteBuffer bb = page.contentStream != null ? ((ByteBuffer) ByteBuffer
+            .wrap(page.contentStream.getBuffer()).limit(
+                page.contentStream.size())).slice()
+            : ByteBuffer.allocate(0);
+        setBuffer(bb);
+
+        HashMap hm = new HashMap();
+        hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_XOBJECT));
+        hm.put(PdfName.intern(PDF_SUBTYPE), PdfName.intern(PDF_FORM));
+        hm.put(PdfName.intern(PDF_BBOX), new PdfArray(new double[] { 0,
+            0, page.pageWidth, page.pageHeight }));
+
+        HashMap resources = new HashMap();
+        page.prepareResources(d, resources);
+        hm.put(PdfName.intern(PDF_RESOURCES), new PdfDict(resources));
+
+        this.streamDict = new PdfDict(hm);
+    }
+}
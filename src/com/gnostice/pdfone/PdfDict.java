@@ -36,18 +36,31 @@ import com.gnostice.pdfone.fonts.PdfFont;
 
 public class PdfDict extends PdfObject
 {
+    /* Largest number of entries a compact dictionary holds. A
+       dictionary moves its entries to a HashMap when it grows beyond
+       it or when its map is asked for. */
+    static final int COMPACT_SIZE = 12;
+
+    /* the entries of the dictionary, or null while it is compact */
     Map dictMap;
 
+    /* keys and values of a compact dictionary, in the order added */
+    private Object[] keys;
+
+    private Object[] values;
+
+    private int count;
+
     protected PdfFont getValueAsFont(Object key)
     {
-        Object obj = dictMap.get(key);
+        Object obj = get(key);
 
         return (obj instanceof PdfFont) ? (PdfFont) obj : null;
     }
 
     protected PdfImage getValueAsImage(Object key)
     {
-        Object obj = dictMap.get(key);
+        Object obj = get(key);
 
         return (obj instanceof PdfImage) ? (PdfImage) obj : null;
     }
@@ -64,10 +77,49 @@ public class PdfDict extends PdfObject
         }
     }
 
+    /* Creates an empty compact dictionary, as used for the
+       dictionaries read from a file */
+    PdfDict()
+    {
+        keys = new Object[4];
+        values = new Object[4];
+    }
+
+    /* Creates a dictionary holding the same entries as d */
+    PdfDict(PdfDict d)
+    {
+        synchronized (d)
+        {
+            if (d.dictMap != null)
+            {
+                dictMap = new HashMap(d.dictMap);
+            }
+            else
+            {
+                count = d.count;
+                keys = new Object[Math.max(count, 1)];
+                values = new Object[keys.length];
+                System.arraycopy(d.keys, 0, keys, 0, count);
+                System.arraycopy(d.values, 0, values, 0, count);
+            }
+        }
+    }
+
     public Object clone()
     {
         PdfDict clone = (PdfDict) super.clone();
-        HashMap hm = new HashMap();
+        if (dictMap == null)
+        {
+            clone.keys = new Object[keys.length];
+            clone.values = new Object[keys.length];
+            for (int i = 0; i < count; ++i)
+            {
+                clone.keys[i] = ((PdfObject) keys[i]).clone();
+                clone.values[i] = ((PdfObject) values[i]).clone();
+            }
+            return clone;
+        }
+        HashMap hm = new HashMap(dictMap.size() * 4 / 3 + 1);
         for (Iterator iter = dictMap.keySet().iterator(); iter
             .hasNext();)
         {
@@ -86,25 +138,149 @@ public class PdfDict extends PdfObject
         {
             return false;
         }
-        return dictMap.equals(((PdfDict) obj).dictMap);
+        PdfDict d = (PdfDict) obj;
+        if (dictMap != null && d.dictMap != null)
+        {
+            return dictMap.equals(d.dictMap);
+        }
+        if (dictMap != null)
+        {
+            return d.equals(this);
+        }
+        if (count != d.size())
+        {
+            return false;
+        }
+        for (int i = 0; i < count; ++i)
+        {
+            Object val = d.get(keys[i]);
+            if (val == null || !val.equals(values[i]))
+            {
+                return false;
+            }
+        }
+        return true;
     }
 
+    /*
+     * Returns the map of the dictionary. A compact dictionary moves
+     * its entries to a HashMap first, since the caller may change the
+     * map.
+     */
     public synchronized Map getMap()
     {
+        if (dictMap == null)
+        {
+            HashMap m = new HashMap(count * 4 / 3 + 1);
+            for (int i = 0; i < count; ++i)
+            {
+                m.put(keys[i], values[i]);
+            }
+            dictMap = m;
+            keys = null;
+            values = null;
+            count = 0;
+        }
         return dictMap;
     }
 
     public synchronized PdfObject getValue(Object key)
     {
-        return (PdfObject) dictMap.get(key);
+        return (PdfObject) get(key);
     }
 
     public synchronized void setValue(PdfObject key, PdfObject value)
     {
-        dictMap.put(key, value);
+        if (dictMap != null)
+        {
+            dictMap.put(key, value);
+            return;
+        }
+        int i = indexOf(key);
+        if (i != -1)
+        {
+            values[i] = value;
+            return;
+        }
+        if (count == keys.length)
+        {
+            if (count == COMPACT_SIZE)
+            {
+                getMap().put(key, value);
+                return;
+            }
+            Object[] ka = new Object[Math.min(count * 2, COMPACT_SIZE)];
+            Object[] va = new Object[ka.length];
+            System.arraycopy(keys, 0, ka, 0, count);
+            System.arraycopy(values, 0, va, 0, count);
+            keys = ka;
+            values = va;
+        }
+        keys[count] = key;
+        values[count++] = value;
+    }
+
+    /* Removes the entry for key, if any */
+    synchronized void remove(Object key)
+    {
+        if (dictMap != null)
+        {
+            dictMap.remove(key);
+            return;
+        }
+        int i = indexOf(key);
+        if (i != -1)
+        {
+            System.arraycopy(keys, i + 1, keys, i, count - i - 1);
+            System.arraycopy(values, i + 1, values, i, count - i - 1);
+            keys[--count] = null;
+            values[count] = null;
+        }
+    }
+
+    /* Returns the values of the dictionary, without moving the
+       entries of a compact dictionary to a map */
+    synchronized Object[] values()
+    {
+        if (dictMap != null)
+        {
+            return dictMap.values().toArray();
+        }
+        Object[] oa = new Object[count];
+        System.arraycopy(values, 0, oa, 0, count);
+        return oa;
+    }
+
+    /* Returns the number of entries in the dictionary */
+    synchronized int size()
+    {
+        return dictMap == null ? count : dictMap.size();
     }
 
-    protected int write(PdfWriter writer) throws IOException
+    private synchronized Object get(Object key)
+    {
+        if (dictMap != null)
+        {
+            return dictMap.get(key);
+        }
+        int i = indexOf(key);
+        return i == -1 ? null : values[i];
+    }
+
+    /* Returns the index of key in a compact dictionary, or -1 */
+    private int indexOf(Object key)
+    {
+        for (int i = 0; i < count; ++i)
+        {
+            if (keys[i] == key || keys[i].equals(key))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    protected synchronized int write(PdfWriter writer) throws IOException
     {
         DataOutputStream dataOpStream = writer.getDataOutputStream();
         int byteCount = 4; // for << and >>
@@ -113,17 +289,29 @@ public class PdfDict extends PdfObject
         //dataOpStream.writeBytes(Usable.PDF_LF);
         //byteCount += 2;
 
-        for (Iterator iter = dictMap.keySet().iterator(); iter
-            .hasNext();)
+        if (dictMap == null)
+        {
+            for (int i = 0; i < count; ++i)
+            {
+                byteCount += ((PdfName) keys[i]).write(writer);
+                byteCount += ((PdfObject) values[i]).write(writer);
+            }
+        }
+        else
         {
-            PdfName key = (PdfName) iter.next();
-            PdfObject value = (PdfObject) dictMap.get(key);
-            byteCount += key.write(writer);
-            //dataOpStream.writeByte(Usable.PDF_SP);
-            //byteCount++;
-           	byteCount += value.write(writer);
-            //dataOpStream.writeBytes(Usable.PDF_LF);
-            //byteCount += 2;
+            for (Iterator iter = dictMap.entrySet().iterator(); iter
+                .hasNext();)
+            {
+                Map.Entry entry = (Map.Entry) iter.next();
+                PdfName key = (PdfName) entry.getKey();
+                PdfObject value = (PdfObject) entry.getValue();
+                byteCount += key.write(writer);
+                //dataOpStream.writeByte(Usable.PDF_SP);
+                //byteCount++;
+                byteCount += value.write(writer);
+                //dataOpStream.writeBytes(Usable.PDF_LF);
+                //byteCount += 2;
+            }
         }
 
         dataOpStream.writeBytes(Usable.PDF_DICTEND);
@@ -131,4 +319,4 @@ public class PdfDict extends PdfObject
         //byteCount += 2;
         return byteCount;
     }
-}
\ No newline at end of file
+}
@@ -273,8 +273,8 @@ final class PdfFileAttachment implements Cloneable
         PdfFlateFilter.encode(fileStream,
             PdfFlateFilter.BEST_COMPRESSION);
         fileStream.getDictionary().getMap().put(
-            new PdfName(Usable.PDF_TYPE),
-            new PdfName(Usable.PDF_EMBEDDEDFILE));
+            PdfName.intern(Usable.PDF_TYPE),
+            PdfName.intern(Usable.PDF_EMBEDDEDFILE));
 
         return fileStream;
     }
@@ -282,21 +282,21 @@ final class PdfFileAttachment implements Cloneable
     synchronized PdfDict createFileSpecDict()
     {
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_TYPE),
-            new PdfName(Usable.PDF_F));
-            //new PdfName("FileSpec")); /* see implementation note 45 in Appendix H in PDF Reference */
+        hm.put(PdfName.intern(Usable.PDF_TYPE),
+            PdfName.intern(Usable.PDF_F));
+            //PdfName.intern("FileSpec")); /* see implementation note 45 in Appendix H in PDF Reference */
         
-        hm.put(new PdfName(Usable.PDF_F), createPdfFilepath());
+        hm.put(PdfName.intern(Usable.PDF_F), createPdfFilepath());
         if (isUrl())
         {
-            hm.put(new PdfName(Usable.PDF_FS), new PdfName(
+            hm.put(PdfName.intern(Usable.PDF_FS), PdfName.intern(
                 Usable.PDF_URL));
-            hm.put(new PdfName(Usable.PDF_F), new PdfString(
+            hm.put(PdfName.intern(Usable.PDF_F), new PdfString(
                 filepath));
         }
         else if (isVolatile())
         {
-            hm.put(new PdfName(Usable.PDF_V), PdfBoolean.TRUE);
+            hm.put(PdfName.intern(Usable.PDF_V), PdfBoolean.TRUE);
         }
         
         return new PdfDict(hm);
@@ -159,7 +159,7 @@ public class PdfFileAttachmentAnnot extends PdfProAnnot
         this.fa.isAbsolutePath = this.fa.isAbsolute();
         if (unknownAttributes != null)
         {
-            unknownAttributes.remove(new PdfName(PDF_FS));
+            unknownAttributes.remove(PdfName.intern(PDF_FS));
         }
     }
 
@@ -232,7 +232,7 @@ public class PdfFileAttachmentAnnot extends PdfProAnnot
         super.encode(p);
         
         HashMap annotMap = (HashMap) dict.getMap();
-        annotMap.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
             Usable.PDF_FILEATTACHMENTANNOT));
         
         String iconName;
@@ -257,7 +257,7 @@ public class PdfFileAttachmentAnnot extends PdfProAnnot
             default:
                 iconName = "Paperclip";
         }
-        annotMap.put(new PdfName(Usable.PDF_NAME), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_NAME), new PdfName(
             iconName));
 
         return this;
@@ -268,7 +268,7 @@ public class PdfFileAttachmentAnnot extends PdfProAnnot
     {
         super.set(originDoc, d);
         if ((unknownAttributes == null)
-            || ( !unknownAttributes.containsKey(new PdfName(PDF_FS))))
+            || ( !unknownAttributes.containsKey(PdfName.intern(PDF_FS))))
         {
             fsDict = fa.createFileSpecDict();
             fsDict.objNumber = d.objectRun++;
@@ -277,9 +277,9 @@ public class PdfFileAttachmentAnnot extends PdfProAnnot
                 fStream = fa.createFileStream();
                 fStream.objNumber = d.objectRun++;
                 HashMap hm = new HashMap();
-                hm.put(new PdfName(Usable.PDF_F),
+                hm.put(PdfName.intern(Usable.PDF_F),
                     new PdfIndirectReference(fStream.objNumber, 0));
-                fsDict.getMap().put(new PdfName(Usable.PDF_EF),
+                fsDict.getMap().put(PdfName.intern(Usable.PDF_EF),
                     new PdfDict(hm));
             }
         }
@@ -292,10 +292,10 @@ public class PdfFileAttachmentAnnot extends PdfProAnnot
         int index = 0;
         HashMap annotMap = (HashMap) dict.getMap();
         if ((unknownAttributes == null)
-            || ( !unknownAttributes.containsKey(new PdfName(PDF_FS))))
+            || ( !unknownAttributes.containsKey(PdfName.intern(PDF_FS))))
         {
 
-            annotMap.put(new PdfName(PDF_FS),
+            annotMap.put(PdfName.intern(PDF_FS),
                 new PdfIndirectReference(fsDict.objNumber, 0));
             index = fsDict.getObjectNumber();
             d.offset[index] = d.bytesWritten;
@@ -74,8 +74,12 @@ public class PdfFloat extends PdfObject implements PdfNumber
 
     protected int write(PdfWriter writer) throws IOException
     {
-        DataOutputStream dataOpStream = writer.getDataOutputStream();
+        return write(writer.getDataOutputStream(), floatVal);
+    }
 
+    static int write(DataOutputStream dataOpStream, float floatVal)
+        throws IOException
+    {
         String s = PdfWriter.formatFloat(floatVal);
         s = Usable.PDF_SP + s; 
         dataOpStream.writeBytes(s);
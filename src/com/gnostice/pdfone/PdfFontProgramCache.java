@@ -0,0 +1,192 @@
+/**
+****************************************************
+*  Java based PDF creation and manipulation Library      
+****************************************************
+*
+*  Project Title: Gnostice PDFOne Java
+*  Copyright  2002-2008 Gnostice Information Technologies Private Limited, Bangalore, India
+*  http://www.gnostice.com
+*
+*  This file is part of PDFOne Java Library.
+*
+*  This program is free software: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, either version 3 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+
+*  You should have received a copy of the GNU General Public License
+*  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*
+*/
+
+package com.gnostice.pdfone;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import com.gnostice.pdfone.filters.PdfFilter;
+
+/*
+ * Encoded forms of embedded font programs, shared by all documents
+ * written by the process. Documents that embed the same subset of a
+ * font produce identical font programs, so the program is looked up
+ * by a digest of its contents together with the filters and
+ * compression level in effect, and a match is reused instead of
+ * being compressed again.
+ */
+final class PdfFontProgramCache
+{
+    //Upper bound on the total size of the encoded programs kept
+    static final int MAX_CACHED_BYTES = 8 * 1024 * 1024;
+
+    private static final PdfName FILTER = PdfName.intern(
+        Usable.PDF_FILTER);
+
+    private static final PdfName DECODEPARMS = PdfName.intern(
+        Usable.PDF_DECODEPARMS);
+
+    /* encoded programs by key(), least recently used first */
+    private static final LinkedHashMap encodedPrograms = new LinkedHashMap(
+        16, 0.75f, true);
+
+    private static int cachedBytes;
+
+    private ByteBuffer buffer;
+
+    private PdfObject filter;
+
+    private PdfObject decodeParms;
+
+    private PdfFontProgramCache()
+    {
+        //private constructor
+    }
+
+    /*
+     * Same as PdfFilter.encode(), for a stream holding a font program
+     * generated by this process.
+     */
+    static ArrayList encode(PdfStream stm, ArrayList filters,
+        boolean addDefaultFilter, int compressionLevel)
+        throws PdfException
+    {
+        if (filters == null && addDefaultFilter)
+        {
+            filters = new ArrayList();
+            filters.add(new PdfInteger(PdfFilter.FLATE));
+        }
+        if (filters == null || filters.isEmpty())
+        {
+            return filters;
+        }
+
+        String key = key(stm.getBuffer(), filters, compressionLevel);
+        PdfFontProgramCache e = null;
+        if (key != null)
+        {
+            synchronized (encodedPrograms)
+            {
+                e = (PdfFontProgramCache) encodedPrograms.get(key);
+            }
+        }
+        if (e != null)
+        {
+            stm.setBuffer(e.buffer.duplicate());
+            if (e.filter != null)
+            {
+                stm.getDictionary().getMap().put(FILTER,
+                    e.filter.clone());
+            }
+            if (e.decodeParms != null)
+            {
+                stm.getDictionary().getMap().put(DECODEPARMS,
+                    e.decodeParms.clone());
+            }
+            return filters;
+        }
+
+        filters = PdfFilter.encode(stm, filters, addDefaultFilter,
+            compressionLevel);
+        if (key != null)
+        {
+            e = new PdfFontProgramCache();
+            e.buffer = stm.getBuffer();
+            e.filter = stm.getDictionary().getValue(FILTER);
+            e.decodeParms = stm.getDictionary().getValue(DECODEPARMS);
+            if (e.filter != null)
+            {
+                e.filter = (PdfObject) e.filter.clone();
+            }
+            if (e.decodeParms != null)
+            {
+                e.decodeParms = (PdfObject) e.decodeParms.clone();
+            }
+            put(key, e);
+        }
+
+        return filters;
+    }
+
+    /* Keeps e unless it is larger than a quarter of the cache,
+       dropping the least recently used programs to make room */
+    private static void put(String key, PdfFontProgramCache e)
+    {
+        if (e.buffer.capacity() > MAX_CACHED_BYTES / 4)
+        {
+            return;
+        }
+        synchronized (encodedPrograms)
+        {
+            PdfFontProgramCache old = (PdfFontProgramCache) encodedPrograms
+                .put(key, e);
+            if (old != null)
+            {
+                cachedBytes -= old.buffer.capacity();
+            }
+            cachedBytes += e.buffer.capacity();
+            for (Iterator i = encodedPrograms.values().iterator();
+                cachedBytes > MAX_CACHED_BYTES && i.hasNext();)
+            {
+                cachedBytes -= ((PdfFontProgramCache) i.next()).buffer
+                    .capacity();
+                i.remove();
+            }
+        }
+    }
+
+    private static String key(ByteBuffer bb, ArrayList filters,
+        int compressionLevel)
+    {
+        MessageDigest md5;
+        try
+        {
+            md5 = MessageDigest.getInstance("MD5");
+        }
+        catch (NoSuchAlgorithmException nsae)
+        {
+            return null;
+        }
+        md5.update(bb);
+
+        StringBuffer sb = PdfString.appendHex(new StringBuffer(64), md5
+            .digest());
+        sb.append('/').append(bb.capacity());
+        for (int i = 0, limit = filters.size(); i < limit; ++i)
+        {
+            sb.append('/').append(
+                ((PdfInteger) filters.get(i)).getInt());
+        }
+        sb.append('/').append(compressionLevel);
+
+        return sb.toString();
+    }
+}
@@ -35,9 +35,9 @@ import java.util.List;
 
 abstract class PdfFormButtonField extends PdfFormField
 {
-    static final PdfName YES = new PdfName(PDF_YES);
+    static final PdfName YES = PdfName.intern(PDF_YES);
     
-    static final PdfName OFF = new PdfName(PDF_OFF);
+    static final PdfName OFF = PdfName.intern(PDF_OFF);
 
     static final int FLAG_RADIOBUTTON = 1 << 15;
 
@@ -378,7 +378,7 @@ abstract class PdfFormButtonField extends PdfFormField
         HashMap hm = super.prepareMKDict();
         if (this.normalCaption != null)
         {
-            hm.put(new PdfName(PDF_CA), new PdfString(
+            hm.put(PdfName.intern(PDF_CA), new PdfString(
                 normalCaption));
         }
         return hm;
@@ -423,7 +423,7 @@ abstract class PdfFormButtonField extends PdfFormField
             .getObject((PdfObject) apHm.get(n));
         if (appMap != null)
         {
-            m = (HashMap) appMap.dictMap;
+            m = (HashMap) appMap.getMap();
             Object[] objArr = m.keySet().toArray();
             for (int i = 0; i < objArr.length; ++i)
             {
@@ -454,9 +454,9 @@ abstract class PdfFormButtonField extends PdfFormField
         super.set(page, d);
 
         HashMap annotMap = (HashMap) dict.getMap();
-        annotMap.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
             Usable.PDF_WIDGET));
-        annotMap.put(new PdfName(PDF_MK),
+        annotMap.put(PdfName.intern(PDF_MK),
             new PdfDict(prepareMKDict()));
 
         switch (this.type)
@@ -468,20 +468,20 @@ abstract class PdfFormButtonField extends PdfFormField
                 {
                     if (this.fieldFlag != -1)
                     {
-                        this.parent.dict.dictMap.put(new PdfName(PDF_FIELD_FLAG),
+                        this.parent.dict.getMap().put(PdfName.intern(PDF_FIELD_FLAG),
                             new PdfInteger(this.parent.fieldFlag != -1
                                 ? this.fieldFlag ^ this.parent.fieldFlag
                                 : this.fieldFlag));
                     }
                     
                     /* Name will be on state appearance name */
-                    this.dict.dictMap.remove(new PdfName(PDF_T));
+                    this.dict.getMap().remove(PdfName.intern(PDF_T));
                 }
                 else 
                 {
                     if (this.fieldFlag != -1)
                     {
-                        annotMap.put(new PdfName(PDF_FIELD_FLAG),
+                        annotMap.put(PdfName.intern(PDF_FIELD_FLAG),
                             new PdfInteger(this.fieldFlag));
                     }
                 }
@@ -489,7 +489,7 @@ abstract class PdfFormButtonField extends PdfFormField
             default:
                 if (this.fieldFlag != -1)
                 {
-                    annotMap.put(new PdfName(PDF_FIELD_FLAG),
+                    annotMap.put(PdfName.intern(PDF_FIELD_FLAG),
                         new PdfInteger(this.fieldFlag));
                 }
                 break;
@@ -518,7 +518,7 @@ abstract class PdfFormButtonField extends PdfFormField
                 mode = "N";
                 break;
         }
-        annotMap.put(new PdfName("H"), new PdfName(mode));
+        annotMap.put(PdfName.intern("H"), new PdfName(mode));
     }
     
     void writeRadioAndCheckBoxAppearance(PdfStdDocument d)
@@ -547,7 +547,7 @@ abstract class PdfFormButtonField extends PdfFormField
                 normalAppMap.put(OFF, new PdfIndirectReference(
                     ap.objNumber, 0));
             }
-            apHm.put(new PdfName(PDF_N), new PdfDict(normalAppMap));
+            apHm.put(PdfName.intern(PDF_N), new PdfDict(normalAppMap));
         }
         if (rolloverAppMap != null)
         {
@@ -571,7 +571,7 @@ abstract class PdfFormButtonField extends PdfFormField
                 rolloverAppMap.put(OFF, new PdfIndirectReference(
                     ap.objNumber, 0));
             }
-            apHm.put(new PdfName(PDF_R), new PdfDict(rolloverAppMap));
+            apHm.put(PdfName.intern(PDF_R), new PdfDict(rolloverAppMap));
         }
         if (downAppMap != null)
         {
@@ -595,11 +595,11 @@ abstract class PdfFormButtonField extends PdfFormField
                 downAppMap.put(OFF, new PdfIndirectReference(
                     ap.objNumber, 0));
             }
-            apHm.put(new PdfName(PDF_D), new PdfDict(downAppMap));
+            apHm.put(PdfName.intern(PDF_D), new PdfDict(downAppMap));
         }
         if ( !apHm.isEmpty())
         {
-            this.dict.dictMap.put(new PdfName(Usable.PDF_AP),
+            this.dict.getMap().put(PdfName.intern(Usable.PDF_AP),
                 new PdfDict(apHm));
         }
     }
@@ -621,13 +621,13 @@ abstract class PdfFormButtonField extends PdfFormField
             onState = new PdfName(this.getName());
         }
 
-        this.dict.dictMap.put(new PdfName(PDF_AS),
+        this.dict.getMap().put(PdfName.intern(PDF_AS),
             appearanceState == BUTTON_STATE_ON ? onState : OFF);
 
-        this.dict.dictMap.put(new PdfName(PDF_V),
+        this.dict.getMap().put(PdfName.intern(PDF_V),
             appearanceState == BUTTON_STATE_ON ? onState : OFF);
 
-        this.dict.dictMap.put(new PdfName(PDF_DV),
+        this.dict.getMap().put(PdfName.intern(PDF_DV),
             appearanceState == BUTTON_STATE_ON ? onState : OFF);
 
         PdfAppearanceStream ap;
@@ -239,7 +239,7 @@ abstract class PdfFormChoiceField extends PdfFormField
         if ( !inheritedOptions)
         {
             inherited = page.originDoc.reader.getObject(dict
-                .getValue(new PdfName(PDF_OPT)));
+                .getValue(PdfName.intern(PDF_OPT)));
             if (inherited != null && !(inherited instanceof PdfNull))
             {
                 List l = ((PdfArray) inherited).getList();
@@ -272,7 +272,7 @@ abstract class PdfFormChoiceField extends PdfFormField
         if ( !inheritedSelectedIndex)
         {
             inherited = page.originDoc.reader.getObject(dict
-                .getValue(new PdfName(PDF_I)));
+                .getValue(PdfName.intern(PDF_I)));
             if (inherited != null && !(inherited instanceof PdfNull))
             {
                 List l = ((PdfArray) inherited).getList();
@@ -289,7 +289,7 @@ abstract class PdfFormChoiceField extends PdfFormField
         if (!inheritedTopIndex)
         {
             inherited = page.originDoc.reader.getObject(dict
-                .getValue(new PdfName("TI")));
+                .getValue(PdfName.intern("TI")));
             if (inherited != null && !(inherited instanceof PdfNull))
             {
                 this.topIndex = ((PdfNumber) inherited).getInt();
@@ -512,9 +512,9 @@ abstract class PdfFormChoiceField extends PdfFormField
         super.set(page, d);
         
         HashMap annotMap = (HashMap)dict.getMap();
-        annotMap.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
             Usable.PDF_WIDGET));
-        annotMap.put(new PdfName(PDF_MK),
+        annotMap.put(PdfName.intern(PDF_MK),
             new PdfDict(prepareMKDict()));
 
         setExportValues();
@@ -525,9 +525,9 @@ abstract class PdfFormChoiceField extends PdfFormField
             {
                 setMultiselect(true);
             }
-            this.dict.dictMap.put(new PdfName(PDF_V), new PdfArray(
+            this.dict.getMap().put(PdfName.intern(PDF_V), new PdfArray(
                 selectionValues));
-            this.dict.dictMap.put(new PdfName(PDF_I), new PdfArray(
+            this.dict.getMap().put(PdfName.intern(PDF_I), new PdfArray(
                 selectionIndices));
         }
         if (this.font != null)
@@ -551,7 +551,7 @@ abstract class PdfFormChoiceField extends PdfFormField
 
             String da = color + fontName;
 
-            this.dict.dictMap.put(new PdfName(PDF_DA), new PdfString(
+            this.dict.getMap().put(PdfName.intern(PDF_DA), new PdfString(
                 da));
         }
     }
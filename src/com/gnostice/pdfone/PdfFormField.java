@@ -50,9 +50,9 @@ public class PdfFormField extends PdfProAnnot
     
     static final int LEVEL_INTERMEDIATE = 1;
 
-    static final PdfName NAME_VALUE = new PdfName(PDF_V);
+    static final PdfName NAME_VALUE = PdfName.intern(PDF_V);
     
-    static final PdfName NAME_DEFAULTVALUE = new PdfName(PDF_DV);
+    static final PdfName NAME_DEFAULTVALUE = PdfName.intern(PDF_DV);
 
     public static final int BUTTON_STATE_OFF = 0;
     
@@ -360,9 +360,9 @@ public class PdfFormField extends PdfProAnnot
     protected HashMap prepareMKDict()
     {
         HashMap hm = new HashMap();
-        hm.put(new PdfName(PDF_R), new PdfInteger(rotation));
-        hm.put(new PdfName(PDF_BC), normalizeColor(borderColor));
-        hm.put(new PdfName(PDF_BG), normalizeColor(backgroundColor));
+        hm.put(PdfName.intern(PDF_R), new PdfInteger(rotation));
+        hm.put(PdfName.intern(PDF_BC), normalizeColor(borderColor));
+        hm.put(PdfName.intern(PDF_BG), normalizeColor(backgroundColor));
         
         return hm;
     }
@@ -724,7 +724,7 @@ public class PdfFormField extends PdfProAnnot
     {
         if (exportValues == null)
         {
-            PdfName name_opt = new PdfName(PDF_OPT);
+            PdfName name_opt = PdfName.intern(PDF_OPT);
             PdfObject inherited = page.originDoc.reader
                 .getObject(dict.getValue(name_opt));
             if (inherited != null && !(inherited instanceof PdfNull))
@@ -766,7 +766,7 @@ public class PdfFormField extends PdfProAnnot
     void applyPropertiesFrom(PdfDict annotDict, PdfStdPage page)
         throws IOException, PdfException
     {
-        annotDict.dictMap.remove(new PdfName(PDF_FT));
+        annotDict.getMap().remove(PdfName.intern(PDF_FT));
         page.originDoc.catalog.removeFieldsEntry(annotDict.objNumber,
             annotDict.genNumber, page.originDoc);
         
@@ -857,24 +857,24 @@ public class PdfFormField extends PdfProAnnot
             {
                 actionDict = (PdfDict) actionList.get(i);
                 
-                PdfName fields_key = new PdfName(PDF_FIELDS);
-                if (actionDict.dictMap.containsKey(fields_key))
+                PdfName fields_key = PdfName.intern(PDF_FIELDS);
+                if (actionDict.getMap().containsKey(fields_key))
                 {
                     ArrayList indRefs = new ArrayList();
-                    ArrayList fields = (ArrayList) actionDict.dictMap
+                    ArrayList fields = (ArrayList) actionDict.getMap()
                         .get(fields_key);
                     for (int j = 0, limit = fields.size(); j < limit; ++j)
                     {
                         indRefs.add(new PdfIndirectReference(
                             ((PdfFormField) fields.get(i)).dict.objNumber, 0));
                     }
-                    actionDict.dictMap.put(new PdfName(PDF_FIELDS),
+                    actionDict.getMap().put(PdfName.intern(PDF_FIELDS),
                         new PdfArray(indRefs));
                 }
                 
                 if (i != size - 1)
                 {
-                    actionDict.getMap().put(new PdfName(PDF_NEXT),
+                    actionDict.getMap().put(PdfName.intern(PDF_NEXT),
                         new PdfIndirectReference(d.objectRun - 1, 0));
                 }
                 actionDict.setObjectNumber(d.objectRun++);
@@ -887,30 +887,30 @@ public class PdfFormField extends PdfProAnnot
     
     void setActions(PdfStdDocument d)
     {
-        setActionList(mouseEntryActionList, d, new PdfName(PDF_E));
-        setActionList(mouseExitActionList, d, new PdfName(PDF_X));
-        setActionList(mouseDownActionList, d, new PdfName(PDF_D));
-        setActionList(mouseUpActionList, d, new PdfName(PDF_U));
+        setActionList(mouseEntryActionList, d, PdfName.intern(PDF_E));
+        setActionList(mouseExitActionList, d, PdfName.intern(PDF_X));
+        setActionList(mouseDownActionList, d, PdfName.intern(PDF_D));
+        setActionList(mouseUpActionList, d, PdfName.intern(PDF_U));
 
-        setActionList(keyStrokeJavaScriptList, d, new PdfName(
+        setActionList(keyStrokeJavaScriptList, d, PdfName.intern(
             PDF_KEYSTROKE));
-        setActionList(beforeFormatJavaScriptList, d, new PdfName(
+        setActionList(beforeFormatJavaScriptList, d, PdfName.intern(
             PDF_BEFOREFORMAT));
-        setActionList(recalculateJavaScriptList, d, new PdfName(
+        setActionList(recalculateJavaScriptList, d, PdfName.intern(
             PDF_RECALCULATE));
-        setActionList(valueChangeJavaScriptList, d, new PdfName(
+        setActionList(valueChangeJavaScriptList, d, PdfName.intern(
             PDF_VALUECHANGE));
 
-        setActionList(inputFocusActionList, d, new PdfName(PDF_FO));
-        setActionList(inputBlurActionList, d, new PdfName(PDF_BL));
+        setActionList(inputFocusActionList, d, PdfName.intern(PDF_FO));
+        setActionList(inputBlurActionList, d, PdfName.intern(PDF_BL));
 
         setActionList(pageOpenActionList, d,
-            new PdfName(PDF_PAGEOPEN));
-        setActionList(pageCloseActionList, d, new PdfName(
+            PdfName.intern(PDF_PAGEOPEN));
+        setActionList(pageCloseActionList, d, PdfName.intern(
             PDF_PAGECLOSE));
-        setActionList(pageVisibleActionList, d, new PdfName(
+        setActionList(pageVisibleActionList, d, PdfName.intern(
             PDF_PAGEVISIBLE));
-        setActionList(pageInvisibleActionList, d, new PdfName(
+        setActionList(pageInvisibleActionList, d, PdfName.intern(
             PDF_PAGEINVISIBLE));
     }
 
@@ -947,41 +947,41 @@ public class PdfFormField extends PdfProAnnot
                     fType = "Sig";
                     break;
             }
-            fieldMap.put(new PdfName(PDF_FT), new PdfName(fType));
+            fieldMap.put(PdfName.intern(PDF_FT), new PdfName(fType));
         }
         if (this.level != LEVEL_TERMINAL)
         {
-            fieldMap.put(new PdfName(PDF_T), new PdfTextString(
+            fieldMap.put(PdfName.intern(PDF_T), new PdfTextString(
                 this.name == null ? "" : this.name, true));
         }
         else if (name != null)
         {
-            fieldMap.put(new PdfName(PDF_T), new PdfTextString(
+            fieldMap.put(PdfName.intern(PDF_T), new PdfTextString(
                 this.name, true));
         }
         if (this.altName != null)
         {
-            fieldMap.put(new PdfName(PDF_TU), new PdfTextString(
+            fieldMap.put(PdfName.intern(PDF_TU), new PdfTextString(
                 this.altName, true));
         }
         if (this.mappingName != null)
         {
-            fieldMap.put(new PdfName(PDF_TM), new PdfTextString(
+            fieldMap.put(PdfName.intern(PDF_TM), new PdfTextString(
                 this.mappingName, true));
         }
         if (this.fieldFlag != -1)
         {
-            fieldMap.put(new PdfName(PDF_FIELD_FLAG), new PdfInteger(
+            fieldMap.put(PdfName.intern(PDF_FIELD_FLAG), new PdfInteger(
                 this.fieldFlag));
         }
         if (maxlen != -1)
         {
-            fieldMap.put(new PdfName(PDF_MAXLEN), new PdfInteger(
+            fieldMap.put(PdfName.intern(PDF_MAXLEN), new PdfInteger(
                 maxlen));
         }
         if (this.alignment != ALIGNMENT_NONE)
         {
-            fieldMap.put(new PdfName(PDF_Q),
+            fieldMap.put(PdfName.intern(PDF_Q),
                 new PdfInteger(alignment));
         }
 
@@ -992,7 +992,7 @@ public class PdfFormField extends PdfProAnnot
         if (this.actionDict != null)
         {
             setActions(d);
-            fieldMap.put(new PdfName(PDF_AA), actionDict);
+            fieldMap.put(PdfName.intern(PDF_AA), actionDict);
         }
 
         if (this.kids != null)
@@ -1063,18 +1063,18 @@ public class PdfFormField extends PdfProAnnot
                     (child).dict.objNumber, 0));
                 child.write(d);
             }
-            fieldMap.put(new PdfName(PDF_KIDS), new PdfArray(
+            fieldMap.put(PdfName.intern(PDF_KIDS), new PdfArray(
                 kidsIndRefList));
         }
         if (this.parent != null)
         {
-            fieldMap.put(new PdfName(PDF_PARENT),
+            fieldMap.put(PdfName.intern(PDF_PARENT),
                 new PdfIndirectReference(
                     ((PdfFormField) parent).dict.objNumber, 0));
         }
         if (exportValues != null)
         {
-            this.dict.dictMap.put(new PdfName("Opt"), new PdfArray(
+            this.dict.getMap().put(PdfName.intern("Opt"), new PdfArray(
                 exportValues));
         }
         
@@ -1218,8 +1218,8 @@ public class PdfFormField extends PdfProAnnot
         }
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-        hm.put(new PdfName(PDF_S), new PdfName(PDF_RESET_FORM));
+        hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+        hm.put(PdfName.intern(PDF_S), PdfName.intern(PDF_RESET_FORM));
 
         switch (eventType)
         {
@@ -1317,14 +1317,14 @@ public class PdfFormField extends PdfProAnnot
         }
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-        hm.put(new PdfName(PDF_S), new PdfName(PDF_RESET_FORM));
+        hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+        hm.put(PdfName.intern(PDF_S), PdfName.intern(PDF_RESET_FORM));
         if (field != null)
         {
             ArrayList fields = new ArrayList();
             fields.add(field);
-            hm.put(new PdfName(PDF_FIELDS), fields);
-            hm.put(new PdfName(PDF_FLAGS), new PdfInteger(exclude ? 1
+            hm.put(PdfName.intern(PDF_FIELDS), fields);
+            hm.put(PdfName.intern(PDF_FLAGS), new PdfInteger(exclude ? 1
                 : 0));
         }
         switch (eventType)
@@ -1423,12 +1423,12 @@ public class PdfFormField extends PdfProAnnot
         }
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-        hm.put(new PdfName(PDF_S), new PdfName(PDF_RESET_FORM));
+        hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+        hm.put(PdfName.intern(PDF_S), PdfName.intern(PDF_RESET_FORM));
         if (fields != null)
         {
-            hm.put(new PdfName(PDF_FIELDS), fields);
-            hm.put(new PdfName(PDF_FLAGS), new PdfInteger(exclude ? 1
+            hm.put(PdfName.intern(PDF_FIELDS), fields);
+            hm.put(PdfName.intern(PDF_FLAGS), new PdfInteger(exclude ? 1
                 : 0));
         }
         switch (eventType)
@@ -1527,24 +1527,24 @@ public class PdfFormField extends PdfProAnnot
         }
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-        hm.put(new PdfName(PDF_S), new PdfName(PDF_NAMED));
+        hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+        hm.put(PdfName.intern(PDF_S), PdfName.intern(PDF_NAMED));
         
         if (namedAction == PdfAction.NAMED_FIRSTPAGE)
         {
-            hm.put(new PdfName(PDF_N), new PdfName(PDF_FIRST_PAGE));
+            hm.put(PdfName.intern(PDF_N), PdfName.intern(PDF_FIRST_PAGE));
         }
         else if (namedAction == PdfAction.NAMED_LASTPAGE)
         {
-            hm.put(new PdfName(PDF_N), new PdfName(PDF_LAST_PAGE));
+            hm.put(PdfName.intern(PDF_N), PdfName.intern(PDF_LAST_PAGE));
         }
         else if (namedAction == PdfAction.NAMED_NEXTPAGE)
         {
-            hm.put(new PdfName(PDF_N), new PdfName(PDF_NEXT_PAGE));
+            hm.put(PdfName.intern(PDF_N), PdfName.intern(PDF_NEXT_PAGE));
         }
         else if (namedAction == PdfAction.NAMED_PREVPAGE)
         {
-            hm.put(new PdfName(PDF_N), new PdfName(PDF_PREV_PAGE));
+            hm.put(PdfName.intern(PDF_N), PdfName.intern(PDF_PREV_PAGE));
         }
         else
         {
@@ -1647,19 +1647,19 @@ public class PdfFormField extends PdfProAnnot
         }
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
+        hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
 
         if (actionType == PdfAction.URI)
         {
-            hm.put(new PdfName(PDF_S), new PdfName(PDF_URI_ACTION));
-            hm.put(new PdfName(PDF_URI_ACTION), new PdfString(
+            hm.put(PdfName.intern(PDF_S), PdfName.intern(PDF_URI_ACTION));
+            hm.put(PdfName.intern(PDF_URI_ACTION), new PdfString(
                 javascriptOrUri, true));
         }
         else if (actionType == PdfAction.JAVASCRIPT)
         {
-            hm.put(new PdfName(PDF_S), new PdfName(
+            hm.put(PdfName.intern(PDF_S), PdfName.intern(
                 PDF_JAVASCRIPT_ACTION));
-            hm.put(new PdfName(PDF_JS), new PdfString(
+            hm.put(PdfName.intern(PDF_JS), new PdfString(
                 javascriptOrUri, true));
         }
         else
@@ -1807,20 +1807,20 @@ public class PdfFormField extends PdfProAnnot
 
         if (actionType == PdfAction.LAUNCH)
         {
-            hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-            hm.put(new PdfName(PDF_S), new PdfName(
+            hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+            hm.put(PdfName.intern(PDF_S), PdfName.intern(
                 PDF_LAUNCH_ACTION));
-            hm.put(new PdfName(PDF_F), new PdfString(
+            hm.put(PdfName.intern(PDF_F), new PdfString(
                 applicationToLaunch, true));
             HashMap winHm = new HashMap();
-            winHm.put(new PdfName(PDF_F), new PdfString(
+            winHm.put(PdfName.intern(PDF_F), new PdfString(
                 applicationToLaunch, true));
             if (isPrint)
             {
-                winHm.put(new PdfName(PDF_O), new PdfString("print",
+                winHm.put(PdfName.intern(PDF_O), new PdfString("print",
                     false));
             }
-            hm.put(new PdfName("Win"), new PdfDict(winHm));
+            hm.put(PdfName.intern("Win"), new PdfDict(winHm));
         }
         else
         {
@@ -162,7 +162,7 @@ public class PdfFormListBox extends PdfFormChoiceField
         throws IOException, PdfException
     {
         super.set(originDoc, d);
-        this.dict.dictMap.put(new PdfName("TI"), new PdfInteger(
+        this.dict.getMap().put(PdfName.intern("TI"), new PdfInteger(
             topIndex));
     }
         
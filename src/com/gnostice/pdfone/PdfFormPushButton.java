@@ -186,35 +186,35 @@ public class PdfFormPushButton extends PdfFormButtonField
         switch (this.scaleEvent)
         {
             case SCALE_NEVER:
-                sw = new PdfName(PDF_N);
+                sw = PdfName.intern(PDF_N);
                 break;
             case SCALE_WHEN_ICON_IS_BIGGER:
-                sw = new PdfName(PDF_B);
+                sw = PdfName.intern(PDF_B);
                 break;
             case SCALE_WHEN_ICON_IS_SMALLER:
-                sw = new PdfName(PDF_S);
+                sw = PdfName.intern(PDF_S);
                 break;
             default:
-                sw = new PdfName(PDF_A);
+                sw = PdfName.intern(PDF_A);
                 break;
         }
-        hm.put(new PdfName("SW"), sw);
+        hm.put(PdfName.intern("SW"), sw);
         switch (this.scaleType)
         {
             case SCALE_TYPE_ANAMORPHIC:
-                sw = new PdfName(PDF_A);
+                sw = PdfName.intern(PDF_A);
                 break;
             default:
-                sw = new PdfName(PDF_P);
+                sw = PdfName.intern(PDF_P);
                 break;
         }
-        hm.put(new PdfName(PDF_S), sw);
+        hm.put(PdfName.intern(PDF_S), sw);
 
         ArrayList padding = new ArrayList();
         padding.add(new PdfFloat(iconLeftPadding));
         padding.add(new PdfFloat(iconBottomPadding));
-        hm.put(new PdfName(PDF_A), new PdfArray(padding));
-        hm.put(new PdfName("FB"), new PdfBoolean(iconFitToRect));
+        hm.put(PdfName.intern(PDF_A), new PdfArray(padding));
+        hm.put(PdfName.intern("FB"), new PdfBoolean(iconFitToRect));
 
         return hm;
     }
@@ -224,17 +224,17 @@ public class PdfFormPushButton extends PdfFormButtonField
         HashMap hm = super.prepareMKDict();
         if (this.downCaption != null)
         {
-            hm.put(new PdfName(PDF_AC), new PdfTextString(
+            hm.put(PdfName.intern(PDF_AC), new PdfTextString(
                 downCaption, true));
         }
         if (this.rolloverCaption != null)
         {
-            hm.put(new PdfName(PDF_RC), new PdfTextString(
+            hm.put(PdfName.intern(PDF_RC), new PdfTextString(
                 rolloverCaption, true));
         }
-        hm.put(new PdfName(PDF_IF), new PdfDict(
+        hm.put(PdfName.intern(PDF_IF), new PdfDict(
                 prepareIconFitDict()));
-        hm.put(new PdfName(PDF_TP), new PdfInteger(
+        hm.put(PdfName.intern(PDF_TP), new PdfInteger(
             this.captionPosition));
 
         return hm;
@@ -264,24 +264,24 @@ public class PdfFormPushButton extends PdfFormButtonField
 
             String da = color + fontName;
 
-            this.dict.dictMap.put(new PdfName(PDF_DA), new PdfString(
+            this.dict.getMap().put(PdfName.intern(PDF_DA), new PdfString(
                 da));
         }
 
-        PdfName ap = new PdfName(PDF_AP);
-        if (this.dict.dictMap.containsKey(ap))
+        PdfName ap = PdfName.intern(PDF_AP);
+        if (this.dict.getMap().containsKey(ap))
         {
-            PdfName i = new PdfName(PDF_I);
-            PdfName ri = new PdfName(PDF_RI);
-            PdfName ix = new PdfName(PDF_IX);
-            PdfName normal = new PdfName(PDF_N);
-            PdfName rollover = new PdfName(PDF_R);
-            PdfName down = new PdfName(PDF_D);
+            PdfName i = PdfName.intern(PDF_I);
+            PdfName ri = PdfName.intern(PDF_RI);
+            PdfName ix = PdfName.intern(PDF_IX);
+            PdfName normal = PdfName.intern(PDF_N);
+            PdfName rollover = PdfName.intern(PDF_R);
+            PdfName down = PdfName.intern(PDF_D);
             
-            HashMap aphm = (HashMap) ((PdfDict) this.dict.dictMap
-                .get(ap)).dictMap;
-            HashMap mkhm = (HashMap) ((PdfDict) this.dict.dictMap
-                .get(new PdfName(PDF_MK))).dictMap;
+            HashMap aphm = (HashMap) ((PdfDict) this.dict.getMap()
+                .get(ap)).getMap();
+            HashMap mkhm = (HashMap) ((PdfDict) this.dict.getMap()
+                .get(PdfName.intern(PDF_MK))).getMap();
             if (aphm.containsKey(normal))
             {
                 mkhm.put(i, aphm.get(normal));
@@ -295,7 +295,7 @@ public class PdfFormPushButton extends PdfFormButtonField
                 mkhm.put(ix, aphm.get(down));
             }
             
-            this.dict.dictMap.remove(ap);
+            this.dict.getMap().remove(ap);
         }
     }
 
@@ -54,7 +54,7 @@ import com.gnostice.pdfone.graphics.PdfPen;
 
 public class PdfFormRadioButton extends PdfFormButtonField
 {
-    static final PdfName FLAG = new PdfName(PDF_FIELD_FLAG);
+    static final PdfName FLAG = PdfName.intern(PDF_FIELD_FLAG);
 
     private boolean nameChangeNeeded;
     
@@ -251,8 +251,8 @@ public class PdfFormRadioButton extends PdfFormButtonField
 
         if (!apHm.isEmpty())
         {
-            PdfName[] names = new PdfName[] { new PdfName(PDF_N),
-                new PdfName(PDF_R), new PdfName(PDF_D) };
+            PdfName[] names = new PdfName[] { PdfName.intern(PDF_N),
+                PdfName.intern(PDF_R), PdfName.intern(PDF_D) };
             int i = 0;
             boolean found = false;
 
@@ -347,26 +347,26 @@ public class PdfFormRadioButton extends PdfFormButtonField
         onState = new PdfName(this.getName());
 
         appMap = (PdfDict) page.originDoc.reader
-            .getObject((PdfObject) apHm.get(new PdfName(PDF_N)));
+            .getObject((PdfObject) apHm.get(PdfName.intern(PDF_N)));
         if (appMap != null)
         {
-            m = (HashMap) appMap.dictMap;
+            m = (HashMap) appMap.getMap();
             modifyAppMap(m);
         }
 
         appMap = (PdfDict) page.originDoc.reader
-            .getObject((PdfObject) apHm.get(new PdfName(PDF_R)));
+            .getObject((PdfObject) apHm.get(PdfName.intern(PDF_R)));
         if (appMap != null)
         {
-            m = (HashMap) appMap.dictMap;
+            m = (HashMap) appMap.getMap();
             modifyAppMap(m);
         }
 
         appMap = (PdfDict) page.originDoc.reader
-            .getObject((PdfObject) apHm.get(new PdfName(PDF_D)));
+            .getObject((PdfObject) apHm.get(PdfName.intern(PDF_D)));
         if (appMap != null)
         {
-            m = (HashMap) appMap.dictMap;
+            m = (HashMap) appMap.getMap();
             modifyAppMap(m);
         }
     }
@@ -565,14 +565,14 @@ public class PdfFormTextField extends PdfFormField
         throws IOException, PdfException
     {
         HashMap annotMap = (HashMap)dict.getMap();
-        annotMap.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
             Usable.PDF_WIDGET));
-        annotMap.put(new PdfName(PDF_MK),
+        annotMap.put(PdfName.intern(PDF_MK),
             new PdfDict(prepareMKDict()));
 
         if (this.fieldFlag != -1)
         {
-            annotMap.put(new PdfName(PDF_FIELD_FLAG),
+            annotMap.put(PdfName.intern(PDF_FIELD_FLAG),
                 new PdfInteger(this.fieldFlag));
         }
         if (this.value != null)
@@ -589,13 +589,13 @@ public class PdfFormTextField extends PdfFormField
             
             if (this.font == null)
             {
-                annotMap.put(new PdfName(PDF_V), new PdfString(value,
+                annotMap.put(PdfName.intern(PDF_V), new PdfString(value,
                     true));
             }
             else
             {
                 try {
-                    annotMap.put(new PdfName(PDF_V), new PdfString(
+                    annotMap.put(PdfName.intern(PDF_V), new PdfString(
                         PdfString.escape(new String(font
                             .updateGlyphList(value), "Cp1252"))));
                 }
@@ -608,13 +608,13 @@ public class PdfFormTextField extends PdfFormField
             
             if (this.font == null)
             {
-                annotMap.put(new PdfName(PDF_DV), new PdfString(defaultValue,
+                annotMap.put(PdfName.intern(PDF_DV), new PdfString(defaultValue,
                     true));
             }
             else
             {
                 try {
-                    annotMap.put(new PdfName(PDF_DV), new PdfString(
+                    annotMap.put(PdfName.intern(PDF_DV), new PdfString(
                     PdfString.escape(new String(
                         font.updateGlyphList(defaultValue), "Cp1252"))));
                 }
@@ -643,7 +643,7 @@ public class PdfFormTextField extends PdfFormField
 
             String da = color + fontName;
 
-            this.dict.dictMap.put(new PdfName(PDF_DA), new PdfString(
+            this.dict.getMap().put(PdfName.intern(PDF_DA), new PdfString(
                 da));
         }
         
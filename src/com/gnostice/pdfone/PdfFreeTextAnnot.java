@@ -370,9 +370,9 @@ public class PdfFreeTextAnnot extends PdfProAnnot
         super.encode(p);
         
         HashMap annotMap = (HashMap)dict.getMap();
-        annotMap.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
             Usable.PDF_FREETEXTANNOT));
-        annotMap.put(new PdfName(Usable.PDF_Q), new PdfInteger(
+        annotMap.put(PdfName.intern(Usable.PDF_Q), new PdfInteger(
             getAlignment()));
         
         double pageHeight = p.pageHeight;
@@ -402,7 +402,7 @@ public class PdfFreeTextAnnot extends PdfProAnnot
                         arrCallout.add(new PdfFloat(newCallout[i]));
                     }
                 }
-                annotMap.put(new PdfName(Usable.PDF_CL), new PdfArray(
+                annotMap.put(PdfName.intern(Usable.PDF_CL), new PdfArray(
                     arrCallout));
             }
             else
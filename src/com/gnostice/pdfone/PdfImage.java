@@ -30,11 +30,20 @@ import java.io.EOFException;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 
 import javax.imageio.stream.FileImageInputStream;
 
+import com.gnostice.pdfone.filters.PdfFlateFilter;
+
 
 /**
  * This class represents an image that can be used in a document or page.
@@ -66,27 +75,59 @@ import javax.imageio.stream.FileImageInputStream;
  */
 public abstract class PdfImage extends PdfStream
 {
-    private static final PdfName TYPE = new PdfName(Usable.PDF_TYPE);
+    private static final PdfName TYPE = PdfName.intern(Usable.PDF_TYPE);
     
-    private static final PdfName XOBJ = new PdfName(Usable.PDF_XOBJECT);
+    private static final PdfName XOBJ = PdfName.intern(Usable.PDF_XOBJECT);
     
-    private static final PdfName SUBTYPE = new PdfName(Usable.PDF_SUBTYPE);
+    private static final PdfName SUBTYPE = PdfName.intern(Usable.PDF_SUBTYPE);
     
-    private static final PdfName IMAGE = new PdfName(Usable.PDF_IMAGE);
+    private static final PdfName IMAGE = PdfName.intern(Usable.PDF_IMAGE);
+
+    private static final PdfName WIDTH = PdfName.intern(Usable.PDF_WIDTH);
+
+    private static final PdfName HEIGHT = PdfName.intern(
+        Usable.PDF_HEIGHT);
+
+    private static final PdfName BITS_PER_COMPONENT = PdfName.intern(
+        Usable.PDF_BITS_PER_COMPONENT);
+
+    private static final PdfName MASK = PdfName.intern(Usable.PDF_MASK);
+
+    private static final PdfName COLORSPACE = PdfName.intern(
+        Usable.PDF_COLORSPACE);
+
+    protected static final PdfName FILTER = PdfName.intern(
+        Usable.PDF_FILTER);
+
+    protected static final PdfName FLATE = PdfName.intern(
+        Usable.PDF_FLATE);
     
     private static final int BMP_START_VALUE = 19778;
     
     private static final int JPEG_START_VALUE = 55551;
     
     private static final int PNG_START_VALUE = 20617;
+
+    //Upper bound on the total size of the images kept by create()
+    static final int MAX_CACHED_BYTES = 32 * 1024 * 1024;
+
+    /* images read by create(), by absolute path, least recently used
+       first */
+    private static final LinkedHashMap cache = new LinkedHashMap(16,
+        0.75f, true);
+
+    private static long cachedBytes;
     
-    protected static final PdfName CS_DEVICE_GRAY = new PdfName(
+    protected static final PdfName CS_DEVICE_GRAY = PdfName.intern(
         Usable.PDF_DEVICE_GRAY);
 
-    protected static final PdfName CS_DEVICE_RGB = new PdfName(
+    protected static final PdfName CS_DEVICE_RGB = PdfName.intern(
         Usable.PDF_DEVICE_RGB);
 
-    protected static final PdfName CS_INDEXED = new PdfName(
+    protected static final PdfName CS_DEVICE_CMYK = PdfName.intern(
+        Usable.PDF_DEVICE_CMYK);
+
+    protected static final PdfName CS_INDEXED = PdfName.intern(
         Usable.PDF_INDEXED);
 
     protected boolean isIndexed = false;
@@ -107,11 +148,19 @@ public abstract class PdfImage extends PdfStream
 
     protected float rotation;
 
+    protected float placedWidth; //largest width drawn at, in points
+
+    protected float placedHeight; //largest height drawn at, in points
+
     protected PdfObject colorSpace;
     
     protected PdfArray matrix;
     
     protected PdfStream lookUpStream; //for indexed images
+
+    protected PdfStream sMask; //for images with alpha
+
+    private PdfString key; //digest of the image, computed on first use
     
 //    protected int compression; //compression format
     
@@ -159,30 +208,156 @@ public abstract class PdfImage extends PdfStream
 	 */
     public static PdfImage create(String path)
         throws IOException, PdfException
+    {
+        return create(path, false);
+    }
+
+    /**
+     * Creates <code>PdfImage</code> objects based on the image files
+     * specified by <code>paths</code>. The files are read, converted
+     * and compressed on several threads at once, so that the images
+     * are only copied to the document when it is written.
+     * 
+     * @param paths
+     *            relative or fully qualified paths and filenames of
+     *            the images
+     * @return new <code>PdfImage</code> objects, in the order of
+     *         <code>paths</code>
+     * @exception IOException
+     *            if an I/O error occurs.
+     * @exception PdfException
+     *            if an illegal argument is supplied.
+     * @see #create(String[], int)
+     */
+    public static PdfImage[] create(String[] paths)
+        throws IOException, PdfException
+    {
+        return create(paths, PdfWorkers.defaultThreads());
+    }
+
+    /**
+     * Creates <code>PdfImage</code> objects based on the image files
+     * specified by <code>paths</code>, using up to
+     * <code>threads</code> threads to read, convert and compress
+     * them.
+     * 
+     * @param paths
+     *            relative or fully qualified paths and filenames of
+     *            the images
+     * @param threads
+     *            maximum number of threads to use
+     * @return new <code>PdfImage</code> objects, in the order of
+     *         <code>paths</code>
+     * @exception IOException
+     *            if an I/O error occurs.
+     * @exception PdfException
+     *            if an illegal argument is supplied.
+     * @see #create(String[])
+     */
+    public static PdfImage[] create(final String[] paths, int threads)
+        throws IOException, PdfException
+    {
+        if (paths == null)
+        {
+            throw new PdfException(
+                "Illegal argument to PdfImage.create() [paths == null].");
+        }
+        final PdfImage[] images = new PdfImage[paths.length];
+        PdfWorkers.Task[] tasks = new PdfWorkers.Task[paths.length];
+        for (int i = 0; i < paths.length; ++i)
+        {
+            final int index = i;
+            tasks[i] = new PdfWorkers.Task()
+            {
+                public void run() throws IOException, PdfException
+                {
+                    images[index] = create(paths[index], true);
+                }
+            };
+        }
+        PdfWorkers.run(tasks, threads);
+
+        return images;
+    }
+
+    /* Reads the image at path, or copies it from the cache. If
+       precompress is true, data that would otherwise be compressed
+       when the document is written is compressed now. */
+    private static PdfImage create(String path, boolean precompress)
+        throws IOException, PdfException
     {
         if (path == null)
         {
             throw new PdfException(
                 "Illegal argument to PdfImage.create() [path == null].");
         }
+        File f = new File(path);
+        String key = f.getAbsolutePath();
+        long lastModified = f.lastModified();
+        long length = f.length();
+        CachedImage e;
+        synchronized (cache)
+        {
+            e = (CachedImage) cache.get(key);
+        }
+        if (e != null && e.lastModified == lastModified
+            && e.length == length)
+        {
+            PdfImage img = (PdfImage) e.image.copy();
+            if (precompress)
+            {
+                img.precompress();
+            }
+            return img;
+        }
+
+        e = new CachedImage();
+        e.image = read(f);
+        PdfImageReducer.reduce(e.image);
+        e.image.getKey();
+        if (precompress)
+        {
+            //the key stays that of the data as read, so the image
+            //matches the same image drawn without precompression
+            e.image.precompress();
+        }
+        e.lastModified = lastModified;
+        e.length = length;
+        e.size = e.image.streamBuffer.capacity();
+        if (e.image.lookUpStream != null)
+        {
+            e.size += e.image.lookUpStream.streamBuffer.capacity();
+        }
+        if (e.image.sMask != null)
+        {
+            e.size += e.image.sMask.streamBuffer.capacity();
+        }
+        put(key, e);
+
+        return (PdfImage) e.image.copy();
+    }
+
+    private static PdfImage read(File f) throws IOException,
+        PdfException
+    {
         FileImageInputStream fiis = null;
         try
         {
-            fiis = new FileImageInputStream(new File(path));
+            fiis = new FileImageInputStream(f);
             fiis.setByteOrder(ByteOrder.LITTLE_ENDIAN);
             int i = fiis.readUnsignedShort();
             if (i == BMP_START_VALUE)
             {
                 return new PdfImageBmp(fiis);
             }
-            else if (i == JPEG_START_VALUE)
+            fiis.seek(0);
+            fiis.setByteOrder(ByteOrder.BIG_ENDIAN);
+            if (i == JPEG_START_VALUE)
             {
-                fiis = new FileImageInputStream(new File(path));
                 return new PdfImageJpeg(fiis);
             }
             else if (i == PNG_START_VALUE)
             {
-                fiis = new FileImageInputStream(new File(path));
                 return new PdfImagePng(fiis);
             }
             else
@@ -199,13 +374,79 @@ public abstract class PdfImage extends PdfStream
         {
             throw new PdfException("Insufficient image data.");
         }
-//        finally
-//        {
-//            if (fiis != null)
-//            {
-//                fiis.close();
-//            }
-//        }
+        finally
+        {
+            if (fiis != null)
+            {
+                fiis.close();
+            }
+        }
+    }
+
+    /* Flate encodes the image data, lookup table and soft mask
+       that are not encoded yet */
+    private void precompress() throws PdfException
+    {
+        if (!isEncoded())
+        {
+            PdfFlateFilter.encode(this, PdfFlateFilter.BEST_COMPRESSION);
+        }
+        if (lookUpStream != null
+            && lookUpStream.getDictionary().getValue(FILTER) == null)
+        {
+            PdfFlateFilter.encode(lookUpStream,
+                PdfFlateFilter.BEST_COMPRESSION);
+        }
+        if (sMask != null
+            && sMask.getDictionary().getValue(FILTER) == null)
+        {
+            PdfFlateFilter.encode(sMask, PdfFlateFilter.BEST_COMPRESSION);
+        }
+    }
+
+    /* Keeps e unless it is larger than a quarter of the cache,
+       dropping the least recently used images to make room */
+    private static void put(String key, CachedImage e)
+    {
+        if (e.size > MAX_CACHED_BYTES / 4)
+        {
+            return;
+        }
+        synchronized (cache)
+        {
+            CachedImage old = (CachedImage) cache.put(key, e);
+            if (old != null)
+            {
+                cachedBytes -= old.size;
+            }
+            cachedBytes += e.size;
+            for (Iterator i = cache.values().iterator(); cachedBytes
+                > MAX_CACHED_BYTES && i.hasNext();)
+            {
+                cachedBytes -= ((CachedImage) i.next()).size;
+                i.remove();
+            }
+        }
+    }
+
+    /* Returns a copy of the image, sharing its data, that can be
+       drawn and written independently of it */
+    PdfStream copy()
+    {
+        PdfImage img = (PdfImage) super.copy();
+        if (lookUpStream != null && colorSpace instanceof PdfArray)
+        {
+            img.lookUpStream = lookUpStream.copy();
+            List l = new ArrayList(((PdfArray) colorSpace).getList());
+            l.set(3, img.lookUpStream);
+            img.colorSpace = new PdfArray(l);
+        }
+        if (sMask != null)
+        {
+            img.sMask = sMask.copy();
+        }
+
+        return img;
     }
 
     /**
@@ -371,10 +612,167 @@ public abstract class PdfImage extends PdfStream
 
     public int hashCode()
     {
-        this.streamBuffer.position(0);
-        return this.streamBuffer.hashCode();
+        return getKey().hashCode();
+    }
+
+    /*
+     * Returns the key under which pages and documents register this
+     * image. It is the hex MD5 digest of the image data and of the
+     * dimensions, filter, palette, masks and soft mask of the image,
+     * so two images share a key only if they produce the same image
+     * XObject. The digest is computed on the first call only.
+     */
+    synchronized PdfString getKey()
+    {
+        if (key != null)
+        {
+            return key;
+        }
+
+        MessageDigest md5;
+        try
+        {
+            md5 = MessageDigest.getInstance("MD5");
+        }
+        catch (NoSuchAlgorithmException nsae)
+        {
+            streamBuffer.position(0);
+            key = new PdfString(Integer.toHexString(streamBuffer
+                .hashCode()));
+            return key;
+        }
+
+        StringBuffer sb = new StringBuffer(128);
+        sb.append((int) width).append(' ').append((int) height)
+            .append(' ').append(bitsPerComp);
+        if (colorSpace instanceof PdfName)
+        {
+            sb.append(' ').append(((PdfName) colorSpace).getString());
+        }
+        PdfObject filter = streamDict.getValue(FILTER);
+        if (filter instanceof PdfName)
+        {
+            sb.append(' ').append(((PdfName) filter).getString());
+        }
+        PdfObject mask = streamDict.getValue(MASK);
+        if (mask instanceof PdfArray)
+        {
+            List l = ((PdfArray) mask).getList();
+            for (int i = 0, n = l.size(); i < n; ++i)
+            {
+                sb.append(' ').append(((PdfInteger) l.get(i)).getInt());
+            }
+        }
+        md5.update(sb.toString().getBytes());
+        update(md5, streamBuffer);
+        update(md5, lookUpStream == null ? null : lookUpStream.streamBuffer);
+        update(md5, sMask == null ? null : sMask.streamBuffer);
+
+        sb.setLength(0);
+        key = new PdfString(PdfString.appendHex(sb, md5.digest())
+            .toString());
+
+        return key;
+    }
+
+    private static void update(MessageDigest md, ByteBuffer bb)
+    {
+        if (bb == null)
+        {
+            md.update((byte) 0);
+            return;
+        }
+        bb = bb.duplicate();
+        bb.position(0);
+        md.update((byte) 1);
+        md.update(bb);
     }
     
+    /* Returns true if the image data was encoded when the image was
+       created, in which case the document does not apply its own
+       filters to it */
+    boolean isEncoded()
+    {
+        return streamDict.getValue(FILTER) != null;
+    }
+
+    /* Sets the soft mask of the image to a DeviceGray image holding
+       alpha, which is already Flate encoded if encoded is true */
+    protected void setSoftMask(ByteBuffer alpha, int bpc, boolean encoded)
+    {
+        HashMap hm = new HashMap();
+        hm.put(TYPE, XOBJ);
+        hm.put(SUBTYPE, IMAGE);
+        hm.put(WIDTH, new PdfInteger((int) width));
+        hm.put(HEIGHT, new PdfInteger((int) height));
+        hm.put(BITS_PER_COMPONENT, new PdfInteger(bpc));
+        hm.put(COLORSPACE, CS_DEVICE_GRAY);
+        if (encoded)
+        {
+            hm.put(FILTER, FLATE);
+        }
+        sMask = new PdfStream(new PdfDict(hm), alpha);
+    }
+
+    /* Assigns the object number of the image. The streams written
+       along with it are numbered by setStreamNumbers(), once the
+       document knows which copy of the image it writes. */
+    void setObjectNumbers(PdfStdDocument d)
+    {
+        setObjectNumber(d.objectRun++);
+    }
+
+    /* Assigns object numbers to the lookup table and soft mask of an
+       image that is about to be written */
+    void setStreamNumbers(PdfStdDocument d)
+    {
+        if (colorSpace instanceof PdfArray)
+        {
+            List l = ((PdfArray) colorSpace).getList();
+            PdfStream s = (PdfStream) l.get(3);
+            s.setObjectNumber(d.objectRun++);
+        }
+        if (sMask != null)
+        {
+            sMask.setObjectNumber(d.objectRun++);
+        }
+    }
+
+    /* Records that the image is drawn at w x h points */
+    synchronized void place(double w, double h)
+    {
+        placedWidth = Math.max(placedWidth, (float) Math.abs(w));
+        placedHeight = Math.max(placedHeight, (float) Math.abs(h));
+    }
+
+    /* Restores the size and rotation of a newly created image, for an
+       image that is reused for another drawing */
+    void reset()
+    {
+        this.scaledWidth = -1;
+        this.scaledHeight = -1;
+        this.rotation = 0;
+        this.isRotated = false;
+    }
+
+    /* Forgets the digest of a copy whose data was replaced by that
+       of another image */
+    synchronized void clearKey()
+    {
+        key = null;
+    }
+
+    private static final class CachedImage
+    {
+        PdfImage image;
+
+        long lastModified;
+
+        long length;
+
+        int size;
+    }
+
     protected void store()
     {
         this.tempRotation = this.rotation;
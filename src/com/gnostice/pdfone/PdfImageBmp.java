@@ -29,10 +29,15 @@ package com.gnostice.pdfone;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
 import javax.imageio.stream.FileImageInputStream;
 
+import com.gnostice.pdfone.filters.PdfFlateFilter;
+
 /**
  * @author amol
  * 
@@ -77,6 +82,14 @@ final class PdfImageBmp extends PdfImage
     
     long alphaMask;
 
+    /* masks and shifts of the red, green and blue channels of 16 and
+       32 bit pixels */
+    private int[] channelMasks;
+
+    private int[] channelShifts;
+
+    private static final int DEFLATE_BUFFER_SIZE = 8192;
+
     private static final int BMP_HEADER_SIZE = 14;
     
     private static final int BMP_RGBTRIPLE_ENTRIES = 3;
@@ -544,37 +557,7 @@ final class PdfImageBmp extends PdfImage
     {
         this.isIndexed = true;
         this.bitsPerComp = bitCount;
-        int bytesPerLine = (int) Math.ceil(width / 8);
-        int paddedBytes = bytesPerLine % 4 == 0 ? 0
-            : 4 - (bytesPerLine % 4); //4 bytes per word 
-        int bufSize = (bytesPerLine + paddedBytes) * (int) height;
-        byte[] buffer = new byte[bufSize];
-        byte[] temp = new byte[bufSize];
-
-        for (int bytesRead = 0; bytesRead < bufSize; )
-        {
-            bytesRead += fiis.read(temp, bytesRead,
-                bufSize - bytesRead);
-        }
-        if (!isTopDown)
-        {
-            for (int i = 0; i < height; i++)
-            {
-                System.arraycopy(temp, bufSize - (i + 1)
-                    * (bytesPerLine + paddedBytes), buffer,
-                    i * bytesPerLine, bytesPerLine);
-            }
-        }
-        else //if top - down
-        {
-            for (int i = 0; i < height; i++)
-            {
-                System.arraycopy(temp, i
-                    * (bytesPerLine + paddedBytes), buffer,
-                    i * bytesPerLine, bytesPerLine);
-            }
-        }
-        streamBuffer = ByteBuffer.wrap(buffer);
+        readRows((int) Math.ceil(width / 8));
         fillLookUpStream(paletteWidth);
     }
 
@@ -584,37 +567,7 @@ final class PdfImageBmp extends PdfImage
     {
         this.isIndexed = true;
         this.bitsPerComp = bitCount;
-        int bytesPerLine = (int) Math.ceil((double) width * 4 / 8);
-        int paddedBytes = bytesPerLine % 4 == 0 ? 0
-            : 4 - (bytesPerLine % 4); //4 bytes per word
-        int bufSize = (bytesPerLine + paddedBytes) * (int) height;
-        byte[] buffer = new byte[bufSize];
-        byte[] temp = new byte[bufSize];
-
-        for (int bytesRead = 0; bytesRead < bufSize; )
-        {
-            bytesRead += fiis.read(temp, bytesRead,
-                bufSize - bytesRead);
-        }
-        if (!isTopDown)
-        {
-            for (int i = 0; i < height; i++)
-            {
-                System.arraycopy(temp, bufSize - (i + 1)
-                    * (bytesPerLine + paddedBytes), buffer,
-                    i * bytesPerLine, bytesPerLine);
-            }
-        }
-        else //if top - down
-        {
-            for (int i = 0; i < height; i++)
-            {
-                System.arraycopy(temp, i
-                    * (bytesPerLine + paddedBytes), buffer,
-                    i * bytesPerLine, bytesPerLine);
-            }
-        }
-        streamBuffer = ByteBuffer.wrap(buffer);
+        readRows((int) Math.ceil((double) width * 4 / 8));
         fillLookUpStream(paletteWidth);
     }
 
@@ -624,40 +577,7 @@ final class PdfImageBmp extends PdfImage
     {
         this.isIndexed = true;
         this.bitsPerComp = bitCount;
-        int bitsPerLine = (int) width * 8;
-        int paddedBytes = 0;
-        if (bitsPerLine % 32 != 0)
-        {
-            paddedBytes = (bitsPerLine / 32 + 1) * 32 - bitsPerLine;
-            paddedBytes = (int) Math.ceil(paddedBytes / 8);
-        }
-        int bufSize = (int) ((width + paddedBytes) * height);
-        byte[] buffer = new byte[bufSize];
-        byte[] temp = new byte[bufSize];
-
-        for (int bytesRead = 0; bytesRead < bufSize; )
-        {
-            bytesRead += fiis.read(temp, bytesRead,
-                bufSize - bytesRead);
-        }
-        if (!isTopDown)
-        {
-            for (int i = 0; i < height; i++)
-            {
-                System.arraycopy(temp, (int) (bufSize - (i + 1)
-                    * (width + paddedBytes)), buffer, (int) (i * width),
-                    (int) width);
-            }
-        }
-        else
-        {
-            for (int i = 0; i < height; i++)
-            {
-                System.arraycopy(temp, i * ((int) width + paddedBytes),
-                    buffer, i * (int) width, (int) width);
-            }
-        }
-        streamBuffer = ByteBuffer.wrap(buffer);
+        readRows((int) width);
         fillLookUpStream(paletteWidth);
     }
 
@@ -666,126 +586,126 @@ final class PdfImageBmp extends PdfImage
         throws IOException, PdfException
     {
         this.bitsPerComp = 8;
-        int index = 0;
-        int v = 0;
-        int bitsPerLine = (int) width * 16;
-        int paddedBytes = 0;
-        if (bitsPerLine % 32 != 0)
-        {
-            paddedBytes = (bitsPerLine / 32 + 1) * 32 - bitsPerLine;
-            paddedBytes = (int) Math.ceil(paddedBytes / 8);
-        }
-        byte[] buffer = new byte[(int) (width * height * 3)];
-        
-        int red_mask = getMask((int) redMask);
-        int red_shift = getShift((int) redMask);
-        int red_factor = red_mask + 1;
-        int green_mask = getMask((int) greenMask);
-        int green_shift = getShift((int) greenMask);
-        int green_factor = green_mask + 1;
-        int blue_mask = getMask((int) blueMask);
-        int blue_shift = getShift((int) blueMask);
-        int blue_factor = blue_mask + 1;
-    
-        if (!isTopDown)
+        channelMasks = new int[] { getMask((int) redMask),
+            getMask((int) greenMask), getMask((int) blueMask) };
+        channelShifts = new int[] { getShift((int) redMask),
+            getShift((int) greenMask), getShift((int) blueMask) };
+        colorSpace = CS_DEVICE_RGB;
+        readRows((int) width * 3);
+    }
+
+    /* Read the bitmap buffer as 24 bit BMP data */
+    private void readBmpBufferAs24Bit() throws IOException,
+        PdfException
+    {
+        this.isIndexed = true;
+        this.bitsPerComp = 8;
+        colorSpace = CS_DEVICE_RGB;
+        readRows((int) width * 3);
+    }
+
+    /*
+     * Reads the uncompressed bitmap one row at a time, in top-down
+     * order, and compresses each converted row straight into the
+     * stream buffer. Bottom-up bitmaps are read by seeking to each
+     * row, so neither the pixel array of the file nor the converted
+     * image is ever held in memory. lineBytes is the size of a row in
+     * the image stream.
+     */
+    private void readRows(int lineBytes) throws IOException
+    {
+        int h = (int) height;
+        int rowBytes = (((int) width * bitCount + 31) / 32) * 4;
+        long start = fiis.getStreamPosition();
+        byte[] row = new byte[rowBytes];
+        byte[] line = bitCount > 8 ? new byte[lineBytes] : row;
+        PdfByteOutputStream out = new PdfByteOutputStream(Math.max(
+            lineBytes, 1024));
+        Deflater deflater = new Deflater(PdfFlateFilter.BEST_COMPRESSION);
+        DeflaterOutputStream dos = new DeflaterOutputStream(out,
+            deflater, DEFLATE_BUFFER_SIZE);
+
+        try
         {
-            //int max = (int) (width * height - 1);
-            for (int i = (int) height - 1; i >= 0; --i)
+            for (int i = 0; i < h; ++i)
             {
-                index = (int) width * 3 * i;
-                for (int j = 0; j < width; ++j)
+                if (!isTopDown)
                 {
-                    v = is32 ? (int) fiis.readUnsignedInt() : fiis
-                        .readUnsignedShort(); 
-                    buffer[index++] = (byte) 
-                    	(((v >>> red_shift) & red_mask) * 256 / red_factor);
-                    buffer[index++] = (byte)
-                    	(((v >>> green_shift) & green_mask) * 256 / green_factor);
-                    buffer[index++] = (byte)
-                    	(((v >>> blue_shift) & blue_mask) * 256 / blue_factor);
+                    fiis.seek(start + (long) (h - 1 - i) * rowBytes);
                 }
-            }
-        }
-        else
-        {
-            for (int i = 0; i < height; ++i)
-            {
-                for (int j = 0; j < width; ++j)
+                readRow(row);
+                switch (bitCount)
                 {
-                    v = is32 ? (int) fiis.readUnsignedInt() : fiis
-                        .readUnsignedShort(); 
-                    buffer[index++] = (byte)
-                    	(((v >>> red_shift) & red_mask) * 256 / red_factor);
-                    buffer[index++] = (byte)
-                    	(((v >>> green_shift) & green_mask) * 256 / green_factor);
-                    buffer[index++] = (byte)
-                    	(((v >>> blue_shift) & blue_mask) * 256 / blue_factor);
+                    case 16:
+                        convert16Or32BitRow(row, line, false);
+                        break;
+                    case 24:
+                        convert24BitRow(row, line);
+                        break;
+                    case 32:
+                        convert16Or32BitRow(row, line, true);
+                        break;
+                    default:
+                        break;
                 }
+                dos.write(line, 0, lineBytes);
             }
+            dos.finish();
         }
-        for (int i = 0; i < paddedBytes; ++i)
+        finally
         {
-            fiis.read();
+            deflater.end();
         }
-        colorSpace = CS_DEVICE_RGB;
-        streamBuffer = ByteBuffer.wrap(buffer);
+
+        streamBuffer = ((ByteBuffer) ByteBuffer.wrap(out.getBuffer())
+            .limit(out.size())).slice();
+        streamDict.setValue(FILTER, FLATE);
     }
 
-    /* Read the bitmap buffer as 24 bit BMP data */
-    private void readBmpBufferAs24Bit() throws IOException,
-        PdfException
+    /* Fills row from the file. Rows missing from a truncated file are
+       left as zeros. */
+    private void readRow(byte[] row) throws IOException
     {
-        this.isIndexed = true;
-        this.bitsPerComp = 8;
-        int br = 0;
-        int bitsPerLine = (int) width * 24;
-        int paddedBytes = 0;
-        if (bitsPerLine % 32 != 0)
+        int n = 0;
+        for (int br; n < row.length; n += br)
         {
-            paddedBytes = (bitsPerLine / 32 + 1) * 32 - bitsPerLine;
-            paddedBytes = (int) Math.ceil(paddedBytes / 8);
+            br = fiis.read(row, n, row.length - n);
+            if (br < 0) break; //EOF
         }
-        byte[] buffer = new byte[(int) (width * height * 3)];
-        int bmpSize = (int) (((width * 3 + 3) / 4 * 4) * height);
-        byte[] temp = new byte[bmpSize];
-        int index = 0;
-        int count = -paddedBytes;
+        Arrays.fill(row, n, row.length, (byte) 0);
+    }
 
-        for (int bytesRead = 0; bytesRead < bmpSize; bytesRead += br)
+    /* BGR to RGB */
+    private void convert24BitRow(byte[] row, byte[] line)
+    {
+        for (int i = 0, limit = (int) width * 3; i < limit; i += 3)
         {
-            br = fiis.read(temp, bytesRead, bmpSize - bytesRead);
-            if (br < 0) break; //EOF
+            line[i] = row[i + 2];
+            line[i + 1] = row[i + 1];
+            line[i + 2] = row[i];
         }
-        if (!isTopDown)
+    }
+
+    /* Little-endian pixels with channels at redMask, greenMask and
+       blueMask to RGB */
+    private void convert16Or32BitRow(byte[] row, byte[] line,
+        boolean is32)
+    {
+        int index = 0;
+        for (int j = 0, p = 0; j < width; ++j)
         {
-            int limit = (int) (width * height * 3 - 1);
-            for (int i = 0; i < height; ++i)
+            int v = (row[p++] & 0xff) | (row[p++] & 0xff) << 8;
+            if (is32)
             {
-                index = (int) (limit - (i + 1) * width * 3 + 1);
-                count += paddedBytes;
-                for (int j = 0; j < width; ++j, index += 3)
-                {
-                    buffer[index + 2] = temp[count++];
-                    buffer[index + 1] = temp[count++];
-                    buffer[index] = temp[count++];
-                }
+                v |= (row[p++] & 0xff) << 16 | (row[p++] & 0xff) << 24;
             }
-        }
-        else
-        {
-            for (int i = 0; i < height; ++i)
+            for (int c = 0; c < 3; ++c)
             {
-                count += paddedBytes;
-                for (int j = 0; j < width; ++j, index += 3)
-                {
-                    buffer[index + 2] = temp[count++];
-                    buffer[index + 1] = temp[count++];
-                    buffer[index] = temp[count++];
-                }
+                int mask = channelMasks[c];
+                line[index++] = (byte) (((v >>> channelShifts[c]) & mask)
+                    * 256 / (mask + 1));
             }
         }
-        colorSpace = CS_DEVICE_RGB;
-        streamBuffer = ByteBuffer.wrap(buffer);
     }
 
     private void readRLE4EncodedBmpBuffer() throws IOException, PdfException
@@ -26,13 +26,9 @@
 
 package com.gnostice.pdfone;
 
-import java.awt.color.ColorSpace;
-import java.awt.image.BufferedImage;
-import java.awt.image.ColorModel;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
-import javax.imageio.ImageIO;
 import javax.imageio.stream.FileImageInputStream;
 
 /**
@@ -43,9 +39,19 @@ import javax.imageio.stream.FileImageInputStream;
  */
 final class PdfImageJpeg extends PdfImage
 {
-    static final PdfName FILTER = new PdfName(Usable.PDF_FILTER);
+    static final PdfName FILTER = PdfName.intern(Usable.PDF_FILTER);
     
-    static final PdfName DCT = new PdfName(Usable.PDF_DCTDECODE);
+    static final PdfName DCT = PdfName.intern(Usable.PDF_DCTDECODE);
+    
+    static final PdfName DECODE = PdfName.intern(Usable.PDF_DECODE);
+    
+    private static final int SOI = 0xd8;
+    
+    private static final int EOI = 0xd9;
+    
+    private static final int SOS = 0xda;
+    
+    private static final int APP14 = 0xee;
     
     private FileImageInputStream fiis;
     
@@ -61,29 +67,113 @@ final class PdfImageJpeg extends PdfImage
     private void read() throws IOException, PdfException
     {
         byte[] buffer = new byte[(int) fiis.length()];
-        this.fiis.read(buffer);
+        this.fiis.readFully(buffer);
         this.fiis.seek(0);
         this.streamBuffer = ByteBuffer.wrap(buffer);
-
-        BufferedImage image = ImageIO.read(fiis);
-        ColorModel cm = image.getColorModel();
-        ColorSpace cs = cm.getColorSpace();
-        int clrspc = cs.getType();
-        switch (clrspc)
+        readHeaders(buffer);
+    }
+    
+    /* Returns true for the start of frame markers, SOF0 to SOF15
+       except DHT, JPG and DAC */
+    private static boolean isSOF(int marker)
+    {
+        return marker >= 0xc0 && marker <= 0xcf && marker != 0xc4
+            && marker != 0xc8 && marker != 0xcc;
+    }
+    
+    /*
+     * Takes width, height, precision and the color space from the
+     * frame header and the Adobe APP14 segment, scanning the marker
+     * segments up to the first scan. The image data is not decoded;
+     * it is embedded as is.
+     */
+    private void readHeaders(byte[] ba) throws PdfException
+    {
+        int limit = ba.length;
+        if (limit < 4 || (ba[0] & 0xff) != 0xff
+            || (ba[1] & 0xff) != SOI)
         {
-            case ColorSpace.TYPE_RGB:
-                this.colorSpace = CS_DEVICE_RGB;
-            	break;
-            case ColorSpace.TYPE_GRAY:
+            throw new PdfException("Corrupt Image file.");
+        }
+        
+        int components = 0;
+        boolean adobe = false;
+        for (int i = 2; i + 3 < limit;)
+        {
+            if ((ba[i] & 0xff) != 0xff)
+            {
+                throw new PdfException("Corrupt Image file.");
+            }
+            int marker = ba[i + 1] & 0xff;
+            if (marker == 0xff) //fill byte
+            {
+                ++i;
+                continue;
+            }
+            if (marker == SOI || (marker >= 0xd0 && marker <= 0xd7)
+                || marker == 0x01)
+            {
+                i += 2; //no length
+                continue;
+            }
+            if (marker == SOS || marker == EOI)
+            {
+                break;
+            }
+            
+            int length = ((ba[i + 2] & 0xff) << 8) | (ba[i + 3] & 0xff);
+            int data = i + 4;
+            if (length < 2 || i + 2 + length > limit)
+            {
+                throw new PdfException("Insufficient image data.");
+            }
+            if (isSOF(marker) && length >= 8)
+            {
+                this.bitsPerComp = ba[data] & 0xff;
+                this.height = ((ba[data + 1] & 0xff) << 8)
+                    | (ba[data + 2] & 0xff);
+                this.width = ((ba[data + 3] & 0xff) << 8)
+                    | (ba[data + 4] & 0xff);
+                components = ba[data + 5] & 0xff;
+            }
+            else if (marker == APP14 && length >= 14 && ba[data] == 'A'
+                && ba[data + 1] == 'd' && ba[data + 2] == 'o'
+                && ba[data + 3] == 'b' && ba[data + 4] == 'e')
+            {
+                adobe = true;
+            }
+            i += 2 + length;
+        }
+        
+        if (components == 0 || width == 0 || height == 0)
+        {
+            throw new PdfException("Corrupt Image file.");
+        }
+        if (bitsPerComp != 8)
+        {
+            throw new PdfException("JPEG sample precision of "
+                + bitsPerComp + " bits not supported.");
+        }
+        switch (components)
+        {
+            case 1:
                 this.colorSpace = CS_DEVICE_GRAY;
-            	break;
+                break;
+            case 3:
+                this.colorSpace = CS_DEVICE_RGB;
+                break;
+            case 4:
+                this.colorSpace = CS_DEVICE_CMYK;
+                if (adobe)
+                {
+                    /* Adobe applications write CMYK JPEGs inverted */
+                    streamDict.setValue(DECODE, new PdfArray(new int[] {
+                        1, 0, 1, 0, 1, 0, 1, 0 }));
+                }
+                break;
             default:
-                throw new PdfException("ColorSpace '"
-                    + cs.getName(clrspc) + "' not supported.");
+                throw new PdfException("JPEG images with " + components
+                    + " color components not supported.");
         }
-        this.bitsPerComp = (int) (cm.getPixelSize() / cm
-            .getNumColorComponents());
-        this.width = image.getWidth();
-        this.height = image.getHeight();
     }
 }
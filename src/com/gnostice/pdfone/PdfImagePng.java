@@ -26,78 +26,458 @@
 
 package com.gnostice.pdfone;
 
-import java.awt.color.ColorSpace;
 import java.awt.image.BufferedImage;
-import java.awt.image.ColorModel;
-import java.awt.image.DataBuffer;
-import java.awt.image.DataBufferByte;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
 import javax.imageio.stream.FileImageInputStream;
 
-/**
- * @author amol
- *
- * TODO To change the template for this generated type comment go to
- * Window - Preferences - Java - Code Style - Code Templates
+import com.gnostice.pdfone.filters.PdfFlateFilter;
+
+/*
+ * PNG image. The zlib data of a non-interlaced PNG is embedded as it
+ * is, with the PNG predictors declared in /DecodeParms, so the image
+ * is neither decoded nor compressed again. Alpha, whether from an
+ * alpha channel or from the tRNS entries of a palette, is split into
+ * a soft mask. Interlaced images are decoded.
  */
 final class PdfImagePng extends PdfImage
 {
+    private static final PdfName DECODEPARMS = PdfName.intern(
+        Usable.PDF_DECODEPARMS);
+
+    private static final PdfName PREDICTOR = PdfName.intern(
+        Usable.PDF_PREDICTOR);
+
+    private static final PdfName COLORS = PdfName.intern(
+        Usable.PDF_COLORS);
+
+    private static final PdfName COLUMNS = PdfName.intern(
+        Usable.PDF_COLOMNS);
+
+    private static final PdfName BITS_PER_COMPONENT = PdfName.intern(
+        Usable.PDF_BITS_PER_COMPONENT);
+
+    private static final PdfName MASK = PdfName.intern(Usable.PDF_MASK);
+
+    private static final int PNG_SIGNATURE_SIZE = 8;
+
+    private static final int IHDR = 0x49484452;
+
+    private static final int PLTE = 0x504c5445;
+
+    private static final int TRNS = 0x74524e53;
+
+    private static final int IDAT = 0x49444154;
+
+    private static final int IEND = 0x49454e44;
+
+    private static final int COLOR_TYPE_GRAY = 0;
+
+    private static final int COLOR_TYPE_RGB = 2;
+
+    private static final int COLOR_TYPE_INDEXED = 3;
+
+    private static final int COLOR_TYPE_GRAY_ALPHA = 4;
+
+    private static final int COLOR_TYPE_RGB_ALPHA = 6;
+
+    /* samples per pixel for each color type */
+    private static final int[] CHANNELS = { 1, 0, 3, 1, 2, 0, 4 };
+
+    /* PNG prediction, chosen per row */
+    private static final int PNG_PREDICTOR = 15;
+
     private FileImageInputStream fiis;
+
+    private int bitDepth;
+
+    private int colorType;
+
+    private int interlace;
+
+    private byte[] palette;
+
+    private byte[] transparency;
+
+    private PdfByteOutputStream idat;
     
     PdfImagePng(FileImageInputStream fiis) throws IOException,
         PdfException
     {
         super();
         this.fiis = fiis;
-        //streamDict.setValue(PdfImageJpeg.FILTER, PdfImageJpeg.DCT);
         fiis.seek(0);
         read();
     }
     
     private void read() throws IOException, PdfException
     {
-        BufferedImage image = ImageIO.read(fiis);
-        ColorModel cm = image.getColorModel();
-        ColorSpace cs = cm.getColorSpace();
+        readChunks();
+        if (interlace != 0)
+        {
+            readDecoded();
+            return;
+        }
 
-        int clrspc = cs.getType();
-        switch (clrspc)
+        this.bitsPerComp = bitDepth;
+        switch (colorType)
         {
-            case ColorSpace.TYPE_RGB:
+            case COLOR_TYPE_GRAY:
+                this.colorSpace = CS_DEVICE_GRAY;
+                setColorKeyMask(1);
+                setPassThrough(1);
+                break;
+            case COLOR_TYPE_RGB:
                 this.colorSpace = CS_DEVICE_RGB;
-            	break;
-            case ColorSpace.TYPE_GRAY:
+                setColorKeyMask(3);
+                setPassThrough(3);
+                break;
+            case COLOR_TYPE_INDEXED:
+                if (palette == null)
+                {
+                    throw new PdfException("Invalid PNG image data.");
+                }
+                this.isIndexed = true;
+                ArrayList l = new ArrayList();
+                l.add(CS_INDEXED);
+                l.add(CS_DEVICE_RGB);
+                l.add(new PdfInteger(palette.length / 3 - 1));
+                lookUpStream = new PdfStream(new PdfDict(new HashMap()),
+                    ByteBuffer.wrap(palette));
+                l.add(lookUpStream);
+                this.colorSpace = new PdfArray(l);
+                if (transparency != null)
+                {
+                    readAlpha();
+                }
+                setPassThrough(1);
+                break;
+            case COLOR_TYPE_GRAY_ALPHA:
                 this.colorSpace = CS_DEVICE_GRAY;
-            	break;
+                readAlpha();
+                break;
+            case COLOR_TYPE_RGB_ALPHA:
+                this.colorSpace = CS_DEVICE_RGB;
+                readAlpha();
+                break;
             default:
-                throw new PdfException("ColorSpace '"
-                    + cs.getName(clrspc) + "' not supported.");
+                throw new PdfException("Invalid PNG image data.");
         }
+        idat = null;
+    }
 
-        this.bitsPerComp = (int) (cm.getPixelSize() / cm
-            .getNumComponents());
-        this.width = image.getWidth();
-        this.height = image.getHeight();
-        
-        DataBuffer db = image.getData().getDataBuffer();
-        if (!(db instanceof DataBufferByte))
+    /* Reads the header, palette, transparency and image data chunks */
+    private void readChunks() throws IOException, PdfException
+    {
+        fiis.skipBytes(PNG_SIGNATURE_SIZE);
+        idat = new PdfByteOutputStream((int) Math.min(fiis.length(),
+            Integer.MAX_VALUE));
+        byte[] ba = new byte[8192];
+        for (int type = 0; type != IEND;)
+        {
+            int length = fiis.readInt();
+            type = fiis.readInt();
+            if (length < 0)
+            {
+                throw new PdfException("Invalid PNG image data.");
+            }
+            switch (type)
+            {
+                case IHDR:
+                    this.width = fiis.readInt();
+                    this.height = fiis.readInt();
+                    bitDepth = fiis.readUnsignedByte();
+                    colorType = fiis.readUnsignedByte();
+                    int compression = fiis.readUnsignedByte();
+                    int filter = fiis.readUnsignedByte();
+                    interlace = fiis.readUnsignedByte();
+                    fiis.skipBytes(length - 13);
+                    if (compression != 0 || filter != 0
+                        || colorType >= CHANNELS.length
+                        || CHANNELS[colorType] == 0)
+                    {
+                        throw new PdfException(
+                            "Invalid PNG image data.");
+                    }
+                    break;
+                case PLTE:
+                    palette = new byte[length];
+                    fiis.readFully(palette);
+                    break;
+                case TRNS:
+                    transparency = new byte[length];
+                    fiis.readFully(transparency);
+                    break;
+                case IDAT:
+                    for (int n; length > 0; length -= n)
+                    {
+                        n = Math.min(length, ba.length);
+                        fiis.readFully(ba, 0, n);
+                        idat.write(ba, 0, n);
+                    }
+                    break;
+                default:
+                    fiis.skipBytes(length);
+                    break;
+            }
+            fiis.skipBytes(4); //CRC
+        }
+    }
+
+    /* Uses the zlib data of the PNG as the image stream */
+    private void setPassThrough(int colors)
+    {
+        HashMap hm = new HashMap();
+        hm.put(PREDICTOR, new PdfInteger(PNG_PREDICTOR));
+        hm.put(COLORS, new PdfInteger(colors));
+        hm.put(BITS_PER_COMPONENT, new PdfInteger(bitDepth));
+        hm.put(COLUMNS, new PdfInteger((int) width));
+        streamDict.setValue(FILTER, FLATE);
+        streamDict.setValue(DECODEPARMS, new PdfDict(hm));
+        this.streamBuffer = ((ByteBuffer) ByteBuffer.wrap(
+            idat.getBuffer()).limit(idat.size())).slice();
+    }
+
+    /* Turns the single transparent gray or RGB value of a tRNS chunk
+       into a color key mask */
+    private void setColorKeyMask(int colors)
+    {
+        if (transparency == null || transparency.length < colors * 2)
+        {
+            return;
+        }
+        int max = (1 << bitDepth) - 1;
+        ArrayList l = new ArrayList();
+        for (int i = 0; i < colors; ++i)
+        {
+            int v = ((transparency[2 * i] & 0xff) << 8
+                | (transparency[2 * i + 1] & 0xff)) & max;
+            l.add(new PdfInteger(v));
+            l.add(new PdfInteger(v));
+        }
+        streamDict.setValue(MASK, new PdfArray(l));
+    }
+
+    /*
+     * Inflates and unfilters the image data one row at a time and
+     * writes the alpha of each row to the soft mask. For images with
+     * an alpha channel, the color samples are written to a new image
+     * stream; the data of indexed images is passed through as it is.
+     */
+    private void readAlpha() throws IOException, PdfException
+    {
+        int w = (int) width;
+        int h = (int) height;
+        boolean indexed = colorType == COLOR_TYPE_INDEXED;
+        int bitsPerPixel = CHANNELS[colorType] * bitDepth;
+        int rowBytes = (w * bitsPerPixel + 7) / 8;
+        int bpp = Math.max(1, bitsPerPixel / 8);
+        int sampleBytes = indexed ? 1 : bitDepth / 8;
+        int colorBytes = indexed ? 0
+            : (CHANNELS[colorType] - 1) * sampleBytes;
+        byte[] row = new byte[rowBytes + 1];
+        byte[] prior = new byte[rowBytes + 1];
+        byte[] color = new byte[w * colorBytes];
+        byte[] alpha = new byte[w * sampleBytes];
+
+        InputStream in = new InflaterInputStream(new ByteArrayInputStream(
+            idat.getBuffer(), 0, idat.size()));
+        PdfByteOutputStream colorOut = new PdfByteOutputStream(Math.max(
+            color.length, 1024));
+        PdfByteOutputStream alphaOut = new PdfByteOutputStream(Math.max(
+            alpha.length, 1024));
+        Deflater colorDeflater = new Deflater(
+            PdfFlateFilter.BEST_COMPRESSION);
+        Deflater alphaDeflater = new Deflater(
+            PdfFlateFilter.BEST_COMPRESSION);
+        DeflaterOutputStream colorDos = new DeflaterOutputStream(
+            colorOut, colorDeflater);
+        DeflaterOutputStream alphaDos = new DeflaterOutputStream(
+            alphaOut, alphaDeflater);
+
+        try
+        {
+            for (int y = 0; y < h; ++y)
+            {
+                readRow(in, row);
+                unfilter(row, prior, bpp);
+                if (indexed)
+                {
+                    int mask = (1 << bitDepth) - 1;
+                    for (int x = 0; x < w; ++x)
+                    {
+                        int bit = x * bitDepth;
+                        int i = (row[1 + (bit >> 3)] >> (8 - bitDepth
+                            - (bit & 7))) & mask;
+                        alpha[x] = i < transparency.length
+                            ? transparency[i] : (byte) 0xff;
+                    }
+                }
+                else
+                {
+                    for (int x = 0, p = 1; x < w; ++x)
+                    {
+                        System.arraycopy(row, p, color, x * colorBytes,
+                            colorBytes);
+                        p += colorBytes;
+                        System.arraycopy(row, p, alpha, x * sampleBytes,
+                            sampleBytes);
+                        p += sampleBytes;
+                    }
+                    colorDos.write(color);
+                }
+                alphaDos.write(alpha);
+
+                byte[] ba = prior;
+                prior = row;
+                row = ba;
+            }
+            colorDos.finish();
+            alphaDos.finish();
+        }
+        finally
+        {
+            colorDeflater.end();
+            alphaDeflater.end();
+        }
+
+        if (!indexed)
+        {
+            streamDict.setValue(FILTER, FLATE);
+            this.streamBuffer = ((ByteBuffer) ByteBuffer.wrap(
+                colorOut.getBuffer()).limit(colorOut.size())).slice();
+        }
+        setSoftMask(((ByteBuffer) ByteBuffer.wrap(alphaOut.getBuffer())
+            .limit(alphaOut.size())).slice(), sampleBytes * 8, true);
+    }
+
+    /* Fills row from in. Rows missing from truncated image data are
+       left as zeros. */
+    static void readRow(InputStream in, byte[] row)
+        throws IOException
+    {
+        int n = 0;
+        for (int br; n < row.length; n += br)
+        {
+            br = in.read(row, n, row.length - n);
+            if (br < 0) break; //EOF
+        }
+        Arrays.fill(row, n, row.length, (byte) 0);
+    }
+
+    /* Reverses the PNG filter named by the first byte of row, with
+       prior holding the previous unfiltered row */
+    static void unfilter(byte[] row, byte[] prior, int bpp)
+        throws PdfException
+    {
+        int limit = row.length;
+        switch (row[0])
+        {
+            case 0: /* none */
+                break;
+            case 1: /* sub */
+                for (int i = 1 + bpp; i < limit; ++i)
+                {
+                    row[i] += row[i - bpp];
+                }
+                break;
+            case 2: /* up */
+                for (int i = 1; i < limit; ++i)
+                {
+                    row[i] += prior[i];
+                }
+                break;
+            case 3: /* average */
+                for (int i = 1; i < limit; ++i)
+                {
+                    int left = i > bpp ? row[i - bpp] & 0xff : 0;
+                    row[i] += (byte) ((left + (prior[i] & 0xff)) >> 1);
+                }
+                break;
+            case 4: /* paeth */
+                for (int i = 1; i < limit; ++i)
+                {
+                    int a = i > bpp ? row[i - bpp] & 0xff : 0;
+                    int b = prior[i] & 0xff;
+                    int c = i > bpp ? prior[i - bpp] & 0xff : 0;
+                    int p = a + b - c;
+                    int pa = Math.abs(p - a);
+                    int pb = Math.abs(p - b);
+                    int pc = Math.abs(p - c);
+                    row[i] += (byte) ((pa <= pb && pa <= pc) ? a
+                        : (pb <= pc) ? b : c);
+                }
+                break;
+            default:
+                throw new PdfException("Invalid PNG image data.");
+        }
+    }
+
+    /* Interlaced images are decoded to 8 bit RGB, with a soft mask if
+       the image has alpha */
+    private void readDecoded() throws IOException, PdfException
+    {
+        fiis.seek(0);
+        Iterator i = ImageIO.getImageReaders(fiis);
+        if (!i.hasNext())
         {
             throw new PdfException("Invalid PNG image data.");
         }
+        //ImageIO.read() would close fiis, which belongs to the caller
+        ImageReader reader = (ImageReader) i.next();
+        BufferedImage image;
+        try
+        {
+            reader.setInput(fiis, true, true);
+            image = reader.read(0);
+        }
+        finally
+        {
+            reader.dispose();
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        boolean hasAlpha = image.getColorModel().hasAlpha();
+        byte[] rgb = new byte[w * h * 3];
+        byte[] alpha = hasAlpha ? new byte[w * h] : null;
+        int[] argb = new int[w];
+        for (int y = 0, p = 0; y < h; ++y)
+        {
+            image.getRGB(0, y, w, 1, argb, 0, w);
+            for (int x = 0; x < w; ++x, ++p)
+            {
+                int v = argb[x];
+                rgb[3 * p] = (byte) (v >> 16);
+                rgb[3 * p + 1] = (byte) (v >> 8);
+                rgb[3 * p + 2] = (byte) v;
+                if (hasAlpha)
+                {
+                    alpha[p] = (byte) (v >>> 24);
+                }
+            }
+        }
 
-        byte[][] bankData = ((DataBufferByte) image.getData()
-            .getDataBuffer()).getBankData();
-        PdfByteOutputStream baos = new PdfByteOutputStream();
-        for (int i = 0; i < bankData.length; ++i)
+        this.width = w;
+        this.height = h;
+        this.bitsPerComp = 8;
+        this.colorSpace = CS_DEVICE_RGB;
+        this.streamBuffer = ByteBuffer.wrap(rgb);
+        if (hasAlpha)
         {
-            baos.write(bankData[i]);
+            setSoftMask(ByteBuffer.wrap(alpha), 8, false);
         }
-//        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-//        ImageIO.write(image, "jpg", baos);
-        this.streamBuffer = ((ByteBuffer) ByteBuffer.wrap(
-            baos.getBuffer()).limit(baos.size())).slice();
+        idat = null;
     }
 }
@@ -0,0 +1,311 @@
+/**
+****************************************************
+*  Java based PDF creation and manipulation Library      
+****************************************************
+*
+*  Project Title: Gnostice PDFOne Java
+*  Copyright  2002-2008 Gnostice Information Technologies Private Limited, Bangalore, India
+*  http://www.gnostice.com
+*
+*  This file is part of PDFOne Java Library.
+*
+*  This program is free software: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, either version 3 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+
+*  You should have received a copy of the GNU General Public License
+*  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*
+*/
+
+package com.gnostice.pdfone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import com.gnostice.pdfone.filters.PdfFlateFilter;
+
+/*
+ * Stores an image in the smallest color space that holds its pixels
+ * exactly. The pixels are read once to count their colors; an image
+ * with only black and white is then written as 1 bit DeviceGray, one
+ * with 16 colors or less as an Indexed image of 1, 2 or 4 bits, an
+ * RGB image whose pixels are all gray as 8 bit DeviceGray, and an RGB
+ * image with 256 colors or less as an 8 bit Indexed image.
+ *
+ * Only 8 bit DeviceRGB and DeviceGray images without a color key
+ * mask, whose data is raw or Flate encoded, are reduced.
+ */
+final class PdfImageReducer
+{
+    private static final PdfName DECODEPARMS = PdfName.intern(
+        Usable.PDF_DECODEPARMS);
+
+    private static final PdfName MASK = PdfName.intern(Usable.PDF_MASK);
+
+    private static final int MAX_COLORS = 256;
+
+    private static final int BLACK = 0;
+
+    private static final int WHITE = 0xffffff;
+
+    //Open addressed table of the colors seen, twice MAX_COLORS in size
+    private static final int TABLE_BITS = 9;
+
+    private int[] colors = new int[1 << TABLE_BITS];
+
+    private int[] indexes = new int[1 << TABLE_BITS];
+
+    /* colors in the order they were first seen */
+    private int[] palette = new int[MAX_COLORS];
+
+    private int count;
+
+    private boolean isGray = true;
+
+    private PdfImageReducer()
+    {
+        Arrays.fill(colors, -1);
+    }
+
+    static void reduce(PdfImage img) throws IOException, PdfException
+    {
+        int n;
+        if (PdfImage.CS_DEVICE_RGB.equals(img.colorSpace))
+        {
+            n = 3;
+        }
+        else if (PdfImage.CS_DEVICE_GRAY.equals(img.colorSpace))
+        {
+            n = 1;
+        }
+        else
+        {
+            return;
+        }
+        if (img.bitsPerComp != 8 || img.streamDict.getValue(MASK) != null
+            || PdfImageResampler.flateRows(img, (int) img.width, n) == null)
+        {
+            return;
+        }
+        new PdfImageReducer().reduce(img, n);
+    }
+
+    private void reduce(PdfImage img, int n) throws IOException,
+        PdfException
+    {
+        int w = (int) img.width;
+        int h = (int) img.height;
+        if (!count(img, w, h, n))
+        {
+            if (n == 3 && isGray)
+            {
+                write(img, w, h, n, 8, false);
+                img.colorSpace = PdfImage.CS_DEVICE_GRAY;
+            }
+            return;
+        }
+
+        if (isBilevel(n))
+        {
+            write(img, w, h, n, 1, false);
+            img.colorSpace = PdfImage.CS_DEVICE_GRAY;
+        }
+        else if (count <= 16 || n == 3 && !isGray)
+        {
+            int bpc = count <= 2 ? 1 : count <= 4 ? 2 : count <= 16 ? 4 : 8;
+            byte[] lookUp = new byte[count * n];
+            for (int i = 0, p = 0; i < count; ++i)
+            {
+                int c = palette[i];
+                if (n == 3)
+                {
+                    lookUp[p++] = (byte) (c >> 16);
+                    lookUp[p++] = (byte) (c >> 8);
+                }
+                lookUp[p++] = (byte) c;
+            }
+            write(img, w, h, n, bpc, true);
+
+            ArrayList l = new ArrayList();
+            l.add(PdfImage.CS_INDEXED);
+            l.add(img.colorSpace);
+            l.add(new PdfInteger(count - 1));
+            img.lookUpStream = new PdfStream(new PdfDict(new HashMap()),
+                ByteBuffer.wrap(lookUp));
+            l.add(img.lookUpStream);
+            img.colorSpace = new PdfArray(l);
+            img.isIndexed = true;
+        }
+        else if (n == 3)
+        {
+            //gray, with more than 16 levels
+            write(img, w, h, n, 8, false);
+            img.colorSpace = PdfImage.CS_DEVICE_GRAY;
+        }
+    }
+
+    /* Reads the pixels of img into the color table. Returns false as
+       soon as there are more than MAX_COLORS colors. */
+    private boolean count(PdfImage img, int w, int h, int n)
+        throws IOException
+    {
+        PdfImageResampler.Rows rows = PdfImageResampler.flateRows(img,
+            w, n);
+        byte[] row = new byte[w * n];
+        for (int y = 0; y < h; ++y)
+        {
+            rows.read(row);
+            for (int i = 0; i < row.length; i += n)
+            {
+                int c = color(row, i, n);
+                isGray = isGray && isGray(c);
+                if (slot(c) < 0)
+                {
+                    //only an RGB image that is gray can still be
+                    //reduced
+                    for (; isGray && y < h; ++y, i = 0)
+                    {
+                        for (; isGray && i < row.length; i += n)
+                        {
+                            isGray = isGray(color(row, i, n));
+                        }
+                        if (y + 1 < h)
+                        {
+                            rows.read(row);
+                        }
+                    }
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isGray(int c)
+    {
+        return c >> 16 == (c & 0xff) && (c >> 8 & 0xff) == (c & 0xff);
+    }
+
+    private static int color(byte[] row, int i, int n)
+    {
+        if (n == 1)
+        {
+            return row[i] & 0xff;
+        }
+        return (row[i] & 0xff) << 16 | (row[i + 1] & 0xff) << 8
+            | (row[i + 2] & 0xff);
+    }
+
+    /* Returns the slot of color c in the table, adding it if there is
+       room, or -1 if the table is full */
+    private int slot(int c)
+    {
+        int mask = colors.length - 1;
+        int s = (c * 0x9e3779b1) >>> (32 - TABLE_BITS);
+        while (colors[s] != c)
+        {
+            if (colors[s] == -1)
+            {
+                if (count == MAX_COLORS)
+                {
+                    return -1;
+                }
+                colors[s] = c;
+                indexes[s] = count;
+                palette[count++] = c;
+                break;
+            }
+            s = (s + 1) & mask;
+        }
+        return s;
+    }
+
+    private boolean isBilevel(int n)
+    {
+        int white = n == 1 ? 0xff : WHITE;
+        for (int i = 0; i < count; ++i)
+        {
+            if (palette[i] != BLACK && palette[i] != white)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Reads the pixels of img again and replaces its data with
+     * samples of bpc bits: palette indexes if indexed is true, and
+     * gray levels otherwise.
+     */
+    private void write(PdfImage img, int w, int h, int n, int bpc,
+        boolean indexed) throws IOException
+    {
+        PdfImageResampler.Rows rows = PdfImageResampler.flateRows(img,
+            w, n);
+        byte[] row = new byte[w * n];
+        byte[] line = new byte[(w * bpc + 7) / 8];
+        PdfByteOutputStream out = new PdfByteOutputStream(Math.max(
+            line.length * h / 8, 1024));
+        Deflater deflater = new Deflater(PdfFlateFilter.BEST_COMPRESSION);
+        DeflaterOutputStream dos = new DeflaterOutputStream(out, deflater);
+        try
+        {
+            for (int y = 0; y < h; ++y)
+            {
+                rows.read(row);
+                Arrays.fill(line, (byte) 0);
+                for (int x = 0, i = 0; x < w; ++x, i += n)
+                {
+                    int v;
+                    if (indexed)
+                    {
+                        v = indexes[slot(color(row, i, n))];
+                    }
+                    else
+                    {
+                        //gray, or the blue of a gray RGB pixel
+                        v = row[i + n - 1] & 0xff;
+                        if (bpc == 1)
+                        {
+                            v >>= 7;
+                        }
+                    }
+                    if (bpc == 8)
+                    {
+                        line[x] = (byte) v;
+                    }
+                    else
+                    {
+                        int bit = x * bpc;
+                        line[bit >> 3] |= v << (8 - bpc - (bit & 7));
+                    }
+                }
+                dos.write(line);
+            }
+            dos.finish();
+        }
+        finally
+        {
+            deflater.end();
+        }
+
+        img.streamBuffer = ((ByteBuffer) ByteBuffer.wrap(out.getBuffer())
+            .limit(out.size())).slice();
+        img.bitsPerComp = bpc;
+        img.streamDict.setValue(PdfImage.FILTER, PdfImage.FLATE);
+        img.streamDict.getMap().remove(DECODEPARMS);
+    }
+}
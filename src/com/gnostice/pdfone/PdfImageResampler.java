@@ -0,0 +1,814 @@
+/**
+****************************************************
+*  Java based PDF creation and manipulation Library      
+****************************************************
+*
+*  Project Title: Gnostice PDFOne Java
+*  Copyright  2002-2008 Gnostice Information Technologies Private Limited, Bangalore, India
+*  http://www.gnostice.com
+*
+*  This file is part of PDFOne Java Library.
+*
+*  This program is free software: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, either version 3 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+
+*  You should have received a copy of the GNU General Public License
+*  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*
+*/
+
+package com.gnostice.pdfone;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import com.gnostice.pdfone.filters.PdfFlateFilter;
+
+/*
+ * Downsamples an image whose resolution, at the largest size it is
+ * drawn at, is well above the target resolution of the document, or
+ * that does not fit in the size given for a thumbnail. Pixels are
+ * area averaged, and the result is compressed with DCT if the image
+ * came from a JPEG or has the many colors of a photograph, and with
+ * Flate otherwise. The soft mask is downsampled along with the image.
+ *
+ * Only DeviceRGB, DeviceGray and Indexed images without a color key
+ * mask are downsampled. Indexed images and DeviceGray images of
+ * less than 8 bits are expanded to 8 bits of the base color space.
+ * A thumbnail that cannot be reduced from its data, or that is not in
+ * one of those color spaces, is decoded from its file instead and
+ * becomes 8-bit RGB or gray without a mask. The image itself is not
+ * changed; the result is a copy.
+ */
+final class PdfImageResampler implements PdfWorkers.Task
+{
+    private static final PdfName FILTER = PdfName.intern(
+        Usable.PDF_FILTER);
+
+    private static final PdfName FLATE = PdfName.intern(Usable.PDF_FLATE);
+
+    private static final PdfName DCT = PdfName.intern(
+        Usable.PDF_DCTDECODE);
+
+    private static final PdfName DECODEPARMS = PdfName.intern(
+        Usable.PDF_DECODEPARMS);
+
+    private static final PdfName PREDICTOR = PdfName.intern(
+        Usable.PDF_PREDICTOR);
+
+    private static final PdfName MASK = PdfName.intern(Usable.PDF_MASK);
+
+    private static final PdfName DECODE = PdfName.intern(
+        Usable.PDF_DECODE);
+
+    private static final PdfName WIDTH = PdfName.intern(Usable.PDF_WIDTH);
+
+    private static final PdfName HEIGHT = PdfName.intern(
+        Usable.PDF_HEIGHT);
+
+    private static final PdfName BITS_PER_COMPONENT = PdfName.intern(
+        Usable.PDF_BITS_PER_COMPONENT);
+
+    private static final PdfName COLORSPACE = PdfName.intern(
+        Usable.PDF_COLORSPACE);
+
+    private static final PdfName CS_RGB = PdfName.intern(
+        Usable.PDF_DEVICE_RGB);
+
+    private static final PdfName CS_GRAY = PdfName.intern(
+        Usable.PDF_DEVICE_GRAY);
+
+    //Images within this factor of the target resolution are kept
+    private static final double THRESHOLD = 1.5;
+
+    //Images with more colors than this are compressed with DCT
+    private static final int MAX_FLATE_COLORS = 256;
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private static final float POINTS_PER_INCH = 72;
+
+    PdfImage image;
+
+    /* file the image of a thumbnail was read from */
+    private String path;
+
+    private int resolution;
+
+    /* size in pixels that a thumbnail must fit in */
+    private int width;
+
+    private int height;
+
+    /* the downsampled copy of image, or null if it is kept */
+    PdfImage result;
+
+    /* bytes by which result is smaller than image */
+    long saved;
+
+    PdfImageResampler(PdfImage image, int resolution)
+    {
+        this.image = image;
+        this.resolution = resolution;
+    }
+
+    /* Fits image, read from path, in width by height pixels,
+       keeping its aspect ratio */
+    PdfImageResampler(PdfImage image, String path, int width,
+        int height)
+    {
+        this.image = image;
+        this.path = path;
+        this.width = width;
+        this.height = height;
+    }
+
+    public void run() throws IOException, PdfException
+    {
+        downsample();
+        if (result == null && resolution == 0 && !isThumbnail(image))
+        {
+            result = decodeThumbnail();
+        }
+    }
+
+    private void downsample() throws IOException, PdfException
+    {
+        PdfObject base = image.colorSpace;
+        if (base instanceof PdfArray)
+        {
+            List l = ((PdfArray) base).getList();
+            base = l.size() == 4 && PdfImage.CS_INDEXED.equals(l.get(0))
+                ? (PdfObject) l.get(1) : null;
+        }
+        int n;
+        if (CS_RGB.equals(base))
+        {
+            n = 3;
+        }
+        else if (CS_GRAY.equals(base))
+        {
+            n = 1;
+        }
+        else
+        {
+            return;
+        }
+        int bpc = image.bitsPerComp;
+        boolean expand = base != image.colorSpace || bpc != 8;
+        if (bpc != 1 && bpc != 2 && bpc != 4 && bpc != 8
+            || n == 3 && bpc != 8 && base == image.colorSpace
+            || image.streamDict.getValue(MASK) != null)
+        {
+            return;
+        }
+        PdfStream sMask = image.sMask;
+        if (sMask != null
+            && !new PdfInteger(8).equals(sMask.getDictionary().getValue(
+                BITS_PER_COMPONENT)))
+        {
+            return;
+        }
+
+        int w = (int) image.width;
+        int h = (int) image.height;
+        int tw, th;
+        if (resolution > 0)
+        {
+            if (image.placedWidth <= 0 || image.placedHeight <= 0)
+            {
+                return;
+            }
+            tw = target(w, image.placedWidth);
+            th = target(h, image.placedHeight);
+        }
+        else
+        {
+            double scale = Math.min((double) width / w, (double) height
+                / h);
+            if (scale >= 1)
+            {
+                return;
+            }
+            tw = Math.max(1, (int) Math.round(w * scale));
+            th = Math.max(1, (int) Math.round(h * scale));
+        }
+        if (tw == w && th == h)
+        {
+            return;
+        }
+        boolean isJpeg = DCT.equals(image.streamDict.getValue(FILTER));
+        Rows rows = isJpeg ? jpegRows(image, n) : expand ? expandedRows(
+            image, w, n) : flateRows(image, w, n);
+        Rows alphaRows = sMask == null ? null : flateRows(sMask, w, 1);
+        if (rows == null || (sMask != null && alphaRows == null))
+        {
+            return;
+        }
+
+        byte[] pixels = resample(rows, w, h, n, tw, th);
+        ByteBuffer data = null;
+        if (isJpeg || countColors(pixels, n) > MAX_FLATE_COLORS)
+        {
+            data = encodeJpeg(pixels, tw, th, n);
+        }
+        PdfName filter = data == null ? FLATE : DCT;
+        if (data == null)
+        {
+            data = encodeFlate(pixels);
+        }
+        ByteBuffer alpha = alphaRows == null ? null
+            : encodeFlate(resample(alphaRows, w, h, 1, tw, th));
+
+        long before = image.streamBuffer.capacity()
+            + (sMask == null ? 0 : sMask.streamBuffer.capacity());
+        long after = data.capacity()
+            + (alpha == null ? 0 : alpha.capacity());
+        //a thumbnail has to fit its size even if its data grows
+        if (after >= before && resolution > 0)
+        {
+            return;
+        }
+
+        PdfImage r = (PdfImage) image.copy();
+        r.width = tw;
+        r.height = th;
+        r.streamBuffer = data;
+        set(r.streamDict, tw, th, filter);
+        if (expand)
+        {
+            r.colorSpace = base;
+            r.bitsPerComp = 8;
+            r.lookUpStream = null;
+            r.isIndexed = false;
+            r.streamDict.setValue(COLORSPACE, base);
+            r.streamDict.setValue(BITS_PER_COMPONENT, new PdfInteger(8));
+        }
+        if (alpha != null)
+        {
+            r.sMask.streamBuffer = alpha;
+            set(r.sMask.streamDict, tw, th, FLATE);
+        }
+        result = r;
+        saved = before - after;
+    }
+
+    /* Returns true if image fits in the size of a thumbnail and is
+       in a color space a thumbnail may have */
+    private boolean isThumbnail(PdfImage image)
+    {
+        PdfObject base = image.colorSpace;
+        if (base instanceof PdfArray)
+        {
+            List l = ((PdfArray) base).getList();
+            base = l.size() == 4 && PdfImage.CS_INDEXED.equals(l.get(0))
+                ? (PdfObject) l.get(1) : null;
+        }
+        return image.width <= width && image.height <= height
+            && (CS_RGB.equals(base) || CS_GRAY.equals(base))
+            && image.bitsPerComp <= 8
+            && image.streamDict.getValue(MASK) == null;
+    }
+
+    /* Reads the file of the thumbnail image and fits it in width by
+       height pixels as an 8-bit RGB or gray image, with transparent
+       areas on white */
+    private PdfImage decodeThumbnail() throws IOException, PdfException
+    {
+        BufferedImage bi;
+        try
+        {
+            bi = ImageIO.read(new File(path));
+        }
+        catch (IOException ioe)
+        {
+            bi = null;
+        }
+        if (bi == null)
+        {
+            throw new PdfException("Image " + path
+                + " cannot be reduced to a thumbnail.");
+        }
+
+        final BufferedImage src = bi;
+        final int w = bi.getWidth();
+        int h = bi.getHeight();
+        final int n = bi.getColorModel().getNumColorComponents() == 1 ? 1
+            : 3;
+        double scale = Math.min(1, Math.min((double) width / w,
+            (double) height / h));
+        int tw = Math.max(1, (int) Math.round(w * scale));
+        int th = Math.max(1, (int) Math.round(h * scale));
+        Rows rows = new Rows()
+        {
+            private int y;
+
+            private int[] rgb = new int[w];
+
+            public void read(byte[] row)
+            {
+                src.getRGB(0, y++, w, 1, rgb, 0, w);
+                for (int x = 0, p = 0; x < w; ++x)
+                {
+                    int v = rgb[x];
+                    int a = v >>> 24;
+                    for (int shift = 16; shift >= 16 - (n - 1) * 8;
+                        shift -= 8)
+                    {
+                        int c = v >> shift & 0xff;
+                        row[p++] = (byte) ((c * a + 255 * (255 - a))
+                            / 255);
+                    }
+                }
+            }
+        };
+
+        byte[] pixels = resample(rows, w, h, n, tw, th);
+        ByteBuffer data;
+        PdfName filter;
+        if (countColors(pixels, n) > MAX_FLATE_COLORS)
+        {
+            data = encodeJpeg(pixels, tw, th, n);
+            filter = DCT;
+        }
+        else
+        {
+            data = encodeFlate(pixels);
+            filter = FLATE;
+        }
+
+        PdfImage r = (PdfImage) image.copy();
+        r.width = tw;
+        r.height = th;
+        r.streamBuffer = data;
+        set(r.streamDict, tw, th, filter);
+        r.colorSpace = n == 1 ? CS_GRAY : CS_RGB;
+        r.bitsPerComp = 8;
+        r.lookUpStream = null;
+        r.isIndexed = false;
+        r.sMask = null;
+        r.streamDict.setValue(COLORSPACE, r.colorSpace);
+        r.streamDict.setValue(BITS_PER_COMPONENT, new PdfInteger(8));
+        r.streamDict.remove(MASK);
+        r.streamDict.remove(DECODE);
+        return r;
+    }
+
+    /* Returns the number of pixels needed for size points at the
+       target resolution, or pixels if that is close enough */
+    private int target(int pixels, float size)
+    {
+        int t = (int) Math.ceil(size / POINTS_PER_INCH * resolution);
+        if (t < 1 || pixels <= t * THRESHOLD)
+        {
+            return pixels;
+        }
+        return t;
+    }
+
+    private static void set(PdfDict d, int w, int h, PdfName filter)
+    {
+        d.setValue(WIDTH, new PdfInteger(w));
+        d.setValue(HEIGHT, new PdfInteger(h));
+        d.setValue(FILTER, filter);
+        d.getMap().remove(DECODEPARMS);
+    }
+
+    /* Source of the rows of an image, top to bottom */
+    interface Rows
+    {
+        void read(byte[] row) throws IOException;
+    }
+
+    private static Rows jpegRows(PdfImage image, int n)
+        throws IOException
+    {
+        final BufferedImage bi;
+        try
+        {
+            bi = ImageIO.read(new ByteArrayInputStream(bytes(image
+                .streamBuffer)));
+        }
+        catch (IOException ioe)
+        {
+            return null;
+        }
+        if (bi == null || bi.getWidth() != (int) image.width
+            || bi.getHeight() != (int) image.height)
+        {
+            return null;
+        }
+        final int w = bi.getWidth();
+        if (n == 1)
+        {
+            if (bi.getRaster().getNumBands() != 1)
+            {
+                return null;
+            }
+            return new Rows()
+            {
+                private int y;
+
+                private int[] samples = new int[w];
+
+                public void read(byte[] row)
+                {
+                    bi.getRaster().getSamples(0, y++, w, 1, 0, samples);
+                    for (int x = 0; x < w; ++x)
+                    {
+                        row[x] = (byte) samples[x];
+                    }
+                }
+            };
+        }
+        if (bi.getType() == BufferedImage.TYPE_3BYTE_BGR)
+        {
+            //the raster has the RGB samples, so the color conversion
+            //of getRGB() is not needed
+            return new Rows()
+            {
+                private int y;
+
+                public void read(byte[] row)
+                {
+                    bi.getRaster().getDataElements(0, y++, w, 1, row);
+                }
+            };
+        }
+        return new Rows()
+        {
+            private int y;
+
+            private int[] rgb = new int[w];
+
+            public void read(byte[] row)
+            {
+                bi.getRGB(0, y++, w, 1, rgb, 0, w);
+                for (int x = 0, p = 0; x < w; ++x)
+                {
+                    int v = rgb[x];
+                    row[p++] = (byte) (v >> 16);
+                    row[p++] = (byte) (v >> 8);
+                    row[p++] = (byte) v;
+                }
+            }
+        };
+    }
+
+    /* Rows of raw or Flate encoded data, with or without PNG
+       predictors, or null for data encoded otherwise */
+    static Rows flateRows(PdfStream s, int w, int n)
+    {
+        PdfObject filter = s.getDictionary().getValue(FILTER);
+        if (filter != null && !FLATE.equals(filter))
+        {
+            return null;
+        }
+        PdfObject dp = s.getDictionary().getValue(DECODEPARMS);
+        final boolean predicted;
+        if (dp == null)
+        {
+            predicted = false;
+        }
+        else if (dp instanceof PdfDict && ((PdfDict) dp)
+            .getValue(PREDICTOR) instanceof PdfInteger)
+        {
+            int p = ((PdfInteger) ((PdfDict) dp).getValue(PREDICTOR))
+                .getInt();
+            if (p < 10)
+            {
+                return null;
+            }
+            predicted = true;
+        }
+        else
+        {
+            return null;
+        }
+
+        InputStream bis = new ByteArrayInputStream(bytes(s.streamBuffer));
+        final InputStream in = filter == null ? bis
+            : new InflaterInputStream(bis);
+        final int bpp = n;
+        final byte[] line = new byte[w * n + 1];
+        final byte[] prior = new byte[w * n + 1];
+
+        return new Rows()
+        {
+            public void read(byte[] row) throws IOException
+            {
+                if (!predicted)
+                {
+                    PdfImagePng.readRow(in, row);
+                    return;
+                }
+                System.arraycopy(line, 0, prior, 0, line.length);
+                PdfImagePng.readRow(in, line);
+                try
+                {
+                    PdfImagePng.unfilter(line, prior, bpp);
+                }
+                catch (PdfException pe)
+                {
+                    throw new IOException(pe.getMessage());
+                }
+                System.arraycopy(line, 1, row, 0, row.length);
+            }
+        };
+    }
+
+    /* Rows of an Indexed image, or of a DeviceGray image of less than
+       8 bits, with each sample expanded to n 8 bit components */
+    private static Rows expandedRows(PdfImage image, final int w,
+        final int n) throws IOException
+    {
+        final int bpc = image.bitsPerComp;
+        final byte[] lookUp = new byte[(1 << bpc) * n];
+        if (image.colorSpace instanceof PdfArray)
+        {
+            List l = ((PdfArray) image.colorSpace).getList();
+            if ( !(l.get(2) instanceof PdfInteger)
+                || !(l.get(3) instanceof PdfStream))
+            {
+                return null;
+            }
+            int entries = Math.min(((PdfInteger) l.get(2)).getInt() + 1,
+                1 << bpc);
+            Rows table = flateRows((PdfStream) l.get(3), entries * n, 1);
+            if (table == null)
+            {
+                return null;
+            }
+            byte[] t = new byte[entries * n];
+            table.read(t);
+            System.arraycopy(t, 0, lookUp, 0, t.length);
+        }
+        else
+        {
+            for (int i = 0; i < lookUp.length; ++i)
+            {
+                lookUp[i] = (byte) (i * 255 / (lookUp.length - 1));
+            }
+        }
+
+        final byte[] src = new byte[(w * bpc + 7) / 8];
+        final Rows packed = flateRows(image, src.length, 1);
+        if (packed == null)
+        {
+            return null;
+        }
+        final int mask = (1 << bpc) - 1;
+
+        return new Rows()
+        {
+            public void read(byte[] row) throws IOException
+            {
+                packed.read(src);
+                for (int x = 0, o = 0; x < w; ++x)
+                {
+                    int bit = x * bpc;
+                    int v = src[bit >> 3] >> (8 - bpc - (bit & 7)) & mask;
+                    for (int c = 0; c < n; ++c)
+                    {
+                        row[o++] = lookUp[v * n + c];
+                    }
+                }
+            }
+        };
+    }
+
+    private static byte[] bytes(ByteBuffer bb)
+    {
+        bb = bb.duplicate();
+        bb.position(0);
+        bb.limit(bb.capacity());
+        byte[] ba = new byte[bb.remaining()];
+        bb.get(ba);
+        return ba;
+    }
+
+    /*
+     * Area averaging. Each target pixel is the mean of the source
+     * pixels it covers, weighted by the fraction of each one that
+     * falls inside it. Source rows are read once and scaled
+     * horizontally, then accumulated into the target row they
+     * overlap.
+     */
+    private static byte[] resample(Rows rows, int w, int h, int n,
+        int tw, int th)
+        throws IOException
+    {
+        Columns columns = new Columns(w, tw);
+        double sy = (double) h / th;
+        byte[] src = new byte[w * n];
+        float[] line = new float[tw * n];
+        float[] acc = new float[tw * n];
+        byte[] out = new byte[tw * th * n];
+
+        int loaded = -1; //last source row read into line
+        for (int ty = 0, o = 0; ty < th; ++ty)
+        {
+            double y0 = ty * sy;
+            double y1 = Math.min(h, (ty + 1) * sy);
+            for (int i = 0; i < acc.length; ++i)
+            {
+                acc[i] = 0;
+            }
+            for (int y = (int) y0; y < y1; ++y)
+            {
+                if (loaded < y)
+                {
+                    //a row straddling two target rows is read once
+                    for (; loaded < y; ++loaded)
+                    {
+                        rows.read(src);
+                    }
+                    columns.scale(src, n, line);
+                }
+                float wy = (float) (Math.min(y + 1, y1) - Math.max(y, y0));
+                for (int i = 0; i < acc.length; ++i)
+                {
+                    acc[i] += wy * line[i];
+                }
+            }
+            float scale = (float) (1 / (y1 - y0));
+            for (int i = 0; i < acc.length; ++i)
+            {
+                int v = (int) (acc[i] * scale + 0.5f);
+                out[o++] = (byte) (v > 255 ? 255 : v);
+            }
+        }
+
+        return out;
+    }
+
+    /*
+     * Source columns covered by each target column. Only the first
+     * and the last of them can be partly covered, so the columns in
+     * between are summed without weights.
+     */
+    private static final class Columns
+    {
+        private int[] first;
+
+        private int[] last;
+
+        private float[] firstWeight;
+
+        private float[] lastWeight;
+
+        private float[] scale;
+
+        Columns(int w, int tw)
+        {
+            double sx = (double) w / tw;
+            first = new int[tw];
+            last = new int[tw];
+            firstWeight = new float[tw];
+            lastWeight = new float[tw];
+            scale = new float[tw];
+            for (int tx = 0; tx < tw; ++tx)
+            {
+                double x0 = tx * sx;
+                double x1 = Math.min(w, (tx + 1) * sx);
+                first[tx] = (int) x0;
+                last[tx] = Math.max(first[tx], (int) Math.ceil(x1) - 1);
+                firstWeight[tx] = (float) (Math.min(first[tx] + 1, x1)
+                    - x0);
+                lastWeight[tx] = (float) (x1 - last[tx]);
+                scale[tx] = (float) (1 / (x1 - x0));
+            }
+        }
+
+        /* Scales a row of src horizontally into line */
+        void scale(byte[] src, int n, float[] line)
+        {
+            for (int tx = 0, o = 0; tx < first.length; ++tx)
+            {
+                int f = first[tx] * n;
+                int l = last[tx] * n;
+                for (int c = 0; c < n; ++c)
+                {
+                    float sum;
+                    if (f == l)
+                    {
+                        sum = firstWeight[tx] * (src[f + c] & 0xff);
+                    }
+                    else
+                    {
+                        int mid = 0;
+                        for (int i = f + n + c; i < l; i += n)
+                        {
+                            mid += src[i] & 0xff;
+                        }
+                        sum = firstWeight[tx] * (src[f + c] & 0xff) + mid
+                            + lastWeight[tx] * (src[l + c] & 0xff);
+                    }
+                    line[o++] = sum * scale[tx];
+                }
+            }
+        }
+    }
+
+    /* Returns the number of distinct colors in pixels, counting no
+       further than MAX_FLATE_COLORS + 1 */
+    private static int countColors(byte[] pixels, int n)
+    {
+        HashSet colors = new HashSet();
+        for (int i = 0; i < pixels.length
+            && colors.size() <= MAX_FLATE_COLORS; i += n)
+        {
+            int v = pixels[i] & 0xff;
+            if (n == 3)
+            {
+                v = v << 16 | (pixels[i + 1] & 0xff) << 8
+                    | (pixels[i + 2] & 0xff);
+            }
+            colors.add(new Integer(v));
+        }
+        return colors.size();
+    }
+
+    private static ByteBuffer encodeFlate(byte[] pixels)
+        throws IOException
+    {
+        PdfByteOutputStream out = new PdfByteOutputStream(Math.max(
+            pixels.length / 4, 1024));
+        Deflater deflater = new Deflater(PdfFlateFilter.BEST_COMPRESSION);
+        DeflaterOutputStream dos = new DeflaterOutputStream(out, deflater);
+        try
+        {
+            dos.write(pixels);
+            dos.finish();
+        }
+        finally
+        {
+            deflater.end();
+        }
+        return ((ByteBuffer) ByteBuffer.wrap(out.getBuffer()).limit(
+            out.size())).slice();
+    }
+
+    /* Returns null if no JPEG writer is available */
+    private static ByteBuffer encodeJpeg(byte[] pixels, int w, int h, int n)
+        throws IOException
+    {
+        BufferedImage bi = new BufferedImage(w, h, n == 1
+            ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_3BYTE_BGR);
+        WritableRaster raster = bi.getRaster();
+        byte[] row = new byte[w * n];
+        for (int y = 0; y < h; ++y)
+        {
+            System.arraycopy(pixels, y * row.length, row, 0, row.length);
+            raster.setDataElements(0, y, w, 1, row);
+        }
+
+        Iterator i = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!i.hasNext())
+        {
+            return null;
+        }
+        ImageWriter writer = (ImageWriter) i.next();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ImageOutputStream ios = ImageIO.createImageOutputStream(baos);
+        try
+        {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(bi, null, null), param);
+        }
+        finally
+        {
+            writer.dispose();
+            ios.close();
+        }
+        return ByteBuffer.wrap(baos.toByteArray());
+    }
+}
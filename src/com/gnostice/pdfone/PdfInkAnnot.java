@@ -218,7 +218,7 @@ public class PdfInkAnnot extends PdfProAnnot
         
         double[][] prevVertices = this.vertices;
         HashMap annotMap = (HashMap)dict.getMap();
-        annotMap.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
             Usable.PDF_INK));
         
         double pageHeight = p.pageHeight;
@@ -239,7 +239,7 @@ public class PdfInkAnnot extends PdfProAnnot
                 }
                 outer.add(new PdfArray(inner));
             }
-            annotMap.put(new PdfName(Usable.PDF_INKLIST),
+            annotMap.put(PdfName.intern(Usable.PDF_INKLIST),
                 new PdfArray(outer));
         }
 
@@ -35,6 +35,27 @@ public class PdfInteger extends PdfObject implements PdfNumber
 	
 	public static final PdfInteger DUMMY = new PdfInteger(0);
 	
+    //Written forms of small non-negative integers, which make up the
+    //bulk of lengths, counts, flags and widths in generated documents
+    static final int MAX_ENCODED_INT = 1023;
+
+    private static final byte[][] encodedInts =
+        new byte[MAX_ENCODED_INT + 1][];
+
+    static
+    {
+        for (int i = 0; i <= MAX_ENCODED_INT; ++i)
+        {
+            String s = Usable.PDF_SP + Integer.toString(i);
+            byte[] ba = new byte[s.length()];
+            for (int j = 0; j < ba.length; ++j)
+            {
+                ba[j] = (byte) s.charAt(j);
+            }
+            encodedInts[i] = ba;
+        }
+    }
+
     private int intVal;
 
 	public PdfInteger(int intVal)
@@ -78,9 +99,20 @@ public class PdfInteger extends PdfObject implements PdfNumber
 
 	protected int write(PdfWriter writer) throws IOException
 	{
-		DataOutputStream dataOpStream = writer.getDataOutputStream();
+		return write(writer.getDataOutputStream(), intVal);
+	}
+
+	static int write(DataOutputStream dataOpStream, int n)
+	    throws IOException
+	{
+		if (n >= 0 && n <= MAX_ENCODED_INT)
+		{
+			byte[] ba = encodedInts[n];
+			dataOpStream.write(ba, 0, ba.length);
+			return ba.length;
+		}
 
-		String s = Integer.toString(intVal);
+		String s = Integer.toString(n);
 		s = Usable.PDF_SP + s;
 		dataOpStream.writeBytes(s);
 		return s.length();
@@ -37,11 +37,11 @@ import java.util.ArrayList;
  */
 class PdfIntermediatePageNode extends PdfNode
 {
-    private static final PdfName COUNT = new PdfName(Usable.PDF_COUNT);
+    private static final PdfName COUNT = PdfName.intern(Usable.PDF_COUNT);
 
-    private static final PdfName KIDS = new PdfName(Usable.PDF_KIDS);
+    private static final PdfName KIDS = PdfName.intern(Usable.PDF_KIDS);
 
-    private static final PdfName PAGES = new PdfName(Usable.PDF_PAGES);
+    private static final PdfName PAGES = PdfName.intern(Usable.PDF_PAGES);
 
     PdfIntermediatePageNode()
     {
@@ -66,7 +66,7 @@ class PdfIntermediatePageNode extends PdfNode
         {
             property = (PdfName) PdfStdPage.inheritableProperties
                 .get(i);
-            this.dict.dictMap.remove(property);
+            this.dict.getMap().remove(property);
         }
 
 		ArrayList arr = new ArrayList();
@@ -533,7 +533,7 @@ public class PdfLineAnnot extends PdfProAnnot
     {
         super.set(originDoc, d);
         HashMap annotMap = (HashMap)dict.getMap();
-        PdfObject name = new PdfName(Usable.PDF_LE);
+        PdfObject name = PdfName.intern(Usable.PDF_LE);
         String version = d.getVersion();
         if ((version.equals(PdfDocument.VERSION_1_5)
             || version.equals(PdfDocument.VERSION_1_6))
@@ -544,32 +544,32 @@ public class PdfLineAnnot extends PdfProAnnot
             if (this.getLineStartStyle() 
                 == PdfLineAnnot.LINEENDSTYLE_BUTT)
             {
-                l.set(0, new PdfName("Butt"));
+                l.set(0, PdfName.intern("Butt"));
             }
             else if (this.getLineStartStyle() 
                 == PdfLineAnnot.LINEENDSTYLE_ROPEN_ARROW)
             {
-                l.set(0, new PdfName("ROpenArrow"));
+                l.set(0, PdfName.intern("ROpenArrow"));
             }
             else if (this.getLineStartStyle() 
                 == PdfLineAnnot.LINEENDSTYLE_RCLOSED_ARROW)
             {
-                l.set(0, new PdfName("RClosedArrow"));
+                l.set(0, PdfName.intern("RClosedArrow"));
             }
             if (this.getLineEndStyle() 
                 == PdfLineAnnot.LINEENDSTYLE_BUTT)
             {
-                l.set(1, new PdfName("Butt"));
+                l.set(1, PdfName.intern("Butt"));
             }
             else if (this.getLineEndStyle() 
                 == PdfLineAnnot.LINEENDSTYLE_ROPEN_ARROW)
             {
-                l.set(1, new PdfName("ROpenArrow"));
+                l.set(1, PdfName.intern("ROpenArrow"));
             }
             else if (this.getLineEndStyle() 
                 == PdfLineAnnot.LINEENDSTYLE_RCLOSED_ARROW)
             {
-                l.set(1, new PdfName("RClosedArrow"));
+                l.set(1, PdfName.intern("RClosedArrow"));
             }
         }
         if (version.equals(PdfDocument.VERSION_1_6)
@@ -577,26 +577,26 @@ public class PdfLineAnnot extends PdfProAnnot
         {
             if (this.contents != null)
             {
-                annotMap.put(new PdfName("Cap"), PdfBoolean.TRUE);
+                annotMap.put(PdfName.intern("Cap"), PdfBoolean.TRUE);
             }
             if (this.leaderLineArray != null)
             {
-                annotMap.put(new PdfName("LL"), new PdfFloat((float)
+                annotMap.put(PdfName.intern("LL"), new PdfFloat((float)
                     leaderLineArray[0]));
-                annotMap.put(new PdfName("LLE"), new PdfFloat((float)
+                annotMap.put(PdfName.intern("LLE"), new PdfFloat((float)
                     leaderLineArray[1]));
             }
             ArrayList l = (ArrayList) ((PdfArray) annotMap
-                .get(new PdfName(Usable.PDF_LE))).getList();
+                .get(PdfName.intern(Usable.PDF_LE))).getList();
             if (this.getLineStartStyle() 
                 == PdfLineAnnot.LINEENDSTYLE_SLASH)
             {
-                l.set(0, new PdfName("Slash"));
+                l.set(0, PdfName.intern("Slash"));
             }
             if (this.getLineEndStyle() 
                 == PdfLineAnnot.LINEENDSTYLE_SLASH)
             {
-                l.set(1, new PdfName("Slash"));
+                l.set(1, PdfName.intern("Slash"));
             }
         }
     }
@@ -609,7 +609,7 @@ public class PdfLineAnnot extends PdfProAnnot
         PdfPoint prevEnd = new PdfPoint(x2, y2);
 
         HashMap annotMap = (HashMap)dict.getMap();
-        annotMap.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
             Usable.PDF_LINEANNOT));
         
         Color intCol = this.getInteriorColor();
@@ -617,7 +617,7 @@ public class PdfLineAnnot extends PdfProAnnot
         arrIntColor.add(new PdfFloat((float) intCol.getRed() / 255));
         arrIntColor.add(new PdfFloat((float) intCol.getGreen() / 255));
         arrIntColor.add(new PdfFloat((float) intCol.getBlue() / 255));
-        annotMap.put(new PdfName(Usable.PDF_IC), new PdfArray(arrIntColor));
+        annotMap.put(PdfName.intern(Usable.PDF_IC), new PdfArray(arrIntColor));
 
         double pageHeight = p.pageHeight;        
         PdfPoint start = p.updatePageSettings(new PdfPoint(x1, y1));
@@ -636,7 +636,7 @@ public class PdfLineAnnot extends PdfProAnnot
         arrLine.add(new PdfFloat((float) y1));
         arrLine.add(new PdfFloat((float) x2));
         arrLine.add(new PdfFloat((float) y2));
-        annotMap.put(new PdfName(Usable.PDF_L), new PdfArray(
+        annotMap.put(PdfName.intern(Usable.PDF_L), new PdfArray(
             arrLine));
 
         ArrayList arrLineEndStyle = new ArrayList();
@@ -728,7 +728,7 @@ public class PdfLineAnnot extends PdfProAnnot
                 lineEndStyle = "None";
         }
         arrLineEndStyle.add(new PdfName(lineEndStyle));
-        annotMap.put(new PdfName(Usable.PDF_LE), new PdfArray(
+        annotMap.put(PdfName.intern(Usable.PDF_LE), new PdfArray(
             arrLineEndStyle));
 
         this.x1 = prevStart.x;
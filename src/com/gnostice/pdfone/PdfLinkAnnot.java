@@ -931,7 +931,7 @@ public class PdfLinkAnnot extends PdfAnnot
     void applyPropertiesFrom(PdfDict annotDict, PdfStdPage page)
         throws IOException, PdfException
     {
-        annotDict.dictMap.remove(new PdfName(PDF_P));
+        annotDict.getMap().remove(PdfName.intern(PDF_P));
         unknownAttributes = new HashMap();
         Map annotMap = annotDict.getMap();
         Iterator iter = annotMap.keySet().iterator();
@@ -1086,15 +1086,15 @@ public class PdfLinkAnnot extends PdfAnnot
         super.encode(p);
 
         HashMap annotMap = (HashMap)dict.getMap();
-        annotMap.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
             Usable.PDF_LINKANNOT));
 
         if (showRect)
         {
             Map m = new HashMap();
-            m.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+            m.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
                 Usable.PDF_BORDER));
-            m.put(new PdfName(Usable.PDF_W), new PdfFloat(
+            m.put(PdfName.intern(Usable.PDF_W), new PdfFloat(
                 this.borderWidth));
             String style = "S";
             switch (getBorderStyle())
@@ -1112,13 +1112,13 @@ public class PdfLinkAnnot extends PdfAnnot
                     style = "U";
                     break;
             }
-            m.put(new PdfName(Usable.PDF_S), new PdfName(style));
+            m.put(PdfName.intern(Usable.PDF_S), new PdfName(style));
             if (dashPattern != null)
             {
-                m.put(new PdfName(Usable.PDF_D), new PdfArray(
+                m.put(PdfName.intern(Usable.PDF_D), new PdfArray(
                     this.dashPattern));
             }
-            annotMap.put(new PdfName(Usable.PDF_BS), new PdfDict(m));
+            annotMap.put(PdfName.intern(Usable.PDF_BS), new PdfDict(m));
         }
         
         String mode;
@@ -1144,7 +1144,7 @@ public class PdfLinkAnnot extends PdfAnnot
                 mode = "N";
                 break;
         }
-        annotMap.put(new PdfName("H"), new PdfName(mode)); 
+        annotMap.put(PdfName.intern("H"), new PdfName(mode)); 
 
         //Actions added in set()
         return this;
@@ -1170,7 +1170,7 @@ public class PdfLinkAnnot extends PdfAnnot
 
         bm.setActions(d);
         
-        final PdfName A = new PdfName(Usable.PDF_A);
+        final PdfName A = PdfName.intern(Usable.PDF_A);
         PdfObject obj = bm.dict.getValue(A);
         if (obj != null)
         {
@@ -1199,12 +1199,12 @@ public class PdfLinkAnnot extends PdfAnnot
             {
                 action = originDoc.reader.getObject(action);
                 dest = ((PdfDict) action)
-                    .getValue(new PdfName(PDF_D));
+                    .getValue(PdfName.intern(PDF_D));
                 dest = originDoc.getDestArray(originDoc.reader
                     .getObject(dest));
                 if (dest != null)
                 {
-                    ((PdfDict) action).setValue(new PdfName(PDF_D),
+                    ((PdfDict) action).setValue(PdfName.intern(PDF_D),
                         dest);
                 }
                 bm.addToActionList((PdfDict) action);
@@ -1216,8 +1216,8 @@ public class PdfLinkAnnot extends PdfAnnot
     
     void updatePageRefs(PdfStdDocument d) throws PdfException
     {
-        final PdfName D = new PdfName(Usable.PDF_D);
-        final PdfName S = new PdfName(Usable.PDF_S);
+        final PdfName D = PdfName.intern(Usable.PDF_D);
+        final PdfName S = PdfName.intern(Usable.PDF_S);
         PdfDict actionDict;
         PdfArray arr;
         PdfName actionType;
@@ -272,7 +272,7 @@ public class PdfMarkupAnnot extends PdfProAnnot
                 break;
         }
         
-        annotMap.put(new PdfName(Usable.PDF_SUBTYPE),
+        annotMap.put(PdfName.intern(Usable.PDF_SUBTYPE),
             new PdfName(sty));
 
         double quadpoints[] = this.getQuadPoints();
@@ -305,7 +305,7 @@ public class PdfMarkupAnnot extends PdfProAnnot
                         (float) newQuads[i]));
                 }
             }
-            annotMap.put(new PdfName(Usable.PDF_QUADPOINTS),
+            annotMap.put(PdfName.intern(Usable.PDF_QUADPOINTS),
                 new PdfArray(arrQuadPoints));
         }
         
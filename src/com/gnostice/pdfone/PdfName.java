@@ -28,11 +28,29 @@ package com.gnostice.pdfone;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.Hashtable;
 
 public class PdfName extends PdfObject 
 {
+    //Upper bound on the number of distinct names whose written
+    //form is remembered, so that names read from arbitrary
+    //documents cannot grow the cache without limit
+    static final int MAX_ENCODED_NAMES = 4096;
+
+    //Same bound for the pool of canonical instances handed out by
+    //intern(); names beyond it are simply not pooled
+    static final int MAX_INTERNED_NAMES = 4096;
+
+    private static final Hashtable encodedNames = new Hashtable();
+
+    private static final Hashtable internedNames = new Hashtable();
+
 	private String name;
 
+    private int hash;
+
+    private byte[] encoded;
+
     public Object clone()
     {
         PdfName clone = (PdfName) super.clone();
@@ -44,8 +62,35 @@ public class PdfName extends PdfObject
     public PdfName(String name)
 	{
 		this.name = name;
+		this.hash = name == null ? 0 : name.hashCode();
 	}
 
+    //Returns the canonical instance for the specified name. Keys
+    //used for dictionary lookups and names read by PdfReader go
+    //through here so that repeated names share one object, along
+    //with its hash code and written form.
+    public static PdfName intern(String name)
+    {
+        PdfName n = (PdfName) internedNames.get(name);
+        if (n != null)
+        {
+            return n;
+        }
+        synchronized (internedNames)
+        {
+            n = (PdfName) internedNames.get(name);
+            if (n == null)
+            {
+                n = new PdfName(name);
+                if (internedNames.size() < MAX_INTERNED_NAMES)
+                {
+                    internedNames.put(name, n);
+                }
+            }
+        }
+        return n;
+    }
+
 	protected static String parse(String name) throws PdfException
 	{
 //		if (name.length() < 1)
@@ -94,16 +139,21 @@ public class PdfName extends PdfObject
 	//method hashCode() is required
 	public int hashCode()
 	{
-		return name.hashCode();
+		return hash;
 	}
 	
 	public boolean equals(Object obj)
 	{
+		if (obj == this)
+		{
+			return true;
+		}
 		if ((obj == null) || (!(obj instanceof PdfName)))
 		{
 			return false;
 		}
-		return name.equals(((PdfName)obj).name);
+		PdfName n = (PdfName) obj;
+		return (hash == n.hash) && name.equals(n.name);
 	}
 
 	public String getString()
@@ -116,58 +166,92 @@ public class PdfName extends PdfObject
 		return "/" + this.name;
 	}
 	
+    static byte[] encode(String name)
+    {
+        StringBuffer sb = new StringBuffer(name.length() + 1);
+        String hexString;
+        boolean escape = false;
+
+        sb.append(Usable.PDF_NAMESTART);
+        for (int i = 0; i < name.length(); i++)
+        {
+            char ch = name.charAt(i);
+            
+            switch (ch)
+            {
+                case Usable.PDF_TAB :
+                case Usable.PDF_NEWLINE :
+                case Usable.PDF_FORMFEED :
+                case Usable.PDF_CARRIAGE :
+                case Usable.PDF_SP :
+                case Usable.PDF_NAMESTART :
+                case Usable.PDF_HEXSTRINGSTART :
+                case Usable.PDF_HEXSTRINGEND :
+                case Usable.PDF_ARRAYSTART :
+                case Usable.PDF_ARRAYEND :
+                case Usable.PDF_LITERALSTRINGSTART :
+                case Usable.PDF_LITERALSTRINGEND :
+                case '#' :
+                case '%' :
+                case '\b' :
+                case '{' :
+                case '}' :
+                    escape = true;
+                    break;
+                default :
+                    escape = ((ch < 33) || (ch > 126)); //as per PDF spec.
+                    break;
+            }
+            
+            if (escape)
+            {
+                hexString = Integer.toHexString(ch);
+                sb.append('#');
+                if (hexString.length() < 2)
+                    sb.append('0');
+                sb.append(hexString);
+            }
+            else sb.append(ch);
+        }
+
+        //same narrowing as DataOutputStream.writeBytes()
+        int len = sb.length();
+        byte[] ba = new byte[len];
+        for (int i = 0; i < len; ++i)
+        {
+            ba[i] = (byte) sb.charAt(i);
+        }
+        return ba;
+    }
+
+    //Returns the written form of this name. Names are immutable, so
+    //the bytes are computed once per instance and shared through
+    //encodedNames by every instance having the same name.
+    byte[] getEncoded()
+    {
+        byte[] ba = encoded;
+        if (ba == null)
+        {
+            ba = (byte[]) encodedNames.get(name);
+            if (ba == null)
+            {
+                ba = encode(name);
+                if (encodedNames.size() < MAX_ENCODED_NAMES)
+                {
+                    encodedNames.put(name, ba);
+                }
+            }
+            encoded = ba;
+        }
+        return ba;
+    }
+
 	protected int write(PdfWriter writer) throws IOException
 	{
 		DataOutputStream dataOpStream = writer.getDataOutputStream();
-		int byteCount = 0; //for '/'
+		byte[] ba = getEncoded();
 
-		String s = new String("/");
-		String hexString;
-		boolean escape = false;
-		
-		for (int i = 0; i < this.name.length(); i++)
-		{
-			char ch = this.name.charAt(i);
-			
-			switch (ch)
-			{
-				case Usable.PDF_TAB :
-				case Usable.PDF_NEWLINE :
-				case Usable.PDF_FORMFEED :
-				case Usable.PDF_CARRIAGE :
-				case Usable.PDF_SP :
-				case Usable.PDF_NAMESTART :
-				case Usable.PDF_HEXSTRINGSTART :
-				case Usable.PDF_HEXSTRINGEND :
-				case Usable.PDF_ARRAYSTART :
-				case Usable.PDF_ARRAYEND :
-				case Usable.PDF_LITERALSTRINGSTART :
-				case Usable.PDF_LITERALSTRINGEND :
-				case '#' :
-				case '%' :
-				case '\b' :
-				case '{' :
-				case '}' :
-					escape = true;
-					break;
-				default :
-					escape = ((ch < 33) || (ch > 126)); //as per PDF spec.
-					break;
-			}
-			
-			if (escape)
-			{
-				hexString = Integer.toHexString(ch);
-				if (hexString.length() < 2)
-					hexString = '0' + hexString;
-				s += '#';
-				s += hexString;
-			}
-			else s += ch;
-		}
-		
-		dataOpStream.writeBytes(s);
-		byteCount += s.length();
-		return byteCount;
+		dataOpStream.write(ba, 0, ba.length);
+		return ba.length;
 	}
 }
\ No newline at end of file
@@ -33,12 +33,12 @@ import java.util.List;
 
 abstract class PdfNode
 {
-    protected static final PdfName TYPE = new PdfName(Usable.PDF_TYPE);
+    protected static final PdfName TYPE = PdfName.intern(Usable.PDF_TYPE);
 
-    protected static final PdfName PARENT = new PdfName(
+    protected static final PdfName PARENT = PdfName.intern(
         Usable.PDF_PARENT);
 
-    protected static final PdfName MEDIABOX = new PdfName(
+    protected static final PdfName MEDIABOX = PdfName.intern(
         Usable.PDF_MEDIABOX);
     
     protected PdfDict dict;
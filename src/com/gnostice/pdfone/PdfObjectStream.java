@@ -43,11 +43,11 @@ import java.util.regex.Pattern;
  */
 final class PdfObjectStream
 {
-    static final PdfName TYPE = new PdfName(Usable.PDF_TYPE);
+    static final PdfName TYPE = PdfName.intern(Usable.PDF_TYPE);
     
-    static final PdfName OBJSTM = new PdfName(Usable.PDF_OBJSTREAM);
+    static final PdfName OBJSTM = PdfName.intern(Usable.PDF_OBJSTREAM);
     
-    static final PdfName OBJCOUNT = new PdfName(Usable.PDF_NO_COMP_OBJ);
+    static final PdfName OBJCOUNT = PdfName.intern(Usable.PDF_NO_COMP_OBJ);
     
     PdfStream stream;
     
@@ -0,0 +1,166 @@
+/**
+****************************************************
+*  Java based PDF creation and manipulation Library      
+****************************************************
+*
+*  Project Title: Gnostice PDFOne Java
+*  Copyright  2002-2008 Gnostice Information Technologies Private Limited, Bangalore, India
+*  http://www.gnostice.com
+*
+*  This file is part of PDFOne Java Library.
+*
+*  This program is free software: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, either version 3 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+
+*  You should have received a copy of the GNU General Public License
+*  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*
+*/
+
+package com.gnostice.pdfone;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import com.gnostice.pdfone.filters.PdfFilter;
+
+/*
+ * Collects the non-stream objects of a document being written into
+ * compressed object streams. While a packer is set on a PdfWriter,
+ * every eligible object passed to writeIndirectObject() is serialized
+ * into an object stream instead of the file, and its position is
+ * recorded in the document's objStreamId and objStreamPos tables so
+ * that the cross-reference stream marks it as compressed (type 2).
+ * The object streams themselves are written after all other objects.
+ */
+final class PdfObjectStreamPacker
+{
+    /* Length of the "n 0 obj" and "endobj" lines around a standalone
+       object, not counting the digits of its object number */
+    private static final int OBJ_FRAMING = 18;
+
+    private PdfStdDocument doc;
+
+    private PdfWriter writer;
+
+    private int maxObjects;
+
+    /* object streams that are full, and their serialized objects */
+    private ArrayList filledStreams;
+
+    private ArrayList filledData;
+
+    private PdfObjectStream current;
+
+    private ByteArrayOutputStream baos;
+
+    private PdfWriter memWriter;
+
+    private int objBytes;
+
+    /* bytes the packed objects would have taken if written
+       individually, and bytes taken by the object streams */
+    long standaloneBytes;
+
+    long packedBytes;
+
+    int packedObjects;
+
+    PdfObjectStreamPacker(PdfStdDocument doc, PdfWriter writer,
+        int maxObjects)
+    {
+        this.doc = doc;
+        this.writer = writer;
+        this.maxObjects = maxObjects;
+        filledStreams = new ArrayList();
+        filledData = new ArrayList();
+    }
+
+    boolean accepts(PdfObject obj)
+    {
+        return !(obj instanceof PdfStream)
+            && obj.getGenerationNumber() == 0
+            && obj != doc.encryptDict
+            && !writer.encryptDocument;
+    }
+
+    /* Serializes obj into the object stream being filled. Nothing is
+       written to the file until finish() is called. */
+    int add(PdfObject obj) throws IOException
+    {
+        if (current == null)
+        {
+            current = new PdfObjectStream();
+            current.stream.setObjectNumber(doc.objectRun++);
+            baos = new ByteArrayOutputStream();
+            memWriter = PdfWriter.memoryWriter(baos);
+            objBytes = 0;
+        }
+
+        int index = obj.getObjectNumber();
+        doc.objStreamId.put(new PdfInteger(index), new PdfInteger(
+            current.stream.getObjectNumber()));
+        doc.objStreamPos.put(new PdfInteger(index), new PdfInteger(
+            current.objectCount++));
+        current.offsets.write((Integer.toString(index)
+            + Usable.PDF_SP).getBytes());
+        current.offsets.write((Integer.toString(objBytes)
+            + Usable.PDF_SP).getBytes());
+
+        int n = memWriter.writePDFObject(obj);
+        objBytes += n;
+        standaloneBytes += n + OBJ_FRAMING
+            + Integer.toString(index).length();
+        ++packedObjects;
+
+        if (current.objectCount == maxObjects)
+        {
+            close();
+        }
+        return 0;
+    }
+
+    private void close() throws IOException
+    {
+        memWriter.dispose();
+        filledStreams.add(current);
+        filledData.add(baos);
+        current = null;
+        baos = null;
+        memWriter = null;
+    }
+
+    /* Compresses and writes all object streams, updating the
+       document's offsets and bytesWritten */
+    void finish() throws IOException, PdfException
+    {
+        if (current != null)
+        {
+            close();
+        }
+
+        for (int i = 0, limit = filledStreams.size(); i < limit; ++i)
+        {
+            PdfObjectStream objStm = (PdfObjectStream) filledStreams
+                .get(i);
+            objStm.initialize((ByteArrayOutputStream) filledData.get(i));
+            doc.filters = PdfFilter.encode(objStm.stream, doc.filters,
+                doc.addDefaultFilter, doc.compressionLevel);
+
+            doc.updateXref(objStm.stream.getObjectNumber());
+            int n = writer.writeIndirectObject(objStm.stream);
+            doc.bytesWritten += n;
+            packedBytes += n;
+        }
+        filledStreams.clear();
+        filledData.clear();
+    }
+}
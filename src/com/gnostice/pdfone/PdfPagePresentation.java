@@ -167,51 +167,51 @@ public class PdfPagePresentation implements Cloneable
         switch(transitionStyle)
         {
             case SPLIT:
-                hm.put(new PdfName(Usable.PDF_S), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     Usable.PDF_SPLIT));
                 break;
             case BLINDS:
-                hm.put(new PdfName(Usable.PDF_S), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     Usable.PDF_BLINDS));
                 break;
             case BOX:
-                hm.put(new PdfName(Usable.PDF_S), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     Usable.PDF_BOX));
                 break;
             case WIPE:
-                hm.put(new PdfName(Usable.PDF_S), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     Usable.PDF_WIPE));
                 break;
             case DISSOLVE:
-                hm.put(new PdfName(Usable.PDF_S), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     Usable.PDF_DISSOLVE));
                 break;
             case GLITTER:
-                hm.put(new PdfName(Usable.PDF_S), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     Usable.PDF_GLITTER));
                 break;
             case REPLACE:
-                hm.put(new PdfName(Usable.PDF_S), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     Usable.PDF_REPLACE));
                 break;
             case FLY:
-                hm.put(new PdfName(Usable.PDF_S), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     Usable.PDF_FLY));
                 break;
             case PUSH:
-                hm.put(new PdfName(Usable.PDF_S), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     Usable.PDF_PUSH));
                 break;
             case COVER:
-                hm.put(new PdfName(Usable.PDF_S), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     Usable.PDF_COVER));
                 break;
             case UNCOVER:
-                hm.put(new PdfName(Usable.PDF_S), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     Usable.PDF_UNCOVER));
                 break;
             case FADE:
-                hm.put(new PdfName(Usable.PDF_S), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
                     Usable.PDF_FADE));
                 break;
             default:
@@ -220,11 +220,11 @@ public class PdfPagePresentation implements Cloneable
         switch (transitionDimension)
         {
             case HORIZONTAL:
-                hm.put(new PdfName(Usable.PDF_DM), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_DM), PdfName.intern(
                     Usable.PDF_HORIZONTAL));
                 break;
             case VERTICAL:
-                hm.put(new PdfName(Usable.PDF_DM), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_DM), PdfName.intern(
                     Usable.PDF_VERTICAL));
                 break;
             default:
@@ -233,11 +233,11 @@ public class PdfPagePresentation implements Cloneable
         switch (transitionMotion)
         {
             case INWARD:
-                hm.put(new PdfName(Usable.PDF_M), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_M), PdfName.intern(
                     Usable.PDF_INWARD));
                 break;
             case OUTWARD:
-                hm.put(new PdfName(Usable.PDF_M), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_M), PdfName.intern(
                     Usable.PDF_OUTWARD));
                 break;
             default:
@@ -245,20 +245,20 @@ public class PdfPagePresentation implements Cloneable
         }
         if (transitionDirection != 0)
         {
-            hm.put(new PdfName(Usable.PDF_DI), new PdfInteger(
+            hm.put(PdfName.intern(Usable.PDF_DI), new PdfInteger(
                 transitionDirection));
         }
         if (transitionDuration != 0)
         {
-            hm.put(new PdfName(Usable.PDF_D), new PdfFloat(
+            hm.put(PdfName.intern(Usable.PDF_D), new PdfFloat(
                 transitionDuration));
         }
         if (flyTransitionEndScale != 0)
         {
-            hm.put(new PdfName(Usable.PDF_SS), new PdfFloat(
+            hm.put(PdfName.intern(Usable.PDF_SS), new PdfFloat(
                 flyTransitionEndScale));
         }
-        hm.put(new PdfName(Usable.PDF_B), new PdfBoolean(
+        hm.put(PdfName.intern(Usable.PDF_B), new PdfBoolean(
             flyTransitionAreaOpaque));
         
         return new PdfDict(hm);
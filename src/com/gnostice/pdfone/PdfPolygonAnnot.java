@@ -201,18 +201,18 @@ public class PdfPolygonAnnot extends PdfPolylineAnnot
         super.encode(p);
         
         HashMap annotMap = (HashMap)dict.getMap();
-        annotMap.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
             Usable.PDF_POLYGONANNOT));
 
         HashMap hmBE = new HashMap();
         if (this.isCloudy())
         {
-            hmBE.put(new PdfName(Usable.PDF_S), new PdfName("C"));
-            hmBE.put(new PdfName(Usable.PDF_I), new PdfInteger(this
+            hmBE.put(PdfName.intern(Usable.PDF_S), PdfName.intern("C"));
+            hmBE.put(PdfName.intern(Usable.PDF_I), new PdfInteger(this
                 .getCloudIntensity()));
-            annotMap.put(new PdfName(Usable.PDF_BE), new PdfDict(hmBE));
+            annotMap.put(PdfName.intern(Usable.PDF_BE), new PdfDict(hmBE));
         }
-        annotMap.remove(new PdfName(Usable.PDF_LE));
+        annotMap.remove(PdfName.intern(Usable.PDF_LE));
 
         return this;
     }
@@ -386,14 +386,14 @@ public class PdfPolylineAnnot extends PdfProAnnot
         super.encode(p);
         
         HashMap annotMap = (HashMap)dict.getMap();
-        annotMap.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
             Usable.PDF_POLYLINEANNOT));
 
         ArrayList arrIntColor = new ArrayList(4);
         arrIntColor.add(new PdfFloat(interiorColor.getRed() / 255f));
         arrIntColor.add(new PdfFloat(interiorColor.getGreen() / 255f));
         arrIntColor.add(new PdfFloat(interiorColor.getBlue() / 255f));
-        annotMap.put(new PdfName(Usable.PDF_IC), new PdfArray(
+        annotMap.put(PdfName.intern(Usable.PDF_IC), new PdfArray(
             arrIntColor));
 
         ArrayList arrLineEndStyle = new ArrayList();
@@ -485,7 +485,7 @@ public class PdfPolylineAnnot extends PdfProAnnot
                 lineEndStyle = "None";
         }
         arrLineEndStyle.add(new PdfName(lineEndStyle));
-        annotMap.put(new PdfName(Usable.PDF_LE), new PdfArray(
+        annotMap.put(PdfName.intern(Usable.PDF_LE), new PdfArray(
             arrLineEndStyle));
         
         double pageHeight = p.pageHeight;
@@ -512,7 +512,7 @@ public class PdfPolylineAnnot extends PdfProAnnot
                     arrVertices.add(new PdfFloat(ver[i]));
                 }
             }
-            annotMap.put(new PdfName(Usable.PDF_VERTICES),
+            annotMap.put(PdfName.intern(Usable.PDF_VERTICES),
                 new PdfArray(arrVertices));
         }
 
@@ -525,7 +525,7 @@ public class PdfPolylineAnnot extends PdfProAnnot
         throws IOException, PdfException
     {
         super.set(originDoc, d);
-        PdfObject name = new PdfName(Usable.PDF_LE);
+        PdfObject name = PdfName.intern(Usable.PDF_LE);
         HashMap annotMap = (HashMap)dict.getMap();
         String version = d.getVersion();
         if (version.equals(PdfDocument.VERSION_1_5)
@@ -537,27 +537,27 @@ public class PdfPolylineAnnot extends PdfProAnnot
                     .get(name)).getList();
                 if (this.getLineStartStyle() == PdfLineAnnot.LINEENDSTYLE_BUTT)
                 {
-                    l.set(0, new PdfName("Butt"));
+                    l.set(0, PdfName.intern("Butt"));
                 }
                 else if (this.getLineStartStyle() == PdfLineAnnot.LINEENDSTYLE_ROPEN_ARROW)
                 {
-                    l.set(0, new PdfName("ROpenArrow"));
+                    l.set(0, PdfName.intern("ROpenArrow"));
                 }
                 else if (this.getLineStartStyle() == PdfLineAnnot.LINEENDSTYLE_RCLOSED_ARROW)
                 {
-                    l.set(0, new PdfName("RClosedArrow"));
+                    l.set(0, PdfName.intern("RClosedArrow"));
                 }
                 if (this.getLineEndStyle() == PdfLineAnnot.LINEENDSTYLE_BUTT)
                 {
-                    l.set(0, new PdfName("Butt"));
+                    l.set(0, PdfName.intern("Butt"));
                 }
                 else if (this.getLineEndStyle() == PdfLineAnnot.LINEENDSTYLE_ROPEN_ARROW)
                 {
-                    l.set(0, new PdfName("ROpenArrow"));
+                    l.set(0, PdfName.intern("ROpenArrow"));
                 }
                 else if (this.getLineEndStyle() == PdfLineAnnot.LINEENDSTYLE_RCLOSED_ARROW)
                 {
-                    l.set(0, new PdfName("RClosedArrow"));
+                    l.set(0, PdfName.intern("RClosedArrow"));
                 }
             }
         }
@@ -569,11 +569,11 @@ public class PdfPolylineAnnot extends PdfProAnnot
                     .get(name)).getList();
                 if (this.getLineStartStyle() == PdfLineAnnot.LINEENDSTYLE_SLASH)
                 {
-                    l.set(0, new PdfName("Slash"));
+                    l.set(0, PdfName.intern("Slash"));
                 }
                 if (this.getLineEndStyle() == PdfLineAnnot.LINEENDSTYLE_SLASH)
                 {
-                    l.set(1, new PdfName("Slash"));
+                    l.set(1, PdfName.intern("Slash"));
                 }
             }
         }
@@ -138,7 +138,7 @@ public class PdfPopUpAnnot extends PdfProAnnot
         this.dict.objNumber = d.objectRun++;
         if (this.parent != null)
         {
-            dict.getMap().put(new PdfName(Usable.PDF_PARENT),
+            dict.getMap().put(PdfName.intern(Usable.PDF_PARENT),
                 new PdfIndirectReference(parent.dict.objNumber, 0));
         }
     }
@@ -148,7 +148,7 @@ public class PdfPopUpAnnot extends PdfProAnnot
         super.encode(p);
         
         HashMap annotMap = (HashMap)dict.getMap();
-        annotMap.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
             Usable.PDF_POPUP));
         
         return this;
@@ -164,7 +164,7 @@ abstract class PdfProAnnot extends PdfAnnot
     void applyPropertiesFrom(PdfDict annotDict, PdfStdPage page)
         throws IOException, PdfException
     {
-        annotDict.dictMap.remove(new PdfName(PDF_P));
+        annotDict.getMap().remove(PdfName.intern(PDF_P));
         unknownAttributes = new HashMap();
         Map annotMap = annotDict.getMap();
         Iterator iter = annotMap.keySet().iterator();
@@ -238,8 +238,8 @@ abstract class PdfProAnnot extends PdfAnnot
                     PdfDict popupDict = (PdfDict) value;
                     PdfPopUpAnnot popup = new PdfPopUpAnnot();
                     popup.applyPropertiesFrom(popupDict, page);
-                    boolean override = popupDict.dictMap
-                        .containsKey(new PdfName(Usable.PDF_PARENT));
+                    boolean override = popupDict.getMap()
+                        .containsKey(PdfName.intern(Usable.PDF_PARENT));
                     setPopup(popup, override);
                 }
             }
@@ -247,7 +247,7 @@ abstract class PdfProAnnot extends PdfAnnot
             {
                 if (value instanceof PdfDict)
                 {
-                    apHm = (HashMap) ((PdfDict) value).dictMap;
+                    apHm = (HashMap) ((PdfDict) value).getMap();
                 }
             }
             else if (name.equals(Usable.PDF_BS))
@@ -402,11 +402,11 @@ abstract class PdfProAnnot extends PdfAnnot
                 normalAppearance.page.contentStream.size())).slice();
             
             HashMap hm = new HashMap();
-            hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+            hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
                 Usable.PDF_XOBJECT));
-            hm.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+            hm.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
                 Usable.PDF_FORM));
-            hm.put(new PdfName(Usable.PDF_BBOX), new PdfArray(
+            hm.put(PdfName.intern(Usable.PDF_BBOX), new PdfArray(
                 new double[] { 0, 0, width, height }));
             
             normalAppearance.setDict(new PdfDict (hm));
@@ -420,11 +420,11 @@ abstract class PdfProAnnot extends PdfAnnot
                 rolloverAppearance.page.contentStream.size())).slice();
 
             HashMap hm = new HashMap();
-            hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+            hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
                 Usable.PDF_XOBJECT));
-            hm.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+            hm.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
                 Usable.PDF_FORM));
-            hm.put(new PdfName(Usable.PDF_BBOX), new PdfArray(
+            hm.put(PdfName.intern(Usable.PDF_BBOX), new PdfArray(
                 new double[] { 0, 0, width, height }));
             
             rolloverAppearance.setDict(new PdfDict (hm));
@@ -438,11 +438,11 @@ abstract class PdfProAnnot extends PdfAnnot
                 downAppearance.page.contentStream.size())).slice();
 
             HashMap hm = new HashMap();
-            hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(
+            hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(
                 Usable.PDF_XOBJECT));
-            hm.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+            hm.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
                 Usable.PDF_FORM));
-            hm.put(new PdfName(Usable.PDF_BBOX), new PdfArray(
+            hm.put(PdfName.intern(Usable.PDF_BBOX), new PdfArray(
                 new double[] { 0, 0, width, height }));
             
             downAppearance.setDict(new PdfDict (hm));
@@ -485,7 +485,7 @@ abstract class PdfProAnnot extends PdfAnnot
         if (this.popup != null)
         {
             this.popup.set(originDoc, d);
-            this.dict.getMap().put(new PdfName(Usable.PDF_POPUP),
+            this.dict.getMap().put(PdfName.intern(Usable.PDF_POPUP),
                 new PdfIndirectReference(
                     this.popup.dict.objNumber, 0));
 
@@ -505,9 +505,9 @@ abstract class PdfProAnnot extends PdfAnnot
             }
         }
         
-        PdfName normal = new PdfName(PDF_N);
-        PdfName rollover = new PdfName(PDF_R);
-        PdfName down = new PdfName(PDF_D);
+        PdfName normal = PdfName.intern(PDF_N);
+        PdfName rollover = PdfName.intern(PDF_R);
+        PdfName down = PdfName.intern(PDF_D);
         PdfObject value = null;
         if (normalAppearance != null)
         {
@@ -553,7 +553,7 @@ abstract class PdfProAnnot extends PdfAnnot
         
         if ( !apHm.isEmpty())
         {
-            this.dict.dictMap.put(new PdfName(Usable.PDF_AP),
+            this.dict.getMap().put(PdfName.intern(Usable.PDF_AP),
                 new PdfDict(apHm));
         }
     }
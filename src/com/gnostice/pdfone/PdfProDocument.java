@@ -58,6 +58,16 @@ class PdfProDocument extends PdfStdDocument
     boolean needAcroDict;
     
     int defaultFieldAlignment;
+
+    /* longest side in pixels of thumbnails made by
+       addThumbnailImages() */
+    public static final int THUMBNAIL_SIZE = 106;
+
+    /* time taken in milliseconds by the last addThumbnailImages() */
+    protected long thumbnailTime;
+
+    /* size of the data of the thumbnails it added */
+    protected long thumbnailBytes;
     
     int defaultFormFontIndex;
     
@@ -106,7 +116,7 @@ class PdfProDocument extends PdfStdDocument
             {
                 catalog.unknownAttributes.remove(key);
                 PdfDict viewPrefDict = (PdfDict) value;
-                Map m1 = viewPrefDict.dictMap;
+                Map m1 = viewPrefDict.getMap();
                 for (Iterator iter1 = m1.keySet().iterator(); iter1
                     .hasNext();)
                 {
@@ -159,72 +169,72 @@ class PdfProDocument extends PdfStdDocument
             Map hm = new HashMap();
             if ((viewerPrefVal & PdfPreferences.HIDE_TOOLBAR) != 0)
             {
-                hm.put(new PdfName(PDF_HIDE_TOOLBAR),
+                hm.put(PdfName.intern(PDF_HIDE_TOOLBAR),
                         PdfBoolean.TRUE);
             }
             if ((viewerPrefVal & PdfPreferences.HIDE_MENUBAR) != 0)
             {
-                hm.put(new PdfName(PDF_HIDE_MENUBAR),
+                hm.put(PdfName.intern(PDF_HIDE_MENUBAR),
                         PdfBoolean.TRUE);
             }
             if ((viewerPrefVal & PdfPreferences.HIDE_WINDOWUI) != 0)
             {
-                hm.put(new PdfName(PDF_HIDE_WINDOWUI),
+                hm.put(PdfName.intern(PDF_HIDE_WINDOWUI),
                     PdfBoolean.TRUE);
             }
             if ((viewerPrefVal & PdfPreferences.FIT_WINDOW) != 0)
             {
-                hm.put(new PdfName(PDF_FIT_WINDOW), PdfBoolean.TRUE);
+                hm.put(PdfName.intern(PDF_FIT_WINDOW), PdfBoolean.TRUE);
             }
             if ((viewerPrefVal & PdfPreferences.CENTER_WINDOW) != 0)
             {
-                hm.put(new PdfName(PDF_CENTER_WINDOW),
+                hm.put(PdfName.intern(PDF_CENTER_WINDOW),
                     PdfBoolean.TRUE);
             }
             if ((viewerPrefVal & PdfPreferences.DISPLAY_DOC_TITLE) != 0)
             {
-                hm.put(new PdfName(PDF_DISPLAY_DOCTITLE),
+                hm.put(PdfName.intern(PDF_DISPLAY_DOCTITLE),
                     PdfBoolean.TRUE);
             }
 
             if ((viewerPrefVal & PdfPreferences
                 .Direction.LEFT_TO_RIGHT) != 0)
             {
-                hm.put(new PdfName(PDF_DIRECTION), new PdfName(
+                hm.put(PdfName.intern(PDF_DIRECTION), PdfName.intern(
                     PDF_L2R));
             }
             else if ((viewerPrefVal & PdfPreferences
                 .Direction.RIGHT_TO_LEFT) != 0)
             {
-                hm.put(new PdfName(PDF_DIRECTION), new PdfName(
+                hm.put(PdfName.intern(PDF_DIRECTION), PdfName.intern(
                     PDF_R2L));
             }
 
-            final PdfName NON_FULLSCREEN = new PdfName(
+            final PdfName NON_FULLSCREEN = PdfName.intern(
                 PDF_NONFULLSCREEN_PAGEMODE);
 
             if ((viewerPrefVal & PdfPreferences
                 .NonFullScreenPageMode.NONE) != 0)
             {
-                hm.put(NON_FULLSCREEN, new PdfName(PDF_USENONE));
+                hm.put(NON_FULLSCREEN, PdfName.intern(PDF_USENONE));
             }
             else if ((viewerPrefVal & PdfPreferences
                 .NonFullScreenPageMode.OC) != 0)
             {
-                hm.put(NON_FULLSCREEN, new PdfName(PDF_USEOC));
+                hm.put(NON_FULLSCREEN, PdfName.intern(PDF_USEOC));
             }
             else if ((viewerPrefVal & PdfPreferences
                 .NonFullScreenPageMode.OUTLINES) != 0)
             {
-                hm.put(NON_FULLSCREEN, new PdfName(PDF_USEOUTLINES));
+                hm.put(NON_FULLSCREEN, PdfName.intern(PDF_USEOUTLINES));
             }
             else if ((viewerPrefVal & PdfPreferences
                 .NonFullScreenPageMode.THUMBS) != 0)
             {
-                hm.put(NON_FULLSCREEN, new PdfName(PDF_USETHUMBS));
+                hm.put(NON_FULLSCREEN, PdfName.intern(PDF_USETHUMBS));
             }
 
-            PdfName key = new PdfName(PDF_VIEWER_PREFERENCES);
+            PdfName key = PdfName.intern(PDF_VIEWER_PREFERENCES);
             catalog.getDictionary().getMap()
                 .put(key, new PdfDict(hm));
             catalog.unknownAttributes.remove(key);
@@ -281,7 +291,7 @@ class PdfProDocument extends PdfStdDocument
                 PdfStdPage.prepareFontAndAddToDoc(this, dr_fontMap, key, font);
             }
         }
-        dr.put(new PdfName(PDF_FONT), new PdfDict(dr_fontMap));
+        dr.put(PdfName.intern(PDF_FONT), new PdfDict(dr_fontMap));
 
         //Prepare DA
         String defaultFontName = PDF_NAMESTART + PDF_FONTNAMEPREFIX
@@ -337,14 +347,14 @@ class PdfProDocument extends PdfStdDocument
         
         //Prepare final map 
         HashMap acroHm = new HashMap();
-        acroHm.put(new PdfName(PDF_Q), new PdfInteger(
+        acroHm.put(PdfName.intern(PDF_Q), new PdfInteger(
             defaultFieldAlignment));
-        acroHm.put(new PdfName(PDF_DA), new PdfString(da));
-        acroHm.put(new PdfName(PDF_DR), new PdfDict(dr));
-        acroHm.put(new PdfName(PDF_FIELDS), new PdfArray(fields));
+        acroHm.put(PdfName.intern(PDF_DA), new PdfString(da));
+        acroHm.put(PdfName.intern(PDF_DR), new PdfDict(dr));
+        acroHm.put(PdfName.intern(PDF_FIELDS), new PdfArray(fields));
         if (overrideFieldAppearanceStreams)
         {
-            acroHm.put(new PdfName(PDF_NEEDAPPEARANCES),
+            acroHm.put(PdfName.intern(PDF_NEEDAPPEARANCES),
                 PdfBoolean.TRUE);
         }
         
@@ -1482,6 +1492,100 @@ class PdfProDocument extends PdfStdDocument
         getPage(pageNo).addThumbnailImage(path);
     }
 
+    public synchronized void addThumbnailImages(String[] paths,
+        String pageRange) throws IOException, PdfException
+    {
+        addThumbnailImages(paths, pageRange, THUMBNAIL_SIZE);
+    }
+
+    /*
+     * Adds the image at paths[i] as the thumbnail of the i-th page in
+     * pageRange, reduced to fit in size by size pixels. The images
+     * are read and reduced on worker threads, and pages with the same
+     * image share one thumbnail. Images that are not RGB, gray or
+     * indexed, such as CMYK JPEGs, or that cannot be reduced from
+     * their data are decoded to 8-bit RGB or gray; a PdfException is
+     * thrown for an image that cannot be decoded.
+     */
+    public synchronized void addThumbnailImages(String[] paths,
+        String pageRange, int size) throws IOException, PdfException
+    {
+        long start = System.currentTimeMillis();
+        Vector v = getPages(pageRange);
+        if (v == null)
+        {
+            throw new PdfException("Invalid pageRange.");
+        }
+        if (paths == null || paths.length != v.size() || size <= 0)
+        {
+            throw new PdfException(
+                "Illegal argument(s) to method addThumbnailImages.");
+        }
+
+        PdfImage[] images = PdfImage.create(paths);
+        HashMap resamplers = new HashMap(); //by image key
+        PdfImageResampler[] pageResamplers =
+            new PdfImageResampler[images.length];
+        for (int i = 0; i < images.length; ++i)
+        {
+            PdfString key = images[i].getKey();
+            PdfImageResampler r = (PdfImageResampler) resamplers.get(key);
+            if (r == null)
+            {
+                r = new PdfImageResampler(images[i], paths[i], size,
+                    size);
+                resamplers.put(key, r);
+            }
+            pageResamplers[i] = r;
+        }
+        PdfImageResampler[] tasks = (PdfImageResampler[]) resamplers
+            .values().toArray(new PdfImageResampler[resamplers.size()]);
+        PdfWorkers.run(tasks, PdfWorkers.defaultThreads());
+
+        thumbnailBytes = 0;
+        for (int i = 0; i < tasks.length; ++i)
+        {
+            PdfImage thumb = tasks[i].image;
+            if (tasks[i].result != null)
+            {
+                thumb = tasks[i].result;
+                thumb.clearKey();
+            }
+            thumbnailBytes += thumb.streamBuffer.capacity();
+            if (thumb.lookUpStream != null)
+            {
+                thumbnailBytes += thumb.lookUpStream.streamBuffer
+                    .capacity();
+            }
+            if (thumb.sMask != null)
+            {
+                thumbnailBytes += thumb.sMask.streamBuffer.capacity();
+            }
+        }
+        int i = 0;
+        for (Iterator iter = v.iterator(); iter.hasNext(); ++i)
+        {
+            PdfImageResampler r = pageResamplers[i];
+            getPage(((Integer) iter.next()).intValue()).setThumbnailImage(
+                r.result != null ? r.result : r.image);
+        }
+        thumbnailTime = System.currentTimeMillis() - start;
+    }
+
+    /* Returns the time in milliseconds taken by the last call to
+       addThumbnailImages() */
+    public synchronized long getThumbnailTime()
+    {
+        return thumbnailTime;
+    }
+
+    /* Returns the number of bytes of image data in the thumbnails
+       added by the last call to addThumbnailImages() */
+    public synchronized long getThumbnailBytes()
+    {
+        return thumbnailBytes;
+    }
+
     public synchronized void removeThumbnailImage(String pageRange)
         throws PdfException
     {
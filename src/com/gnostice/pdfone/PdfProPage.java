@@ -42,9 +42,9 @@ class PdfProPage extends PdfStdPage
     private static int fieldFlags;
     /* This is used in reading form hierarchy */
 
-    private static final PdfName KIDS = new PdfName(PDF_KIDS);
+    private static final PdfName KIDS = PdfName.intern(PDF_KIDS);
 
-    private static final PdfName FIELD_TYPE = new PdfName(PDF_FT);
+    private static final PdfName FIELD_TYPE = PdfName.intern(PDF_FT);
 
     private static final int ANNOT_SUPPORTED_CODE = 0;
     
@@ -105,15 +105,15 @@ class PdfProPage extends PdfStdPage
         PdfName key;
         if (displayDuration != 0)
         {
-            key = new PdfName(PDF_DISPLAY_DURATION);
+            key = PdfName.intern(PDF_DISPLAY_DURATION);
             unknownAttributes.remove(key);
-            this.dict.dictMap.put(key, new PdfFloat(displayDuration));
+            this.dict.getMap().put(key, new PdfFloat(displayDuration));
         }
         if (presentation != null)
         {
-            key = new PdfName(PDF_TRANSITION);
+            key = PdfName.intern(PDF_TRANSITION);
             unknownAttributes.remove(key);
-            this.dict.dictMap.put(key, presentation.prepareDict());
+            this.dict.getMap().put(key, presentation.prepareDict());
         }
     }
 
@@ -122,7 +122,7 @@ class PdfProPage extends PdfStdPage
         int objNo;
         Map dXObjMap = d.xObjMap;
         PdfObject dXObj = null;
-        PdfInteger hash = new PdfInteger(thumbImage.hashCode());
+        PdfString hash = thumbImage.getKey();
         if (dXObjMap != null)
         {
             dXObj = (PdfObject) dXObjMap.get(hash);
@@ -135,21 +135,13 @@ class PdfProPage extends PdfStdPage
         else
         /* Image not present in the document */
         {
-            //added for indexed Image
-            PdfObject obj = thumbImage.colorSpace;
-            if (obj instanceof PdfArray)
-            {
-                List l = ((PdfArray) obj).getList();
-                PdfStream s = (PdfStream) l.get(3);
-                s.setObjectNumber(d.objectRun++);
-            }
-            thumbImage.setObjectNumber(d.objectRun++);
+            thumbImage.setObjectNumbers(d);
             objNo = thumbImage.getObjectNumber();
             d.addImage(hash, thumbImage);
             objNo = thumbImage.getObjectNumber();
         }
         
-        dict.dictMap.put(new PdfName(PDF_THUMB),
+        dict.getMap().put(PdfName.intern(PDF_THUMB),
             new PdfIndirectReference(objNo, 0));
     }
 
@@ -341,22 +333,27 @@ class PdfProPage extends PdfStdPage
     public void addThumbnailImage(String path) throws IOException,
         PdfException
     {
-        thumbImage = PdfImage.create(path);
+        setThumbnailImage(PdfImage.create(path));
+    }
+
+    void setThumbnailImage(PdfImage img)
+    {
+        thumbImage = img;
 
-        thumbImage.streamDict.getMap().put(new PdfName(PDF_WIDTH),
+        thumbImage.streamDict.getMap().put(PdfName.intern(PDF_WIDTH),
             new PdfInteger((int) thumbImage.width));
-        thumbImage.streamDict.getMap().put(new PdfName(PDF_HEIGHT),
+        thumbImage.streamDict.getMap().put(PdfName.intern(PDF_HEIGHT),
             new PdfInteger((int) thumbImage.height));
         thumbImage.streamDict.getMap().put(
-            new PdfName(PDF_BITS_PER_COMPONENT),
+            PdfName.intern(PDF_BITS_PER_COMPONENT),
             new PdfInteger(thumbImage.bitsPerComp));
         thumbImage.streamDict.getMap().put(
-            new PdfName(PDF_COLORSPACE), thumbImage.colorSpace);
+            PdfName.intern(PDF_COLORSPACE), thumbImage.colorSpace);
     }
 
     public void removeThumbnailImage()
     {
-        this.dict.dictMap.remove(new PdfName(PDF_THUMB));
+        this.dict.getMap().remove(PdfName.intern(PDF_THUMB));
         this.thumbImage = null;
     }
 
@@ -965,10 +962,10 @@ class PdfProPage extends PdfStdPage
                 continue;
             }
             PdfDict rAnnotDict = (PdfDict) obj;
-            PdfName nameSubType = new PdfName(PDF_SUBTYPE);
-            if (rAnnotDict.dictMap.containsKey(nameSubType))
+            PdfName nameSubType = PdfName.intern(PDF_SUBTYPE);
+            if (rAnnotDict.getMap().containsKey(nameSubType))
             {
-                PdfObject objVal = (PdfObject) rAnnotDict.dictMap
+                PdfObject objVal = (PdfObject) rAnnotDict.getMap()
                     .get(nameSubType);
                 if (objVal instanceof PdfName)
                 {
@@ -1064,8 +1061,8 @@ class PdfProPage extends PdfStdPage
         ArrayList retList = new ArrayList();
         PdfObject annotObj;
         PdfDict annotDict;
-        PdfName name_subtype = new PdfName(PDF_SUBTYPE);
-        PdfName name_popup = new PdfName(PDF_POPUP);
+        PdfName name_subtype = PdfName.intern(PDF_SUBTYPE);
+        PdfName name_popup = PdfName.intern(PDF_POPUP);
 
         for (int i = 0; i < rAnnotList.size(); i++)
         /*
@@ -1121,7 +1118,7 @@ class PdfProPage extends PdfStdPage
         /*ArrayList widgets = new ArrayList();*/
         widgetList = new ArrayList();
         PdfObject annotObj, subtype;
-        PdfName subtypeName = new PdfName(PDF_SUBTYPE);
+        PdfName subtypeName = PdfName.intern(PDF_SUBTYPE);
         if (rAnnotList != null)
         {
             for (int i = 0, limit = rAnnotList.size(); i < limit; i++)
@@ -1300,7 +1297,7 @@ class PdfProPage extends PdfStdPage
             widget = (PdfDict) originDoc.reader
                 .getObject((PdfObject) widgetList.get(0));
 
-            root = widget.dictMap.containsKey(PARENT)
+            root = widget.getMap().containsKey(PARENT)
                 ? buildFieldHierarchy(getRootFieldDict(widget), retList)
                 : buildFormWidgetNode(widget, retList, false);
             
@@ -1323,7 +1320,7 @@ class PdfProPage extends PdfStdPage
 //            fieldFlags = flag.getInt();
 //        }
 
-        if (fieldDict.dictMap.containsKey(KIDS)) //intermediate
+        if (fieldDict.getMap().containsKey(KIDS)) //intermediate
         {
             retVal = buildFormIntermediateNode(fieldDict);
             
@@ -1377,7 +1374,7 @@ class PdfProPage extends PdfStdPage
             fieldType = ft.getString();
         }
 
-        PdfNumber flag = (PdfNumber) fieldDict.getValue(new PdfName(
+        PdfNumber flag = (PdfNumber) fieldDict.getValue(PdfName.intern(
             PDF_FIELD_FLAG));
         if (flag != null)
         {
@@ -1416,7 +1413,7 @@ class PdfProPage extends PdfStdPage
         PdfFormField retVal = null;
 
         PdfName ft = (PdfName) fieldDict
-            .getValue(new PdfName(PDF_FT));
+            .getValue(PdfName.intern(PDF_FT));
         if (ft == null && fieldType == null)
         {
             throw new PdfBadFileException("Field type not specified");
@@ -1426,7 +1423,7 @@ class PdfProPage extends PdfStdPage
             fieldType = ft.getString();
         }
         
-        PdfNumber flag = (PdfNumber) fieldDict.getValue(new PdfName(
+        PdfNumber flag = (PdfNumber) fieldDict.getValue(PdfName.intern(
             PDF_FIELD_FLAG));
         if (flag != null)
         {
@@ -1467,7 +1464,7 @@ class PdfProPage extends PdfStdPage
     private PdfDict getRootFieldDict(PdfDict childDict)
         throws IOException, PdfException
     {
-        if ( !childDict.dictMap.containsKey(PARENT))
+        if ( !childDict.getMap().containsKey(PARENT))
         {
             return childDict;
         }
@@ -36,8 +36,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Hashtable;
 import java.util.Iterator;
-import java.util.Map;
-import java.util.HashMap;
 import java.util.Vector;
 import java.util.regex.Pattern;
 import java.util.regex.Matcher;
@@ -69,9 +67,9 @@ public final class PdfReader implements Usable
     
     protected Method onPageRead;
     
-    private static final PdfName TRAILER_SIZE = new PdfName(PDF_SIZE);
+    private static final PdfName TRAILER_SIZE = PdfName.intern(PDF_SIZE);
 
-    private static final PdfName TRAILER_PREV = new PdfName(PDF_PREV);
+    private static final PdfName TRAILER_PREV = PdfName.intern(PDF_PREV);
 
     private static final String EXPR_COMMENT = 
         "%[^\\r\\n(?:\\r\\n)]*(?:[\\r\\n(?:\\r\\n)])";
@@ -1125,7 +1123,7 @@ public final class PdfReader implements Usable
     					else 
     					{
     						done = true;
-    						return new PdfArray(arrList);
+    						return PdfArray.fromParsedList(arrList);
     					}
     				}
     				else arrList.add(obj);
@@ -1156,7 +1154,7 @@ public final class PdfReader implements Usable
     		/* dict start Group: 6 */
     		else if (mat_pdfObj.group(6) != null)
     		{
-    			Map m = new HashMap();
+    			PdfDict d = new PdfDict();
     			PdfObject key, value;
         		boolean dictDone = false;
         		boolean streamDictDone = false;
@@ -1174,7 +1172,7 @@ public final class PdfReader implements Usable
         				if (((PdfContainerEnd)key).code == 2)
         				{
         					dictDone = true;
-        					return new PdfDict(m);
+        					return d;
         				}
         				else if (((PdfContainerEnd)key).code == 3)
             			{
@@ -1182,8 +1180,8 @@ public final class PdfReader implements Usable
                             boolean streamIsProper = false;
                             int streamSize = 0;
                             int startLimit = mat_pdfObj.end(25);
-                            PdfObject streamLen = (PdfObject) m
-                                .get(new PdfName(PDF_LENGTH));
+                            PdfObject streamLen = d
+                                .getValue(PdfName.intern(PDF_LENGTH));
                             while (bb.get(startLimit) == (byte) PDF_SP
                                 || bb.get(startLimit) == (byte) PDF_TAB)
                             {
@@ -1252,20 +1250,20 @@ public final class PdfReader implements Usable
                                     .getBuffer(), 0, baos.size(),
                                     decryptor);
             				}
-            				PdfObject stmfilter = (PdfObject) m
-                                .get(new PdfName(PDF_FILTER));
-            				PdfObject stmdecode = (PdfObject) m
-            					.get(new PdfName(PDF_DECODEPARMS));
+            				PdfObject stmfilter = d
+                                .getValue(PdfName.intern(PDF_FILTER));
+            				PdfObject stmdecode = d
+            					.getValue(PdfName.intern(PDF_DECODEPARMS));
             				if (stmdecode == null)
             				{
-            				    stmdecode = (PdfObject) m
-            				    	.get(new PdfName(PDF_DP));
+            				    stmdecode = d
+            				    	.getValue(PdfName.intern(PDF_DP));
             				}
             				
                             ByteBuffer bb = ((ByteBuffer) ByteBuffer
                                 .wrap(baos.getBuffer()).limit(
                                     baos.size())).slice();
-                            PdfStream stm = new PdfStream(new PdfDict(m), bb);
+                            PdfStream stm = new PdfStream(d, bb);
             				stm.filters = getObject(stmfilter);
             				stm.decodeParms = getObject(stmdecode);
             				if (stm.filters != null)
@@ -1309,7 +1307,7 @@ public final class PdfReader implements Usable
         			}
         			else
         			{
-        			    m.put(key, value);
+        			    d.setValue(key, value);
         			}
         		}
     		}
@@ -1402,7 +1400,7 @@ public final class PdfReader implements Usable
     		else if (mat_pdfObj.group(23) != null)
     		{
     			String s = mat_pdfObj.group(23);
-    			return new PdfName(PdfName.parse(s.trim()));
+    			return PdfName.intern(PdfName.parse(s.trim()));
     		}
     		
     		/* dict end Group: 24 stream end Group: 25 */
@@ -1480,7 +1478,7 @@ public final class PdfReader implements Usable
 	    
 	    if (catalogDict == null)
 	    {
-	        obj = trailer.getValue(new PdfName(PDF_ROOT));
+	        obj = trailer.getValue(PdfName.intern(PDF_ROOT));
 	        if (obj != null)
 	        {
 	            if (obj instanceof PdfIndirectReference)
@@ -1502,7 +1500,7 @@ public final class PdfReader implements Usable
 	    
 	    if (encryptDict == null)
 	    {
-	        obj = trailer.getValue(new PdfName(PDF_ENCRYPT));
+	        obj = trailer.getValue(PdfName.intern(PDF_ENCRYPT));
 	        if (obj != null)
 	        {
 	            if (obj instanceof PdfDict)
@@ -1524,7 +1522,7 @@ public final class PdfReader implements Usable
 	    
 	    if (infoDict == null)
 	    {
-	        obj = trailer.getValue(new PdfName(PDF_INFO));
+	        obj = trailer.getValue(PdfName.intern(PDF_INFO));
 	        if (obj != null)
 	        {
 	            if (obj instanceof PdfDict)
@@ -1546,7 +1544,7 @@ public final class PdfReader implements Usable
 	    
 	    if (fileID == null)
 	    {
-	        obj = trailer.getValue(new PdfName(PDF_ID));
+	        obj = trailer.getValue(PdfName.intern(PDF_ID));
 	        if (obj != null)
 	        {
 	            if (obj instanceof PdfArray)
@@ -1575,7 +1573,7 @@ public final class PdfReader implements Usable
 	        }
 	    }
 	    
-	    obj = trailer.getValue(new PdfName(PDF_XREFSTMOFFSET));
+	    obj = trailer.getValue(PdfName.intern(PDF_XREFSTMOFFSET));
 	    if (obj != null)
 	    {
 	        if ( !(obj instanceof PdfLong)
@@ -1731,7 +1729,7 @@ public final class PdfReader implements Usable
         stm.streamBuffer.position(0);
         int limit = -1; //for index array
         try {
-            PdfObject obj_index = stm.streamDict.getValue(new PdfName(
+            PdfObject obj_index = stm.streamDict.getValue(PdfName.intern(
                 PDF_INDEX));
             int[] index;
             if (obj_index == null)
@@ -1953,6 +1951,15 @@ public final class PdfReader implements Usable
         }
     }
     
+    /* Returns obj, or a name of its own if obj is an interned name,
+       so that the object number of an indirect object is not set on
+       the instance shared by every use of the name */
+    private static PdfObject indirectObject(PdfObject obj)
+    {
+        return obj instanceof PdfName ? new PdfName(((PdfName) obj)
+            .getString()) : obj;
+    }
+
     private ArrayList getStreamedObjects(PdfObjectStream os)
         throws IOException, PdfException
     {
@@ -1969,7 +1976,7 @@ public final class PdfReader implements Usable
         {
             objNo = Integer.parseInt(mat.group());
             this.cb = os.readObject(objNo);
-            obj = readPdfObject(0);
+            obj = indirectObject(readPdfObject(0));
             obj.objNumber = objNo;
             objList.add(obj);
             mat.find(); //this is the offset
@@ -2044,7 +2051,7 @@ public final class PdfReader implements Usable
        try {
            PdfStream stream = (PdfStream) dereferObject(objNo);
            PdfFilter.decompress(stream);
-           PdfObject first = stream.streamDict.getValue(new PdfName(
+           PdfObject first = stream.streamDict.getValue(PdfName.intern(
                 PDF_FIRST));
            first = getObject(first);
            return new PdfObjectStream(stream, ((PdfInteger) first)
@@ -2150,7 +2157,8 @@ public final class PdfReader implements Usable
         {
             currentGenNo = Integer.parseInt(mat_objstart.group(2));
             currentObjNo = objNo;
-            PdfObject obj = readPdfObject(mat_objstart.end(3));
+            PdfObject obj = indirectObject(readPdfObject(mat_objstart
+                .end(3)));
             obj.genNumber = currentGenNo;
             obj.objNumber = objNo;
             return obj;
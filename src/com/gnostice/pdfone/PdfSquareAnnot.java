@@ -166,17 +166,17 @@ public class PdfSquareAnnot extends PdfProAnnot
             HashMap hmBE = new HashMap();
             if (this.isCloudy())
             {
-                hmBE.put(new PdfName(Usable.PDF_S), new PdfName("C"));
-                hmBE.put(new PdfName(Usable.PDF_I), new PdfInteger(this
+                hmBE.put(PdfName.intern(Usable.PDF_S), PdfName.intern("C"));
+                hmBE.put(PdfName.intern(Usable.PDF_I), new PdfInteger(this
                     .getCloudIntensity()));
-                annotMap.put(new PdfName(Usable.PDF_BE), new PdfDict(hmBE));
+                annotMap.put(PdfName.intern(Usable.PDF_BE), new PdfDict(hmBE));
             }
             /*if (this.diffRect != null)
             {
                 double[] da = new double[] { diffRect.left(),
                     diffRect.right(), diffRect.top(),
                     diffRect.bottom() };
-                annotMap.put(new PdfName("RD"), new PdfArray(da));
+                annotMap.put(PdfName.intern("RD"), new PdfArray(da));
             }*/
         }
     }
@@ -191,14 +191,14 @@ public class PdfSquareAnnot extends PdfProAnnot
         }*/
 
         HashMap annotMap = (HashMap)dict.getMap();
-        annotMap.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
             Usable.PDF_SQUAREANNOT));
 
         ArrayList arrIntColor = new ArrayList(4);
         arrIntColor.add(new PdfFloat(interiorColor.getRed() / 255f));
         arrIntColor.add(new PdfFloat(interiorColor.getGreen() / 255f));
         arrIntColor.add(new PdfFloat(interiorColor.getBlue() / 255f));
-        annotMap.put(new PdfName(Usable.PDF_IC), new PdfArray(
+        annotMap.put(PdfName.intern(Usable.PDF_IC), new PdfArray(
             arrIntColor));
 
         /*this.diffRect = prevDiffRect;*/
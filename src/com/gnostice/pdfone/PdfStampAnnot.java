@@ -231,9 +231,9 @@ public class PdfStampAnnot extends PdfProAnnot
         super.encode(p);
 
         HashMap annotMap = (HashMap)dict.getMap();
-        annotMap.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
             Usable.PDF_STAMPANNOT));
-        annotMap.put(new PdfName(Usable.PDF_NAME), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_NAME), new PdfName(
             this.stamp));
         
         return this;
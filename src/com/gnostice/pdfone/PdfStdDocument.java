@@ -41,6 +41,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -123,6 +124,13 @@ class PdfStdDocument implements Usable
     
     protected HashMap xObjMap; //for image
 
+    /* images read by path, with the length and modification time of
+       the file when it was read */
+    private HashMap imagePaths;
+
+    /* watermarks, headers and footers, by digest */
+    protected HashMap formMap;
+
     protected int objectRun;
 
     protected long bytesWritten;
@@ -162,6 +170,21 @@ class PdfStdDocument implements Usable
     protected PdfObjectStream outlineStream;
     
     protected PdfObjectStream fontStream;
+    
+    protected int objectStreamSize;
+    
+    /* the index of an object in its object stream is written to the
+       cross-reference stream in two bytes */
+    private static final int MAX_OBJECT_STREAM_SIZE = 0xFFFF;
+    
+    protected long objectStreamSavings;
+
+    protected int imageResolution;
+
+    protected long imageSavings;
+
+    /* downsampled copies to be written in place of images */
+    private Map resampledImages;
 
     protected Hashtable unknownObjMaps;
     
@@ -220,6 +243,9 @@ class PdfStdDocument implements Usable
         procSet = null;
         fontMap = null;
         xObjMap = null;
+        resampledImages = null;
+        imagePaths = null;
+        formMap = null;
         pageTree = null;
         bookmarkTree = null;
         actionList = null;
@@ -265,6 +291,9 @@ class PdfStdDocument implements Usable
         procSet = null;
         fontMap = null;
         xObjMap = null;
+        resampledImages = null;
+        imagePaths = null;
+        formMap = null;
         pageTree = null;
         bookmarkTree = null;
         actionList = null;
@@ -351,7 +380,7 @@ class PdfStdDocument implements Usable
             return;
         }
         PdfObject pages = catalog.getDictionary().getValue(
-            new PdfName(PDF_PAGES));
+            PdfName.intern(PDF_PAGES));
         if (pages == null)
         {
             return;
@@ -381,7 +410,7 @@ class PdfStdDocument implements Usable
         PdfNode child = null;
         PdfObject childDict = null;
         PdfDict parentDict = parent.dict;
-        PdfObject kids = parentDict.getValue(new PdfName(PDF_KIDS));
+        PdfObject kids = parentDict.getValue(PdfName.intern(PDF_KIDS));
         try {
         if (kids != null)
         {
@@ -479,7 +508,7 @@ class PdfStdDocument implements Usable
             return;
         }
         PdfObject namesRoot = catalog.getDictionary().getValue(
-            new PdfName(PDF_NAMES));
+            PdfName.intern(PDF_NAMES));
         if (namesRoot == null)
         {
             return;
@@ -488,13 +517,13 @@ class PdfStdDocument implements Usable
         if (namesRoot instanceof PdfDict)
         {
             PdfObject dests = ((PdfDict) namesRoot)
-                .getValue(new PdfName(PDF_DESTS));
+                .getValue(PdfName.intern(PDF_DESTS));
             if (dests != null)
             {
                 readNamedDestinations(dests);
             }
             /*PdfObject javascript = ((PdfDict) namesRoot)
-                .getValue(new PdfName(PDF_JAVASCRIPT_ACTION));
+                .getValue(PdfName.intern(PDF_JAVASCRIPT_ACTION));
             if (javascript != null)
             {
                 //readNamedJavaScript(javascript);
@@ -521,14 +550,14 @@ class PdfStdDocument implements Usable
             {
                 namedDestinations = new Hashtable();
             }
-            PdfObject kids = ((PdfDict) dests).getValue(new PdfName(
+            PdfObject kids = ((PdfDict) dests).getValue(PdfName.intern(
                 PDF_KIDS));
             if (kids != null) /* root node */
             {
                 kids = reader.getObject(kids);
                 processNamesTreeNode(kids, true);
             }
-            PdfObject names = ((PdfDict) dests).getValue(new PdfName(
+            PdfObject names = ((PdfDict) dests).getValue(PdfName.intern(
                 PDF_NAMES));
             if (names != null) /* the only node in name tree */
             {
@@ -563,14 +592,14 @@ class PdfStdDocument implements Usable
                     /* should be a dict */
                     
                     PdfObject kids = ((PdfDict) obj)
-                        .getValue(new PdfName(PDF_KIDS));
+                        .getValue(PdfName.intern(PDF_KIDS));
                     if (kids != null)
                     {
                         kids = reader.getObject(kids);
                         processNamesTreeNode(kids, true);
                     }
                     PdfObject names = ((PdfDict) obj)
-                        .getValue(new PdfName(PDF_NAMES));
+                        .getValue(PdfName.intern(PDF_NAMES));
                     if (names != null)
                     {
                         names = reader.getObject(names);
@@ -591,9 +620,9 @@ class PdfStdDocument implements Usable
                     if (val instanceof PdfDict)
                     {
                         PdfObject k1 = ((PdfDict) val)
-                            .getValue(new PdfName(PDF_D));
+                            .getValue(PdfName.intern(PDF_D));
                         PdfObject k2 = ((PdfDict) val)
-                            .getValue(new PdfName(PDF_DESTINATION));
+                            .getValue(PdfName.intern(PDF_DESTINATION));
                         val = (k1 == null) ? reader.getObject(k2)
                             : reader.getObject(k1);
                     }
@@ -612,20 +641,20 @@ class PdfStdDocument implements Usable
     protected PdfDict processDestination(PdfArray dest)
     {
         HashMap hm = new HashMap();
-        hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-        hm.put(new PdfName(PDF_D), dest);
+        hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+        hm.put(PdfName.intern(PDF_D), dest);
         
         ArrayList list = (ArrayList) dest.getList();
         Iterator iter = list.iterator();
         PdfObject page = (PdfObject) iter.next();
         if (page instanceof PdfInteger) /* GoToR */
         {
-            hm.put(new PdfName(PDF_S), new PdfName(
+            hm.put(PdfName.intern(PDF_S), PdfName.intern(
                 PDF_REMOTEGOTO_ACTION));
         }
         else if (page instanceof PdfIndirectReference)
         {
-            hm.put(new PdfName(PDF_S), new PdfName(PDF_GOTO_ACTION));
+            hm.put(PdfName.intern(PDF_S), PdfName.intern(PDF_GOTO_ACTION));
         }
         
         return new PdfDict(hm);
@@ -638,7 +667,7 @@ class PdfStdDocument implements Usable
             return;
         }
         readNames();
-        PdfName outline = new PdfName(PDF_OUTLINES); 
+        PdfName outline = PdfName.intern(PDF_OUTLINES); 
         PdfObject outlineRoot = catalog.getDictionary().getValue(
             outline);
         if (outlineRoot == null)
@@ -649,12 +678,12 @@ class PdfStdDocument implements Usable
             outlineRoot = reader.getObject(outlineRoot);
             if (outlineRoot instanceof PdfNull)
             {
-                catalog.getDictionary().dictMap.put(outline,
+                catalog.getDictionary().getMap().put(outline,
                     outlineRoot);
                 return;
             }
             PdfObject first = ((PdfDict) outlineRoot)
-                .getValue(new PdfName(PDF_FIRST));
+                .getValue(PdfName.intern(PDF_FIRST));
             if (first == null)
             {
                 return;
@@ -699,13 +728,13 @@ class PdfStdDocument implements Usable
                 do
                 {
                     action = reader.getObject(action);
-                    dest = ((PdfDict) action).getValue(new PdfName(
+                    dest = ((PdfDict) action).getValue(PdfName.intern(
                         PDF_D));
                     dest = getDestArray(reader.getObject(dest));
                     if (dest != null)
                     {
                         ((PdfDict) action).setValue(
-                            new PdfName(PDF_D), dest);
+                            PdfName.intern(PDF_D), dest);
                     }
                     b.addToActionList((PdfDict) action);
                     action = ((PdfDict) action)
@@ -1081,7 +1110,7 @@ class PdfStdDocument implements Usable
 		ArrayList streams = null;
 		PdfDict pageDict = page.dict;
 		PdfObject contents = pageDict.getValue(
-			new PdfName(PDF_CONTENTS));
+			PdfName.intern(PDF_CONTENTS));
 		contents = reader.getObject(contents);
 		try 
 		{
@@ -1142,17 +1171,16 @@ class PdfStdDocument implements Usable
         else if (obj instanceof PdfStream)
         {
             PdfDict strmDict = ((PdfStream) obj).streamDict;
-            strmDict.dictMap.remove(new PdfName(PDF_LENGTH));
+            strmDict.remove(PdfName.intern(PDF_LENGTH));
             updateIndirectRefs(originDoc,
                 strmDict, addToUnknownPool);
         }
         else if (obj instanceof PdfDict)
         {
-            Map m = ((PdfDict) obj).getMap();
-            Iterator iter = m.keySet().iterator();
-            while (iter.hasNext())
+            Object[] values = ((PdfDict) obj).values();
+            for (int i = 0; i < values.length; ++i)
             {
-                PdfObject temp = (PdfObject) m.get(iter.next());
+                PdfObject temp = (PdfObject) values[i];
                 if (temp instanceof PdfArray
                     || temp instanceof PdfDict
                     || temp instanceof PdfStream
@@ -1381,7 +1409,7 @@ class PdfStdDocument implements Usable
         fontMap.put(new PdfName(name), d);
     }
 
-    protected synchronized void addImage(PdfInteger hash, PdfImage m)
+    protected synchronized void addImage(PdfObject hash, PdfImage m)
     {
         if (xObjMap == null)
         {
@@ -1390,6 +1418,69 @@ class PdfStdDocument implements Usable
         xObjMap.put(hash, m);
     }
 
+    /* Returns the decoration to be written for dec, which is
+       dec itself unless the same decoration was added before */
+    protected synchronized PdfDecoration addDecoration(PdfDecoration dec)
+        throws IOException, PdfException
+    {
+        if (formMap == null)
+        {
+            formMap = new HashMap();
+        }
+        PdfString key = dec.getKey();
+        PdfDecoration form = (PdfDecoration) formMap.get(key);
+        if (form == null)
+        {
+            dec.set(this);
+            formMap.put(key, dec);
+            form = dec;
+        }
+
+        return form;
+    }
+
+    /* Returns the image in the file at path. The file is read only
+       the first time the path is used, or when it has changed. */
+    protected synchronized PdfImage getImage(String path)
+        throws IOException, PdfException
+    {
+        if (path == null)
+        {
+            return PdfImage.create(path);
+        }
+        if (imagePaths == null)
+        {
+            imagePaths = new HashMap();
+        }
+        File f = new File(path);
+        long lastModified = f.lastModified();
+        long length = f.length();
+        ImageFile e = (ImageFile) imagePaths.get(path);
+        if (e != null && e.lastModified == lastModified
+            && e.length == length)
+        {
+            e.image.reset();
+            return e.image;
+        }
+
+        e = new ImageFile();
+        e.image = PdfImage.create(path);
+        e.lastModified = lastModified;
+        e.length = length;
+        imagePaths.put(path, e);
+
+        return e.image;
+    }
+
+    private static final class ImageFile
+    {
+        PdfImage image;
+
+        long lastModified;
+
+        long length;
+    }
+
     protected void setBookmarks() throws IOException, PdfException
     {
         bookmarkTree.set(bookmarkTree.root);
@@ -1406,11 +1497,11 @@ class PdfStdDocument implements Usable
         if (procSet == null)
         {
             ArrayList arr = new ArrayList();
-            arr.add(new PdfName(PDF_PDF));
-            arr.add(new PdfName(PDF_TEXT));
-            arr.add(new PdfName(PDF_IMAGEC));
-            arr.add(new PdfName(PDF_IMAGEI));
-            arr.add(new PdfName(PDF_IMAGEB));
+            arr.add(PdfName.intern(PDF_PDF));
+            arr.add(PdfName.intern(PDF_TEXT));
+            arr.add(PdfName.intern(PDF_IMAGEC));
+            arr.add(PdfName.intern(PDF_IMAGEI));
+            arr.add(PdfName.intern(PDF_IMAGEB));
             procSet = new PdfArray(arr);
         }
         procSet.setObjectNumber(objectRun++);
@@ -1424,10 +1515,10 @@ class PdfStdDocument implements Usable
 		}
 		
 		Map m = catalog.catalogDict.getMap();
-		m.put(new PdfName(PDF_TYPE), new PdfName(PDF_CATALOG));
+		m.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_CATALOG));
         if (pageTree != null)
         {
-            m.put(new PdfName(PDF_PAGES), new PdfIndirectReference(
+            m.put(PdfName.intern(PDF_PAGES), new PdfIndirectReference(
                 pageTree.getRoot().getDict().getObjectNumber(), 0));
         }
         if (actionList != null)
@@ -1439,25 +1530,25 @@ class PdfStdDocument implements Usable
                 actionDict = (PdfDict) actionList.get(i);
                 if (i != size - 1)
                 {
-                    actionDict.getMap().put(new PdfName(PDF_NEXT),
+                    actionDict.getMap().put(PdfName.intern(PDF_NEXT),
                         new PdfIndirectReference(objectRun - 1, 0));
                 }
                 actionDict.setObjectNumber(objectRun++);
             }
-            PdfName key = new PdfName(PDF_OPEN_ACTION);
+            PdfName key = PdfName.intern(PDF_OPEN_ACTION);
             m.put(key, new PdfIndirectReference(objectRun - 1, 0));
             catalog.unknownAttributes.remove(key);
         }
         if (addnDict != null)
         {
-            PdfName key = new PdfName(PDF_AA);
+            PdfName key = PdfName.intern(PDF_AA);
             m.put(key, new PdfIndirectReference(addnDict
                 .getObjectNumber(), 0));
             catalog.unknownAttributes.remove(key);
         }
         if (bookmarkTree != null)
         {
-            m.put(new PdfName(PDF_OUTLINES),
+            m.put(PdfName.intern(PDF_OUTLINES),
                 new PdfIndirectReference(bookmarkTree.getRoot()
                     .getDict().getObjectNumber(), 0));
         }
@@ -1479,23 +1570,23 @@ class PdfStdDocument implements Usable
         if (mode == WRITING_MODE)
         {
             Map hm = infoDict.getMap();
-            hm.put(new PdfName(PDF_CREATOR), new PdfString(
+            hm.put(PdfName.intern(PDF_CREATOR), new PdfString(
                 "Gnostice PDFOne Java"));
-            hm.put(new PdfName(PDF_CREATIONDATE), new PdfTextString(
+            hm.put(PdfName.intern(PDF_CREATIONDATE), new PdfTextString(
                 PdfDate.CurrentDate()));
-            hm.put(new PdfName(PDF_MODDATE), new PdfTextString(
+            hm.put(PdfName.intern(PDF_MODDATE), new PdfTextString(
                 PdfDate.CurrentDate()));
-			hm.put(new PdfName(PDF_PRODUCER), new PdfString(
+			hm.put(PdfName.intern(PDF_PRODUCER), new PdfString(
                 "Gnostice PDFOne Java"));
         }
         else if (mode == READING_MODE)
         {
             Map hm = infoDict.getMap();
-            hm.put(new PdfName(PDF_CREATOR), new PdfString(
+            hm.put(PdfName.intern(PDF_CREATOR), new PdfString(
                 "Gnostice PDFOne Java"));
-            hm.put(new PdfName(PDF_MODDATE), new PdfTextString(
+            hm.put(PdfName.intern(PDF_MODDATE), new PdfTextString(
                 PdfDate.CurrentDate()));
-			hm.put(new PdfName(PDF_PRODUCER), new PdfString(
+			hm.put(PdfName.intern(PDF_PRODUCER), new PdfString(
                 "Gnostice PDFOne Java"));
         }
         
@@ -1622,14 +1713,14 @@ class PdfStdDocument implements Usable
 
         encryptDocument = true;
         Hashtable  t = new Hashtable();
-        PdfName filter = new PdfName("Filter");
-        PdfName standard = new PdfName("Standard");
-        PdfName algoVersion = new PdfName(PDF_V);
-        PdfName revision = new PdfName(PDF_R);
-        PdfName length = new PdfName(PDF_LENGTH);
-//        PdfName permission = new PdfName(PDF_P);
-        PdfName owner = new PdfName(PDF_O);
-        PdfName user = new PdfName(PDF_U);
+        PdfName filter = PdfName.intern("Filter");
+        PdfName standard = PdfName.intern("Standard");
+        PdfName algoVersion = PdfName.intern(PDF_V);
+        PdfName revision = PdfName.intern(PDF_R);
+        PdfName length = PdfName.intern(PDF_LENGTH);
+//        PdfName permission = PdfName.intern(PDF_P);
+        PdfName owner = PdfName.intern(PDF_O);
+        PdfName user = PdfName.intern(PDF_U);
         
         t.put(filter, standard);
         if (encrytionLevel == PdfEncryption.LEVEL_128_BIT)
@@ -1666,7 +1757,7 @@ class PdfStdDocument implements Usable
         userpwd = PdfString.fromBytes(encryption.userKey);
         t.put(owner, new PdfString(ownerpwd, true));
         t.put(user, new PdfString(userpwd, true));
-        t.put(new PdfName(PDF_P), new PdfInteger(permissions));
+        t.put(PdfName.intern(PDF_P), new PdfInteger(permissions));
         encryptDict = new PdfDict(t);
         if (mode == WRITING_MODE)
         {
@@ -1705,7 +1796,7 @@ class PdfStdDocument implements Usable
 
     protected void writeFonts() throws IOException, PdfException
     {
-        PdfName descendant = new PdfName(PDF_DESCENDANT);
+        PdfName descendant = PdfName.intern(PDF_DESCENDANT);
         PdfObject key;
         PdfDict value;
         
@@ -1723,18 +1814,19 @@ class PdfStdDocument implements Usable
                     descendantFont.objNumber, 0));
                 value.getMap().put(descendant, new PdfArray(list));
                 
-                PdfName emb = new PdfName(RUBICON_EMBEDDED);
+                PdfName emb = PdfName.intern(RUBICON_EMBEDDED);
                 PdfObject stm = descendantFont.getValue(emb);
                 if (stm != null)
                 {
-                    filters = PdfFilter.encode((PdfStream) stm,
-                        filters, addDefaultFilter, compressionLevel);
+                    filters = PdfFontProgramCache.encode(
+                        (PdfStream) stm, filters, addDefaultFilter,
+                        compressionLevel);
 
                     int index = stm.objNumber;
                     offset[index] = bytesWritten;
                     bytesWritten += writer.writeIndirectObject(stm);
 
-                    descendantFont.dictMap.remove(emb);
+                    descendantFont.getMap().remove(emb);
                 }
 
                 PdfObject fontDescriptor = descendantFont
@@ -1756,7 +1848,7 @@ class PdfStdDocument implements Usable
                 bytesWritten += writer
                     .writeIndirectObject(descendantFont);
                 
-                emb = new PdfName(PDF_TOUNICODE);
+                emb = PdfName.intern(PDF_TOUNICODE);
                 stm = value.getValue(emb);
                 if (stm != null)
                 {
@@ -1767,7 +1859,7 @@ class PdfStdDocument implements Usable
                     offset[index] = bytesWritten;
                     bytesWritten += writer.writeIndirectObject(stm);
 
-                    value.dictMap.put(emb, new PdfIndirectReference(
+                    value.getMap().put(emb, new PdfIndirectReference(
                         stm.objNumber, 0));
                 }
             }
@@ -1789,18 +1881,19 @@ class PdfStdDocument implements Usable
                         .writeIndirectObject(fontDescriptor);
                 }
 
-                PdfName emb = new PdfName(RUBICON_EMBEDDED);
+                PdfName emb = PdfName.intern(RUBICON_EMBEDDED);
                 PdfObject stm = value.getValue(emb);
                 if (stm != null)
                 {
-                    filters = PdfFilter.encode((PdfStream) stm,
-                        filters, addDefaultFilter, compressionLevel);
+                    filters = PdfFontProgramCache.encode(
+                        (PdfStream) stm, filters, addDefaultFilter,
+                        compressionLevel);
 
                     int index = stm.objNumber;
                     offset[index] = bytesWritten;
                     bytesWritten += writer.writeIndirectObject(stm);
 
-                    value.dictMap.remove(emb);
+                    value.getMap().remove(emb);
                 }
             }
             
@@ -1810,8 +1903,30 @@ class PdfStdDocument implements Usable
         }
     }
     
+    /*
+     * Downsamples the images of the document and numbers the streams
+     * of the images to be written. This is done once all images are
+     * known, so that no number is given to a lookup table that a
+     * downsampled copy does not have.
+     */
+    private void setImages() throws IOException, PdfException
+    {
+        resampledImages = resampleImages();
+        for (Iterator i = xObjMap.values().iterator(); i.hasNext();)
+        {
+            Object value = i.next();
+            if (value instanceof PdfImage)
+            {
+                PdfImage img = (PdfImage) resampledImages.get(value);
+                (img != null ? img : (PdfImage) value)
+                    .setStreamNumbers(this);
+            }
+        }
+    }
+
     protected void writeImages() throws IOException, PdfException
     {
+        Map resampled = resampledImages;
         for (Iterator i = xObjMap.keySet().iterator(); i.hasNext();)
         {
             PdfObject key = (PdfObject) i.next();
@@ -1819,6 +1934,10 @@ class PdfStdDocument implements Usable
             if (value instanceof PdfImage)
             {
                 PdfImage img = (PdfImage) value;
+                if (resampled.containsKey(img))
+                {
+                    img = (PdfImage) resampled.get(img);
+                }
                 //added for Indexed Images
                 PdfObject obj = img.colorSpace;
                 if (obj instanceof PdfArray)
@@ -1832,23 +1951,98 @@ class PdfStdDocument implements Usable
                     
                     int index = objNo;
                     offset[index] = bytesWritten;
-                    filters = PdfFilter.encode(s, filters,
-                        addDefaultFilter, compressionLevel);
+                    if (s.getDictionary().getValue(
+                        PdfName.intern(PDF_FILTER)) == null)
+                    {
+                        filters = PdfFilter.encode(s, filters,
+                            addDefaultFilter, compressionLevel);
+                    }
                     bytesWritten += writer.writeIndirectObject(s);
                 }
+                PdfStream sMask = img.sMask;
+                if (sMask != null)
+                {
+                    int objNo = sMask.getObjectNumber();
+                    img.streamDict.getMap().put(PdfName.intern(PDF_SMASK),
+                        new PdfIndirectReference(objNo, 0));
+
+                    offset[objNo] = bytesWritten;
+                    if (sMask.getDictionary().getValue(
+                        PdfName.intern(PDF_FILTER)) == null)
+                    {
+                        filters = PdfFilter.encode(sMask, filters,
+                            addDefaultFilter, compressionLevel);
+                    }
+                    bytesWritten += writer.writeIndirectObject(sMask);
+                }
 
                 int index = img.getObjectNumber();
                 offset[index] = bytesWritten;
-                if (!(value instanceof PdfImageJpeg))
+                if (!img.isEncoded())
                 {
-                    filters = PdfFilter.encode((PdfImage) value,
-                        filters, addDefaultFilter, compressionLevel);
+                    filters = PdfFilter.encode(img, filters,
+                        addDefaultFilter, compressionLevel);
                 }
-                bytesWritten += writer.writeIndirectObject(value);
+                bytesWritten += writer.writeIndirectObject(img);
             }
         }
     }
 
+    protected void writeDecorations() throws IOException, PdfException
+    {
+        for (Iterator i = formMap.values().iterator(); i.hasNext();)
+        {
+            PdfDecoration form = (PdfDecoration) i.next();
+            int index = form.getObjectNumber();
+            offset[index] = bytesWritten;
+            filters = PdfFilter.encode(form, filters, addDefaultFilter,
+                compressionLevel);
+            bytesWritten += writer.writeIndirectObject(form);
+        }
+    }
+
+    /*
+     * Downsamples the images drawn at a resolution well above
+     * imageResolution, on worker threads. Returns a map from each
+     * image that was downsampled to the copy to be written in its
+     * place.
+     */
+    private Map resampleImages() throws IOException, PdfException
+    {
+        //PdfStream.equals() compares contents, so images are keyed
+        //by identity
+        Map resampled = new IdentityHashMap();
+        imageSavings = 0;
+        if (imageResolution <= 0)
+        {
+            return resampled;
+        }
+
+        ArrayList tasks = new ArrayList();
+        for (Iterator i = xObjMap.values().iterator(); i.hasNext();)
+        {
+            Object value = i.next();
+            if (value instanceof PdfImage)
+            {
+                tasks.add(new PdfImageResampler((PdfImage) value,
+                    imageResolution));
+            }
+        }
+        PdfImageResampler[] resamplers = (PdfImageResampler[]) tasks
+            .toArray(new PdfImageResampler[tasks.size()]);
+        PdfWorkers.run(resamplers, PdfWorkers.defaultThreads());
+
+        for (int i = 0; i < resamplers.length; ++i)
+        {
+            if (resamplers[i].result != null)
+            {
+                resampled.put(resamplers[i].image, resamplers[i].result);
+                imageSavings += resamplers[i].saved;
+            }
+        }
+        return resampled;
+    }
+
     protected void writeBookmarks() throws IOException, PdfException
     {
         if (versionId > 4)
@@ -1899,7 +2093,7 @@ class PdfStdDocument implements Usable
     protected void writeEncryt() throws IOException
     {
         writer.encryptDocument = false;
-        PdfName key = new PdfName(PDF_P);
+        PdfName key = PdfName.intern(PDF_P);
         PdfObject p = encryptDict.getValue(key);
         if (p instanceof PdfLong)
         {
@@ -1943,44 +2137,44 @@ class PdfStdDocument implements Usable
         {
             case PdfPageLayout.SINGLE_PAGE:
                 catalog.getDictionary().getMap().put(
-                    new PdfName(PDF_PAGELAYOUT),
-                    new PdfName(PDF_SINGLEPAGE));
+                    PdfName.intern(PDF_PAGELAYOUT),
+                    PdfName.intern(PDF_SINGLEPAGE));
                 break;
 
             case PdfPageLayout.ONE_COLUMN:
                 catalog.getDictionary().getMap().put(
-                    new PdfName(PDF_PAGELAYOUT),
-                    new PdfName(PDF_ONECOLUMN));
+                    PdfName.intern(PDF_PAGELAYOUT),
+                    PdfName.intern(PDF_ONECOLUMN));
                 break;
 
             case PdfPageLayout.TWO_COLUMN_LEFT:
                 catalog.getDictionary().getMap().put(
-                    new PdfName(PDF_PAGELAYOUT),
-                    new PdfName(PDF_TWOCOLUMN_LEFT));
+                    PdfName.intern(PDF_PAGELAYOUT),
+                    PdfName.intern(PDF_TWOCOLUMN_LEFT));
                 break;
 
             case PdfPageLayout.TWO_COLUMN_RIGHT:
                 catalog.getDictionary().getMap().put(
-                    new PdfName(PDF_PAGELAYOUT),
-                    new PdfName(PDF_TWOCOLUMN_RIGHT));
+                    PdfName.intern(PDF_PAGELAYOUT),
+                    PdfName.intern(PDF_TWOCOLUMN_RIGHT));
                 break;
 
             case PdfPageLayout.TWO_PAGE_LEFT:
                 catalog.getDictionary().getMap()
-                    .put(new PdfName(PDF_PAGELAYOUT),
-                        new PdfName(PDF_TWOPAGE_LEFT));
+                    .put(PdfName.intern(PDF_PAGELAYOUT),
+                        PdfName.intern(PDF_TWOPAGE_LEFT));
                 break;
 
             case PdfPageLayout.TWO_PAGE_RIGHT:
                 catalog.getDictionary().getMap().put(
-                    new PdfName(PDF_PAGELAYOUT),
-                    new PdfName(PDF_TWOPAGE_RIGHT));
+                    PdfName.intern(PDF_PAGELAYOUT),
+                    PdfName.intern(PDF_TWOPAGE_RIGHT));
                 break;
 
             default:
                 catalog.getDictionary().getMap().put(
-                    new PdfName(PDF_PAGELAYOUT),
-                    new PdfName(PDF_ONECOLUMN));
+                    PdfName.intern(PDF_PAGELAYOUT),
+                    PdfName.intern(PDF_ONECOLUMN));
                 break;
         }
     }
@@ -1991,44 +2185,44 @@ class PdfStdDocument implements Usable
         {
             case PdfPageMode.USENONE:
                 catalog.getDictionary().getMap().put(
-                    new PdfName(PDF_PAGEMODE),
-                    new PdfName(PDF_USENONE));
+                    PdfName.intern(PDF_PAGEMODE),
+                    PdfName.intern(PDF_USENONE));
                 break;
 
             case PdfPageMode.USEOUTLINES:
                 catalog.getDictionary().getMap().put(
-                    new PdfName(PDF_PAGEMODE),
-                    new PdfName(PDF_USEOUTLINES));
+                    PdfName.intern(PDF_PAGEMODE),
+                    PdfName.intern(PDF_USEOUTLINES));
                 break;
 
             case PdfPageMode.USETHUMBS:
                 catalog.getDictionary().getMap().put(
-                    new PdfName(PDF_PAGEMODE),
-                    new PdfName(PDF_USETHUMBS));
+                    PdfName.intern(PDF_PAGEMODE),
+                    PdfName.intern(PDF_USETHUMBS));
                 break;
 
             case PdfPageMode.FULLSCREEN:
                 catalog.getDictionary().getMap().put(
-                    new PdfName(PDF_PAGEMODE),
-                    new PdfName(PDF_FULLSCREEN));
+                    PdfName.intern(PDF_PAGEMODE),
+                    PdfName.intern(PDF_FULLSCREEN));
                 break;
 
             case PdfPageMode.USEOC:
                 catalog.getDictionary().getMap()
-                    .put(new PdfName(PDF_PAGEMODE),
-                        new PdfName(PDF_USEOC));
+                    .put(PdfName.intern(PDF_PAGEMODE),
+                        PdfName.intern(PDF_USEOC));
                 break;
 
             case PdfPageMode.USEATTACHMENTS:
                 catalog.getDictionary().getMap().put(
-                    new PdfName(PDF_PAGEMODE),
-                    new PdfName(PDF_USEATTACHMENTS));
+                    PdfName.intern(PDF_PAGEMODE),
+                    PdfName.intern(PDF_USEATTACHMENTS));
                 break;
 
             default:
                 catalog.getDictionary().getMap().put(
-                    new PdfName(PDF_PAGEMODE),
-                    new PdfName(PDF_USENONE));
+                    PdfName.intern(PDF_PAGEMODE),
+                    PdfName.intern(PDF_USENONE));
                 break;
         }
     }
@@ -2216,10 +2410,10 @@ class PdfStdDocument implements Usable
             if (obj instanceof PdfDict)
             {
                 PdfDict acroDict = (PdfDict) obj;
-                if (acroDict.dictMap.containsKey(new PdfName(PDF_FT)))
+                if (acroDict.getMap().containsKey(PdfName.intern(PDF_FT)))
                 {
                     PdfString fieldName = (PdfString) acroDict
-                        .getValue(new PdfName(PDF_T));
+                        .getValue(PdfName.intern(PDF_T));
                     if (fieldName != null && onRenameField != null)
                     {
                         String oldName = fieldName.getString();
@@ -2232,7 +2426,7 @@ class PdfStdDocument implements Usable
                              newName.append(oldName
                                 + random.nextInt(10000));
                         }
-                        acroDict.dictMap.put(new PdfName(PDF_T),
+                        acroDict.getMap().put(PdfName.intern(PDF_T),
 //                            new PdfTextString(newName + "", true));
                         new PdfString(newName + ""));
                     }
@@ -2302,7 +2496,7 @@ class PdfStdDocument implements Usable
             {
                 PdfObject this_dr = null;
                 PdfObject inner_dr = null;
-                PdfName DR = new PdfName(PDF_DR);
+                PdfName DR = PdfName.intern(PDF_DR);
                 for (Iterator iter = objMaps.keySet().iterator(); iter
                     .hasNext();)
                 {
@@ -2322,7 +2516,7 @@ class PdfStdDocument implements Usable
                         innerAcroDict = (PdfDict) d.reader
                             .getObject(innerAcroDict);
                         ((PdfDict) innerAcroDict).getMap().remove(
-                            new PdfName(PDF_FIELDS));
+                            PdfName.intern(PDF_FIELDS));
                         if (this.acroDict == null)
                         {
                             updateIndirectRefs(d, innerAcroDict,
@@ -2427,6 +2621,10 @@ class PdfStdDocument implements Usable
             {
                 writeImages();
             }
+            if (formMap != null)
+            {
+                writeDecorations();
+            }
         }
         if (bookmarkTree != null)
         {
@@ -2638,7 +2836,7 @@ class PdfStdDocument implements Usable
 
         PdfBookmark b = new PdfBookmark(title, pageNo);
         ArrayList list = new ArrayList();
-        list.add(new PdfName(PDF_XYZ));
+        list.add(PdfName.intern(PDF_XYZ));
         list.add(new PdfFloat((float) left));
         list.add(new PdfFloat((float) top));
         if (zoom <= 0)
@@ -2651,9 +2849,9 @@ class PdfStdDocument implements Usable
         }
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-        hm.put(new PdfName(PDF_S), new PdfName(PDF_GOTO_ACTION));
-        hm.put(new PdfName(PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+        hm.put(PdfName.intern(PDF_S), PdfName.intern(PDF_GOTO_ACTION));
+        hm.put(PdfName.intern(PDF_D), new PdfArray(list));
 
         b.addToActionList(new PdfDict(hm));
         parent.addChild(b);
@@ -2705,11 +2903,11 @@ class PdfStdDocument implements Usable
 
         PdfBookmark b = new PdfBookmark(title, pageNo);
         ArrayList list = new ArrayList();
-        list.add(new PdfName(PDF_FIT));
+        list.add(PdfName.intern(PDF_FIT));
         HashMap hm = new HashMap();
-        hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-        hm.put(new PdfName(PDF_S), new PdfName(PDF_GOTO_ACTION));
-        hm.put(new PdfName(PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+        hm.put(PdfName.intern(PDF_S), PdfName.intern(PDF_GOTO_ACTION));
+        hm.put(PdfName.intern(PDF_D), new PdfArray(list));
 
         b.addToActionList(new PdfDict(hm));
         parent.addChild(b);
@@ -2834,19 +3032,19 @@ class PdfStdDocument implements Usable
         switch (fit)
         {
             case PdfBookmark.FITH:
-                list.add(new PdfName(PDF_FITH));
+                list.add(PdfName.intern(PDF_FITH));
                 break;
 
             case PdfBookmark.FITBH:
-                list.add(new PdfName(PDF_FITBH));
+                list.add(PdfName.intern(PDF_FITBH));
                 break;
 
             case PdfBookmark.FITBV:
-                list.add(new PdfName(PDF_FITBV));
+                list.add(PdfName.intern(PDF_FITBV));
                 break;
 
             case PdfBookmark.FITV:
-                list.add(new PdfName(PDF_FITV));
+                list.add(PdfName.intern(PDF_FITV));
                 break;
 
             default:
@@ -2855,9 +3053,9 @@ class PdfStdDocument implements Usable
         list.add(new PdfFloat((float) pos));
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-        hm.put(new PdfName(PDF_S), new PdfName(PDF_GOTO_ACTION));
-        hm.put(new PdfName(PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+        hm.put(PdfName.intern(PDF_S), PdfName.intern(PDF_GOTO_ACTION));
+        hm.put(PdfName.intern(PDF_D), new PdfArray(list));
         b.addToActionList(new PdfDict(hm));
         parent.addChild(b);
 
@@ -2914,7 +3112,7 @@ class PdfStdDocument implements Usable
         switch (fit)
         {
             case PdfBookmark.FITB:
-                list.add(new PdfName(PDF_FITB));
+                list.add(PdfName.intern(PDF_FITB));
                 break;
 
             default:
@@ -2922,9 +3120,9 @@ class PdfStdDocument implements Usable
         }
 
         HashMap hm = new HashMap();
-        hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-        hm.put(new PdfName(PDF_S), new PdfName(PDF_GOTO_ACTION));
-        hm.put(new PdfName(PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+        hm.put(PdfName.intern(PDF_S), PdfName.intern(PDF_GOTO_ACTION));
+        hm.put(PdfName.intern(PDF_D), new PdfArray(list));
         b.addToActionList(new PdfDict(hm));
         parent.addChild(b);
 
@@ -3014,16 +3212,16 @@ class PdfStdDocument implements Usable
 
         PdfBookmark b = new PdfBookmark(title, pageNo);
         ArrayList list = new ArrayList();
-        list.add(new PdfName(PDF_FITR));
+        list.add(PdfName.intern(PDF_FITR));
         list.add(new PdfFloat((float) x));
         list.add(new PdfFloat((float) height));
         list.add(new PdfFloat((float) width));
         list.add(new PdfFloat((float) y));
         
         HashMap hm = new HashMap();
-        hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-        hm.put(new PdfName(PDF_S), new PdfName(PDF_GOTO_ACTION));
-        hm.put(new PdfName(PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+        hm.put(PdfName.intern(PDF_S), PdfName.intern(PDF_GOTO_ACTION));
+        hm.put(PdfName.intern(PDF_D), new PdfArray(list));
         b.addToActionList(new PdfDict(hm));
         parent.addChild(b);
 
@@ -3048,20 +3246,20 @@ class PdfStdDocument implements Usable
         switch (actionType)
         {
             case PdfAction.URI:
-                hm.put(new PdfName(PDF_TYPE), new PdfName(
+                hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(
                         PDF_ACTION));
-                hm.put(new PdfName(PDF_S),
-                    new PdfName(PDF_URI_ACTION));
-                hm.put(new PdfName(PDF_URI_ACTION), new PdfString(
+                hm.put(PdfName.intern(PDF_S),
+                    PdfName.intern(PDF_URI_ACTION));
+                hm.put(PdfName.intern(PDF_URI_ACTION), new PdfString(
                     javascriptOrURI, true));
                 break;
 
             case PdfAction.JAVASCRIPT:
-                hm.put(new PdfName(PDF_TYPE), new PdfName(
+                hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(
                         PDF_ACTION));
-                hm.put(new PdfName(PDF_S), new PdfName(
+                hm.put(PdfName.intern(PDF_S), PdfName.intern(
                     PDF_JAVASCRIPT_ACTION));
-                hm.put(new PdfName(PDF_JS),
+                hm.put(PdfName.intern(PDF_JS),
                     new PdfString(javascriptOrURI, true));
                 break;
 
@@ -3090,17 +3288,17 @@ class PdfStdDocument implements Usable
         PdfBookmark b = new PdfBookmark(title);
         HashMap hm = new HashMap();
 
-        hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-        hm.put(new PdfName(PDF_S), new PdfName(PDF_LAUNCH_ACTION));
-        hm.put(new PdfName(PDF_F), new PdfString(applicationToLaunch,
+        hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+        hm.put(PdfName.intern(PDF_S), PdfName.intern(PDF_LAUNCH_ACTION));
+        hm.put(PdfName.intern(PDF_F), new PdfString(applicationToLaunch,
             true));
         
         Map winHm = new HashMap();
-        winHm.put(new PdfName(PDF_F), new PdfString(
+        winHm.put(PdfName.intern(PDF_F), new PdfString(
             applicationToLaunch, true));
-        winHm.put(new PdfName(PDF_O), print ? new PdfString("print",
+        winHm.put(PdfName.intern(PDF_O), print ? new PdfString("print",
           false) : new PdfString("open", false));
-        hm.put(new PdfName("Win"), new PdfDict(winHm));
+        hm.put(PdfName.intern("Win"), new PdfDict(winHm));
         
         b.addToActionList(new PdfDict(hm));
         parent.addChild(b);
@@ -3125,15 +3323,15 @@ class PdfStdDocument implements Usable
 
         ArrayList list = new ArrayList();
         list.add(new PdfInteger(pageNo - 1));
-        list.add(new PdfName(Usable.PDF_FITH));
+        list.add(PdfName.intern(Usable.PDF_FITH));
         //Has to pass the Explicit destination properties
 
-        hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-        hm.put(new PdfName(PDF_S), new PdfName(
+        hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+        hm.put(PdfName.intern(PDF_S), PdfName.intern(
                 PDF_REMOTEGOTO_ACTION));
-        hm.put(new PdfName(PDF_F), new PdfString(pdfFileName, true));
-        hm.put(new PdfName(PDF_D), new PdfArray(list));
-        hm.put(new PdfName(PDF_NEWWINDOW), new PdfBoolean(newWindow));
+        hm.put(PdfName.intern(PDF_F), new PdfString(pdfFileName, true));
+        hm.put(PdfName.intern(PDF_D), new PdfArray(list));
+        hm.put(PdfName.intern(PDF_NEWWINDOW), new PdfBoolean(newWindow));
 
         b.addToActionList(new PdfDict(hm));
         parent.addChild(b);
@@ -3170,24 +3368,24 @@ class PdfStdDocument implements Usable
         }
         PdfBookmark b = new PdfBookmark(title);
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_NAMED));
         switch (namedAction)
         {
             case PdfAction.NAMED_FIRSTPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_FIRST_PAGE));
                 break;
             case PdfAction.NAMED_LASTPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_LAST_PAGE));
                 break;
             case PdfAction.NAMED_NEXTPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_NEXT_PAGE));
                 break;
             case PdfAction.NAMED_PREVPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_PREV_PAGE));
                 break;
             default:
@@ -3207,27 +3405,27 @@ class PdfStdDocument implements Usable
         if (actionType == PdfAction.LAUNCH)
         {
             Map hm = new HashMap();
-            hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-            hm.put(new PdfName(PDF_S), new PdfName(
+            hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+            hm.put(PdfName.intern(PDF_S), PdfName.intern(
                     PDF_LAUNCH_ACTION));
-            hm.put(new PdfName(PDF_F), new PdfString(
+            hm.put(PdfName.intern(PDF_F), new PdfString(
                 applicationToLaunch, true));
             
             Map winHm = new HashMap();
-            winHm.put(new PdfName(PDF_F), new PdfString(
+            winHm.put(PdfName.intern(PDF_F), new PdfString(
                 applicationToLaunch, true));
             if (isPrint)
             {
-                winHm.put(new PdfName(PDF_O), new PdfString("print",
+                winHm.put(PdfName.intern(PDF_O), new PdfString("print",
                     false));
             }
             
             if (parameterToApplication != null)
             {
-                winHm.put(new PdfName("P"), new PdfString(
+                winHm.put(PdfName.intern("P"), new PdfString(
                     parameterToApplication, false));
             }
-            hm.put(new PdfName("Win"), new PdfDict(winHm));
+            hm.put(PdfName.intern("Win"), new PdfDict(winHm));
 
             if (actionList == null)
             {
@@ -3267,9 +3465,9 @@ class PdfStdDocument implements Usable
         {
             Map hm = new HashMap();
 
-            hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-            hm.put(new PdfName(PDF_S), new PdfName(PDF_URI_ACTION));
-            hm.put(new PdfName(PDF_URI_ACTION), new PdfString(javascriptOrURI,
+            hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+            hm.put(PdfName.intern(PDF_S), PdfName.intern(PDF_URI_ACTION));
+            hm.put(PdfName.intern(PDF_URI_ACTION), new PdfString(javascriptOrURI,
                 true));
 
             if (actionList == null)
@@ -3284,10 +3482,10 @@ class PdfStdDocument implements Usable
         {
             Map hm = new HashMap();
 
-            hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-            hm.put(new PdfName(PDF_S), new PdfName(
+            hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+            hm.put(PdfName.intern(PDF_S), PdfName.intern(
                 PDF_JAVASCRIPT_ACTION));
-            hm.put(new PdfName(PDF_JS), new PdfString(javascriptOrURI, true));
+            hm.put(PdfName.intern(PDF_JS), new PdfString(javascriptOrURI, true));
 
             if (actionList == null)
             {
@@ -3309,10 +3507,10 @@ class PdfStdDocument implements Usable
 
         if (actionType == PdfAction.JAVASCRIPT)
         {
-            hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-            hm.put(new PdfName(PDF_S), new PdfName(
+            hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+            hm.put(PdfName.intern(PDF_S), PdfName.intern(
                 PDF_JAVASCRIPT_ACTION));
-            hm.put(new PdfName(PDF_JS), new PdfString(javascript,
+            hm.put(PdfName.intern(PDF_JS), new PdfString(javascript,
                 true));
 
             if (additionalList == null)
@@ -3328,23 +3526,23 @@ class PdfStdDocument implements Usable
             switch (event)
             {
                 case PdfAction.PdfEvent.ON_DOCUMENT_CLOSE:
-                    addnDict.getMap().put(new PdfName("WC"),
+                    addnDict.getMap().put(PdfName.intern("WC"),
                         new PdfDict(hm));
                     break;
                 case PdfAction.PdfEvent.ON_BEFORE_DOCUMENT_PRINT:
-                    addnDict.getMap().put(new PdfName("WP"),
+                    addnDict.getMap().put(PdfName.intern("WP"),
                         new PdfDict(hm));
                     break;
                 case PdfAction.PdfEvent.ON_AFTER_DOCUMENT_PRINT:
-                    addnDict.getMap().put(new PdfName("DP"),
+                    addnDict.getMap().put(PdfName.intern("DP"),
                         new PdfDict(hm));
                     break;
                 case PdfAction.PdfEvent.ON_BEFORE_DOCUMENT_SAVE:
-                    addnDict.getMap().put(new PdfName("WS"),
+                    addnDict.getMap().put(PdfName.intern("WS"),
                         new PdfDict(hm));
                     break;
                 case PdfAction.PdfEvent.ON_AFTER_DOCUMENT_SAVE:
-                    addnDict.getMap().put(new PdfName("DS"),
+                    addnDict.getMap().put(PdfName.intern("DS"),
                         new PdfDict(hm));
                     break;
                 default:
@@ -3394,24 +3592,24 @@ class PdfStdDocument implements Usable
     public synchronized void addAction(int namedAction)
     {
         HashMap hm = new HashMap();
-        hm.put(new PdfName(Usable.PDF_S), new PdfName(
+        hm.put(PdfName.intern(Usable.PDF_S), PdfName.intern(
             Usable.PDF_NAMED));
         switch (namedAction)
         {
             case PdfAction.NAMED_FIRSTPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_FIRST_PAGE));
                 break;
             case PdfAction.NAMED_LASTPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_LAST_PAGE));
                 break;
             case PdfAction.NAMED_NEXTPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_NEXT_PAGE));
                 break;
             case PdfAction.NAMED_PREVPAGE:
-                hm.put(new PdfName(Usable.PDF_N), new PdfName(
+                hm.put(PdfName.intern(Usable.PDF_N), PdfName.intern(
                     Usable.PDF_PREV_PAGE));
                 break;
             default:
@@ -3511,7 +3709,7 @@ class PdfStdDocument implements Usable
      */
     public void setTitle(String s)
     {
-        infoDict.getMap().put(new PdfName(PDF_TITLE),
+        infoDict.getMap().put(PdfName.intern(PDF_TITLE),
             new PdfTextString(s, true));
     }
 
@@ -3527,7 +3725,7 @@ class PdfStdDocument implements Usable
      */
     public void setAuthor(String s)
     {
-        infoDict.getMap().put(new PdfName(PDF_AUTHOR),
+        infoDict.getMap().put(PdfName.intern(PDF_AUTHOR),
             new PdfTextString(s, true));
     }
 
@@ -3543,7 +3741,7 @@ class PdfStdDocument implements Usable
      */
     public void setSubject(String s)
     {
-        infoDict.getMap().put(new PdfName(PDF_DOC_SUBJECT),
+        infoDict.getMap().put(PdfName.intern(PDF_DOC_SUBJECT),
             new PdfTextString(s, true));
     }
 
@@ -3559,7 +3757,7 @@ class PdfStdDocument implements Usable
      */
     public void setKeywords(String s)
     {
-        infoDict.getMap().put(new PdfName(PDF_KEYWORDS),
+        infoDict.getMap().put(PdfName.intern(PDF_KEYWORDS),
             new PdfTextString(s, true));
     }
 
@@ -3575,7 +3773,7 @@ class PdfStdDocument implements Usable
      */
     public void setProducer(String s)
     {
-        infoDict.getMap().put(new PdfName(PDF_PRODUCER),
+        infoDict.getMap().put(PdfName.intern(PDF_PRODUCER),
             new PdfTextString(s, true));
     }
 
@@ -3794,17 +3992,40 @@ class PdfStdDocument implements Usable
         
         setObjects();
 
+        if (xObjMap != null)
+        {
+            setImages();
+        }
+
         offset = new long[objectRun];
         offset[0] = (long) 0;
 
+        PdfObjectStreamPacker packer = null;
         if (versionId > 4)
         {
             objStreamId = new Hashtable();
             objStreamPos = new Hashtable();
+            
+            if (objectStreamSize > 0 && encryptDict == null
+                && !writer.encryptDocument)
+            {
+                packer = new PdfObjectStreamPacker(this, writer,
+                    objectStreamSize);
+                writer.objectStreamPacker = packer;
+            }
         }
+        objectStreamSavings = 0;
         
         writeObjects();
         
+        if (packer != null)
+        {
+            writer.objectStreamPacker = null;
+            packer.finish();
+            objectStreamSavings = packer.standaloneBytes
+                - packer.packedBytes;
+        }
+        
         if (versionId > 4)
         {
             writer.encryptDocument = false;
@@ -3865,6 +4086,9 @@ class PdfStdDocument implements Usable
         this.isWritten = true;
         this.fontMap = null;
         this.xObjMap = null;
+        this.resampledImages = null;
+        this.imagePaths = null;
+        this.formMap = null;
         this.objMaps = new Hashtable();
         this.unknownObjOffset = null;
         this.unknownObjMaps = null;
@@ -3939,6 +4163,117 @@ class PdfStdDocument implements Usable
         this.compressionLevel = compressionLevel;
     }
     
+    /**
+     * Returns the maximum number of objects packed into each
+     * compressed object stream when this <code>PdfDocument</code> is
+     * written.
+     * 
+     * @return maximum number of objects in an object stream, or 0 if
+     *         objects are not packed
+     * @see #setObjectStreamSize(int)
+     */
+    public synchronized int getObjectStreamSize()
+    {
+        return objectStreamSize;
+    }
+    
+    /**
+     * Specifies the maximum number of objects to be packed into each
+     * compressed object stream when this <code>PdfDocument</code> is
+     * written. Page dictionaries, annotations, form fields, actions
+     * and all other objects that are not streams are then stored in
+     * object streams instead of being written one by one, which
+     * makes the document considerably smaller. A value of 0, the
+     * default, writes every object individually. Sizes above 65535
+     * are reduced to 65535.
+     * <p>
+     * Object streams are only written for PDF version 1.5 and later,
+     * and are not used for encrypted documents.
+     * </p>
+     * 
+     * @param size
+     *            maximum number of objects in an object stream
+     * @see #getObjectStreamSize()
+     * @see #getObjectStreamSavings()
+     */
+    public synchronized void setObjectStreamSize(int size)
+    {
+        this.objectStreamSize = size < 0 ? 0 : Math.min(size,
+            MAX_OBJECT_STREAM_SIZE);
+    }
+    
+    /**
+     * Returns the number of bytes by which the last write of this
+     * <code>PdfDocument</code> was reduced by packing objects into
+     * object streams.
+     * 
+     * @return number of bytes saved, or 0 if no objects were packed
+     * @see #setObjectStreamSize(int)
+     */
+    public synchronized long getObjectStreamSavings()
+    {
+        return objectStreamSavings;
+    }
+    
+    /**
+     * Returns the resolution, in dots per inch, to which images of
+     * this <code>PdfDocument</code> are downsampled when it is
+     * written.
+     * 
+     * @return target image resolution, or 0 if images are not
+     *         downsampled
+     * @see #setImageResolution(int)
+     */
+    public synchronized int getImageResolution()
+    {
+        return imageResolution;
+    }
+    
+    /**
+     * Specifies the resolution, in dots per inch, to which images are
+     * downsampled when this <code>PdfDocument</code> is written. The
+     * resolution of an image is worked out from the largest size at
+     * which it is drawn on any page. Images whose resolution is more
+     * than one and a half times the target are reduced by averaging
+     * their pixels, and then compressed with DCT if they came from a
+     * JPEG file or have many colors, and with Flate otherwise. A
+     * value of 0, the default, leaves images as they are.
+     * <p>
+     * RGB, grayscale and indexed images are downsampled, along with
+     * their transparency. Indexed images and grayscale images of less
+     * than 8 bits become 8-bit images of their base color space. CMYK
+     * images, 16-bit images, images with a color key mask and images
+     * that downsampling would not make smaller are left as they are.
+     * Images are processed on several threads, and the images passed
+     * to this document are not modified.
+     * </p>
+     * 
+     * @param dpi
+     *            target image resolution in dots per inch
+     * @see #getImageResolution()
+     * @see #getImageSavings()
+     */
+    public synchronized void setImageResolution(int dpi)
+    {
+        this.imageResolution = dpi < 0 ? 0 : dpi;
+    }
+    
+    /**
+     * Returns the number of bytes by which images were reduced by
+     * downsampling during the last write of this
+     * <code>PdfDocument</code>. Sizes of images that are not
+     * compressed until they are written are taken before
+     * compression.
+     * 
+     * @return number of bytes saved, or 0 if no images were
+     *         downsampled
+     * @see #setImageResolution(int)
+     */
+    public synchronized long getImageSavings()
+    {
+        return imageSavings;
+    }
+    
     /**
      * Returns constant identifying this <code>PdfDocument</code>'s
      * PDF version.
@@ -4050,6 +4385,9 @@ class PdfStdDocument implements Usable
         procSet = null;
         fontMap = null;
         xObjMap = null;
+        resampledImages = null;
+        imagePaths = null;
+        formMap = null;
         pageTree = null;
         bookmarkTree = null;
         actionList = null;
@@ -10779,7 +11117,7 @@ class PdfStdDocument implements Usable
                 "|| path.equals(\"\")).");
         }
         
-        PdfImage img = PdfImage.create(path);
+        PdfImage img = getImage(path);
         double width = PdfMeasurement.
 			convertToMeasurementUnit(measurementUnit, img.width);
         double height = PdfMeasurement.
@@ -10855,7 +11193,7 @@ class PdfStdDocument implements Usable
                 "|| path.equals(\"\")).");
         }
         
-        PdfImage img = PdfImage.create(path);
+        PdfImage img = getImage(path);
         drawImage(img, x, y, width, height, pageRange, img.rotation);
     }
     
@@ -11030,7 +11368,7 @@ class PdfStdDocument implements Usable
                 "|| path.equals(\"\")).");
         }
         
-        PdfImage img = PdfImage.create(path);
+        PdfImage img = getImage(path);
         drawImage(img, rect.x, rect.y, rect.width, rect.height,
             pageRange, img.rotation);
 	}
@@ -11581,7 +11919,7 @@ class PdfStdDocument implements Usable
                 "|| path.equals(\"\")).");
         }
         
-        PdfImage img = PdfImage.create(path);
+        PdfImage img = getImage(path);
         double width = PdfMeasurement.
             convertToMeasurementUnit(measurementUnit, img.width);
         double height = PdfMeasurement.
@@ -11740,7 +12078,7 @@ class PdfStdDocument implements Usable
                 "|| path.equals(\"\")).");
         }
         
-        PdfImage img = PdfImage.create(path);
+        PdfImage img = getImage(path);
         drawImage(img, x, y, width, height, pageRange, rotation);
     }
     
@@ -11905,7 +12243,7 @@ class PdfStdDocument implements Usable
                     + "|| path.equals(\"\")).");
         }
 
-        PdfImage img = PdfImage.create(path);
+        PdfImage img = getImage(path);
         drawImage(img, rect.x, rect.y, rect.width, rect.height,
             pageRange, rotation);
     }
@@ -12622,7 +12960,7 @@ class PdfStdDocument implements Usable
         }
         if (angle != 0)
         {
-            PdfName rotation = new PdfName(PDF_ROTATE);
+            PdfName rotation = PdfName.intern(PDF_ROTATE);
             Vector pages = this.getPages(pageRange);
             if (pages == null)
             {
@@ -12653,7 +12991,7 @@ class PdfStdDocument implements Usable
         }
         if (angle != 0)
         {
-            PdfName rotation = new PdfName(PDF_ROTATE);
+            PdfName rotation = PdfName.intern(PDF_ROTATE);
             Vector pages = this.getPages(pageRange);
             if (pages == null)
             {
@@ -12687,19 +13025,19 @@ class PdfStdDocument implements Usable
         }
         try {
             PdfString o = (PdfString) reader.getObject(encryptDict
-                .getValue(new PdfName("O")));
+                .getValue(PdfName.intern("O")));
             byte ownerPassword[] = PdfString.toBytes(o.getString());
             PdfString u = (PdfString) reader.getObject(encryptDict
-                .getValue(new PdfName("U")));
+                .getValue(PdfName.intern("U")));
             byte userPassword[] = PdfString.toBytes(u.getString());
             
             PdfObject p = reader.getObject(encryptDict
-                .getValue(new PdfName(PDF_P)));
+                .getValue(PdfName.intern(PDF_P)));
             
             PdfInteger r = (PdfInteger) reader.getObject(encryptDict
-                .getValue(new PdfName(PDF_R)));
+                .getValue(PdfName.intern(PDF_R)));
             PdfObject length = reader.getObject(encryptDict
-                .getValue(new PdfName(PDF_LENGTH)));
+                .getValue(PdfName.intern(PDF_LENGTH)));
             if(length == null)
             {
                 length = new PdfInteger(40);
@@ -13273,7 +13611,7 @@ class PdfStdDocument implements Usable
                 .intValue());
             int mu = page.measurementUnit;
             page.measurementUnit = this.measurementUnit;
-            page.addWatermarkImage(PdfImage.create(path), position,
+            page.addWatermarkImage(getImage(path), position,
                 applyPageMargins, angle, underlay);
             page.measurementUnit = mu;
         }
@@ -13328,7 +13666,7 @@ class PdfStdDocument implements Usable
                 .intValue());
             int mu = page.measurementUnit;
             page.measurementUnit = this.measurementUnit;
-            page.addWatermarkImage(PdfImage.create(path), position,
+            page.addWatermarkImage(getImage(path), position,
                 angle, underlay);
             page.measurementUnit = mu;
         }
@@ -13466,7 +13804,7 @@ class PdfStdDocument implements Usable
                 .intValue());
             int mu = page.measurementUnit;
             page.measurementUnit = this.measurementUnit;
-            page.addHeaderImage(PdfImage.create(path), position,
+            page.addHeaderImage(getImage(path), position,
                 underlay);
             page.measurementUnit = mu;
         }
@@ -13603,7 +13941,7 @@ class PdfStdDocument implements Usable
                 .intValue());
             int mu = page.measurementUnit;
             page.measurementUnit = this.measurementUnit;
-            page.addFooterImage(PdfImage.create(path), position, underlay);
+            page.addFooterImage(getImage(path), position, underlay);
             page.measurementUnit = mu;
         }
     }
@@ -13626,7 +13964,7 @@ class PdfStdDocument implements Usable
             return "";
         }
         PdfObject metadata = (PdfObject) catalog.catalogDict
-            .getValue(new PdfName(PDF_METADATA));
+            .getValue(PdfName.intern(PDF_METADATA));
         metadata = reader.getObject(metadata);
         try {
             ByteBuffer bb = ((PdfStream) metadata).streamBuffer;
@@ -92,24 +92,24 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
      */
     public static final boolean OVERLAY = false;
     
-    protected static final PdfName CONTENTS = new PdfName(
+    protected static final PdfName CONTENTS = PdfName.intern(
         PDF_CONTENTS);
 
-    protected static final PdfName FONT = new PdfName(PDF_FONT);
+    protected static final PdfName FONT = PdfName.intern(PDF_FONT);
     
-    protected static final PdfName XOBJ = new PdfName(PDF_XOBJECT);
+    protected static final PdfName XOBJ = PdfName.intern(PDF_XOBJECT);
 
-    protected static final PdfName PAGE = new PdfName(PDF_PAGE);
+    protected static final PdfName PAGE = PdfName.intern(PDF_PAGE);
 
-    protected static final PdfName PROCSET = new PdfName(PDF_PROCSET);
+    protected static final PdfName PROCSET = PdfName.intern(PDF_PROCSET);
 
-    protected static final PdfName ANNOTS = new PdfName(PDF_ANNOTS);
+    protected static final PdfName ANNOTS = PdfName.intern(PDF_ANNOTS);
     
-    protected static final PdfName MEDIA = new PdfName(PDF_MEDIABOX);
+    protected static final PdfName MEDIA = PdfName.intern(PDF_MEDIABOX);
 
-    protected static final PdfName CROP = new PdfName(PDF_CROPBOX);
+    protected static final PdfName CROP = PdfName.intern(PDF_CROPBOX);
     
-    protected static final PdfName RESOURCES = new PdfName(
+    protected static final PdfName RESOURCES = PdfName.intern(
         PDF_RESOURCES);
 
     protected static int imageCount = 1;
@@ -154,6 +154,9 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
     
     protected PdfDict xObjIndRefDict;
 
+    /* decorations painted by the content streams, by resource name */
+    protected HashMap formIndRefMap;
+
     protected List openActionList;
 
     protected List closeActionList;
@@ -174,6 +177,9 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
 
     protected PdfFont prevFont;
 
+    /* cumulative character widths used while wrapping text */
+    private int[] advances;
+
     protected boolean isLastItemShape;
     
     protected ArrayList annotList;
@@ -237,13 +243,13 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         knownAttributes.put(PDF_TYPE, PdfNull.DUMMY);
         
         inheritableProperties = new ArrayList();
-        inheritableProperties.add(new PdfName(PDF_RESOURCES));
-        inheritableProperties.add(new PdfName(PDF_MEDIABOX));
-        inheritableProperties.add(new PdfName(PDF_CROPBOX));
-        inheritableProperties.add(new PdfName(PDF_BLEEDBOX));
-        inheritableProperties.add(new PdfName(PDF_TRIMBOX));
-        inheritableProperties.add(new PdfName(PDF_ARTBOX));
-        inheritableProperties.add(new PdfName(PDF_ROTATE));
+        inheritableProperties.add(PdfName.intern(PDF_RESOURCES));
+        inheritableProperties.add(PdfName.intern(PDF_MEDIABOX));
+        inheritableProperties.add(PdfName.intern(PDF_CROPBOX));
+        inheritableProperties.add(PdfName.intern(PDF_BLEEDBOX));
+        inheritableProperties.add(PdfName.intern(PDF_TRIMBOX));
+        inheritableProperties.add(PdfName.intern(PDF_ARTBOX));
+        inheritableProperties.add(PdfName.intern(PDF_ROTATE));
     }
     
     public Object clone()
@@ -267,7 +273,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
             HashMap hm = new HashMap();
             if (this.fontDict != null)
             {
-                Map dictMap = this.fontDict.dictMap;
+                Map dictMap = this.fontDict.getMap();
                 for (Iterator iter = dictMap.keySet().iterator(); iter
                     .hasNext();)
                 {
@@ -296,6 +302,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
 
             clone.prevFont = this.prevFont == null ? null
                 : (PdfFont) this.prevFont.clone();
+            clone.advances = null;
             clone.prevBrush = this.prevBrush == null ? null
                 : (PdfBrush) this.prevBrush.clone();
             clone.prevPen = this.prevPen == null ? null
@@ -728,21 +735,14 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
             /* Image present in document */
             {
                 objNo = ((PdfImage) dXObj).getObjectNumber();
+                ((PdfImage) dXObj).place(value.placedWidth,
+                    value.placedHeight);
             }
             else
            	/* Image not present in the document */
             {
-                //added for indexed Image
-                PdfObject obj = value.colorSpace;
-                if (obj instanceof PdfArray)
-                {
-                    List l = ((PdfArray) obj).getList();
-                    PdfStream s = (PdfStream) l.get(3);
-                    s.setObjectNumber(d.objectRun++);
-                }
-
-                value.setObjectNumber(d.objectRun++);
-                d.addImage(((PdfInteger) key), value);
+                value.setObjectNumbers(d);
+                d.addImage(key, value);
                 objNo = value.getObjectNumber();
             }
             String imageName = ((PdfName) xObjIndRefDict
@@ -788,7 +788,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         throws IOException, PdfException
     {
         HashMap hm = new HashMap();
-        hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_FONT));
+        hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_FONT));
         font.getData(hm);
 
         switch (font.getType())
@@ -797,20 +797,20 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
                 break;
 
             case PdfFont.TRUE_TYPE:
-                PdfName n_key = new PdfName(PDF_FDESCRIPTOR);
+                PdfName n_key = PdfName.intern(PDF_FDESCRIPTOR);
                 PdfDict fontDescriptor = null;
                 if (hm.containsKey(n_key))
                 {
                     fontDescriptor = (PdfDict) hm.get(n_key);
                     fontDescriptor.setObjectNumber(d.objectRun++);
                 }
-                n_key = new PdfName(RUBICON_EMBEDDED);
+                n_key = PdfName.intern(RUBICON_EMBEDDED);
                 if (hm.containsKey(n_key))
                 {
                     PdfStream stm = (PdfStream) hm.get(n_key);
                     stm.setObjectNumber(d.objectRun++);
                     fontDescriptor.getMap().put(
-                        new PdfName(PDF_FONTFILE_2),
+                        PdfName.intern(PDF_FONTFILE_2),
                         new PdfIndirectReference(stm.objNumber, 0));
                 }
                 break;
@@ -819,33 +819,33 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
                 break;
 
             case PdfFont.CID_TYPE_2:
-                n_key = new PdfName(PDF_DESCENDANT);
+                n_key = PdfName.intern(PDF_DESCENDANT);
                 PdfDict descendantFont = null;
                 fontDescriptor = null;
                 if (hm.containsKey(n_key))
                 {
                     descendantFont = (PdfDict) hm.get(n_key);
                     descendantFont.setObjectNumber(d.objectRun++);
-                    Map dfm = descendantFont.dictMap;
-                    n_key = new PdfName(PDF_FDESCRIPTOR);
+                    Map dfm = descendantFont.getMap();
+                    n_key = PdfName.intern(PDF_FDESCRIPTOR);
                     if (dfm.containsKey(n_key))
                     {
                         fontDescriptor = (PdfDict) dfm.get(n_key);
                         fontDescriptor.setObjectNumber(d.objectRun++);
                     }
-                    n_key = new PdfName(RUBICON_EMBEDDED);
+                    n_key = PdfName.intern(RUBICON_EMBEDDED);
                     if (dfm.containsKey(n_key))
                     {
                         PdfStream stm = (PdfStream) dfm.get(n_key);
                         stm.setObjectNumber(d.objectRun++);
                         fontDescriptor.getMap()
                             .put(
-                                new PdfName(PDF_FONTFILE_2),
+                                PdfName.intern(PDF_FONTFILE_2),
                                 new PdfIndirectReference(
                                     stm.objNumber, 0));
                     }
                 }
-                n_key = new PdfName(PDF_TOUNICODE);
+                n_key = PdfName.intern(PDF_TOUNICODE);
                 if (hm.containsKey(n_key))
                 {
                     PdfStream toUniStm = (PdfStream) hm.get(n_key);
@@ -854,7 +854,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
                 break;
         }
 
-        hm.put(new PdfName(PDF_NAME), new PdfName(((PdfName) fontNameAskey)
+        hm.put(PdfName.intern(PDF_NAME), new PdfName(((PdfName) fontNameAskey)
             .getString()));
 
         PdfDict fd = new PdfDict(hm);
@@ -942,6 +942,10 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
                 .getBytes());
         }
 
+        if (contentList != null)
+        {
+            setDecorations(d);
+        }
         if (contentStream != null)
         {
             if (contentList == null)
@@ -1005,7 +1009,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
             return;
         }
         /* remove existing actions */
-        unknownAttributes.remove(new PdfName(PDF_AA));
+        unknownAttributes.remove(PdfName.intern(PDF_AA));
 
         int size = openActionList.size();
         for (int i = size - 1; i >= 0; i--)
@@ -1013,13 +1017,13 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
             actionDict = (PdfDict) openActionList.get(i);
             if (i != size - 1)
             {
-                actionDict.getMap().put(new PdfName(PDF_NEXT),
+                actionDict.getMap().put(PdfName.intern(PDF_NEXT),
                     new PdfIndirectReference(d.objectRun - 1, 0));
             }
             actionDict.setObjectNumber(d.objectRun++);
         }
 
-        this.actionDict.getMap().put(new PdfName(PDF_O),
+        this.actionDict.getMap().put(PdfName.intern(PDF_O),
             new PdfIndirectReference(d.objectRun - 1, 0));
     }
 
@@ -1031,7 +1035,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
             return;
         }
         /* remove existing actions */
-        unknownAttributes.remove(new PdfName(PDF_AA));
+        unknownAttributes.remove(PdfName.intern(PDF_AA));
 
         int size = closeActionList.size();
         for (int i = size - 1; i >= 0; i--)
@@ -1039,13 +1043,13 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
             actionDict = (PdfDict) closeActionList.get(i);
             if (i != size - 1)
             {
-                actionDict.getMap().put(new PdfName(PDF_NEXT),
+                actionDict.getMap().put(PdfName.intern(PDF_NEXT),
                     new PdfIndirectReference(d.objectRun - 1, 0));
             }
             actionDict.setObjectNumber(d.objectRun++);
         }
 
-        this.actionDict.getMap().put(new PdfName(PDF_C),
+        this.actionDict.getMap().put(PdfName.intern(PDF_C),
             new PdfIndirectReference(d.objectRun - 1, 0));
     }
 
@@ -1122,7 +1126,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         l.add(new PdfInteger(0));
         l.add(new PdfFloat((float) this.pageWidth));
         l.add(new PdfFloat((float) this.pageHeight));
-        dict.getMap().put(new PdfName(PDF_MEDIABOX), new PdfArray(l));
+        dict.getMap().put(PdfName.intern(PDF_MEDIABOX), new PdfArray(l));
         
         this.mode = PdfDocument.WRITING_MODE;
     }
@@ -1173,7 +1177,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         l.add(new PdfInteger(0));
         l.add(new PdfFloat((float) this.pageWidth));
         l.add(new PdfFloat((float) this.pageHeight));
-        dict.getMap().put(new PdfName(PDF_MEDIABOX), new PdfArray(l));
+        dict.getMap().put(PdfName.intern(PDF_MEDIABOX), new PdfArray(l));
         
         this.mode = PdfDocument.WRITING_MODE;
     }
@@ -1810,7 +1814,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
                 d.offset[objNo] = d.bytesWritten;
                 PdfObject obj = originDoc.reader.dereferObject(objNumber);
                 ((PdfStream) obj).getDictionary().getMap().remove(
-                    new PdfName(PDF_LENGTH));
+                    PdfName.intern(PDF_LENGTH));
                 d.updateIndirectRefs(originDoc, obj);
                 obj.objNumber = objNo;
                 d.bytesWritten += d.writer.writeIndirectObject(obj);
@@ -1832,13 +1836,13 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
                 if (patternStream != null)
                 {
                     PdfInteger intObj = (PdfInteger) patternStream
-                        .getDictionary().dictMap.get(new PdfName(
+                        .getDictionary().getMap().get(PdfName.intern(
                         "RubPattern"));
                     if (intObj == null)
                         continue;
                     int type = intObj.getInt();
-                    patternStream.getDictionary().dictMap
-                        .remove(new PdfName("RubPattern"));
+                    patternStream.getDictionary().getMap()
+                        .remove(PdfName.intern("RubPattern"));
                     String str;
                     switch (type)
                     {
@@ -1869,13 +1873,13 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
                             .getObjectNumber(), 0));
                 }
             }
-            hm.put(new PdfName(PDF_PATTERN), new PdfDict(pm));
+            hm.put(PdfName.intern(PDF_PATTERN), new PdfDict(pm));
             pm = new HashMap();
             ArrayList l = new ArrayList();
-            l.add(new PdfName(PDF_PATTERN));
-            l.add(new PdfName(PDF_DEVICE_RGB));
-            pm.put(new PdfName(PDF_CSP), new PdfArray(l));
-            hm.put(new PdfName(PDF_COLORSPACE), new PdfDict(pm));
+            l.add(PdfName.intern(PDF_PATTERN));
+            l.add(PdfName.intern(PDF_DEVICE_RGB));
+            pm.put(PdfName.intern(PDF_CSP), new PdfArray(l));
+            hm.put(PdfName.intern(PDF_COLORSPACE), new PdfDict(pm));
             writePattern(d);
         }
 
@@ -1886,7 +1890,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         if (actionDict != null)
         {
             dict.getMap().put(
-                new PdfName(PDF_AA),
+                PdfName.intern(PDF_AA),
                 new PdfIndirectReference(
                     actionDict.getObjectNumber(), 0));
         }
@@ -1899,7 +1903,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         }
         else
         {
-            dict.dictMap.remove(ANNOTS);
+            dict.getMap().remove(ANNOTS);
         }
         
         dict.getMap().put(
@@ -1968,6 +1972,13 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
                     .getValue(imgName);
                 newXObjMap.put(imgName, imgRef);
             }
+        }
+        if (formIndRefMap != null)
+        {
+            newXObjMap.putAll(formIndRefMap);
+        }
+        if (xObjIndRefDict != null || formIndRefMap != null)
+        {
             hm.put(XOBJ, new PdfDict(newXObjMap));
         }
         if (fontIndRefDict != null)
@@ -2005,12 +2016,12 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
                 else if (key.equals(FONT) && fontDict != null)
                 {
                     Map m = ((PdfDict) value).getMap();
-                    Iterator iter1 = fontIndRefDict.dictMap.keySet()
+                    Iterator iter1 = fontIndRefDict.getMap().keySet()
                         .iterator();
                     while (iter1.hasNext())
                     {
                         Object fontKey = iter1.next();
-                        Object fontVal = fontIndRefDict.dictMap
+                        Object fontVal = fontIndRefDict.getMap()
                             .get(fontKey);
                         m.put(fontKey, fontVal);
                     }
@@ -2469,17 +2480,17 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
 
         if (actionType == PdfAction.URI)
         {
-            hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-            hm.put(new PdfName(PDF_S), new PdfName(PDF_URI_ACTION));
-            hm.put(new PdfName(PDF_URI_ACTION), new PdfString(javascriptOrURI,
+            hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+            hm.put(PdfName.intern(PDF_S), PdfName.intern(PDF_URI_ACTION));
+            hm.put(PdfName.intern(PDF_URI_ACTION), new PdfString(javascriptOrURI,
                 true));
         }
         else if (actionType == PdfAction.JAVASCRIPT)
         {
-            hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-            hm.put(new PdfName(PDF_S), new PdfName(
+            hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+            hm.put(PdfName.intern(PDF_S), PdfName.intern(
                 PDF_JAVASCRIPT_ACTION));
-            hm.put(new PdfName(PDF_JS), new PdfString(javascriptOrURI, true));
+            hm.put(PdfName.intern(PDF_JS), new PdfString(javascriptOrURI, true));
         }
 
         else
@@ -2542,21 +2553,21 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
 
         if (actionType == PdfAction.LAUNCH)
         {
-            hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-            hm.put(new PdfName(PDF_S), new PdfName(
+            hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+            hm.put(PdfName.intern(PDF_S), PdfName.intern(
                 PDF_LAUNCH_ACTION));
-            hm.put(new PdfName(PDF_F), new PdfString(
+            hm.put(PdfName.intern(PDF_F), new PdfString(
                 applicationToLaunch, true));
             
             Map winHm = new HashMap();
-            winHm.put(new PdfName(PDF_F), new PdfString(
+            winHm.put(PdfName.intern(PDF_F), new PdfString(
                 applicationToLaunch, true));
             if (isPrint)
             {
-                winHm.put(new PdfName(PDF_O), new PdfString("print",
+                winHm.put(PdfName.intern(PDF_O), new PdfString("print",
                     false));
             }
-            hm.put(new PdfName("Win"), new PdfDict(winHm));
+            hm.put(PdfName.intern("Win"), new PdfDict(winHm));
         }
         else
         {
@@ -2609,24 +2620,24 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         }
 
         Map hm = new HashMap();
-        hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_ACTION));
-        hm.put(new PdfName(PDF_S), new PdfName(PDF_NAMED));
+        hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_ACTION));
+        hm.put(PdfName.intern(PDF_S), PdfName.intern(PDF_NAMED));
 
         if (namedAction == PdfAction.NAMED_FIRSTPAGE)
         {
-            hm.put(new PdfName(PDF_N), new PdfName(PDF_FIRST_PAGE));
+            hm.put(PdfName.intern(PDF_N), PdfName.intern(PDF_FIRST_PAGE));
         }
         else if (namedAction == PdfAction.NAMED_LASTPAGE)
         {
-            hm.put(new PdfName(PDF_N), new PdfName(PDF_LAST_PAGE));
+            hm.put(PdfName.intern(PDF_N), PdfName.intern(PDF_LAST_PAGE));
         }
         else if (namedAction == PdfAction.NAMED_NEXTPAGE)
         {
-            hm.put(new PdfName(PDF_N), new PdfName(PDF_NEXT_PAGE));
+            hm.put(PdfName.intern(PDF_N), PdfName.intern(PDF_NEXT_PAGE));
         }
         else if (namedAction == PdfAction.NAMED_PREVPAGE)
         {
-            hm.put(new PdfName(PDF_N), new PdfName(PDF_PREV_PAGE));
+            hm.put(PdfName.intern(PDF_N), PdfName.intern(PDF_PREV_PAGE));
         }
         else
         {
@@ -2719,10 +2730,6 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         {
             font = PdfFont.create("Arial", 10, PdfEncodings.CP1252);
         }
-        if (underlay)
-        {
-            ++underlayStreamCount;
-        }
         double width = font.getWidth(text, PdfMeasurement.MU_POINTS);
         double height = font.getHeight();
         double x = 0, y = 0;
@@ -2773,9 +2780,6 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
             x);
         y = PdfMeasurement.convertToMeasurementUnit(measurementUnit,
             y);
-        PdfByteOutputStream temp = contentStream;
-        PdfFont tempFont = prevFont;
-        contentStream = null;
 
         PdfRect rect = new PdfRect(x, y, PdfMeasurement
             .convertToMeasurementUnit(measurementUnit, width),
@@ -2783,20 +2787,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
                 height));
         PdfTextFormatter tf = new PdfTextFormatter();
         tf.setRotation(angle);
-        writeText(text, rect, font, tf, measurementUnit, true);
-
-        if (contentList == null)
-        {
-            contentList = new ArrayList();
-        }
-        ByteBuffer bb = ((ByteBuffer) ByteBuffer.wrap(
-            contentStream.getBuffer()).limit(contentStream.size()))
-            .slice();
-        contentList.add(underlay ? 0 : contentList.size(),
-            new PdfStream(new PdfDict(new HashMap()), bb));
-
-        contentStream = temp;
-        prevFont = tempFont;
+        writeDecorationText(text, rect, font, tf, underlay);
         }
         else
         {
@@ -2844,10 +2835,6 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         {
             font = PdfFont.create("Arial", 10, PdfEncodings.CP1252);
         }
-        if (underlay)
-        {
-            ++underlayStreamCount;
-        }
         double width = font.getWidth(text, PdfMeasurement.MU_POINTS);
         double height = font.getHeight();
         double x = 0, y = 0;
@@ -2892,9 +2879,6 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
             x);
         y = PdfMeasurement.convertToMeasurementUnit(measurementUnit,
             y);
-        PdfByteOutputStream temp = contentStream;
-        PdfFont tempFont = prevFont;
-        contentStream = null;
 
         PdfRect rect = new PdfRect(x, y, PdfMeasurement
             .convertToMeasurementUnit(measurementUnit, width),
@@ -2902,20 +2886,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
                 height));
         PdfTextFormatter tf = new PdfTextFormatter();
         tf.setRotation(angle);
-        writeText(text, rect, font, tf, measurementUnit, true);
-
-        if (contentList == null)
-        {
-            contentList = new ArrayList();
-        }
-        ByteBuffer bb = ((ByteBuffer) ByteBuffer.wrap(
-            contentStream.getBuffer()).limit(contentStream.size()))
-            .slice();
-        contentList.add(underlay ? 0 : contentList.size(),
-            new PdfStream(new PdfDict(new HashMap()), bb));
-
-        contentStream = temp;
-        prevFont = tempFont;
+        writeDecorationText(text, rect, font, tf, underlay);
     }
     
     /**
@@ -2960,10 +2931,6 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
             {
                 return;
             }
-            if (underlay)
-            {
-                underlayStreamCount++;
-            }
             double width = image.scaledWidth <= 0 ? image.width
                 : PdfMeasurement.convertToPdfUnit(measurementUnit,
                     image.scaledWidth);
@@ -3018,8 +2985,6 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
                 measurementUnit, x);
             y = PdfMeasurement.convertToMeasurementUnit(
                 measurementUnit, y);
-            PdfByteOutputStream temp = contentStream;
-            contentStream = null;
             image.setRotation(angle);
 
             double rectW = image.scaledWidth <= 0 ? PdfMeasurement
@@ -3029,19 +2994,8 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
                 .convertToMeasurementUnit(measurementUnit,
                     image.height) : image.scaledHeight;
 
-            drawImage(image, new PdfRect(x, y, rectW, rectH), null,
-                measurementUnit);
-
-            if (contentList == null)
-            {
-                contentList = new ArrayList();
-            }
-            ByteBuffer bb = ((ByteBuffer) ByteBuffer.wrap(
-                contentStream.getBuffer())
-                .limit(contentStream.size())).slice();
-            contentList.add(underlay ? 0 : contentList.size(),
-                new PdfStream(new PdfDict(new HashMap()), bb));
-            contentStream = temp;
+            drawDecorationImage(image, new PdfRect(x, y, rectW, rectH),
+                measurementUnit, underlay);
         }
         else
         {
@@ -3084,10 +3038,6 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         if (image == null)
         {
              return;
-        }
-        if (underlay)
-        {
-            underlayStreamCount++;
         }
 		double width = image.scaledWidth <= 0 ? image.width
             : PdfMeasurement.convertToPdfUnit(measurementUnit,
@@ -3135,8 +3085,6 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
             	measurementUnit, x);
         y = PdfMeasurement.convertToMeasurementUnit(
             	measurementUnit, y);
-        PdfByteOutputStream temp = contentStream;
-        contentStream = null;
         image.setRotation(angle);
         
         double rectW = image.scaledWidth <= 0 ? PdfMeasurement
@@ -3146,19 +3094,8 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
             .convertToMeasurementUnit(measurementUnit, image.height)
                 : image.scaledHeight;
 
-        drawImage(image, new PdfRect(x, y, rectW, rectH), null,
-            measurementUnit);
-
-        if (contentList == null)
-        {
-            contentList = new ArrayList();
-        }
-        ByteBuffer bb = ((ByteBuffer) ByteBuffer.wrap(
-            contentStream.getBuffer())
-            .limit(contentStream.size())).slice();
-        contentList.add(underlay ? 0 : contentList.size(),
-            new PdfStream(new PdfDict(new HashMap()), bb));
-        contentStream = temp;
+        drawDecorationImage(image, new PdfRect(x, y, rectW, rectH),
+            measurementUnit, underlay);
     }
 
     /**
@@ -3266,10 +3203,6 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         if (font == null)
         {
             font = PdfFont.create("Arial", 10, PdfEncodings.CP1252);
-        }
-        if (underlay)
-        {
-            ++underlayStreamCount;
         }
 		double width = font.getWidth(text, PdfMeasurement.MU_POINTS);
 		double height = font.getHeight();
@@ -3315,8 +3248,6 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
             	measurementUnit, x);
         y = PdfMeasurement.convertToMeasurementUnit(
             	measurementUnit, y);
-        PdfByteOutputStream temp = contentStream;
-        PdfFont tempFont = prevFont;
         
         double rectWidth = PdfMeasurement.convertToMeasurementUnit(
             measurementUnit, pageWidth - pageLeftMargin
@@ -3324,23 +3255,9 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         double rectHeight = PdfMeasurement.convertToMeasurementUnit(
             measurementUnit, pageHeaderHeight);
         PdfRect rect = new PdfRect(x, y, rectWidth, rectHeight);
-        contentStream = null;
 
-        writeText(text, rect, font, new PdfTextFormatter(),
-            measurementUnit, true);
-        
-        if (contentList == null)
-        {
-            contentList = new ArrayList();
-        }
-        ByteBuffer bb = ((ByteBuffer) ByteBuffer.wrap(
-            contentStream.getBuffer())
-            .limit(contentStream.size())).slice();
-        contentList.add(underlay ? 0 : contentList.size(),
-            new PdfStream(new PdfDict(new HashMap()), bb));
-        
-        contentStream = temp;
-        prevFont = tempFont;
+        writeDecorationText(text, rect, font, new PdfTextFormatter(),
+            underlay);
     }
     
     /**
@@ -3370,10 +3287,6 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         {
             return;
         }
-        if (underlay)
-        {
-            underlayStreamCount++;
-        }
 
         double rectWidth = pageWidth - pageLeftMargin
             - pageRightMargin - pageCropLeft - pageCropRight;
@@ -3429,23 +3342,10 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
                 throw new PdfException(
                     "Invalid vertical position for header image.");
         }
-        
-        PdfByteOutputStream temp = contentStream;
-        contentStream = null;
 
-        drawImage(img, new PdfRect(x, y, img.scaledWidth,
-            img.scaledHeight), null, PdfMeasurement.MU_POINTS);
-        if (contentList == null)
-        {
-            contentList = new ArrayList();
-        }
-        ByteBuffer bb = ((ByteBuffer) ByteBuffer.wrap(
-            contentStream.getBuffer())
-            .limit(contentStream.size())).slice();
-        contentList.add(underlay ? 0 : contentList.size(),
-            new PdfStream(new PdfDict(new HashMap()), bb));
+        drawDecorationImage(img, new PdfRect(x, y, img.scaledWidth,
+            img.scaledHeight), PdfMeasurement.MU_POINTS, underlay);
 
-        contentStream = temp;
         img.width = (float) tImgWidth;
         img.height = (float) tImgHeight;
         img.scaledHeight = (float) tImgScaledHeight;
@@ -3508,10 +3408,6 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         if (font == null)
         {
             font = PdfFont.create("Arial", 10, PdfEncodings.CP1252);
-        }
-        if (underlay)
-        {
-            ++underlayStreamCount;
         }
 		double width = font.getWidth(text, PdfMeasurement.MU_POINTS);
 		double height = font.getHeight();
@@ -3559,8 +3455,6 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
             	measurementUnit, x);
         y = PdfMeasurement.convertToMeasurementUnit(
             	measurementUnit, y);
-        PdfByteOutputStream temp = contentStream;
-        PdfFont tempFont = prevFont;
         
         double rectWidth = PdfMeasurement.convertToMeasurementUnit(
             measurementUnit, pageWidth - pageLeftMargin
@@ -3568,23 +3462,9 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         double rectHeight = PdfMeasurement.convertToMeasurementUnit(
             measurementUnit, pageFooterHeight);
         PdfRect rect = new PdfRect(x, y, rectWidth, rectHeight);
-        contentStream = null;
 
-        writeText(text, rect, font, new PdfTextFormatter(),
-            measurementUnit, true);
-
-        if (contentList == null)
-        {
-            contentList = new ArrayList();
-        }
-        ByteBuffer bb = ((ByteBuffer) ByteBuffer.wrap(
-            contentStream.getBuffer())
-            .limit(contentStream.size())).slice();
-        contentList.add(underlay ? 0 : contentList.size(),
-            new PdfStream(new PdfDict(new HashMap()), bb));
-        
-        contentStream = temp;
-        prevFont = tempFont;
+        writeDecorationText(text, rect, font, new PdfTextFormatter(),
+            underlay);
     }
     
     /**
@@ -3614,10 +3494,6 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         {
             return;
         }
-        if (underlay)
-        {
-            underlayStreamCount++;
-        }
         double rectWidth = pageWidth - pageLeftMargin
             - pageRightMargin - pageCropLeft - pageCropRight;
         double rectHeight = pageFooterHeight;
@@ -3674,24 +3550,10 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
                 throw new PdfException(
                     "Invalid vertical position for footer image.");
         }
-        
-        PdfByteOutputStream temp = contentStream;
-        contentStream = null;
 
-        drawImage(img, new PdfRect(x, y, img.scaledWidth,
-            img.scaledHeight), null, PdfMeasurement.MU_POINTS);
-
-        if (contentList == null)
-        {
-            contentList = new ArrayList();
-        }
-        ByteBuffer bb = ((ByteBuffer) ByteBuffer.wrap(
-            contentStream.getBuffer())
-            .limit(contentStream.size())).slice();
-        contentList.add(underlay ? 0 : contentList.size(),
-            new PdfStream(new PdfDict(new HashMap()), bb));
+        drawDecorationImage(img, new PdfRect(x, y, img.scaledWidth,
+            img.scaledHeight), PdfMeasurement.MU_POINTS, underlay);
 
-        contentStream = temp;
         img.width = (float) tImgWidth;
         img.height = (float) tImgHeight;
         img.scaledHeight = (float) tImgScaledHeight;
@@ -3722,6 +3584,126 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
     {
         addFooterImage(PdfImage.create(path), position, underlay);
     }
+
+    /*
+     * Writes text of a watermark, header or footer. Text with
+     * placeholders differs from page to page and is written to the
+     * page content when the page is written; other text is drawn
+     * into a decoration.
+     */
+    private void writeDecorationText(String text, PdfRect rect,
+        PdfFont font, PdfTextFormatter tf, boolean underlay)
+        throws IOException, PdfException
+    {
+        if ( !isPlaceHolderProcessed
+            && PdfTextParser.containsUserVariable(text))
+        {
+            PdfByteOutputStream temp = contentStream;
+            PdfFont tempFont = prevFont;
+            contentStream = null;
+            writeText(text, rect, font, tf, measurementUnit, true);
+            if (contentStream != null)
+            {
+                ByteBuffer bb = ((ByteBuffer) ByteBuffer.wrap(
+                    contentStream.getBuffer()).limit(
+                    contentStream.size())).slice();
+                addDecoration(new PdfStream(new PdfDict(new HashMap()),
+                    bb), underlay);
+            }
+            contentStream = temp;
+            prevFont = tempFont;
+            return;
+        }
+        PdfDecoration dec = new PdfDecoration(this);
+        dec.page.writeText(text, rect, font, tf, measurementUnit, true);
+        addDecoration(dec, underlay);
+    }
+
+    private void drawDecorationImage(PdfImage img, PdfRect rect,
+        int unit, boolean underlay) throws IOException, PdfException
+    {
+        PdfDecoration dec = new PdfDecoration(this);
+        dec.page.drawImage(img, rect, null, unit);
+        addDecoration(dec, underlay);
+    }
+
+    /* Adds s under or over the page content */
+    void addDecoration(PdfStream s, boolean underlay)
+    {
+        if (contentList == null)
+        {
+            contentList = new ArrayList();
+        }
+        if (underlay)
+        {
+            contentList.add(0, s);
+            ++underlayStreamCount;
+        }
+        else
+        {
+            contentList.add(s);
+        }
+    }
+
+    /*
+     * Replaces the decorations in contentList by streams that paint
+     * them with the Do operator. Each run of decorations under or
+     * over the page content is painted by one stream.
+     */
+    private void setDecorations(PdfStdDocument d) throws IOException,
+        PdfException
+    {
+        ArrayList list = new ArrayList();
+        int underlays = 0;
+        StringBuffer sb = null;
+        boolean under = false;
+        formIndRefMap = null;
+        for (int i = 0, limit = contentList.size(); i <= limit; ++i)
+        {
+            PdfStream s = i < limit ? (PdfStream) contentList.get(i)
+                : null;
+            boolean u = i < underlayStreamCount;
+            if (sb != null && ( !(s instanceof PdfDecoration) || u != under))
+            {
+                list.add(new PdfStream(new PdfDict(new HashMap()),
+                    ByteBuffer.wrap(sb.toString().getBytes())));
+                if (under)
+                {
+                    ++underlays;
+                }
+                sb = null;
+            }
+            if (s instanceof PdfDecoration)
+            {
+                int objNo = d.addDecoration((PdfDecoration) s)
+                    .getObjectNumber();
+                String name = "RubiconForm" + objNo;
+                if (formIndRefMap == null)
+                {
+                    formIndRefMap = new HashMap();
+                }
+                formIndRefMap.put(new PdfName(name),
+                    new PdfIndirectReference(objNo, 0));
+                if (sb == null)
+                {
+                    sb = new StringBuffer();
+                    under = u;
+                }
+                sb.append(PDF_NAMESTART + name + PDF_SP + PDF_SHOWIMG
+                    + PDF_SP);
+            }
+            else if (s != null)
+            {
+                list.add(s);
+                if (u)
+                {
+                    ++underlays;
+                }
+            }
+        }
+        contentList = list;
+        underlayStreamCount = underlays;
+    }
     
     /**
      * Writes specified text on this <code>PdfPage</code>.
@@ -6009,18 +5991,19 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         PdfRect rect, double startLinePos, PdfFont font, int unit)
         throws PdfException
 	{
-		String s = "";
+		StringBuffer s = new StringBuffer();
 		double width = startLinePos;
 		double height = 0;
 		int lastWhiteChar = -1;
 		int limit = str.length();
+        int[] adv = measure(str, font);
         boolean added = false;
 		for (int i = 0; i < limit; i++)
 		{
             added = false;
 			//check new width less than rect.widht
-			double temp = font.getWidth(str.charAt(i),
-                PdfMeasurement.MU_POINTS);
+			double temp = (i == 0 ? adv[0] : adv[i] - adv[i - 1])
+                * 0.001f * font.getSize();
 			if (temp > PdfMeasurement.convertToPdfUnit(unit, rect.width)) 
 			{
 				throw new PdfException(
@@ -6033,7 +6016,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
 			if (width + temp <= PdfMeasurement.convertToPdfUnit(unit,
                 rect.width))
 			{
-				s += str.charAt(i);
+				s.append(str.charAt(i));
 				width += temp;
 			}
 			else //next line
@@ -6051,12 +6034,12 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
 					}
 					else
 					{
-						list.add(s);
+						list.add(s.toString());
 						i--;
 					}
 					width = 0;
 					lastWhiteChar = -1;
-					s = "";
+					s.setLength(0);
                     added = true;
 				}
 				else //wrapping complete
@@ -6075,7 +6058,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         if (!added && height + font.getHeight() <= PdfMeasurement
           .convertToPdfUnit(unit, rect.height))
 		{
-			list.add(s);
+			list.add(s.toString());
 		}
 		
 	}
@@ -6084,11 +6067,12 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         double startLinePos, PdfFont font, int unit)
         throws PdfException
 	{
-		String s = "";
+		StringBuffer s = new StringBuffer();
 		double width = PdfMeasurement.convertToPdfUnit(unit, startLinePos);
 		double height = 0;
 		int lastWhiteChar = -1;
 		int limit = str.length();
+        int[] adv = measure(str, font);
         boolean added = false;
 		for (int i = 0; i < limit; i++)
 		{
@@ -6099,8 +6083,8 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
                 return str.substring(i);
             }
 			//check new width less than rect.widht
-			double temp = font.getWidth(str.charAt(i),
-                PdfMeasurement.MU_POINTS);
+			double temp = (i == 0 ? adv[0] : adv[i] - adv[i - 1])
+                * 0.001f * font.getSize();
 			if (temp > PdfMeasurement.convertToPdfUnit(unit, rect.width)) 
 			{
 				throw new PdfException(
@@ -6113,7 +6097,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
 			if (width + temp <= PdfMeasurement.convertToPdfUnit(unit,
                 rect.width))
 			{
-				s += str.charAt(i);
+				s.append(str.charAt(i));
 				width += temp;
 			}
 			else //next line
@@ -6134,7 +6118,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
 					}
 					width = 0;
 					lastWhiteChar = -1;
-					s = "";
+					s.setLength(0);
                     added = false;
 				}
 				else //wrapping complete
@@ -6156,8 +6140,22 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
 		    return "";
 		}
 		
-		return s;
+		return s.toString();
 	}
+
+    /* Cumulative widths of the characters of str in font, kept in a
+       buffer reused by the wrapping methods */
+    private int[] measure(String str, PdfFont font)
+    {
+        int n = str.length();
+        if (advances == null || advances.length < n)
+        {
+            advances = new int[Math.max(n, 256)];
+        }
+        font.getAdvances(str, 0, n, advances, false);
+        
+        return advances;
+    }
 	
     protected void setPattern() throws IOException
     {
@@ -6167,24 +6165,24 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
             return;
         }
         HashMap pm = new HashMap();
-        pm.put(new PdfName(PDF_TYPE), new PdfName(PDF_PATTERN));
-        pm.put(new PdfName(PDF_PATTERN_TYPE), new PdfInteger(1));
-        pm.put(new PdfName(PDF_PAINT_TYPE), new PdfInteger(2));
-        pm.put(new PdfName(PDF_TILING_TYPE), new PdfInteger(1));
-        pm.put(new PdfName(PDF_XSTEP), new PdfInteger(5));
-        pm.put(new PdfName(PDF_YSTEP), new PdfInteger(5));
+        pm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_PATTERN));
+        pm.put(PdfName.intern(PDF_PATTERN_TYPE), new PdfInteger(1));
+        pm.put(PdfName.intern(PDF_PAINT_TYPE), new PdfInteger(2));
+        pm.put(PdfName.intern(PDF_TILING_TYPE), new PdfInteger(1));
+        pm.put(PdfName.intern(PDF_XSTEP), new PdfInteger(5));
+        pm.put(PdfName.intern(PDF_YSTEP), new PdfInteger(5));
         ArrayList l= new ArrayList();
         l.add(new PdfInteger(0));
         l.add(new PdfInteger(0));
         l.add(new PdfInteger(5));
         l.add(new PdfInteger(5));
-        pm.put(new PdfName(PDF_BBOX), new PdfArray(l));
+        pm.put(PdfName.intern(PDF_BBOX), new PdfArray(l));
         
         l = new ArrayList();
-        l.add(new PdfName(PDF_PDF));
+        l.add(PdfName.intern(PDF_PDF));
         HashMap resMap = new HashMap();
-        resMap.put(new PdfName(PDF_PROCSET), new PdfArray(l));
-        pm.put(new PdfName(PDF_RESOURCES), new PdfDict(resMap));
+        resMap.put(PdfName.intern(PDF_PROCSET), new PdfArray(l));
+        pm.put(PdfName.intern(PDF_RESOURCES), new PdfDict(resMap));
         
         StringBuffer psb = new StringBuffer();
         String str;
@@ -6212,8 +6210,8 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
                 break;
         }
         psb.append(str);
-        pm.put(new PdfName(PDF_LENGTH), new PdfInteger(psb.length()));
-        pm.put(new PdfName("RubPattern"), new PdfInteger(brush.brushPattern));
+        pm.put(PdfName.intern(PDF_LENGTH), new PdfInteger(psb.length()));
+        pm.put(PdfName.intern("RubPattern"), new PdfInteger(brush.brushPattern));
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         baos.write((psb.toString()).getBytes());
         PdfStream patternStream = new PdfStream(new PdfDict(pm), ByteBuffer.wrap(baos
@@ -8727,17 +8725,16 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
         y = pageHeight - y;
         String imageName = null;
         
-        img.streamDict.getMap().put(new PdfName(PDF_WIDTH),
+        img.streamDict.getMap().put(PdfName.intern(PDF_WIDTH),
             new PdfInteger((int) img.width));
-        img.streamDict.getMap().put(new PdfName(PDF_HEIGHT),
+        img.streamDict.getMap().put(PdfName.intern(PDF_HEIGHT),
             new PdfInteger((int) img.height));
-        img.streamDict.getMap().put(new PdfName(PDF_BITS_PER_COMPONENT),
+        img.streamDict.getMap().put(PdfName.intern(PDF_BITS_PER_COMPONENT),
             new PdfInteger(img.bitsPerComp));
-        img.streamDict.getMap().put(new PdfName(PDF_COLORSPACE),
+        img.streamDict.getMap().put(PdfName.intern(PDF_COLORSPACE),
             img.colorSpace);
 
-        img.streamBuffer.position(0);
-        PdfInteger hash = new PdfInteger(img.hashCode());
+        PdfString hash = img.getKey();
         PdfImage tImg = xObjDict.getValueAsImage(hash);
         if (tImg == null)
         {
@@ -8814,6 +8811,7 @@ class PdfStdPage extends PdfNode implements Usable, Cloneable
             : (float) PdfMeasurement.convertToPdfUnit(mu,
                 img.scaledHeight);
         m.scale(Sx, Sy);
+        (tImg == null ? img : tImg).place(Sx, Sy);
         double[] flatMatrix = new double[6];
         m.getMatrix(flatMatrix);
         for (int i = 0; i < flatMatrix.length; ++i)
@@ -29,7 +29,6 @@ package com.gnostice.pdfone;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.HashMap;
 
 import com.gnostice.pdfone.filters.PdfFilter;
 
@@ -55,7 +54,7 @@ public class PdfStream extends PdfObject
     {
         filters = null;
         decodeParms = null;
-        streamDict = new PdfDict(new HashMap(d.getMap()));
+        streamDict = new PdfDict(d);
         streamBuffer = ByteBuffer.allocateDirect(bb.capacity());
         streamBuffer.put(bb);
         streamBuffer.position(0);
@@ -86,6 +85,24 @@ public class PdfStream extends PdfObject
         return clone;
     }
 
+    /* Returns a copy with its own dictionary that shares the stream
+       data. Stream data is replaced, never modified in place, so the
+       copies can be encoded and written independently. */
+    PdfStream copy()
+    {
+        PdfStream copy = (PdfStream) super.clone();
+        if (streamBuffer != null)
+        {
+            copy.streamBuffer = streamBuffer.duplicate();
+        }
+        if (streamDict != null)
+        {
+            copy.streamDict = (PdfDict) streamDict.clone();
+        }
+
+        return copy;
+    }
+
     public synchronized ByteBuffer getBuffer()
     {
         ByteBuffer bb = streamBuffer.asReadOnlyBuffer();
@@ -113,7 +130,7 @@ public class PdfStream extends PdfObject
             try {
             PdfFilter.decompress(this);
             getDictionary().getMap().remove(
-                    new PdfName(Usable.PDF_FILTER));
+                    PdfName.intern(Usable.PDF_FILTER));
             }
             catch (PdfException pe)
             {
@@ -126,7 +143,7 @@ public class PdfStream extends PdfObject
         DataOutputStream dataOpStream = w.getDataOutputStream();
         ByteBuffer bb = streamBuffer;
         int bbcap = bb.capacity();
-        streamDict.getMap().put(new PdfName(Usable.PDF_LENGTH),
+        streamDict.setValue(PdfName.intern(Usable.PDF_LENGTH),
             new PdfInteger(bbcap));
         int count = streamDict.write(w);
         dataOpStream.writeBytes(Usable.PDF_LF + Usable.PDF_STREAM
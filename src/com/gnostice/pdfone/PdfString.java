@@ -502,6 +502,18 @@ public class PdfString extends PdfObject
         return sb.toString();
     }
 
+    /* Appends the bytes of ba to sb as two lowercase hex digits each,
+       as used for the digests keying shared resources */
+    static StringBuffer appendHex(StringBuffer sb, byte[] ba)
+    {
+        for (int i = 0; i < ba.length; ++i)
+        {
+            sb.append(Integer.toHexString(ba[i] & 0xff | 0x100)
+                .substring(1));
+        }
+        return sb;
+    }
+
     protected static String toLiteral(String s)
     {
         return s == null ? Usable.PDF_LITERALSTRINGSTART + "" 
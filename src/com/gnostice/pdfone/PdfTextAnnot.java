@@ -235,7 +235,7 @@ public class PdfTextAnnot extends PdfProAnnot
         super.encode(p);
 
         HashMap annotMap = (HashMap)dict.getMap();
-        annotMap.put(new PdfName(Usable.PDF_SUBTYPE), new PdfName(
+        annotMap.put(PdfName.intern(Usable.PDF_SUBTYPE), PdfName.intern(
             Usable.PDF_TEXTANNOT));
 
         String s;
@@ -272,8 +272,8 @@ public class PdfTextAnnot extends PdfProAnnot
             default:
                 s = "Note";
         }
-        annotMap.put(new PdfName(Usable.PDF_NAME), new PdfName(s));
-        annotMap.put(new PdfName(Usable.PDF_OPEN), new PdfBoolean(
+        annotMap.put(PdfName.intern(Usable.PDF_NAME), new PdfName(s));
+        annotMap.put(PdfName.intern(Usable.PDF_OPEN), new PdfBoolean(
             this.isOpen()));
 
         return this;
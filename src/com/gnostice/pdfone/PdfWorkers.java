@@ -0,0 +1,151 @@
+/**
+****************************************************
+*  Java based PDF creation and manipulation Library      
+****************************************************
+*
+*  Project Title: Gnostice PDFOne Java
+*  Copyright  2002-2008 Gnostice Information Technologies Private Limited, Bangalore, India
+*  http://www.gnostice.com
+*
+*  This file is part of PDFOne Java Library.
+*
+*  This program is free software: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, either version 3 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+
+*  You should have received a copy of the GNU General Public License
+*  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*
+*/
+
+package com.gnostice.pdfone;
+
+import java.io.IOException;
+
+/*
+ * Runs a batch of independent tasks on worker threads and returns
+ * when all of them have finished. The calling thread takes part in
+ * the work. Every task is run even if another one fails; the first
+ * exception thrown by a task is then thrown to the caller.
+ */
+final class PdfWorkers
+{
+    /* A unit of work run by a worker */
+    interface Task
+    {
+        void run() throws IOException, PdfException;
+    }
+
+    private Task[] tasks;
+
+    private int next;
+
+    private Throwable failure;
+
+    private PdfWorkers(Task[] tasks)
+    {
+        this.tasks = tasks;
+    }
+
+    /* Number of threads used when none is specified */
+    static int defaultThreads()
+    {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    static void run(Task[] tasks, int threads) throws IOException,
+        PdfException
+    {
+        final PdfWorkers w = new PdfWorkers(tasks);
+        Thread[] workers = new Thread[Math.max(0, Math.min(threads,
+            tasks.length) - 1)];
+        for (int i = 0; i < workers.length; ++i)
+        {
+            workers[i] = new Thread("PdfWorker-" + i)
+            {
+                public void run()
+                {
+                    w.work();
+                }
+            };
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+        w.work();
+
+        boolean interrupted = false;
+        for (int i = 0; i < workers.length; ++i)
+        {
+            while (workers[i].isAlive())
+            {
+                try
+                {
+                    workers[i].join();
+                }
+                catch (InterruptedException ie)
+                {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+        w.rethrow();
+    }
+
+    private void work()
+    {
+        for (Task t; (t = nextTask()) != null;)
+        {
+            try
+            {
+                t.run();
+            }
+            catch (Throwable e)
+            {
+                setFailure(e);
+            }
+        }
+    }
+
+    private synchronized Task nextTask()
+    {
+        return next < tasks.length ? tasks[next++] : null;
+    }
+
+    private synchronized void setFailure(Throwable e)
+    {
+        if (failure == null)
+        {
+            failure = e;
+        }
+    }
+
+    private synchronized void rethrow() throws IOException, PdfException
+    {
+        if (failure instanceof IOException)
+        {
+            throw (IOException) failure;
+        }
+        if (failure instanceof PdfException)
+        {
+            throw (PdfException) failure;
+        }
+        if (failure instanceof RuntimeException)
+        {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error)
+        {
+            throw (Error) failure;
+        }
+    }
+}
@@ -81,6 +81,8 @@ public final class PdfWriter implements Usable
     
     protected Hashtable writtenObjs;
     
+    PdfObjectStreamPacker objectStreamPacker;
+    
     static String formatFloat(double n)
     {
         synchronized(PdfWriter.class)
@@ -251,6 +253,12 @@ public final class PdfWriter implements Usable
         writtenObjs.put(new PdfInteger(pdfObj.objNumber),
             new PdfInteger(pdfObj.objNumber));
         
+        if (objectStreamPacker != null
+            && objectStreamPacker.accepts(pdfObj))
+        {
+            return objectStreamPacker.add(pdfObj);
+        }
+        
         String objStartLabel/*, objEndLabel*/;
         int byteCount = 0;
         
@@ -414,7 +414,11 @@ public interface Usable
 	String PDF_COLORSPACE = "ColorSpace";
 	String PDF_DEVICE_RGB = "DeviceRGB";
 	String PDF_DEVICE_GRAY = "DeviceGray";
+	String PDF_DEVICE_CMYK = "DeviceCMYK";
+	String PDF_DECODE = "Decode";
 	String PDF_INDEXED = "Indexed";
+	String PDF_SMASK = "SMask";
+	String PDF_MASK = "Mask";
 	String PDF_STORE_GS = "q";
 	String PDF_RESTORE_GS = "Q";
 	String PDF_SHOWIMG = "Do";
@@ -440,6 +444,7 @@ public interface Usable
 	String PDF_DP = "DP";
 	String PDF_PREDICTOR = "Predictor";
 	String PDF_COLOMNS = "Columns";
+	String PDF_COLORS = "Colors";
 	
 	//For Object Stream & CrossRef Stream
 	String PDF_OBJSTREAM = "ObjStm";
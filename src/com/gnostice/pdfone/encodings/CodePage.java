@@ -26,59 +26,54 @@
 
 package com.gnostice.pdfone.encodings;
 
-class CodePage
+/*
+ * Character encoding used for text written in a PDF. Code pages are
+ * resolved once by PdfEncodings and encode directly into a caller
+ * supplied array.
+ */
+public abstract class CodePage
 {
-    static byte[] bytes;
-    
-    static char[] unicodeMap;
-    
-    private static int index(char ch)
-    {
-        for (int i = 0; i < unicodeMap.length; ++i)
-        {
-            if (unicodeMap[i] == ch)
-            {
-                return i;
-            }
-        }
+    /* Returns the largest number of bytes encode() writes for a char */
+    public abstract int maxBytesPerChar();
 
-        return -1;
-    }
+    /*
+     * Encodes s into dest starting at offset, which must have room
+     * for s.length() * maxBytesPerChar() bytes. Returns the number of
+     * bytes written.
+     */
+    public abstract int encode(CharSequence s, byte[] dest, int offset);
 
-    private static int index(short b)
-    {
-        for (int i = 0; i < bytes.length; ++i)
-        {
-            if (bytes[i] == b)
-            {
-                return i;
-            }
-        }
-
-        return -1;
-    }
+    /*
+     * Decodes length bytes of src starting at offset into dest, which
+     * must have room for length chars. Returns the number of chars
+     * written.
+     */
+    public abstract int decode(byte[] src, int offset, int length,
+        char[] dest);
 
-    public static byte[] getBytes(String s)
+    public byte[] getBytes(String s)
     {
-        int limit = s.length();
-        byte[] retVal = new byte[limit];
-        for (int i = 0, index; i < limit; ++i)
+        byte[] retVal = new byte[s.length() * maxBytesPerChar()];
+        int n = encode(s, retVal, 0);
+        if (n < retVal.length)
         {
-            index = index(s.charAt(i));
-            retVal[i] = index != -1 ? bytes[index] : -1;
+            byte[] ba = new byte[n];
+            System.arraycopy(retVal, 0, ba, 0, n);
+            retVal = ba;
         }
 
         return retVal;
     }
 
-    public static char[] getChars(byte[] ba)
+    public char[] getChars(byte[] ba)
     {
         char[] retVal = new char[ba.length];
-        for (int i = 0, index; i < ba.length; ++i)
+        int n = decode(ba, 0, ba.length, retVal);
+        if (n < retVal.length)
         {
-            index = index(ba[i]);
-            retVal[i] = (char) (index != -1 ? unicodeMap[index]
-                : -1);
+            char[] ca = new char[n];
+            System.arraycopy(retVal, 0, ca, 0, n);
+            retVal = ca;
         }
 
         return retVal;
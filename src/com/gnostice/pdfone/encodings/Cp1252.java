@@ -26,8 +26,23 @@
 
 package com.gnostice.pdfone.encodings;
 
-class Cp1252 extends CodePage
+import java.util.Arrays;
+
+final class Cp1252 extends CodePage
 {
+    private static final byte[] bytes;
+
+    private static final char[] unicodeMap;
+
+    /* char for each byte, '\uffff' for bytes not defined */
+    private static final char[] toUnicode = new char[256];
+
+    /* chars outside U+0000 to U+007F and U+00A0 to U+00FF that have
+       a byte, sorted, and the byte for each */
+    private static final char[] specialChars;
+
+    private static final byte[] specialBytes;
+
     static {
     bytes = new byte[] { (byte) 0x00, (byte) 0x01, (byte) 0x02,
             (byte) 0x03, (byte) 0x04, (byte) 0x05, (byte) 0x06,
@@ -136,5 +151,81 @@ class Cp1252 extends CodePage
         '\u00F1', '\u00F2', '\u00F3', '\u00F4', '\u00F5', '\u00F6',
         '\u00F7', '\u00F8', '\u00F9', '\u00FA', '\u00FB', '\u00FC',
         '\u00FD', '\u00FE', '\u00FF' };
+
+    Arrays.fill(toUnicode, '\uffff');
+    int n = 0;
+    for (int i = 0; i < bytes.length; ++i)
+    {
+        toUnicode[bytes[i] & 0xff] = unicodeMap[i];
+        if (!isDirect(unicodeMap[i]))
+        {
+            ++n;
+        }
+    }
+    specialChars = new char[n];
+    specialBytes = new byte[n];
+    n = 0;
+    for (char c = 0x80; c < 0xa0; ++c)
+    {
+        if (toUnicode[c] != '\uffff')
+        {
+            specialChars[n++] = toUnicode[c];
+        }
+    }
+    Arrays.sort(specialChars);
+    for (int i = 0; i < n; ++i)
+    {
+        for (int j = 0x80; j < 0xa0; ++j)
+        {
+            if (toUnicode[j] == specialChars[i])
+            {
+                specialBytes[i] = (byte) j;
+            }
+        }
+    }
+    }
+
+    /* chars whose byte is the same as their code */
+    private static boolean isDirect(char c)
+    {
+        return c < 0x80 || (c >= 0xa0 && c <= 0xff);
+    }
+
+    public int maxBytesPerChar()
+    {
+        return 1;
+    }
+
+    /* Chars not in the code page are written as 0xFF */
+    public int encode(CharSequence s, byte[] dest, int offset)
+    {
+        int limit = s.length();
+        for (int i = 0; i < limit; ++i)
+        {
+            char c = s.charAt(i);
+            if (isDirect(c))
+            {
+                dest[offset + i] = (byte) c;
+            }
+            else
+            {
+                int index = Arrays.binarySearch(specialChars,
+                    c);
+                dest[offset + i] = index >= 0 ? specialBytes[index] : -1;
+            }
+        }
+
+        return limit;
+    }
+
+    /* Bytes not defined in the code page are read as '\uffff' */
+    public int decode(byte[] src, int offset, int length, char[] dest)
+    {
+        for (int i = 0; i < length; ++i)
+        {
+            dest[i] = toUnicode[src[offset + i] & 0xff];
+        }
+
+        return length;
     }
 }
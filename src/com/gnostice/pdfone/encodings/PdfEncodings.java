@@ -26,8 +26,6 @@
 
 package com.gnostice.pdfone.encodings;
 
-import java.lang.reflect.Method;
-
 public class PdfEncodings
 {
     public static final int WINANSI = 0;
@@ -38,40 +36,22 @@ public class PdfEncodings
     
     public static final int UTF_16BE = 1; 
 
-    private static String[] encodings = new String[] { 
-        "Cp1252" };
+    /* code page for each encoding constant, resolved once */
+    private static final CodePage[] codePages = new CodePage[] {
+        new Cp1252(), new Utf16be() };
+
+    public static CodePage getCodePage(int encoding)
+    {
+        return codePages[encoding];
+    }
 
     public static byte[] getBytes(String s, int encoding)
     {
-        byte[] retVal = null;
-        String name = PdfEncodings.class.getPackage().getName()
-            + "." + encodings[encoding];
-        
-        try
-        {
-            Method m = Class.forName(name).getMethod("getBytes",
-                new Class[] { String.class });
-            retVal = (byte[]) m.invoke(null, new Object[]{s});
-        }
-        catch (Exception e) { }
-        
-        return retVal;
+        return codePages[encoding].getBytes(s);
     }
 
     public static char[] getChars(byte[] bytes, int encoding)
     {
-        char[] retVal = null;
-        String name = PdfEncodings.class.getPackage().getName()
-            + "." + encodings[encoding];
-        
-        try
-        {
-            Method m = Class.forName(name).getMethod("getChars",
-                new Class[] { byte[].class });
-            retVal = (char[]) m.invoke(null, new Object[]{bytes});
-        }
-        catch (Exception e) { /*Should not be thrown ever*/ }
-        
-        return retVal;
+        return codePages[encoding].getChars(bytes);
     }
 }
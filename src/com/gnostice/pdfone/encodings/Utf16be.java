@@ -0,0 +1,65 @@
+/**
+****************************************************
+*  Java based PDF creation and manipulation Library      
+****************************************************
+*
+*  Project Title: Gnostice PDFOne Java
+*  Copyright  2002-2008 Gnostice Information Technologies Private Limited, Bangalore, India
+*  http://www.gnostice.com
+*
+*  This file is part of PDFOne Java Library.
+*
+*  This program is free software: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, either version 3 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+
+*  You should have received a copy of the GNU General Public License
+*  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*
+*/
+
+package com.gnostice.pdfone.encodings;
+
+/*
+ * UTF-16 in big-endian byte order without a byte order mark, as used
+ * for text strings and two-byte character codes.
+ */
+final class Utf16be extends CodePage
+{
+    public int maxBytesPerChar()
+    {
+        return 2;
+    }
+
+    public int encode(CharSequence s, byte[] dest, int offset)
+    {
+        int limit = s.length();
+        for (int i = 0; i < limit; ++i)
+        {
+            char c = s.charAt(i);
+            dest[offset++] = (byte) (c >> 8);
+            dest[offset++] = (byte) c;
+        }
+
+        return limit * 2;
+    }
+
+    /* A trailing odd byte is ignored */
+    public int decode(byte[] src, int offset, int length, char[] dest)
+    {
+        int n = length / 2;
+        for (int i = 0; i < n; ++i, offset += 2)
+        {
+            dest[i] = (char) (((src[offset] & 0xff) << 8)
+                | (src[offset + 1] & 0xff));
+        }
+
+        return n;
+    }
+}
@@ -50,10 +50,10 @@ public final class PdfAscii85Filter
 {
     private static PdfAscii85Filter instance;
     
-    private static final PdfName FILTER = new PdfName(
+    private static final PdfName FILTER = PdfName.intern(
         Usable.PDF_FILTER);
 
-    private static final PdfName ASCII85 = new PdfName(
+    private static final PdfName ASCII85 = PdfName.intern(
         Usable.PDF_ASCII85);
     
     private PdfAscii85Filter()
@@ -51,9 +51,9 @@ public final class PdfAsciiHexFilter
     
     private static final char EOD = '>'; /* End Of Data */
     
-    private static final PdfName FILTER = new PdfName(Usable.PDF_FILTER);
+    private static final PdfName FILTER = PdfName.intern(Usable.PDF_FILTER);
     
-    private static final PdfName ASCIIHEX = new PdfName(Usable.PDF_ASCIIHEX);
+    private static final PdfName ASCIIHEX = PdfName.intern(Usable.PDF_ASCIIHEX);
     
     private PdfAsciiHexFilter()
     {
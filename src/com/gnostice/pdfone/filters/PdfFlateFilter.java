@@ -55,10 +55,10 @@ public final class PdfFlateFilter
 {
     private static PdfFlateFilter instance;
     
-    private static final PdfName FILTER = new PdfName(
+    private static final PdfName FILTER = PdfName.intern(
         Usable.PDF_FILTER);
 
-    private static final PdfName FLATE = new PdfName(Usable.PDF_FLATE);
+    private static final PdfName FLATE = PdfName.intern(Usable.PDF_FLATE);
     
     public static final int DEFLATED = 8;
 
@@ -198,7 +198,7 @@ public final class PdfFlateFilter
         int predictor = 0, colomns = 1/*, bpc = 8*/;
         
         try {
-            PdfObject obj = dp.getValue(new PdfName(
+            PdfObject obj = dp.getValue(PdfName.intern(
                 Usable.PDF_PREDICTOR));
             if (obj != null)
             {
@@ -208,7 +208,7 @@ public final class PdfFlateFilter
             {
                 return bb;
             }
-            obj = dp.getValue(new PdfName(Usable.PDF_COLOMNS));
+            obj = dp.getValue(PdfName.intern(Usable.PDF_COLOMNS));
             if (obj != null)
             {
                 colomns = ((PdfInteger) obj).getInt();                
@@ -216,7 +216,7 @@ public final class PdfFlateFilter
             
             if (predictor == 2) /* TIFF prediction. Consider bpc */
             {
-                obj = dp.getValue(new PdfName(
+                obj = dp.getValue(PdfName.intern(
                     Usable.PDF_BITS_PER_COMPONENT));
                 if (obj != null)
                 {
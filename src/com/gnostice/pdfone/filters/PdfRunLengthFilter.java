@@ -49,10 +49,10 @@ public final class PdfRunLengthFilter
 {
     private static PdfRunLengthFilter instance;
     
-    private static final PdfName FILTER = new PdfName(
+    private static final PdfName FILTER = PdfName.intern(
         Usable.PDF_FILTER);
 
-    private static final PdfName RUNLENGTH = new PdfName(
+    private static final PdfName RUNLENGTH = PdfName.intern(
         Usable.PDF_RUNLENGTH);
     
     private PdfRunLengthFilter()
@@ -27,31 +27,66 @@
 package com.gnostice.pdfone.fonts;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.Hashtable;
 
 import com.gnostice.pdfone.PdfArray;
+import com.gnostice.pdfone.PdfByteOutputStream;
 import com.gnostice.pdfone.PdfDict;
 import com.gnostice.pdfone.PdfException;
 import com.gnostice.pdfone.PdfInteger;
 import com.gnostice.pdfone.PdfName;
 import com.gnostice.pdfone.PdfStream;
 import com.gnostice.pdfone.PdfString;
+import com.gnostice.pdfone.encodings.PdfEncodings;
 
 final class PdfCIDType2Font extends PdfTrueTypeFont
 {
-    private Hashtable charCodesUsed;
+    /* glyphs used by text written with this font */
+    private BitSet glyphsUsed;
     
-    private Object[] sortedCharCodes;
+    /* character each used glyph was first written for, by glyph */
+    private char[] glyphChars;
     
-    private static String toCMapHex(int n)
+    /* glyphsUsed and the glyphs their composite glyphs are built
+       from, i.e. the glyphs to embed */
+    private BitSet subsetGlyphs;
+    
+    //Shortest run of consecutive CIDs of the same width written as
+    //a "c1 c2 w" range in the W array rather than listed singly
+    static final int MIN_WIDTH_RANGE = 4;
+    
+    //Largest number of entries in one bfrange block of a CMap
+    static final int MAX_BFRANGE_ENTRIES = 100;
+    
+    private static final byte[] HEX_DIGITS = { '0', '1', '2', '3', '4',
+        '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+    
+    /* Writes n as a four digit CMap hex string */
+    private static void writeCMapHex(PdfByteOutputStream out, int n)
+    {
+        out.write('<');
+        out.write(HEX_DIGITS[(n >> 12) & 0xf]);
+        out.write(HEX_DIGITS[(n >> 8) & 0xf]);
+        out.write(HEX_DIGITS[(n >> 4) & 0xf]);
+        out.write(HEX_DIGITS[n & 0xf]);
+        out.write('>');
+    }
+    
+    /* Returns the end of the run of consecutive CIDs with the width of
+       cids[i], stopping at limit */
+    private static int widthRunEnd(int[] cids, int[] ws, int i,
+        int n, int limit)
     {
-        String s = Integer.toHexString(n);
-        return "<0000".substring(0, 5 - s.length()) + s + ">";
+        int j = i + 1;
+        while (j < n && j - i < limit && cids[j] == cids[j - 1] + 1
+            && ws[j] == ws[i])
+        {
+            ++j;
+        }
+        return j;
     }
 
     PdfCIDType2Font(String path, int size, int encoding,
@@ -59,7 +94,7 @@ final class PdfCIDType2Font extends PdfTrueTypeFont
     {
         super(path, size, encoding, embedType);
         this.type = CID_TYPE_2;
-        this.charCodesUsed = new Hashtable();
+        initGlyphs();
     }
 
     PdfCIDType2Font(String path, int style, int size, int encoding,
@@ -67,7 +102,7 @@ final class PdfCIDType2Font extends PdfTrueTypeFont
     {
         super(path, style, size, encoding, embedType);
         this.type = CID_TYPE_2;
-        this.charCodesUsed = new Hashtable();
+        initGlyphs();
     }
 
     PdfCIDType2Font(String path, int style, int size, int encoding)
@@ -75,7 +110,7 @@ final class PdfCIDType2Font extends PdfTrueTypeFont
     {
         super(path, style, size, encoding);
         this.type = CID_TYPE_2;
-        this.charCodesUsed = new Hashtable();
+        initGlyphs();
     }
 
     PdfCIDType2Font(String path, int size, int encoding)
@@ -83,7 +118,7 @@ final class PdfCIDType2Font extends PdfTrueTypeFont
     {
         super(path, size, encoding);
         this.type = CID_TYPE_2;
-        this.charCodesUsed = new Hashtable();
+        initGlyphs();
     }
 
     PdfCIDType2Font(String path, int size, int encoding,
@@ -91,7 +126,7 @@ final class PdfCIDType2Font extends PdfTrueTypeFont
     {
         super(path, size, encoding, embedType, offset);
         this.type = CID_TYPE_2;
-        this.charCodesUsed = new Hashtable();
+        initGlyphs();
     }
 
     PdfCIDType2Font(String path, int style, int size, int encoding,
@@ -99,7 +134,7 @@ final class PdfCIDType2Font extends PdfTrueTypeFont
     {
         super(path, style, size, encoding, embedType, offset);
         this.type = CID_TYPE_2;
-        this.charCodesUsed = new Hashtable();
+        initGlyphs();
     }
 
     PdfCIDType2Font(String path, int style, int size, int encoding,
@@ -107,7 +142,7 @@ final class PdfCIDType2Font extends PdfTrueTypeFont
     {
         super(path, style, size, encoding, offset);
         this.type = CID_TYPE_2;
-        this.charCodesUsed = new Hashtable();
+        initGlyphs();
     }
 
     PdfCIDType2Font(String path, int size, int encoding, long offset)
@@ -115,171 +150,210 @@ final class PdfCIDType2Font extends PdfTrueTypeFont
     {
         super(path, size, encoding, offset);
         this.type = CID_TYPE_2;
-        this.charCodesUsed = new Hashtable();
+        initGlyphs();
     }
 
+    private void initGlyphs()
+    {
+        this.glyphsUsed = new BitSet();
+        this.glyphChars = new char[256];
+        this.subsetGlyphs = new BitSet();
+    }
+    
+    private void addGlyph(int glyph, char ch)
+    {
+        glyphsUsed.set(glyph);
+        if (glyph >= glyphChars.length)
+        {
+            char[] ca = new char[Math.max(glyph + 1,
+                glyphChars.length * 2)];
+            System.arraycopy(glyphChars, 0, ca, 0, glyphChars.length);
+            glyphChars = ca;
+        }
+        glyphChars[glyph] = ch;
+        t.addGlyph(subsetGlyphs, glyph);
+    }
+    
+    /*
+     * Returns the entries of the W array for the glyphs used, leaving
+     * out glyphs of the default width. Runs of at least
+     * MIN_WIDTH_RANGE consecutive CIDs of the same width are written
+     * as "c1 c2 w", other consecutive CIDs as "c [w1 w2 ...]".
+     */
     public ArrayList prepareWidths()
     {
-        ArrayList outer = new ArrayList();
-        ArrayList inner = new ArrayList();
-        int prevCharCode = -1;
-        int[] charMetrics = null;
-        
-        for (int i = 0; i < sortedCharCodes.length; ++i)
+        int count = glyphsUsed.cardinality();
+        int[] cids = new int[count];
+        int[] ws = new int[count];
+        int n = 0;
+        for (int charCode = glyphsUsed.nextSetBit(0); charCode >= 0;
+            charCode = glyphsUsed.nextSetBit(charCode + 1))
         {
-            charMetrics = (int[]) sortedCharCodes[i];
-            if (charMetrics[1] != 1000)
+            int width = t.getGlyphWidthFromHMTX(charCode);
+            if (width != 1000)
             {
-                int charCode = charMetrics[0];
-                if (charCode == prevCharCode + 1)
-                {
-                    inner.add(new PdfInteger(charMetrics[1]));
-                }
-                else
-                {
-                    if (inner.size() != 0)
-                    {
-                        PdfArray arr = new PdfArray(inner);
-                        outer.add(arr);
-                        inner = new ArrayList();
-                    }
-                    outer.add(new PdfInteger(charCode));
-                    inner.add(new PdfInteger(charMetrics[1]));
-                }
-                prevCharCode = charCode;
+                cids[n] = charCode;
+                ws[n++] = width;
             }
         }
-        if (inner.size() != 0)
+        
+        ArrayList outer = new ArrayList();
+        for (int i = 0; i < n;)
         {
-            PdfArray arr = new PdfArray(inner);
-            outer.add(arr);
+            int j = widthRunEnd(cids, ws, i, n, n);
+            if (j - i >= MIN_WIDTH_RANGE)
+            {
+                outer.add(new PdfInteger(cids[i]));
+                outer.add(new PdfInteger(cids[j - 1]));
+                outer.add(new PdfInteger(ws[i]));
+                i = j;
+                continue;
+            }
+            
+            ArrayList inner = new ArrayList();
+            outer.add(new PdfInteger(cids[i]));
+            do
+            {
+                inner.add(new PdfInteger(ws[i++]));
+            }
+            while (i < n && cids[i] == cids[i - 1] + 1
+                && widthRunEnd(cids, ws, i, n, MIN_WIDTH_RANGE) - i
+                    < MIN_WIDTH_RANGE);
+            outer.add(new PdfArray(inner));
         }
         
         return outer;
     }
 
-    private void sortCharCodes()
-    {
-        sortedCharCodes = charCodesUsed.values().toArray();
-        Arrays.sort(sortedCharCodes, new PdfFont.Sort());
-    }
-    
     public synchronized PdfDict getDescendantDict()
     {
-        sortCharCodes();
-        
         HashMap hm = new HashMap();
-        hm.put(new PdfName(PDF_TYPE), new PdfName(PDF_FONT));
-        hm.put(new PdfName(PDF_SUBTYPE), new PdfName(
+        hm.put(PdfName.intern(PDF_TYPE), PdfName.intern(PDF_FONT));
+        hm.put(PdfName.intern(PDF_SUBTYPE), PdfName.intern(
             PDF_CIDFONT_TYPE2));
-        hm.put(new PdfName(PDF_BASEFONT), new PdfName(
+        hm.put(PdfName.intern(PDF_BASEFONT), new PdfName(
             getBaseFontName()));
 
         //this is hard coded...needs workaround
-        hm.put(new PdfName(PDF_CID_TO_GID_MAP), new PdfName(
+        hm.put(PdfName.intern(PDF_CID_TO_GID_MAP), PdfName.intern(
             "Identity"));
         
         HashMap nhm = new HashMap();
-        nhm.put(new PdfName("Supplement"), PdfInteger.DUMMY);
-        nhm.put(new PdfName("Ordering"), new PdfString("Identity"));
-        nhm.put(new PdfName("Registry"), new PdfString("Adobe"));
-        hm.put(new PdfName(PDF_CIDSYSTEM_INFO), new PdfDict(nhm));
+        nhm.put(PdfName.intern("Supplement"), PdfInteger.DUMMY);
+        nhm.put(PdfName.intern("Ordering"), new PdfString("Identity"));
+        nhm.put(PdfName.intern("Registry"), new PdfString("Adobe"));
+        hm.put(PdfName.intern(PDF_CIDSYSTEM_INFO), new PdfDict(nhm));
         
         //this should be conditional for horizontal and vertical mode
-        hm.put(new PdfName(PDF_DW), new PdfInteger(1000));
+        hm.put(PdfName.intern(PDF_DW), new PdfInteger(1000));
         ArrayList list = prepareWidths();
         if (list.size() != 0)
         {
-            hm.put(new PdfName(PDF_W), new PdfArray(list));
+            hm.put(PdfName.intern(PDF_W), new PdfArray(list));
         }
         
         return new PdfDict(hm);
     }
     
+    /*
+     * Returns the ToUnicode CMap for the glyphs used. Consecutive
+     * glyphs mapped to consecutive characters share one bfrange
+     * entry, as long as neither range crosses a change in the high
+     * byte.
+     */
     public synchronized PdfStream getToUnicodeCMAP()
     {
-        if (sortedCharCodes.length != 0)
+        if (glyphsUsed.isEmpty())
         {
-            StringBuffer sb = new StringBuffer(
-                "/CIDInit /ProcSet findresource begin\n"
-                    + "12 dict begin\n"
-                    + "begincmap\n"
-                    + "/CIDSystemInfo\n"
-                    + "<</Registry(Adobe)/Ordering(UCS)/Supplement 0>> def\n"
-                    + "/CMapName /Adobe-Identity-UCS def\n"
-                    + "/CMapType 2 def\n"
-                    + "1 begincodespacerange\n"
-                    + toCMapHex(((int[]) sortedCharCodes[0])[0])
-                    + toCMapHex(((int[]) sortedCharCodes[
-                        sortedCharCodes.length - 1])[0])
-                    + "\n" + "endcodespacerange\n");
-            for (int i = 0, limit = 0; i < sortedCharCodes.length; ++i)
+            return null;
+        }
+        
+        int count = glyphsUsed.cardinality();
+        int[] lo = new int[count];
+        int[] hi = new int[count];
+        int n = 0;
+        for (int glyph = glyphsUsed.nextSetBit(0); glyph >= 0;
+            glyph = glyphsUsed.nextSetBit(glyph + 1))
+        {
+            if (n != 0 && glyph == hi[n - 1] + 1
+                && (glyph & 0xff) != 0
+                && glyphChars[glyph] == glyphChars[glyph - 1] + 1
+                && (glyphChars[glyph] & 0xff) != 0)
             {
-                if (limit == 0)
+                hi[n - 1] = glyph;
+            }
+            else
+            {
+                lo[n] = hi[n] = glyph;
+                ++n;
+            }
+        }
+        
+        PdfByteOutputStream out = new PdfByteOutputStream(256 + n * 20);
+        out.writeString("/CIDInit /ProcSet findresource begin\n"
+            + "12 dict begin\n"
+            + "begincmap\n"
+            + "/CIDSystemInfo\n"
+            + "<</Registry(Adobe)/Ordering(UCS)/Supplement 0>> def\n"
+            + "/CMapName /Adobe-Identity-UCS def\n"
+            + "/CMapType 2 def\n"
+            + "1 begincodespacerange\n", PdfEncodings.CP1252);
+        writeCMapHex(out, glyphsUsed.nextSetBit(0));
+        writeCMapHex(out, glyphsUsed.length() - 1);
+        out.writeString("\nendcodespacerange\n", PdfEncodings.CP1252);
+        for (int i = 0; i < n; ++i)
+        {
+            if (i % MAX_BFRANGE_ENTRIES == 0)
+            {
+                if (i != 0)
                 {
-                    if (i != 0)
-                    {
-                        sb.append("endbfrange\n");
-                    }
-                    limit = Math.min(100, sortedCharCodes.length - i);
-                    sb.append(limit).append(" beginbfrange\n");
+                    out.writeString("endbfrange\n", PdfEncodings.CP1252);
                 }
-                --limit;
-                int charMetrics[] = (int[]) sortedCharCodes[i];
-                String cmapHex = toCMapHex(charMetrics[0]);
-                sb.append(cmapHex).append(cmapHex).append(
-                    toCMapHex(charMetrics[2])).append("\n");
+                out.writeString(Math.min(MAX_BFRANGE_ENTRIES, n - i)
+                    + " beginbfrange\n", PdfEncodings.CP1252);
             }
-            sb.append("endbfrange\n" + "endcmap\n"
-                + "CMapName currentdict /CMap defineresource pop\n"
-                + "end end\n");
-            byte[] ba = sb.toString().getBytes();
-            
-            return new PdfStream(new PdfDict(new HashMap()),
-                ByteBuffer.wrap(ba));
+            writeCMapHex(out, lo[i]);
+            writeCMapHex(out, hi[i]);
+            writeCMapHex(out, glyphChars[lo[i]]);
+            out.write('\n');
         }
+        out.writeString("endbfrange\n" + "endcmap\n"
+            + "CMapName currentdict /CMap defineresource pop\n"
+            + "end end\n", PdfEncodings.CP1252);
         
-        return null;
+        return new PdfStream(new PdfDict(new HashMap()),
+            ByteBuffer.wrap(out.toByteArray()));
     }
     
     public synchronized byte[] updateGlyphList(String text)
         throws IOException, PdfException
     {
-        String encoding = "UnicodeBigUnmarked";
+        /* two-byte glyph indices, as with Identity-H */
         int limit = text.length();
-        int charMetrics[] = null;
-        char ca[] = new char[limit];
-        byte[] ba = null;
+        byte[] ba = new byte[limit * 2];
 
         int index = 0;
         char ch = 0;
         int charCode = 0;
-        try
+        for (int i = 0; i < limit; ++i)
         {
-            for (int i = 0; i < limit; ++i)
+            ch = text.charAt(i);
+            charCode = t.getGlyphIndex(ch);
+            if (charCode >= 0)
             {
-                ch = text.charAt(i);
-                charMetrics = t.getMacOrWinCharMetrics(ch);
-                if (charMetrics != null)
+                if ( !glyphsUsed.get(charCode))
                 {
-                    charCode = charMetrics[0];
-                    PdfInteger key = new PdfInteger(charCode);
-                    if ( !charCodesUsed.containsKey(key))
-                    {
-                        charCodesUsed.put(key, new int[] { charCode,
-                            charMetrics[1], ch });
-                    }
-                    ca[index++] = (char) charCode;
+                    addGlyph(charCode, ch);
                 }
+                ba[index++] = (byte) (charCode >> 8);
+                ba[index++] = (byte) charCode;
             }
-            String s = new String(ca, 0, index);
-            ba = s.getBytes(encoding);
         }
-        catch (UnsupportedEncodingException e)
+        if (index < ba.length)
         {
-            throw new PdfException(
-                "Specified encoding does not support "
-                    + "some char code in text.");
+            byte[] temp = new byte[index];
+            System.arraycopy(ba, 0, temp, 0, index);
+            ba = temp;
         }
 
         return ba;
@@ -293,33 +367,33 @@ final class PdfCIDType2Font extends PdfTrueTypeFont
             embedType = EMBED_SUBSET;
         }
         
-        return t.createStream(embedType, charCodesUsed);
+        return t.createStream(embedType, subsetGlyphs);
     }
     
     public void getData(HashMap hm) throws IOException, PdfException
     {
-        hm.put(new PdfName(PDF_SUBTYPE), new PdfName(PDF_TYPE0));
-        hm.put(new PdfName(PDF_BASEFONT), new PdfName(
+        hm.put(PdfName.intern(PDF_SUBTYPE), PdfName.intern(PDF_TYPE0));
+        hm.put(PdfName.intern(PDF_BASEFONT), new PdfName(
             getBaseFontName()));
 
         // this is hard coded here..needs workaround
-        hm.put(new PdfName(PDF_ENCODING), new PdfName("Identity-H"));
+        hm.put(PdfName.intern(PDF_ENCODING), PdfName.intern("Identity-H"));
 
         PdfDict descendantFont = getDescendantDict();
         if (descendantFont != null)
         {
-            hm.put(new PdfName(PDF_DESCENDANT), descendantFont);
+            hm.put(PdfName.intern(PDF_DESCENDANT), descendantFont);
             PdfStream stm = createStream(getEmbedType());
             if (stm != null)
             {
                 PdfDict fontDescriptor = getFontDescriptor();
                 fontDescriptor.getMap().put(
-                    new PdfName(PDF_FONTNAME),
+                    PdfName.intern(PDF_FONTNAME),
                     new PdfName(getBaseFontName()));
                 descendantFont.getMap().put(
-                    new PdfName(RUBICON_EMBEDDED), stm);
+                    PdfName.intern(RUBICON_EMBEDDED), stm);
                 descendantFont.getMap().put(
-                    new PdfName(PDF_FDESCRIPTOR), fontDescriptor);
+                    PdfName.intern(PDF_FDESCRIPTOR), fontDescriptor);
             }
 
         }
@@ -327,14 +401,16 @@ final class PdfCIDType2Font extends PdfTrueTypeFont
         PdfStream toUniStm = getToUnicodeCMAP();
         if (toUniStm != null)
         {
-            hm.put(new PdfName(PDF_TOUNICODE), toUniStm);
+            hm.put(PdfName.intern(PDF_TOUNICODE), toUniStm);
         }
     }
 
     public Object clone()
     {
         PdfCIDType2Font clone = (PdfCIDType2Font) super.clone();
-        clone.charCodesUsed = (Hashtable) this.charCodesUsed.clone();
+        clone.glyphsUsed = (BitSet) this.glyphsUsed.clone();
+        clone.glyphChars = (char[]) this.glyphChars.clone();
+        clone.subsetGlyphs = (BitSet) this.subsetGlyphs.clone();
 
         return clone;
     }
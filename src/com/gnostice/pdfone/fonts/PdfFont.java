@@ -29,7 +29,6 @@ package com.gnostice.pdfone.fonts;
 import java.awt.Color;
 import java.io.File;
 import java.io.IOException;
-import java.util.Comparator;
 import java.util.HashMap;
 
 import com.gnostice.pdfone.PdfArray;
@@ -39,6 +38,7 @@ import com.gnostice.pdfone.PdfName;
 import com.gnostice.pdfone.Usable;
 import com.gnostice.pdfone.encodings.PdfEncodings;
 import com.gnostice.pdfone.readers.TtcReader;
+import com.gnostice.pdfone.readers.TtfFontIndex;
 
 /**
  * This class represents a font. When creating a non-standard font, 
@@ -54,7 +54,7 @@ public abstract class PdfFont implements Usable, Cloneable
 {
     protected static HashMap builtInFonts;
     
-    public static final PdfName FONT_DESCRIPTOR = new PdfName(
+    public static final PdfName FONT_DESCRIPTOR = PdfName.intern(
         PDF_FDESCRIPTOR);
 
     public static final int TYPE_1 = 1;
@@ -162,16 +162,6 @@ public abstract class PdfFont implements Usable, Cloneable
     
     protected String subsetPrefix; 
     
-    static class Sort implements Comparator
-    {
-        public int compare(Object arg0, Object arg1)
-        {
-            int val1 = ((int[]) arg0)[0];
-            int val2 = ((int[]) arg1)[0];
-            return val1 < val2 ? -1 : val1 == val2 ? 0 : 1;
-        }
-    }
-
     static
     {
         builtInFonts = new HashMap();
@@ -256,6 +246,55 @@ public abstract class PdfFont implements Usable, Cloneable
         return s;
     }
 
+    /*
+     * Returns name if it is the name of a font file, otherwise the
+     * file of the face the font index has for name and style, if any.
+     */
+    private static String findFontFile(String name, int style)
+    {
+        String s = name.toUpperCase();
+        if (s.endsWith(".OTF") || s.endsWith(".TTF")
+            || s.indexOf(".TTC") >= 0)
+        {
+            return name;
+        }
+        String path = TtfFontIndex.find(name, style);
+        
+        return path != null ? path : name;
+    }
+
+    /**
+     * Adds a directory to the directories searched, along with their
+     * subdirectories, for TrueType fonts that are not specified by
+     * pathname. Once a font directory is added, the <code>create</code>
+     * methods also accept the family name of a font, with the style
+     * selecting its bold or italic face, and a font's full or
+     * PostScript name.
+     * 
+     * @param dir
+     *            pathname of the directory
+     * @see #setFontIndexFile(String)
+     */
+    public static void addFontDirectory(String dir)
+    {
+        TtfFontIndex.addDirectory(dir);
+    }
+
+    /**
+     * Specifies the file in which the index of the fonts in the font
+     * directories is kept between runs. With an index file, font
+     * directories are scanned in full only once, and afterwards only
+     * for changes.
+     * 
+     * @param fileName
+     *            pathname of the index file
+     * @see #addFontDirectory(String)
+     */
+    public static void setFontIndexFile(String fileName)
+    {
+        TtfFontIndex.setIndexFile(fileName);
+    }
+
     /**
      * Returns a new <code>PdfFont</code> object created for the
      * specified font with specified size and character encoding.
@@ -288,6 +327,7 @@ public abstract class PdfFont implements Usable, Cloneable
         }
         else
         {
+            name = findFontFile(name, PLAIN);
             File file = new File(name);
             String fileName = file.getName();
             if (fileName.toUpperCase().endsWith(".OTF")
@@ -351,6 +391,7 @@ public abstract class PdfFont implements Usable, Cloneable
         }
         else
         {
+            name = findFontFile(name, style);
             File file = new File(name);
             String fileName = file.getName();
             if (fileName.toUpperCase().endsWith(".OTF")
@@ -413,6 +454,7 @@ public abstract class PdfFont implements Usable, Cloneable
         }
         else
         {
+            name = findFontFile(name, PLAIN);
             File file = new File(name);
             String fileName = file.getName();
             if (fileName.toUpperCase().endsWith(".OTF")
@@ -478,6 +520,7 @@ public abstract class PdfFont implements Usable, Cloneable
         }
         else
         {
+            name = findFontFile(name, style);
             File file = new File(name);
             String fileName = file.getName();
             if (fileName.toUpperCase().endsWith(".OTF")
@@ -808,12 +851,9 @@ public abstract class PdfFont implements Usable, Cloneable
         throws PdfException, IOException
     {
         byte[] ba = PdfEncodings.getBytes(text, this.encoding);
-        if (ba != null)
+        for (int i = 0; i < ba.length; ++i)
         {
-            for (int i = 0; i < ba.length; ++i)
-            {
-                charCodesUsed[((int) ba[i]) & 0xff] = 1;
-            }
+            charCodesUsed[((int) ba[i]) & 0xff] = 1;
         }
 
         return ba;
@@ -840,30 +880,87 @@ public abstract class PdfFont implements Usable, Cloneable
     public double getWidth(String text, int mu,
         boolean excludeEndSpaces)
     {
-        int index = text.length();
-        if (index != 0)
+        int end = text.length();
+        if (excludeEndSpaces)
         {
-            if (excludeEndSpaces)
+            while (end > 0 && Character.isWhitespace(text.charAt(end - 1)))
             {
-                char c;
-                do
-                {
-                    if (--index == -1)
-                    {
-                        break;
-                    }
-                    c = text.charAt(index);
-                    
-                } while (Character.isWhitespace(c));
-                
-                return getWidth(text.substring(0, index + 1), mu);
+                --end;
             }
-            else
+        }
+        
+        double total = 0;
+        for (int i = 0; i < end; ++i)
+        {
+            total += getWidth(text.charAt(i), mu);
+        }
+        return total;
+    }
+
+    /**
+     * Measures characters <code>start</code> to <code>end - 1</code>
+     * of <code>text</code> in a single pass and stores their
+     * cumulative widths, as mentioned in this font's file, in
+     * <code>advances</code>. <code>advances[i]</code> receives the
+     * width of characters <code>start</code> to
+     * <code>start + i</code>, so the width of any run of the measured
+     * characters is the difference of two entries.
+     * 
+     * @param text
+     *            piece of text
+     * @param start
+     *            index of the first character to measure
+     * @param end
+     *            index after the last character to measure
+     * @param advances
+     *            array of at least <code>end - start</code> elements
+     *            to receive the cumulative widths, or
+     *            <code>null</code> if only the total is needed
+     * @param kerning
+     *            whether to apply the font's kerning adjustments
+     *            between adjacent characters
+     * @return 
+     *            sum of widths of the measured characters
+     * @see #getKerning(char, char)
+     */
+    public int getAdvances(String text, int start, int end,
+        int[] advances, boolean kerning)
+    {
+        int total = 0;
+        char prev = 0;
+        for (int i = start; i < end; ++i)
+        {
+            char c = text.charAt(i);
+            if (kerning && i > start)
+            {
+                total += getKerning(prev, c);
+            }
+            total += getWidth(c);
+            if (advances != null)
             {
-                return getWidth(text, mu);
+                advances[i - start] = total;
             }
+            prev = c;
         }
-        
+        return total;
+    }
+
+    /**
+     * Returns the kerning adjustment, as mentioned in this font's
+     * file, to be added to the width of character <code>left</code>
+     * when it is followed by character <code>right</code>. A
+     * negative value brings the characters closer.
+     * 
+     * @param left
+     *            first character of the pair
+     * @param right
+     *            second character of the pair
+     * @return 
+     *            kerning adjustment for the pair, or 0 if the font
+     *            does not kern it
+     */
+    public int getKerning(char left, char right)
+    {
         return 0;
     }
 
@@ -41,33 +41,33 @@ import com.gnostice.pdfone.readers.TtfReader;
 
 class PdfTrueTypeFont extends PdfFont
 {
-    private static final PdfName FLAGS = new PdfName(Usable.PDF_FLAGS);
+    private static final PdfName FLAGS = PdfName.intern(Usable.PDF_FLAGS);
     
-    private static final PdfName FONT_BBOX = new PdfName(
+    private static final PdfName FONT_BBOX = PdfName.intern(
         Usable.PDF_FONTBBOX);
     
-    private static final PdfName ASCENT = new PdfName(
+    private static final PdfName ASCENT = PdfName.intern(
         Usable.PDF_ASCENT);
     
-    private static final PdfName DESCENT = new PdfName(
+    private static final PdfName DESCENT = PdfName.intern(
         Usable.PDF_DESCENT);
     
-    private static final PdfName CAPHEIGHT = new PdfName(
+    private static final PdfName CAPHEIGHT = PdfName.intern(
         Usable.PDF_CAPHEIGHT);
     
-    private static final PdfName AVGWIDTH = new PdfName(
+    private static final PdfName AVGWIDTH = PdfName.intern(
         Usable.PDF_AVGWIDTH);
     
-    private static final PdfName MAXWIDTH = new PdfName(
+    private static final PdfName MAXWIDTH = PdfName.intern(
         Usable.PDF_MAXWIDTH);
 
-    private static final PdfName STEMH = new PdfName(
+    private static final PdfName STEMH = PdfName.intern(
         Usable.PDF_HORIZ_STEM);
 
-    private static final PdfName STEMV = new PdfName(
+    private static final PdfName STEMV = PdfName.intern(
         Usable.PDF_VERT_STEM);
     
-    private static final PdfName ITALIC_ANGLE = new PdfName(
+    private static final PdfName ITALIC_ANGLE = PdfName.intern(
         Usable.PDF_ITALANGLE);
 
     private static final String TTF_BOLD = "Bold";
@@ -275,7 +275,7 @@ class PdfTrueTypeFont extends PdfFont
     {
         HashMap hm = new HashMap();
         
-        hm.put(new PdfName(Usable.PDF_TYPE), new PdfName(PDF_FDESCRIPTOR));
+        hm.put(PdfName.intern(Usable.PDF_TYPE), PdfName.intern(PDF_FDESCRIPTOR));
         hm.put(FLAGS, new PdfInteger(flags));
         hm.put(FONT_BBOX, fontBBox);
         hm.put(ASCENT, new PdfInteger(ascent));
@@ -358,6 +358,15 @@ class PdfTrueTypeFont extends PdfFont
         /*return 1000;*/ /*default width*/
     }
 
+    public int getKerning(char left, char right)
+    {
+        int leftGlyph = t.getGlyphIndex(left);
+        int rightGlyph = t.getGlyphIndex(right);
+        
+        return leftGlyph < 0 || rightGlyph < 0 ? 0 : t.getKerning(
+            leftGlyph, rightGlyph);
+    }
+
     public int getWidth(String text)
     {
         int total = 0;
@@ -448,29 +457,29 @@ class PdfTrueTypeFont extends PdfFont
         setWidths();
         
         PdfDict fontDescriptor = getFontDescriptor(); 
-        fontDescriptor.getMap().put(new PdfName(
+        fontDescriptor.getMap().put(PdfName.intern(
             PDF_FONTNAME), new PdfName(getBaseFontName()));
 
-        hm.put(new PdfName(PDF_SUBTYPE), new PdfName(
+        hm.put(PdfName.intern(PDF_SUBTYPE), PdfName.intern(
             PDF_TRUETYPE));
-        hm.put(new PdfName(PDF_BASEFONT),
+        hm.put(PdfName.intern(PDF_BASEFONT),
             new PdfName(getBaseFontName()));
-        hm.put(new PdfName(PDF_FIRSTCHAR),
+        hm.put(PdfName.intern(PDF_FIRSTCHAR),
             new PdfInteger(getFirstChar()));
-        hm.put(new PdfName(PDF_LASTCHAR),
+        hm.put(PdfName.intern(PDF_LASTCHAR),
             new PdfInteger(getLastChar()));
-        hm.put(new PdfName(PDF_ENCODING),
-            new PdfName(PDF_WINANSIENCODING));
+        hm.put(PdfName.intern(PDF_ENCODING),
+            PdfName.intern(PDF_WINANSIENCODING));
         
-        hm.put(new PdfName(PDF_FDESCRIPTOR),
+        hm.put(PdfName.intern(PDF_FDESCRIPTOR),
             fontDescriptor);
-        hm.put(new PdfName(PDF_WIDTHS), new PdfArray(
+        hm.put(PdfName.intern(PDF_WIDTHS), new PdfArray(
             getWidths()));
         
         PdfStream stm = createStream(getEmbedType());
         if (stm != null)
         {
-            hm.put(new PdfName(RUBICON_EMBEDDED), stm);
+            hm.put(PdfName.intern(RUBICON_EMBEDDED), stm);
         }
     }
 
@@ -478,9 +487,4 @@ class PdfTrueTypeFont extends PdfFont
     {
         return (PdfTrueTypeFont) super.clone();
     }
-    
-    protected void finalize() throws Throwable
-    {
-        t.dispose();
-    }
 }
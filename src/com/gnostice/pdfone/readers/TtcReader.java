@@ -26,9 +26,12 @@
 
 package com.gnostice.pdfone.readers;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 
+import java.util.LinkedHashMap;
+
 import com.gnostice.pdfone.PdfException;
 
 public final class TtcReader
@@ -41,6 +44,13 @@ public final class TtcReader
     
     private long[] offsets;
     
+    private long lastModified;
+    
+    //Offset tables already read, keyed by collection file name,
+    //least recently used first
+    private static final LinkedHashMap cachedReaders = new LinkedHashMap(
+        16, 0.75f, true);
+    
     private TtcReader()
     {
         //private constructor
@@ -61,27 +71,55 @@ public final class TtcReader
         t.index = getSpecifiedIndex(fileName.toUpperCase());
         t.fileName = fileName.substring(0, fileName.toUpperCase()
             .indexOf(".TTC") + 4);
+        t.lastModified = new File(t.fileName).lastModified();
+        
+        TtcReader cached;
+        synchronized (cachedReaders)
+        {
+            cached = (TtcReader) cachedReaders.get(t.fileName);
+        }
+        if (cached != null && cached.lastModified == t.lastModified)
+        {
+            if (t.index > cached.offsets.length)
+            {
+                throw new PdfException("Invalid font index for TTC file.");
+            }
+            t.offsets = cached.offsets;
+            return t;
+        }
+        
         t.raf = new RandomAccessFile(t.fileName, "r");
         t.readOffsets();
+        TtfReader.put(cachedReaders, t.fileName, t,
+            TtfReader.MAX_CACHED_FONTS);
         return t;
     }
     
     private void readOffsets() throws IOException, PdfException
     {
-        raf.skipBytes(8); /* skip tag and version */
+        offsets = readOffsets(raf);
+        if (index > offsets.length)
+        {
+            throw new PdfException("Invalid font index for TTC file.");
+        }
+    }
+    
+    /* Returns the offsets of the fonts of the collection open in raf */
+    static long[] readOffsets(RandomAccessFile raf) throws IOException
+    {
+        raf.seek(8); /* skip tag and version */
         int noOfFonts = raf.readInt();
-        offsets = new long[noOfFonts];
-        if (index <= noOfFonts)
+        if (noOfFonts < 0 || noOfFonts > (raf.length() - 12) / 4)
         {
-            for (int i = 0; i < noOfFonts; ++i)
-            {
-                offsets[i] = ((long) raf.readInt()) & 0xffffffff;
-            }
+            throw new IOException("TTC file is truncated or corrupt.");
         }
-        else
+        long[] offsets = new long[noOfFonts];
+        for (int i = 0; i < noOfFonts; ++i)
         {
-            throw new PdfException("Invalid font index for TTC file.");
+            offsets[i] = ((long) raf.readInt()) & 0xffffffff;
         }
+        
+        return offsets;
     }
     
     public long getOffset()
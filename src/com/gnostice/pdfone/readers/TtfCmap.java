@@ -0,0 +1,98 @@
+/**
+****************************************************
+*  Java based PDF creation and manipulation Library      
+****************************************************
+*
+*  Project Title: Gnostice PDFOne Java
+*  Copyright  2002-2008 Gnostice Information Technologies Private Limited, Bangalore, India
+*  http://www.gnostice.com
+*
+*  This file is part of PDFOne Java Library.
+*
+*  This program is free software: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, either version 3 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+
+*  You should have received a copy of the GNU General Public License
+*  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*
+*/
+
+package com.gnostice.pdfone.readers;
+
+/*
+ * Character code to glyph index map read from a cmap subtable. Codes
+ * are kept in pages of 256 entries that are allocated on first use,
+ * so a lookup is two array reads and needs no boxed key. The page
+ * directory covers the Basic Multilingual Plane and grows only if a
+ * supplementary code is added.
+ */
+final class TtfCmap
+{
+    private static final int PAGE_SHIFT = 8;
+
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private static final int MAX_CODE = 0x10ffff;
+
+    /* glyph index + 1 for each code, 0 for codes not mapped */
+    private int[][] pages;
+
+    private int size;
+
+    TtfCmap()
+    {
+        pages = new int[0x10000 >> PAGE_SHIFT][];
+    }
+
+    void put(int code, int glyph)
+    {
+        if (code < 0 || code > MAX_CODE)
+        {
+            return;
+        }
+        int p = code >> PAGE_SHIFT;
+        if (p >= pages.length)
+        {
+            int[][] npages = new int[(MAX_CODE >> PAGE_SHIFT) + 1][];
+            System.arraycopy(pages, 0, npages, 0, pages.length);
+            pages = npages;
+        }
+        int[] page = pages[p];
+        if (page == null)
+        {
+            page = pages[p] = new int[PAGE_SIZE];
+        }
+        if (page[code & PAGE_MASK] == 0)
+        {
+            ++size;
+        }
+        page[code & PAGE_MASK] = glyph + 1;
+    }
+
+    /* Returns the glyph index for code, or -1 if it is not mapped */
+    int get(int code)
+    {
+        int p = code >> PAGE_SHIFT;
+        if (p < 0 || p >= pages.length)
+        {
+            return -1;
+        }
+        int[] page = pages[p];
+
+        return page == null ? -1 : page[code & PAGE_MASK] - 1;
+    }
+
+    int size()
+    {
+        return size;
+    }
+}
@@ -0,0 +1,46 @@
+/**
+****************************************************
+*  Java based PDF creation and manipulation Library      
+****************************************************
+*
+*  Project Title: Gnostice PDFOne Java
+*  Copyright  2002-2008 Gnostice Information Technologies Private Limited, Bangalore, India
+*  http://www.gnostice.com
+*
+*  This file is part of PDFOne Java Library.
+*
+*  This program is free software: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, either version 3 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+
+*  You should have received a copy of the GNU General Public License
+*  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*
+*/
+
+package com.gnostice.pdfone.readers;
+
+/*
+ * Names and style of one face of a font file, as recorded in the font
+ * index. path is the name PdfFont.create() takes for the face, i.e.
+ * the file name, followed by the 1-based face index for a collection.
+ */
+final class TtfFace
+{
+    String path;
+    
+    String family;
+    
+    String fullName;
+    
+    String postScriptName;
+    
+    /* PdfFont.BOLD and PdfFont.ITALIC bits */
+    int style;
+}
@@ -0,0 +1,646 @@
+/**
+****************************************************
+*  Java based PDF creation and manipulation Library      
+****************************************************
+*
+*  Project Title: Gnostice PDFOne Java
+*  Copyright  2002-2008 Gnostice Information Technologies Private Limited, Bangalore, India
+*  http://www.gnostice.com
+*
+*  This file is part of PDFOne Java Library.
+*
+*  This program is free software: you can redistribute it and/or modify
+*  it under the terms of the GNU General Public License as published by
+*  the Free Software Foundation, either version 3 of the License, or
+*  (at your option) any later version.
+*
+*  This program is distributed in the hope that it will be useful,
+*  but WITHOUT ANY WARRANTY; without even the implied warranty of
+*  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+*  GNU General Public License for more details.
+
+*  You should have received a copy of the GNU General Public License
+*  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+*
+*/
+
+package com.gnostice.pdfone.readers;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.Hashtable;
+
+import com.gnostice.pdfone.fonts.PdfFont;
+
+/*
+ * Index of the TrueType faces found in a set of font directories,
+ * used to create fonts by name instead of by file. The index records
+ * family, style, full and PostScript name of every face, read from
+ * the font headers only, together with the modification times of the
+ * directories and files scanned. It is kept in an index file between
+ * runs, so on startup only directories that changed since are listed
+ * again and only new or changed font files are read.
+ */
+public final class TtfFontIndex
+{
+    private static final int MAGIC = 0x50464958; /* "PFIX" */
+    
+    private static final int VERSION = 1;
+    
+    /* configured font directories */
+    private static final ArrayList roots = new ArrayList();
+    
+    private static String indexFile;
+    
+    private static boolean loaded;
+    
+    /* modification time of every directory scanned, by path */
+    private static final Hashtable dirs = new Hashtable();
+    
+    /* FileEntry of every font file scanned, by path */
+    private static final Hashtable files = new Hashtable();
+    
+    /* face path by lookup key, and file path by face path; null when
+       they need to be rebuilt */
+    private static Hashtable names;
+    
+    private static Hashtable faceFiles;
+    
+    private static final class FileEntry
+    {
+        String dir;
+        
+        long lastModified;
+        
+        long length;
+        
+        TtfFace[] faces;
+    }
+    
+    private TtfFontIndex()
+    {
+        //private constructor
+    }
+    
+    public static synchronized void addDirectory(String dir)
+    {
+        String path = canonicalPath(new File(dir));
+        if ( !roots.contains(path))
+        {
+            roots.add(path);
+            names = null;
+        }
+    }
+    
+    public static synchronized void setIndexFile(String fileName)
+    {
+        indexFile = fileName;
+        loaded = false;
+        names = null;
+    }
+    
+    /*
+     * Returns the path PdfFont.create() takes for the indexed face
+     * with the specified family and style, full name or PostScript
+     * name, or null if no face in the font directories matches.
+     * Names are matched ignoring case, spaces and punctuation.
+     */
+    public static synchronized String find(String name, int style)
+    {
+        if (roots.isEmpty())
+        {
+            return null;
+        }
+        if ( !loaded)
+        {
+            load();
+            loaded = true;
+            update();
+        }
+        
+        String path = lookup(name, style);
+        if (path == null)
+        {
+            /* the font may have been installed since the last scan */
+            if (update())
+            {
+                path = lookup(name, style);
+            }
+        }
+        else if (updateFile(path))
+        {
+            path = lookup(name, style);
+        }
+        
+        return path;
+    }
+    
+    private static String lookup(String name, int style)
+    {
+        if (names == null)
+        {
+            buildNames();
+        }
+        String key = key(name);
+        style &= PdfFont.BOLD | PdfFont.ITALIC;
+        String path = (String) names.get(key + '/' + style);
+        if (path == null)
+        {
+            path = (String) names.get(key);
+        }
+        if (path == null && style != 0)
+        {
+            path = (String) names.get(key + "/0");
+        }
+        
+        return path;
+    }
+    
+    private static String key(String name)
+    {
+        StringBuffer sb = new StringBuffer(name.length());
+        for (int i = 0, limit = name.length(); i < limit; ++i)
+        {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c))
+            {
+                sb.append(Character.toUpperCase(c));
+            }
+        }
+        
+        return sb.toString();
+    }
+    
+    private static void buildNames()
+    {
+        names = new Hashtable();
+        faceFiles = new Hashtable();
+        
+        /* in path order, so the same face wins on every run */
+        Object[] paths = files.keySet().toArray();
+        Arrays.sort(paths);
+        for (int i = 0; i < paths.length; ++i)
+        {
+            TtfFace[] faces = ((FileEntry) files.get(paths[i])).faces;
+            for (int j = 0; j < faces.length; ++j)
+            {
+                TtfFace face = faces[j];
+                faceFiles.put(face.path, paths[i]);
+                putName(key(face.family) + '/' + face.style, face.path);
+                if (face.fullName != null)
+                {
+                    putName(key(face.fullName), face.path);
+                }
+                if (face.postScriptName != null)
+                {
+                    putName(key(face.postScriptName), face.path);
+                }
+            }
+        }
+    }
+    
+    private static void putName(String key, String path)
+    {
+        if ( !names.containsKey(key))
+        {
+            names.put(key, path);
+        }
+    }
+    
+    /*
+     * Brings the index up to date with the font directories and saves
+     * it if anything changed. Only directories whose modification
+     * time changed are listed again. Returns true if the index
+     * changed.
+     */
+    private static boolean update()
+    {
+        boolean changed = false;
+        Object[] scanned = dirs.keySet().toArray();
+        for (int i = 0; i < scanned.length; ++i)
+        {
+            String path = (String) scanned[i];
+            File dir = new File(path);
+            if ( !dir.isDirectory() || !underRoot(path))
+            {
+                removeDirectory(path);
+                changed = true;
+            }
+            else if (dir.lastModified() != ((Long) dirs.get(path))
+                .longValue())
+            {
+                scanDirectory(dir, path);
+                changed = true;
+            }
+        }
+        for (int i = 0, limit = roots.size(); i < limit; ++i)
+        {
+            String path = (String) roots.get(i);
+            if ( !dirs.containsKey(path))
+            {
+                scanDirectory(new File(path), path);
+                changed = true;
+            }
+        }
+        
+        if (changed)
+        {
+            names = null;
+            save();
+        }
+        return changed;
+    }
+    
+    /* Reads the file of an indexed face again if it has changed */
+    private static boolean updateFile(String facePath)
+    {
+        String path = (String) faceFiles.get(facePath);
+        FileEntry entry = (FileEntry) files.get(path);
+        File file = new File(path);
+        if (file.lastModified() == entry.lastModified
+            && file.length() == entry.length)
+        {
+            return false;
+        }
+        
+        files.put(path, readFile(file, path, entry.dir));
+        names = null;
+        save();
+        return true;
+    }
+    
+    private static boolean underRoot(String path)
+    {
+        for (int i = 0, limit = roots.size(); i < limit; ++i)
+        {
+            String root = (String) roots.get(i);
+            if (path.equals(root)
+                || path.startsWith(root + File.separatorChar))
+            {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    private static void removeDirectory(String path)
+    {
+        dirs.remove(path);
+        Object[] paths = files.keySet().toArray();
+        for (int i = 0; i < paths.length; ++i)
+        {
+            if (((FileEntry) files.get(paths[i])).dir.equals(path))
+            {
+                files.remove(paths[i]);
+            }
+        }
+    }
+    
+    /*
+     * Lists dir, reading font files that are new or changed and
+     * scanning subdirectories not seen before. Subdirectories already
+     * in the index are checked by update() on their own.
+     */
+    private static void scanDirectory(File dir, String path)
+    {
+        File[] list = dir.listFiles();
+        dirs.put(path, new Long(dir.lastModified()));
+        if (list == null)
+        {
+            return;
+        }
+        
+        Hashtable present = new Hashtable();
+        for (int i = 0; i < list.length; ++i)
+        {
+            File file = list[i];
+            String filePath = canonicalPath(file);
+            if (file.isDirectory())
+            {
+                if ( !dirs.containsKey(filePath))
+                {
+                    scanDirectory(file, filePath);
+                }
+                continue;
+            }
+            
+            String s = file.getName().toUpperCase();
+            if ( !s.endsWith(".TTF") && !s.endsWith(".OTF")
+                && !s.endsWith(".TTC"))
+            {
+                continue;
+            }
+            present.put(filePath, filePath);
+            FileEntry entry = (FileEntry) files.get(filePath);
+            if (entry == null
+                || entry.lastModified != file.lastModified()
+                || entry.length != file.length())
+            {
+                files.put(filePath, readFile(file, filePath, path));
+            }
+        }
+        
+        Object[] paths = files.keySet().toArray();
+        for (int i = 0; i < paths.length; ++i)
+        {
+            if (((FileEntry) files.get(paths[i])).dir.equals(path)
+                && !present.containsKey(paths[i]))
+            {
+                files.remove(paths[i]);
+            }
+        }
+    }
+    
+    /*
+     * Reads the faces of a font file. Files that cannot be read are
+     * recorded with no faces, so that they are not read again until
+     * they change.
+     */
+    private static FileEntry readFile(File file, String path, String dir)
+    {
+        FileEntry entry = new FileEntry();
+        entry.dir = dir;
+        entry.lastModified = file.lastModified();
+        entry.length = file.length();
+        
+        ArrayList faces = new ArrayList();
+        RandomAccessFile raf = null;
+        try
+        {
+            raf = new RandomAccessFile(file, "r");
+            if (path.toUpperCase().endsWith(".TTC"))
+            {
+                long[] offsets = TtcReader.readOffsets(raf);
+                for (int i = 0; i < offsets.length; ++i)
+                {
+                    TtfFace face = TtfReader.readFace(raf, offsets[i]);
+                    if (face != null)
+                    {
+                        face.path = path + (i + 1);
+                        faces.add(face);
+                    }
+                }
+            }
+            else
+            {
+                TtfFace face = TtfReader.readFace(raf, 0);
+                if (face != null)
+                {
+                    face.path = path;
+                    faces.add(face);
+                }
+            }
+        }
+        catch (IOException ioe)
+        {
+            faces.clear();
+        }
+        catch (IndexOutOfBoundsException ioobe)
+        {
+            faces.clear();
+        }
+        finally
+        {
+            if (raf != null)
+            {
+                try
+                {
+                    raf.close();
+                }
+                catch (IOException ioe) { }
+            }
+        }
+        
+        entry.faces = (TtfFace[]) faces.toArray(new TtfFace[faces
+            .size()]);
+        return entry;
+    }
+    
+    private static String canonicalPath(File file)
+    {
+        try
+        {
+            return file.getCanonicalPath();
+        }
+        catch (IOException ioe)
+        {
+            return file.getAbsolutePath();
+        }
+    }
+    
+    /* Reads the index file, which is mapped rather than streamed */
+    private static void load()
+    {
+        dirs.clear();
+        files.clear();
+        names = null;
+        if (indexFile == null)
+        {
+            return;
+        }
+        File file = new File(indexFile);
+        if ( !file.isFile())
+        {
+            /* save() stopped after removing the old index; the new one
+               is complete if it parses */
+            file = new File(indexFile + ".tmp");
+            if ( !file.isFile())
+            {
+                return;
+            }
+        }
+        
+        try
+        {
+            /* read, not mapped, so that save() can replace the file,
+               which cannot be done while it is mapped on Windows */
+            ByteBuffer bb;
+            RandomAccessFile raf = new RandomAccessFile(file, "r");
+            try
+            {
+                if (raf.length() > Integer.MAX_VALUE)
+                {
+                    return;
+                }
+                byte[] ba = new byte[(int) raf.length()];
+                raf.readFully(ba);
+                bb = ByteBuffer.wrap(ba);
+            }
+            finally
+            {
+                raf.close();
+            }
+            if (bb.getInt() != MAGIC || bb.getInt() != VERSION)
+            {
+                return;
+            }
+            
+            for (int i = 0, n = bb.getInt(); i < n; ++i)
+            {
+                String path = readString(bb);
+                if (path == null)
+                {
+                    throw new BufferUnderflowException();
+                }
+                dirs.put(path, new Long(bb.getLong()));
+            }
+            for (int i = 0, n = bb.getInt(); i < n; ++i)
+            {
+                String path = readString(bb);
+                if (path == null)
+                {
+                    throw new BufferUnderflowException();
+                }
+                FileEntry entry = new FileEntry();
+                entry.dir = readString(bb);
+                entry.lastModified = bb.getLong();
+                entry.length = bb.getLong();
+                int count = bb.getInt();
+                if (entry.dir == null || count < 0
+                    || count > bb.remaining())
+                {
+                    throw new BufferUnderflowException();
+                }
+                entry.faces = new TtfFace[count];
+                for (int j = 0; j < entry.faces.length; ++j)
+                {
+                    TtfFace face = new TtfFace();
+                    face.path = readString(bb);
+                    face.family = readString(bb);
+                    face.fullName = readString(bb);
+                    face.postScriptName = readString(bb);
+                    face.style = bb.getInt();
+                    if (face.path == null || face.family == null)
+                    {
+                        throw new BufferUnderflowException();
+                    }
+                    entry.faces[j] = face;
+                }
+                files.put(path, entry);
+            }
+        }
+        catch (IOException ioe)
+        {
+            dirs.clear();
+            files.clear();
+        }
+        catch (BufferUnderflowException bue)
+        {
+            /* truncated or corrupt index; the directories are scanned
+               again */
+            dirs.clear();
+            files.clear();
+        }
+    }
+    
+    /*
+     * Writes the index file. The index is only a cache of what the
+     * font directories hold, so a failure to write it is ignored.
+     */
+    private static void save()
+    {
+        if (indexFile == null)
+        {
+            return;
+        }
+        
+        File file = new File(indexFile);
+        File temp = new File(indexFile + ".tmp");
+        try
+        {
+            DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temp)));
+            try
+            {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(dirs.size());
+                for (Enumeration e = dirs.keys(); e.hasMoreElements();)
+                {
+                    String path = (String) e.nextElement();
+                    writeString(out, path);
+                    out.writeLong(((Long) dirs.get(path)).longValue());
+                }
+                out.writeInt(files.size());
+                for (Enumeration e = files.keys(); e.hasMoreElements();)
+                {
+                    String path = (String) e.nextElement();
+                    FileEntry entry = (FileEntry) files.get(path);
+                    writeString(out, path);
+                    writeString(out, entry.dir);
+                    out.writeLong(entry.lastModified);
+                    out.writeLong(entry.length);
+                    out.writeInt(entry.faces.length);
+                    for (int i = 0; i < entry.faces.length; ++i)
+                    {
+                        TtfFace face = entry.faces[i];
+                        writeString(out, face.path);
+                        writeString(out, face.family);
+                        writeString(out, face.fullName);
+                        writeString(out, face.postScriptName);
+                        out.writeInt(face.style);
+                    }
+                }
+            }
+            finally
+            {
+                out.close();
+            }
+            /* renameTo() does not replace an existing file on every
+               platform. If the old index cannot be deleted it is kept;
+               if the rename fails after the delete, load() reads the
+               temporary file instead. */
+            if ( !temp.renameTo(file)
+                && ( !file.delete() || !temp.renameTo(file))
+                && file.exists())
+            {
+                temp.delete();
+            }
+        }
+        catch (IOException ioe)
+        {
+            temp.delete();
+        }
+    }
+    
+    /* Strings are written as a char count, -1 for null, and chars */
+    private static void writeString(DataOutputStream out, String s)
+        throws IOException
+    {
+        if (s == null)
+        {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(s.length());
+        out.writeChars(s);
+    }
+    
+    private static String readString(ByteBuffer bb)
+    {
+        int length = bb.getInt();
+        if (length < 0)
+        {
+            return null;
+        }
+        if (length > bb.remaining() / 2)
+        {
+            throw new BufferUnderflowException();
+        }
+        char[] ca = new char[length];
+        bb.asCharBuffer().get(ca);
+        bb.position(bb.position() + length * 2);
+        
+        return new String(ca);
+    }
+}
@@ -27,20 +27,16 @@
 package com.gnostice.pdfone.readers;
 
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Hashtable;
 
 import com.gnostice.pdfone.PdfByteOutputStream;
 import com.gnostice.pdfone.PdfDict;
 import com.gnostice.pdfone.PdfException;
-import com.gnostice.pdfone.PdfInteger;
 import com.gnostice.pdfone.PdfLong;
 import com.gnostice.pdfone.PdfName;
-import com.gnostice.pdfone.PdfNull;
 import com.gnostice.pdfone.PdfStream;
 import com.gnostice.pdfone.Usable;
 
@@ -60,9 +56,7 @@ final class TtfGenerator
     static final int entrySelectors[] = { 0, 0, 1, 1, 2, 2, 2, 2, 3,
         3, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4 };
     
-    private Hashtable glyphsUsed;
-    
-    private ArrayList usedGlyphsList;
+    private BitSet glyphsUsed;
     
     private long glyfTableOffset;
     
@@ -78,7 +72,8 @@ final class TtfGenerator
 
     private int initialLocaTableSize;
 
-    private RandomAccessFile raf;
+    /* view of the font file mapped by TtfReader */
+    private ByteBuffer data;
     
     private PdfByteOutputStream pbos;
     
@@ -90,18 +85,17 @@ final class TtfGenerator
     
     private String[] requiredTables;
     
-    private TtfGenerator(String filename, Hashtable glyphsUsed,
+    private TtfGenerator(ByteBuffer fontData, BitSet glyphsUsed,
         Hashtable tableInfo, int[] locatable,
         boolean isLocaFormatShort, boolean isType0)
         throws IOException
     {
-        this.glyphsUsed = glyphsUsed;
+        this.glyphsUsed = (BitSet) glyphsUsed.clone();
         this.tableInfo = tableInfo;
         this.locaTable = locatable;
         this.isLocaFormatShort = isLocaFormatShort;
         this.isType0 = isType0;
-        this.usedGlyphsList = new ArrayList(glyphsUsed.keySet());
-        this.raf = new RandomAccessFile(filename, "r");
+        this.data = fontData.duplicate();
         
         pbos = new PdfByteOutputStream();
     }
@@ -117,34 +111,27 @@ final class TtfGenerator
     {
         initializeTables();
         
-        try
+        if (isSubset)
         {
-            if (isSubset)
-            {
-                locaTableSubset = new PdfByteOutputStream();
-                readLocaTableSize();
-                readGlyphs();
-                createNewGlyfTable();
-                createNewLocaTable();
-                writeSubset();
-            }
-            else
-            {
-                writeFullFont();
-            }
-
-            HashMap hm = new HashMap();
-            hm.put(new PdfName(Usable.PDF_LENGTH_1), new PdfLong(pbos
-                .size()));
-            ByteBuffer bb = ((ByteBuffer) ByteBuffer.wrap(
-                pbos.getBuffer()).limit(pbos.size())).slice();
-
-            return new PdfStream(new PdfDict(hm), bb);
+            locaTableSubset = new PdfByteOutputStream();
+            readLocaTableSize();
+            readGlyphs();
+            createNewGlyfTable();
+            createNewLocaTable();
+            writeSubset();
         }
-        finally
+        else
         {
-            this.raf.close();
+            writeFullFont();
         }
+
+        HashMap hm = new HashMap();
+        hm.put(PdfName.intern(Usable.PDF_LENGTH_1), new PdfLong(pbos
+            .size()));
+        ByteBuffer bb = ((ByteBuffer) ByteBuffer.wrap(
+            pbos.getBuffer()).limit(pbos.size())).slice();
+
+        return new PdfStream(new PdfDict(hm), bb);
     }
     
     private void createNewLocaTable()
@@ -171,43 +158,34 @@ final class TtfGenerator
         }
     }
 
-    private void createNewGlyfTable() throws IOException
+    private void createNewGlyfTable()
     {
-        int sortedGlyfIndices[] = new int[usedGlyphsList.size()];
         locaTableTemp = new int[locaTable.length];
-        for (int i = 0; i < sortedGlyfIndices.length; ++i)
-        {
-            sortedGlyfIndices[i] = ((PdfInteger) usedGlyphsList
-                .get(i)).getInt();
-        }
-        Arrays.sort(sortedGlyfIndices);
+        int lastGlyph = locaTable.length - 2;
         
         int noOfBytes = 0;
-        for (int i = 0; i < sortedGlyfIndices.length; ++i) 
+        for (int i = glyphsUsed.nextSetBit(0); i >= 0 && i <= lastGlyph;
+            i = glyphsUsed.nextSetBit(i + 1)) 
         {
-            int glyphIndex = sortedGlyfIndices[i];
-            noOfBytes += locaTable[glyphIndex + 1] - locaTable[glyphIndex];
+            noOfBytes += locaTable[i + 1] - locaTable[i];
         }
         
         initialGlyfTableSize = noOfBytes;
         noOfBytes = (noOfBytes + 3) & (~3);
         glyfTableSubset = new byte[noOfBytes];
         
-        for (int i = 0, glyphTableIndex = 0, glyphListIndex = 0;
-            i < locaTableTemp.length; ++i)
+        for (int i = 0, glyphTableIndex = 0; i < locaTableTemp.length;
+            ++i)
         {
             locaTableTemp[i] = glyphTableIndex;
-            if (glyphListIndex < sortedGlyfIndices.length
-                && sortedGlyfIndices[glyphListIndex] == i)
+            if (i <= lastGlyph && glyphsUsed.get(i))
             {
-                ++glyphListIndex;
-                locaTableTemp[i] = glyphTableIndex;
                 int start = locaTable[i];
                 int bytesToRead = locaTable[i + 1] - start;
                 if (bytesToRead > 0)
                 {
-                    raf.seek(glyfTableOffset + start);
-                    raf.readFully(glyfTableSubset, glyphTableIndex,
+                    data.position((int) glyfTableOffset + start);
+                    data.get(glyfTableSubset, glyphTableIndex,
                         bytesToRead);
                     glyphTableIndex += bytesToRead;
                 }
@@ -241,45 +219,54 @@ final class TtfGenerator
             throw new PdfException(
                 "GLYF table not present in font file.");
         }
-        if (!glyphsUsed.containsKey(PdfInteger.DUMMY))
-        {
-            glyphsUsed.put(PdfInteger.DUMMY, PdfNull.DUMMY);
-            usedGlyphsList.add(PdfInteger.DUMMY);
-        }
         glyfTableOffset = la[0];
-
-        for (int i = 0, limit = usedGlyphsList.size(); i < limit; ++i)
+        
+        /* composite glyphs of the glyphs used were added as the
+           glyphs were used; only .notdef is left to add */
+        if ( !glyphsUsed.get(0))
         {
-            readCompositeGlyph(((PdfInteger) usedGlyphsList.get(i))
-                .getInt());
+            glyphsUsed.set(0);
+            addCompositeGlyphs(data, (int) glyfTableOffset, locaTable,
+                glyphsUsed, 0);
         }
     }
 
-    protected void readCompositeGlyph(int glyph) throws IOException
+    /*
+     * Adds to glyphs the glyphs the specified glyph is built from, if
+     * it is a composite glyph, and recursively theirs. Reads fontData
+     * at absolute positions only, so a mapping shared between threads
+     * can be passed.
+     */
+    static void addCompositeGlyphs(ByteBuffer fontData,
+        int glyfTableOffset, int[] locaTable, BitSet glyphs, int glyph)
     {
+        if (glyph + 1 >= locaTable.length)
+        {
+            return;
+        }
         int start = locaTable[glyph];
         if (start == locaTable[glyph + 1])
         {
             return;
         }
         
-        raf.seek(glyfTableOffset + start);
-        int numberOfContours = raf.readShort();
+        int pos = glyfTableOffset + start;
+        int numberOfContours = fontData.getShort(pos);
         if (numberOfContours >= 0)
         {
             return;
         }
         
-        raf.skipBytes(8);
+        pos += 10;
         while(true)
         {
-            int flags = raf.readUnsignedShort();
-            PdfInteger compositeGlyph = new PdfInteger(raf
-                .readUnsignedShort());
-            if ( !glyphsUsed.containsKey(compositeGlyph))
+            int flags = fontData.getShort(pos) & 0xffff;
+            int compositeGlyph = fontData.getShort(pos + 2) & 0xffff;
+            if ( !glyphs.get(compositeGlyph))
             {
-                glyphsUsed.put(compositeGlyph, PdfNull.DUMMY);
-                usedGlyphsList.add(compositeGlyph);
+                glyphs.set(compositeGlyph);
+                addCompositeGlyphs(fontData, glyfTableOffset, locaTable,
+                    glyphs, compositeGlyph);
             }
             if ((flags & MORE_COMPONENTS) == 0)
             {
@@ -300,10 +287,19 @@ final class TtfGenerator
                 bytesToSkip += 8;
             }
             
-            raf.skipBytes(bytesToSkip);
+            pos += 4 + bytesToSkip;
         }
     }
 
+    private byte[] table(long[] la)
+    {
+        byte[] ba = new byte[(int) la[1]];
+        data.position((int) la[0]);
+        data.get(ba, 0, ba.length);
+        
+        return ba;
+    }
+
     private void readLocaTableSize() throws IOException, PdfException
     {
         long[] la = (long[]) tableInfo.get(TtfReader.LOCA);
@@ -359,10 +355,7 @@ final class TtfGenerator
             if (la != null)
             {
                 len = (int) la[1];
-                raf.seek(la[0]);
-                byte[] ba = new byte[len];
-                raf.readFully(ba, 0, ba.length);
-                pbos.write(ba);
+                pbos.write(table(la));
                 int padCount = ((len + 3) & (~3)) - len;
                 for (int j = 0; j < padCount; ++j)
                 {
@@ -446,10 +439,7 @@ final class TtfGenerator
                 else
                 {
                     len = (int) la[1];
-                    raf.seek(la[0]);
-                    byte[] ba = new byte[len];
-                    raf.readFully(ba, 0, ba.length);
-                    pbos.write(ba);
+                    pbos.write(table(la));
                     int padCount = ((len + 3) & (~3)) - len;
                     for (int j = 0; j < padCount; ++j)
                     {
@@ -460,12 +450,12 @@ final class TtfGenerator
         }
     }
 
-    static PdfStream createStream(String filename,
-        Hashtable glyphsUsed, Hashtable tableInfo, int[] locatable,
+    static PdfStream createStream(ByteBuffer fontData,
+        BitSet glyphsUsed, Hashtable tableInfo, int[] locatable,
         boolean isLocaFormatShort, boolean isSubset, boolean isType0)
         throws IOException, PdfException
     {
-        return new TtfGenerator(filename, glyphsUsed, tableInfo,
+        return new TtfGenerator(fontData, glyphsUsed, tableInfo,
             locatable, isLocaFormatShort, isType0).getStream(isSubset);
     }
 }
@@ -30,11 +30,16 @@ import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.io.UnsupportedEncodingException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 
 import com.gnostice.pdfone.PdfException;
-import com.gnostice.pdfone.PdfInteger;
-import com.gnostice.pdfone.PdfNull;
 import com.gnostice.pdfone.PdfStream;
 import com.gnostice.pdfone.fonts.PdfFont;
 
@@ -64,6 +69,8 @@ public final class TtfReader
     
     private final static String POST = "post";
     
+    private final static String KERN = "kern";
+    
     private final static String OS2 = "OS/2";
     
     static final String[] ttfRequiredTables = { CMAP, "cvt ", "fpgm",
@@ -80,11 +87,18 @@ public final class TtfReader
     
     private Hashtable tableInfo;
     
-    private RandomAccessFile raf;
+    /* read-only mapping of the whole font file */
+    private ByteBuffer fontData;
+    
+    /* view of fontData used while parsing */
+    private ByteBuffer buf;
+    
+    protected TtfCmap macEncodingTable;
     
-    protected Hashtable macEncodingTable;
+    protected TtfCmap winUniEncodingTable;
     
-    protected Hashtable winUniEncodingTable;
+    /* winUniEncodingTable if present, macEncodingTable otherwise */
+    private TtfCmap cmap;
     
     protected boolean isSymbolicFont;
 
@@ -92,6 +106,11 @@ public final class TtfReader
     
     private int[] locaTable;
     
+    /* horizontal kerning pairs, left and right glyph above the low 24
+       bits and the adjustment in thousandths of the em in the low 24
+       bits, sorted by glyph pair; null if the font has none */
+    private long[] kernPairs;
+    
     private boolean isLocaFormatShort;
     
     private String fileName;
@@ -104,46 +123,255 @@ public final class TtfReader
     
     private double italicAngle;
     
+    private String baseName;
+    
+    private long lastModified;
+    
+    //Upper bound on the number of parsed fonts shared through
+    //fileReader(); the least recently used are dropped beyond it
+    static final int MAX_CACHED_FONTS = 64;
+    
+    /* parsed fonts by file name and offset, least recently used
+       first */
+    private static final LinkedHashMap cachedReaders = new LinkedHashMap(
+        16, 0.75f, true);
+    
+    private String key;
+    
+    //Upper bound on the number of subset font programs kept for each
+    //font, one for every distinct set of glyphs embedded; the least
+    //recently used are dropped beyond it
+    static final int MAX_CACHED_SUBSETS = 32;
+    
+    /* subset font programs generated from this font, by glyph set,
+       least recently used first */
+    private final LinkedHashMap subsets = new LinkedHashMap(16, 0.75f,
+        true);
+    
     private TtfReader()
     {
         //private constructor
     }
     
+    /*
+     * Returns the parsed tables of the font at the specified offset
+     * of the file. A reader holds no open file and is never modified
+     * once parsed, so readers are shared by all fonts created for the
+     * same file and offset until the file's modification time
+     * changes.
+     */
     public static TtfReader fileReader(String fileName, long offset)
         throws IOException, PdfException
     {
-        TtfReader t = new TtfReader();
+        String key = fileName + '@' + offset;
+        long lastModified = new File(fileName).lastModified();
+        TtfReader t;
+        synchronized (cachedReaders)
+        {
+            t = (TtfReader) cachedReaders.get(key);
+        }
+        if (t != null && t.lastModified == lastModified)
+        {
+            return t;
+        }
+        
+        t = new TtfReader();
+        t.key = key;
         t.fileName = fileName;
-        t.raf = new RandomAccessFile(fileName, "r");
-        t.readTableDir(offset);
-        t.readTables();
+        t.lastModified = lastModified;
+        t.fontData = map(fileName);
+        t.buf = t.fontData.duplicate();
+        try
+        {
+            t.readTableDir(offset);
+            t.readTables();
+            t.baseName = t.readFontBaseName();
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw new PdfException("Font file is truncated or corrupt.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new PdfException("Font file is truncated or corrupt.");
+        }
+        finally
+        {
+            t.buf = null;
+        }
+        
+        put(cachedReaders, key, t, MAX_CACHED_FONTS);
         
         return t;
     }
     
+    /* Keeps value under key in cache, an access-ordered map, dropping
+       the least recently used entries beyond max */
+    static void put(LinkedHashMap cache, Object key, Object value,
+        int max)
+    {
+        synchronized (cache)
+        {
+            cache.put(key, value);
+            for (Iterator i = cache.values().iterator(); cache.size()
+                > max && i.hasNext();)
+            {
+                i.next();
+                i.remove();
+            }
+        }
+    }
+    
+    /*
+     * Reads the names and style of the font at the specified offset
+     * of raf for the font index. Only the table directory and the
+     * 'name' and 'head' tables are read. Returns null if the font has
+     * no glyf table, i.e. cannot be used by fileReader().
+     */
+    static TtfFace readFace(RandomAccessFile raf, long offset)
+        throws IOException
+    {
+        raf.seek(offset + 4);
+        int noOfTables = raf.readUnsignedShort();
+        raf.skipBytes(6);
+        long nameOffset = -1, headOffset = -1;
+        int nameLength = 0;
+        boolean glyf = false;
+        byte[] ba = new byte[4];
+        for (int i = 0; i < noOfTables; ++i)
+        {
+            raf.readFully(ba);
+            String tag = new String(ba, "ISO-8859-1");
+            raf.skipBytes(4); //checksum
+            long tableOffset = raf.readInt() & 0xffffffffL;
+            int length = raf.readInt();
+            if (tag.equals(NAME))
+            {
+                nameOffset = tableOffset;
+                nameLength = length;
+            }
+            else if (tag.equals(HEAD))
+            {
+                headOffset = tableOffset;
+            }
+            else if (tag.equals(GLYF))
+            {
+                glyf = true;
+            }
+        }
+        if ( !glyf || nameOffset < 0 || headOffset < 0
+            || nameLength < 6 || nameOffset + nameLength > raf.length())
+        {
+            return null;
+        }
+        
+        TtfFace face = new TtfFace();
+        raf.seek(headOffset + 44);
+        int macStyle = raf.readUnsignedShort();
+        if ((macStyle & 1) == 1)
+        {
+            face.style |= PdfFont.BOLD;
+        }
+        if ((macStyle & 2) == 2)
+        {
+            face.style |= PdfFont.ITALIC;
+        }
+        
+        byte[] table = new byte[nameLength];
+        raf.seek(nameOffset);
+        raf.readFully(table);
+        ByteBuffer bb = ByteBuffer.wrap(table);
+        String family = readName(bb, 16);
+        face.family = family != null ? family : readName(bb, 1);
+        face.fullName = readName(bb, 4);
+        face.postScriptName = readName(bb, 6);
+        
+        return face.family == null ? null : face;
+    }
+    
+    /*
+     * Returns the specified name from a 'name' table, preferring the
+     * Windows English entry, or null if the table does not have it.
+     */
+    private static String readName(ByteBuffer bb, int nameID)
+        throws UnsupportedEncodingException
+    {
+        int count = bb.getShort(2) & 0xffff;
+        int stringOffset = bb.getShort(4) & 0xffff;
+        int found = -1, foundRank = 0;
+        for (int k = 0, rec = 6; k < count && rec + 12 <= bb.limit();
+            ++k, rec += 12)
+        {
+            if ((bb.getShort(rec + 6) & 0xffff) != nameID)
+            {
+                continue;
+            }
+            int platformID = bb.getShort(rec) & 0xffff;
+            int languageID = bb.getShort(rec + 4) & 0xffff;
+            int rank = platformID == 3 ? (languageID == 0x409 ? 3 : 2)
+                : platformID == 1 || platformID == 0 ? 1 : 0;
+            if (rank > foundRank)
+            {
+                found = rec;
+                foundRank = rank;
+            }
+        }
+        if (found < 0)
+        {
+            return null;
+        }
+        
+        int length = bb.getShort(found + 8) & 0xffff;
+        int start = stringOffset + (bb.getShort(found + 10) & 0xffff);
+        if (start + length > bb.limit())
+        {
+            return null;
+        }
+        byte[] ba = new byte[length];
+        bb.position(start);
+        bb.get(ba);
+        
+        return new String(ba, (bb.getShort(found) & 0xffff) == 1
+            ? "ISO-8859-1" : "UTF-16BE");
+    }
+    
+    private static ByteBuffer map(String fileName) throws IOException
+    {
+        RandomAccessFile raf = new RandomAccessFile(fileName, "r");
+        try
+        {
+            FileChannel fc = raf.getChannel();
+            return fc.map(FileChannel.MapMode.READ_ONLY, 0, fc.size());
+        }
+        finally
+        {
+            raf.close();
+        }
+    }
+    
     private void readTableDir(long offset) throws IOException,
         UnsupportedEncodingException
     {
-        raf.seek(offset);
-        raf.skipBytes(4); //version skipped
+        buf.position((int) offset);
+        buf.position(buf.position() + 4); //version skipped
         
-        int noOfTables = raf.readUnsignedShort();
+        int noOfTables = buf.getShort() & 0xffff;
         tableInfo = new Hashtable();
         
-        raf.skipBytes(6);
+        buf.position(buf.position() + 6);
         
         byte[] ba = new byte[4];
         String tag, charset = "ISO-8859-1";
         
         for (int i = 0; i < noOfTables; ++i)
         {
-            raf.read(ba);
+            buf.get(ba);
             tag = new String(ba, charset);
             
             long[] la = new long[3];
-            la[2] = ((long)raf.readInt()) & 0xffffffff;//checksum
-            la[0] = ((long)raf.readInt()) & 0xffffffff;//offset
-            la[1] = ((long)raf.readInt()) & 0xffffffff;//length
+            la[2] = ((long)buf.getInt()) & 0xffffffff;//checksum
+            la[0] = ((long)buf.getInt()) & 0xffffffff;//offset
+            la[1] = ((long)buf.getInt()) & 0xffffffff;//length
             tableInfo.put(tag, la);
         }
     }
@@ -157,6 +385,7 @@ public final class TtfReader
         readGlyphWidths();
         readCmapTable();
         readPostTable();
+        readKernTable();
     }
     
     private void readHeadTable() throws IOException, PdfException
@@ -168,25 +397,25 @@ public final class TtfReader
             throw new PdfException(
                 "HEAD table not present in font file.");
         }
-        raf.seek(la[0]);
+        buf.position((int) la[0]);
         
         /*skip fields from version through magicNumber*/
-        raf.seek(raf.getFilePointer() + 16 /*bytes*/);
+        buf.position(buf.position() + 16 /*bytes*/);
         
-        head.flags = raf.readUnsignedShort();
-        head.unitsPerEm = raf.readUnsignedShort();
+        head.flags = buf.getShort() & 0xffff;
+        head.unitsPerEm = buf.getShort() & 0xffff;
         
         /*skip creation and modification dates*/
-        raf.seek(raf.getFilePointer() + 16 /*bytes*/);
+        buf.position(buf.position() + 16 /*bytes*/);
         
-        head.xMin = raf.readShort();
-        head.yMin = raf.readShort();
-        head.xMax = raf.readShort();
-        head.yMax = raf.readShort();
-        head.macStyle = raf.readUnsignedShort();
+        head.xMin = buf.getShort();
+        head.yMin = buf.getShort();
+        head.xMax = buf.getShort();
+        head.yMax = buf.getShort();
+        head.macStyle = buf.getShort() & 0xffff;
         
-        raf.skipBytes(4);
-        isLocaFormatShort = (raf.readUnsignedShort() == 0);
+        buf.position(buf.position() + 4);
+        isLocaFormatShort = ((buf.getShort() & 0xffff) == 0);
     }
 
     private void readLocaTable() throws IOException, PdfException
@@ -196,14 +425,14 @@ public final class TtfReader
         {
             return;
         }
-        raf.seek(la[0]);
+        buf.position((int) la[0]);
         if (isLocaFormatShort)
         {
             int entries = (int) la[1] / 2;
             locaTable = new int[entries];
             for (int i = 0; i < entries; ++i)
             {
-                locaTable[i] = raf.readUnsignedShort() * 2;
+                locaTable[i] = (buf.getShort() & 0xffff) * 2;
             }
         }
         else
@@ -212,7 +441,7 @@ public final class TtfReader
             locaTable = new int[entries];
             for (int i = 0; i < entries; ++i)
             {
-                locaTable[i] = raf.readInt();
+                locaTable[i] = buf.getInt();
             }
         }
     }
@@ -226,33 +455,33 @@ public final class TtfReader
             throw new PdfException(
                 "OS/2 table not present in font file.");
         }
-        raf.seek(la[0]);
+        buf.position((int) la[0]);
 
-        os2.version = raf.readUnsignedShort();
-        os2.avgCharWidth = raf.readShort();
+        os2.version = buf.getShort() & 0xffff;
+        os2.avgCharWidth = buf.getShort();
         
         /*skip fields usWeightClass & usWidthClass*/
-        raf.skipBytes(4);
-        os2.fsType = raf.readUnsignedShort();
+        buf.position(buf.position() + 4);
+        os2.fsType = buf.getShort() & 0xffff;
         
         /*skip fields from ySubscriptXSize through fsSelection*/
-        raf.seek(raf.getFilePointer() + 54 /*bytes*/);
+        buf.position(buf.position() + 54 /*bytes*/);
         
-        os2.firstCharIndex = raf.readUnsignedShort();
-        os2.lastCharIndex = raf.readUnsignedShort();
-        os2.typoAscender = raf.readShort();
-        os2.typoDescender = raf.readShort();
+        os2.firstCharIndex = buf.getShort() & 0xffff;
+        os2.lastCharIndex = buf.getShort() & 0xffff;
+        os2.typoAscender = buf.getShort();
+        os2.typoDescender = buf.getShort();
         /*skip sTypoLineGap*/
-        raf.skipBytes(2);
+        buf.position(buf.position() + 2);
         
-        os2.usWinAscent = raf.readUnsignedShort();
-        os2.usWinDescent = raf.readUnsignedShort();
+        os2.usWinAscent = buf.getShort() & 0xffff;
+        os2.usWinDescent = buf.getShort() & 0xffff;
 
         if (os2.version > 1) /*2 || 3*/
         {
             /*skip fields from ulCodePageRange1 through sxHeight*/
-            raf.seek(raf.getFilePointer() + 10 /*bytes*/);
-            os2.sCapHeight = raf.readShort();
+            buf.position(buf.position() + 10 /*bytes*/);
+            os2.sCapHeight = buf.getShort();
         }
         else /*0 || 1*/
         {
@@ -269,23 +498,23 @@ public final class TtfReader
             throw new PdfException(
                 "HHea table not present in font file.");
         }
-        raf.seek(la[0]);
+        buf.position((int) la[0]);
         
         /*skip fields from version through LineGap*/
-        raf.seek(raf.getFilePointer() + 10 /*bytes*/);
+        buf.position(buf.position() + 10 /*bytes*/);
         
-        hhea.advanceWidthMax = raf.readUnsignedShort();
+        hhea.advanceWidthMax = buf.getShort() & 0xffff;
     
         /*skip fields from minLeftSideBearing through xMaxExtent*/
-        raf.seek(raf.getFilePointer() + 6 /*bytes*/);
+        buf.position(buf.position() + 6 /*bytes*/);
         
-        hhea.caretSlopeRise = raf.readShort();
-        hhea.caretSlopeRun = raf.readShort();
+        hhea.caretSlopeRise = buf.getShort();
+        hhea.caretSlopeRun = buf.getShort();
     
         /*skip fields from caretOffset through metricDataFormat*/
-        raf.seek(raf.getFilePointer() + 12 /*bytes*/);
+        buf.position(buf.position() + 12 /*bytes*/);
             
-        hhea.numberOfHMetrics = raf.readUnsignedShort();
+        hhea.numberOfHMetrics = buf.getShort() & 0xffff;
     }
 
     private int[] readGlyphWidths() throws IOException, PdfException
@@ -300,26 +529,26 @@ public final class TtfReader
         long[] maxp_la = (long[]) tableInfo.get(MAXP);
         if (maxp_la == null)
         {
-            raf.seek(hmtx_la[0]);
+            buf.position((int) hmtx_la[0]);
             for (int i = 0; i < hhea.numberOfHMetrics; ++i)
             {
-                widths[i] = (raf.readUnsignedShort() * 1000)
+                widths[i] = ((buf.getShort() & 0xffff) * 1000)
                     / head.unitsPerEm;
-                raf.readShort();
+                buf.getShort();
             }
         }
         else
         {
-            raf.seek(maxp_la[0] + 4); /*for version*/
-            int numGlyphs = raf.readUnsignedShort();
+            buf.position((int) (maxp_la[0] + 4)); /*for version*/
+            int numGlyphs = buf.getShort() & 0xffff;
             hmtxTableLength -= Math.abs(numGlyphs
                 - hhea.numberOfHMetrics) * 2;
             long limit = hmtx_la[0] + hmtxTableLength;
             widths = new int[hhea.numberOfHMetrics];
-            raf.seek(hmtx_la[0]);
+            buf.position((int) hmtx_la[0]);
             if (hmtxTableLength == 4) //monospaced font
             {
-                int w = raf.readUnsignedShort();
+                int w = buf.getShort() & 0xffff;
                 for (int i = 0; i < hhea.numberOfHMetrics; ++i)
                 {
                     widths[i] = (w * 1000) / head.unitsPerEm;
@@ -327,11 +556,11 @@ public final class TtfReader
             }
             else
             {
-                for (int i = 0; raf.getFilePointer() < limit; ++i)
+                for (int i = 0; buf.position() < limit; ++i)
                 {
-                    widths[i] = (raf.readUnsignedShort() * 1000)
+                    widths[i] = ((buf.getShort() & 0xffff) * 1000)
                         / head.unitsPerEm;
-                    raf.readShort();
+                    buf.getShort();
                 }
             }
         }
@@ -347,18 +576,18 @@ public final class TtfReader
             throw new PdfException(
                 "cmap table not present in font file.");
         }
-        raf.seek(la[0] + 2); /* skip version */
+        buf.position((int) (la[0] + 2)); /* skip version */
     
-        int tableCount = raf.readUnsignedShort();
+        int tableCount = buf.getShort() & 0xffff;
         
         long macEncTblOff = 0;
         long winUniEncTblOff = 0;
         long winSymEncTblOff = 0;
         for (int i = 0; i < tableCount; ++i)
         {
-            int platId = raf.readUnsignedShort();
-            int platSpecId = raf.readUnsignedShort();
-            long offset = ((long)raf.readInt()) & 0xffffffff;
+            int platId = buf.getShort() & 0xffff;
+            int platSpecId = buf.getShort() & 0xffff;
+            long offset = ((long)buf.getInt()) & 0xffffffff;
             if (platId == 1 && platSpecId == 0)
             {
                 macEncTblOff = offset;
@@ -376,8 +605,8 @@ public final class TtfReader
     
         if (macEncTblOff > 0)
         {
-            raf.seek(la[0] + macEncTblOff);
-            int format = raf.readUnsignedShort();
+            buf.position((int) (la[0] + macEncTblOff));
+            int format = buf.getShort() & 0xffff;
             switch (format)
             {
                 case 0:
@@ -394,8 +623,8 @@ public final class TtfReader
         
         if (winUniEncTblOff > 0)
         {
-            raf.seek(la[0] + winUniEncTblOff);
-            int format = raf.readUnsignedShort();
+            buf.position((int) (la[0] + winUniEncTblOff));
+            int format = buf.getShort() & 0xffff;
             if (format == 4)
             {
                 winUniEncodingTable = readCmapTable_Format_4();
@@ -404,78 +633,81 @@ public final class TtfReader
     
         if (winSymEncTblOff > 0)
         {
-            raf.seek(la[0] + winSymEncTblOff);
-            int format = raf.readUnsignedShort();
+            buf.position((int) (la[0] + winSymEncTblOff));
+            int format = buf.getShort() & 0xffff;
             if (format == 4)
             {
                 macEncodingTable = readCmapTable_Format_4();
             }
         }
+        
+        cmap = winUniEncodingTable == null ? macEncodingTable
+            : winUniEncodingTable;
     }
 
-    private Hashtable readCmapTable_Format_0() throws IOException
+    private TtfCmap readCmapTable_Format_0() throws IOException
     {
-        Hashtable t = new Hashtable();
+        TtfCmap t = new TtfCmap();
         
-        raf.skipBytes(4);
+        buf.position(buf.position() + 4);
         /* skip length & version */
         int glyphIndex; 
         for (int i = 0; i < 256; ++i)
         {
-            glyphIndex = raf.readUnsignedByte();
-            t.put(new Integer(i), new int[] { glyphIndex,
-                getGlyphWidthFromHMTX(glyphIndex) });
+            glyphIndex = buf.get() & 0xff;
+            t.put(i, glyphIndex);
         }
         
         return t;
     }
 
-    private Hashtable readCmapTable_Format_4() throws IOException
+    private TtfCmap readCmapTable_Format_4() throws IOException
     {
-        Hashtable t = new Hashtable();
+        TtfCmap t = new TtfCmap();
         
-        int length = raf.readUnsignedShort() / 2;
+        int length = (buf.getShort() & 0xffff) / 2;
         /*length of the table*/
         
-        raf.skipBytes(2); /* skip version */
+        buf.position(buf.position() + 2); /* skip version */
         
-        int segCount = raf.readUnsignedShort() / 2;
+        int segCount = (buf.getShort() & 0xffff) / 2;
         /* header have this entry stored as segCount * 2 */
         
-        raf.skipBytes(6); /* skip searchRange - rangeShift */
+        buf.position(buf.position() + 6);
+        /* skip searchRange - rangeShift */
         
         int endCount[] = new int[segCount];
         for (int i = 0; i < segCount; ++i)
         {
-            endCount[i] = raf.readUnsignedShort();
+            endCount[i] = buf.getShort() & 0xffff;
         }
         
-        raf.skipBytes(2); /* skip reservedPad */
+        buf.position(buf.position() + 2); /* skip reservedPad */
         
         int startCount[] = new int[segCount];
         for (int i = 0; i < segCount; ++i)
         {
-            startCount[i] = raf.readUnsignedShort();
+            startCount[i] = buf.getShort() & 0xffff;
         }
     
         int idDelta[] = new int[segCount];
         for (int i = 0; i < segCount; ++i)
         {
-            idDelta[i] = raf.readUnsignedShort();
+            idDelta[i] = buf.getShort() & 0xffff;
             /* Delta for this char in this segment */
         }
     
         int idRangeOffset[] = new int[segCount];
         for (int i = 0; i < segCount; ++i)
         {
-            idRangeOffset[i] = raf.readUnsignedShort();
+            idRangeOffset[i] = buf.getShort() & 0xffff;
             /* offset into glyphIdArray */
         }
     
         int glyphIdArray[] = new int[length - (8 + 4 * segCount)];
         for (int i = 0; i < glyphIdArray.length; ++i)
         {
-            glyphIdArray[i] = raf.readUnsignedShort();
+            glyphIdArray[i] = buf.getShort() & 0xffff;
         }
         
         for (int i = 0; i < segCount; ++i)
@@ -501,28 +733,25 @@ public final class TtfReader
                         & 0xffff; /* modulo 65536 */
                 }
                 /*System.out.println(j & (isSymbolicFont ? 0xff : 0xffff));*/
-                t.put(new Integer(j
-                    & (isSymbolicFont ? 0xff : 0xffff)), new int[] {
-                    glyphIndex, getGlyphWidthFromHMTX(glyphIndex) });
+                t.put(j & (isSymbolicFont ? 0xff : 0xffff), glyphIndex);
             }
         }
         
         return t;
     }
 
-    private Hashtable readCmapTable_Format_6() throws IOException
+    private TtfCmap readCmapTable_Format_6() throws IOException
     {
-        Hashtable h = new Hashtable();
-        raf.skipBytes(4); /* skip length & version */
+        TtfCmap h = new TtfCmap();
+        buf.position(buf.position() + 4); /* skip length & version */
         
-        int firstCode = raf.readUnsignedShort();
-        int entryCount = raf.readUnsignedShort();
+        int firstCode = buf.getShort() & 0xffff;
+        int entryCount = buf.getShort() & 0xffff;
         int glyphIndex;
         for (int i = 0; i < entryCount; ++i)
         {
-            glyphIndex = raf.readUnsignedShort();
-            h.put(new Integer(i + firstCode), new int[] { glyphIndex,
-                getGlyphWidthFromHMTX(glyphIndex) });
+            glyphIndex = buf.getShort() & 0xffff;
+            h.put(i + firstCode, glyphIndex);
         }
         
         return h;
@@ -538,16 +767,101 @@ public final class TtfReader
         }
         short mantissa = 0;
         int fraction = 0;
-        raf.seek(la[0] + 4);
-        mantissa = raf.readShort();
-        fraction = raf.readUnsignedShort();
+        buf.position((int) (la[0] + 4));
+        mantissa = buf.getShort();
+        fraction = buf.getShort() & 0xffff;
         italicAngle = (double) mantissa + (double) fraction / 16384.0;
-        underlinePosition = raf.readShort();
-        underlineThickness = raf.readShort();
-        isFixedPitch = ((long)raf.readInt()) & 0xffffffff;
+        underlinePosition = buf.getShort();
+        underlineThickness = buf.getShort();
+        isFixedPitch = ((long)buf.getInt()) & 0xffffffff;
     }
     
-    private int getGlyphWidthFromHMTX(int glyph)
+    /*
+     * Reads the first horizontal format 0 subtable of a Microsoft
+     * style 'kern' table. Other subtable formats and the Apple table
+     * layout are not used for text measurement and are skipped.
+     */
+    private void readKernTable() throws IOException
+    {
+        long[] la = (long[]) tableInfo.get(KERN);
+        if (la == null)
+        {
+            return;
+        }
+        long end = la[0] + la[1];
+        buf.position((int) la[0]);
+        if ((buf.getShort() & 0xffff) != 0) //version
+        {
+            return;
+        }
+        int nTables = buf.getShort() & 0xffff;
+        for (int i = 0; i < nTables && buf.position() + 6 <= end; ++i)
+        {
+            int start = buf.position();
+            buf.getShort(); //subtable version
+            int length = buf.getShort() & 0xffff;
+            int coverage = buf.getShort() & 0xffff;
+            if ((coverage & 0xff07) != 1) //format 0, horizontal only
+            {
+                buf.position(start + length);
+                continue;
+            }
+            int nPairs = buf.getShort() & 0xffff;
+            buf.position(buf.position() + 6);
+            nPairs = (int) Math.min(nPairs, (end - buf.position()) / 6);
+            long[] pairs = new long[nPairs];
+            for (int j = 0; j < nPairs; ++j)
+            {
+                long glyphs = buf.getInt() & 0xffffffffL;
+                int value = buf.getShort() * 1000 / head.unitsPerEm;
+                pairs[j] = (glyphs << 24) | (value & 0xffffff);
+            }
+            Arrays.sort(pairs);
+            kernPairs = pairs;
+            return;
+        }
+    }
+    
+    /*
+     * Returns the kerning adjustment between the specified glyphs, in
+     * thousandths of the em, or 0 if the font has no pair for them.
+     */
+    public int getKerning(int leftGlyph, int rightGlyph)
+    {
+        if (kernPairs == null)
+        {
+            return 0;
+        }
+        long key = ((long) leftGlyph << 16) | (rightGlyph & 0xffff);
+        int low = 0;
+        int high = kernPairs.length - 1;
+        while (low <= high)
+        {
+            int mid = (low + high) >>> 1;
+            long glyphs = kernPairs[mid] >>> 24;
+            if (glyphs < key)
+            {
+                low = mid + 1;
+            }
+            else if (glyphs > key)
+            {
+                high = mid - 1;
+            }
+            else
+            {
+                return (int) (kernPairs[mid] << 40 >> 40);
+            }
+        }
+        
+        return 0;
+    }
+    
+    /*
+     * Returns the advance width of the specified glyph, in thousandths
+     * of the em. Glyphs past the last hMetrics entry take the width of
+     * that entry.
+     */
+    public int getGlyphWidthFromHMTX(int glyph)
     {
         if (glyph >= widths.length)
         {
@@ -559,16 +873,18 @@ public final class TtfReader
 
     public int getGlyphWidthFromCMAP(int c)
     {
-        Hashtable map = winUniEncodingTable == null ? macEncodingTable
-            : winUniEncodingTable;
-        if (map == null)
-        {
-            return /*0*/getGlyphWidthFromHMTX(0);
-        }
-        int[] glyphIndexAndWidth = (int[]) map.get(new Integer(c));
+        int glyph = getGlyphIndex(c);
     
-        return glyphIndexAndWidth == null ? /*0*/getGlyphWidthFromHMTX(0)
-            : glyphIndexAndWidth[1];
+        return getGlyphWidthFromHMTX(glyph < 0 ? 0 : glyph);
+    }
+
+    /*
+     * Returns the glyph index the font's cmap gives for the specified
+     * character code, or -1 if the code is not mapped.
+     */
+    public int getGlyphIndex(int charCode)
+    {
+        return cmap == null ? -1 : cmap.get(charCode);
     }
 
     public double getFontItalicAngle()
@@ -576,7 +892,12 @@ public final class TtfReader
         return italicAngle;
     }
     
-    public String getFontBaseName() throws IOException, PdfException
+    public String getFontBaseName()
+    {
+        return baseName;
+    }
+    
+    private String readFontBaseName() throws IOException, PdfException
     {
         long[] la = (long[]) tableInfo.get(NAME);
         if (la == null)
@@ -584,26 +905,27 @@ public final class TtfReader
             throw new PdfException(
                 "Name table not present in font file.");
         }
-        raf.seek(la[0] + 2);
-        int count = raf.readUnsignedShort();
-        int stringOffset = raf.readUnsignedShort();
+        buf.position((int) (la[0] + 2));
+        int count = buf.getShort() & 0xffff;
+        int stringOffset = buf.getShort() & 0xffff;
         for (int k = 0; k < count; ++k)
         {
-            int platformID = raf.readUnsignedShort();
-            raf.skipBytes(4); /* skip encodingID & languageID */
-            int nameID = raf.readUnsignedShort();
-            int length = raf.readUnsignedShort();
-            int offset = raf.readUnsignedShort();
+            int platformID = buf.getShort() & 0xffff;
+            buf.position(buf.position() + 4);
+            /* skip encodingID & languageID */
+            int nameID = buf.getShort() & 0xffff;
+            int length = buf.getShort() & 0xffff;
+            int offset = buf.getShort() & 0xffff;
             if (nameID == 6)
             {
-                raf.seek(la[0] + stringOffset + offset);
+                buf.position((int) (la[0] + stringOffset + offset));
                 if (platformID == 0 || platformID == 3)
                 {
                     StringBuffer sb = new StringBuffer();
                     int limit = length / 2;
                     for (int j = 0; j < limit; ++j)
                     {
-                        sb.append(raf.readChar());
+                        sb.append(buf.getChar());
                     }
 
                     return sb.toString();
@@ -611,7 +933,7 @@ public final class TtfReader
                 else
                 {
                     byte[] ba = new byte[length];
-                    raf.read(ba);
+                    buf.get(ba);
                     return new String(ba, "ISO-8859-1");
                 }
             }
@@ -717,16 +1039,15 @@ public final class TtfReader
         return hhea.advanceWidthMax * 1000 / head.unitsPerEm;
     }
     
-    public PdfStream createStream(byte embedType,
-        Hashtable charCodesUsed) throws IOException, PdfException
+    public PdfStream createStream(byte embedType, BitSet glyphsUsed)
+        throws IOException, PdfException
     {
         if (os2.fsType == 2)
         {
             return null; /* no embedding allowed */
         }
 
-        return TtfGenerator.createStream(fileName, charCodesUsed,
-            tableInfo, locaTable, isLocaFormatShort,
+        return createStream(glyphsUsed,
             embedType == PdfFont.EMBED_SUBSET, true);
     }
 
@@ -739,64 +1060,111 @@ public final class TtfReader
             return null; /* no embedding allowed */
         }
 
-        return TtfGenerator.createStream(fileName, getGlyfIndices(
-            charCodesUsed, firstChar, lastChar), tableInfo,
-            locaTable, isLocaFormatShort,
-            embedType == PdfFont.EMBED_SUBSET, false);
+        return createStream(getGlyfIndices(charCodesUsed, firstChar,
+            lastChar), embedType == PdfFont.EMBED_SUBSET, false);
+    }
+    
+    /*
+     * Subsets depend only on the glyphs they contain, so documents
+     * embedding the same glyphs of this font are given copies of one
+     * generated program. Full font programs are not kept; they are
+     * copied from the mapped file.
+     */
+    private PdfStream createStream(BitSet glyphsUsed,
+        boolean isSubset, boolean isType0) throws IOException,
+        PdfException
+    {
+        if ( !isSubset)
+        {
+            return TtfGenerator.createStream(fontData, glyphsUsed,
+                tableInfo, locaTable, isLocaFormatShort, false,
+                isType0);
+        }
+        
+        String key = subsetKey(glyphsUsed, isType0);
+        PdfStream program;
+        synchronized (subsets)
+        {
+            program = (PdfStream) subsets.get(key);
+        }
+        if (program == null)
+        {
+            program = TtfGenerator.createStream(fontData,
+                glyphsUsed, tableInfo, locaTable, isLocaFormatShort,
+                true, isType0);
+            put(subsets, key, program, MAX_CACHED_SUBSETS);
+        }
+        
+        return new PdfStream(program.getDictionary(),
+            program.getBuffer());
     }
     
-    private Hashtable getGlyfIndices(int[] charCodes, int firstChar,
+    private static String subsetKey(BitSet glyphsUsed,
+        boolean isType0)
+    {
+        StringBuffer sb = new StringBuffer(glyphsUsed.cardinality() + 1);
+        sb.append(isType0 ? 'T' : 'F');
+        for (int i = glyphsUsed.nextSetBit(0); i >= 0;
+            i = glyphsUsed.nextSetBit(i + 1))
+        {
+            sb.append((char) i);
+        }
+        
+        return sb.toString();
+    }
+    
+    private BitSet getGlyfIndices(int[] charCodes, int firstChar,
         int lastChar)
     {
-        int charMetrics[];
-        Hashtable glyphs = new Hashtable();
+        BitSet glyphs = new BitSet();
         for (int i = firstChar; i <= lastChar; ++i)
         {
             if (charCodes[i] != 0)
             {
-                charMetrics = getMacOrWinCharMetrics(i);
-                if (charMetrics != null)
-                {
-                    glyphs.put(new PdfInteger(charMetrics[0])
-                        , PdfNull.DUMMY);
-                }
+                addGlyph(glyphs, getGlyphIndex(i));
             }
         }
 
         return glyphs;
     }
     
-    public int[] getMacOrWinCharMetrics(int charCode)
+    /*
+     * Adds the specified glyph to glyphs, together with the glyphs it
+     * is built from if it is a composite glyph. Fonts call this as
+     * glyphs are first used, so the set to embed is always complete
+     * and subsetting needs no further pass over the glyf table.
+     */
+    public void addGlyph(BitSet glyphs, int glyph)
     {
-        if (winUniEncodingTable != null)
+        if (glyph < 0 || glyphs.get(glyph))
         {
-            return (int[]) winUniEncodingTable.get(new Integer(
-                charCode));
+            return;
         }
-        if (macEncodingTable != null)
+        glyphs.set(glyph);
+        
+        long[] la = (long[]) tableInfo.get(GLYF);
+        if (la != null && locaTable != null)
         {
-            return (int[]) macEncodingTable
-                .get(new Integer(charCode));
+            TtfGenerator.addCompositeGlyphs(fontData, (int) la[0],
+                locaTable, glyphs, glyph);
         }
+    }
+    
+    public int[] getMacOrWinCharMetrics(int charCode)
+    {
+        int glyph = getGlyphIndex(charCode);
         
-        return null;
+        return glyph < 0 ? null : new int[] { glyph,
+            getGlyphWidthFromHMTX(glyph) };
     }
     
     public boolean isCompositeGlyf(int charCode) throws IOException
     {
         if (locaTable != null)
         {
-            Hashtable map = winUniEncodingTable == null ? macEncodingTable
-                : winUniEncodingTable;
-            if (map == null)
+            int glyphIndex = getGlyphIndex(charCode);
+            if (glyphIndex >= 0)
             {
-                return false;
-            }
-            int[] glyphIndexAndWidth = (int[]) map.get(new Integer(
-                charCode));
-            if (glyphIndexAndWidth != null)
-            {
-                int glyphIndex = glyphIndexAndWidth[0];
                 int start = locaTable[glyphIndex];
                 if (start != locaTable[glyphIndex + 1])
                 {
@@ -804,8 +1172,8 @@ public final class TtfReader
                     if (la != null)
                     {
                         long glyfTableOffset = la[0];
-                        raf.seek(glyfTableOffset + start);
-                        int numberOfContours = raf.readShort();
+                        int numberOfContours = fontData
+                            .getShort((int) glyfTableOffset + start);
 
                         return (numberOfContours < 0);
                     }
@@ -816,11 +1184,19 @@ public final class TtfReader
         return false;
     }
 
+    /*
+     * Drops this reader from the readers shared by fileReader(). The
+     * reader stays usable by the fonts already holding it, and its
+     * mapping is released once they are collected.
+     */
     public void dispose() throws IOException
     {
-        if (raf != null)
+        synchronized (cachedReaders)
         {
-            raf.close();
+            if (cachedReaders.get(key) == this)
+            {
+                cachedReaders.remove(key);
+            }
         }
     }
 }